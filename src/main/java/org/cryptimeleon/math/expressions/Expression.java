@@ -8,7 +8,9 @@ import org.cryptimeleon.math.expressions.group.BasicNamedGroupVariableExpr;
 import org.cryptimeleon.math.expressions.group.GroupElementExpression;
 import org.cryptimeleon.math.expressions.group.GroupOpExpr;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -131,7 +133,16 @@ public interface Expression {
     /**
      * Checks if an expression fulfilling the given predicate is contained in this expression.
      */
-    default boolean containsExprMatchingPredicate(Predicate<Expression> predicate) { //TODO can be more efficiently implemented (end evaluation as soon as a predicate match has been found)
-        return accumulate((Boolean hasPredicateExpr, Expression expr) -> predicate.test(expr) || hasPredicateExpr, false);
+    default boolean containsExprMatchingPredicate(Predicate<Expression> predicate) {
+        // walk the tree iteratively to be able to stop at the first match
+        Deque<Expression> remaining = new ArrayDeque<>();
+        remaining.push(this);
+        while (!remaining.isEmpty()) {
+            Expression expr = remaining.pop();
+            if (predicate.test(expr))
+                return true;
+            expr.forEachChild(remaining::push);
+        }
+        return false;
     }
 }
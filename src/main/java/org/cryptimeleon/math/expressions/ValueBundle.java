@@ -24,22 +24,22 @@ public class ValueBundle implements Substitution{
     /**
      * Maps variable expressions to substitute {@code GroupElement}s.
      */
-    protected HashMap<VariableExpression, GroupElement> groupElems;
+    protected HashMap<VariableExpression, GroupElement> groupElems = new HashMap<>();
 
     /**
      * Maps variable expressions to substitute {@code BigInteger}s.
      */
-    protected HashMap<VariableExpression, BigInteger> ints;
+    protected HashMap<VariableExpression, BigInteger> ints = new HashMap<>();
 
     /**
      * Maps variable expressions to substitute {@code RingElement}s.
      */
-    protected HashMap<VariableExpression, RingElement> ringElems;
+    protected HashMap<VariableExpression, RingElement> ringElems = new HashMap<>();
 
     /**
      * Maps variable expressions to substitute {@code Boolean}s.
      */
-    protected HashMap<VariableExpression, Boolean> bools;
+    protected HashMap<VariableExpression, Boolean> bools = new HashMap<>();
     //protected HashMap<VariableExpression, ValueList> lists = new HashMap<>(); //Not yet implemented
 
     /**
@@ -133,6 +133,8 @@ public class ValueBundle implements Substitution{
 
         //Fallback: if no integer is in this, try if there's an integer-like RingElement we can return
         RingElement alternative = ringElems.get(key);
+        if (alternative == null)
+            return null;
         try {
             return alternative.asInteger();
         } catch (UnsupportedOperationException e) {
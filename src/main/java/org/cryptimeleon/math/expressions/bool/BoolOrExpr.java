@@ -3,6 +3,8 @@ package org.cryptimeleon.math.expressions.bool;
 import org.cryptimeleon.math.expressions.Expression;
 import org.cryptimeleon.math.expressions.Substitution;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -43,30 +45,37 @@ public class BoolOrExpr implements BooleanExpression {
         return lhs.substitute(substitutions).or(rhs.substitute(substitutions));
     }
 
+    /**
+     * Evaluates this expression in the calling thread.
+     * <p>
+     * The operands of this and nested disjunctions are evaluated in the order of their estimated cost
+     * (cheapest first), which is not necessarily the order from left to right.
+     * Evaluation stops as soon as one of them is true, so which operands are evaluated (and which of their exceptions
+     * are thrown) may differ from a left to right evaluation.
+     */
     @Override
     public Boolean evaluate(Substitution substitutions) {
-        return lhs.evaluate(substitutions) || rhs.evaluate(substitutions);
+        return ShortCircuitEvaluation.evaluate(getOperands(), true, substitutions);
     }
 
+    /**
+     * Evaluates this expression in the background.
+     * <p>
+     * The operands of this and nested disjunctions are evaluated concurrently, starting with the cheapest ones.
+     * Evaluation stops as soon as one of them is true.
+     */
     @Override
     public LazyBoolEvaluationResult evaluateLazy(Substitution substitutions) {
-        LazyBoolEvaluationResult lhs = this.lhs.evaluateLazy(substitutions);
-        LazyBoolEvaluationResult rhs = this.rhs.evaluateLazy(substitutions);
-        if (lhs.isResultKnown())
-            return lhs.getResult() ? LazyBoolEvaluationResult.TRUE : rhs;
-        if (rhs.isResultKnown())
-            return rhs.getResult() ? LazyBoolEvaluationResult.TRUE : lhs;
-        return new LazyBoolEvaluationResult() {
-            @Override
-            public boolean getResult() {
-                return lhs.getResult() || rhs.getResult();
-            }
+        return ShortCircuitEvaluation.evaluateLazy(getOperands(), true, substitutions);
+    }
 
-            @Override
-            boolean isResultKnown() {
-                return false;
-            }
-        };
+    /**
+     * Returns the operands of this and nested {@code BoolOrExpr}s, e.g. {@code [a, b, c]} for {@code (a || b) || c}.
+     */
+    public List<BooleanExpression> getOperands() {
+        List<BooleanExpression> operands = new ArrayList<>();
+        ShortCircuitEvaluation.collectOperands(this, true, operands);
+        return operands;
     }
 
     @Override
@@ -33,7 +33,7 @@ public class ExponentEqualityExpr implements BooleanExpression {
 
     @Override
     public Boolean evaluate(Substitution substitutions) {
-        return lhs.sub(rhs).evaluate().equals(BigInteger.ZERO);
+        return lhs.sub(rhs).evaluate(substitutions).equals(BigInteger.ZERO);
     }
 
     @Override
@@ -0,0 +1,204 @@
+package org.cryptimeleon.math.expressions.bool;
+
+import org.cryptimeleon.math.expressions.Expression;
+import org.cryptimeleon.math.expressions.Substitution;
+import org.cryptimeleon.math.expressions.VariableExpression;
+import org.cryptimeleon.math.expressions.group.GroupElementExpression;
+import org.cryptimeleon.math.expressions.group.GroupPowExpr;
+import org.cryptimeleon.math.expressions.group.PairingExpr;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates a conjunction or disjunction of (potentially many) Boolean expressions, stopping as soon as the result is
+ * determined, i.e. when an operand of a conjunction is false or an operand of a disjunction is true.
+ * <p>
+ * Operands are evaluated in the order of their estimated cost (see {@link #estimateCost(Expression, Substitution)}),
+ * not from left to right.
+ * Cheap operands (those that do not involve any group operations, such as {@link ExponentEqualityExpr}) are evaluated
+ * right away. The others are evaluated concurrently by the common {@link ForkJoinPool}
+ * (which also computes {@link org.cryptimeleon.math.structures.groups.lazy.LazyGroup} elements).
+ * Once the result is determined, operands that have not started evaluating yet are skipped.
+ * Operands that are already being evaluated cannot be interrupted.
+ */
+class ShortCircuitEvaluation extends LazyBoolEvaluationResult {
+    /**
+     * Estimated cost of a pairing, relative to a group operation.
+     */
+    private static final long PAIRING_COST = 100;
+
+    /**
+     * Estimated cost of an exponentiation, relative to a group operation.
+     */
+    private static final long EXPONENTIATION_COST = 20;
+
+    /**
+     * Estimated cost of a variable without substitution, which could stand for anything (and cannot be evaluated).
+     */
+    private static final long UNRESOLVED_VARIABLE_COST = EXPONENTIATION_COST;
+
+    private static final ExecutorService executor = ForkJoinPool.commonPool();
+
+    /**
+     * The value of any operand that determines the overall result (false for conjunctions, true for disjunctions).
+     */
+    private final boolean decisiveValue;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    private final AtomicInteger remaining;
+    private final List<Future<?>> tasks = new ArrayList<>();
+
+    private ShortCircuitEvaluation(boolean decisiveValue, int numOperands) {
+        this.decisiveValue = decisiveValue;
+        this.remaining = new AtomicInteger(numOperands);
+    }
+
+    /**
+     * Evaluates the conjunction (if {@code decisiveValue} is false) or disjunction (if {@code decisiveValue} is true)
+     * of the given operands in the background.
+     */
+    static LazyBoolEvaluationResult evaluateLazy(List<BooleanExpression> operands, boolean decisiveValue,
+                                                 Substitution substitutions) {
+        List<BooleanExpression> expensiveOperands = new ArrayList<>();
+        for (Operand operand : sortByCost(operands, substitutions)) {
+            if (operand.cost == 0) {
+                if (operand.expr.evaluate(substitutions) == decisiveValue)
+                    return LazyBoolEvaluationResult.valueOf(decisiveValue);
+            } else {
+                expensiveOperands.add(operand.expr);
+            }
+        }
+        if (expensiveOperands.isEmpty())
+            return LazyBoolEvaluationResult.valueOf(!decisiveValue);
+
+        ShortCircuitEvaluation evaluation = new ShortCircuitEvaluation(decisiveValue, expensiveOperands.size());
+        synchronized (evaluation.tasks) {
+            for (BooleanExpression operand : expensiveOperands)
+                evaluation.tasks.add(executor.submit(() -> evaluation.evaluateOperand(operand, substitutions)));
+        }
+        return evaluation;
+    }
+
+    /**
+     * Evaluates the conjunction (if {@code decisiveValue} is false) or disjunction (if {@code decisiveValue} is true)
+     * of the given operands in the calling thread.
+     */
+    static boolean evaluate(List<BooleanExpression> operands, boolean decisiveValue, Substitution substitutions) {
+        for (Operand operand : sortByCost(operands, substitutions)) {
+            if (operand.expr.evaluate(substitutions) == decisiveValue)
+                return decisiveValue;
+        }
+        return !decisiveValue;
+    }
+
+    private void evaluateOperand(BooleanExpression operand, Substitution substitutions) {
+        if (result.isDone())
+            return;
+        try {
+            if (operand.evaluate(substitutions) == decisiveValue)
+                complete(decisiveValue);
+            else if (remaining.decrementAndGet() == 0)
+                complete(!decisiveValue);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            cancelTasks();
+        }
+    }
+
+    private void complete(boolean value) {
+        if (result.complete(value))
+            cancelTasks();
+    }
+
+    private void cancelTasks() {
+        synchronized (tasks) {
+            for (Future<?> task : tasks)
+                task.cancel(false);
+        }
+    }
+
+    @Override
+    public boolean getResult() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    @Override
+    boolean isResultKnown() {
+        return result.isDone();
+    }
+
+    /**
+     * Adds the operands of nested conjunctions (if {@code decisiveValue} is false) or disjunctions
+     * (if {@code decisiveValue} is true) to the given list.
+     */
+    static void collectOperands(BooleanExpression expr, boolean decisiveValue, List<BooleanExpression> operands) {
+        if (!decisiveValue && expr instanceof BoolAndExpr) {
+            collectOperands(((BoolAndExpr) expr).getLhs(), false, operands);
+            collectOperands(((BoolAndExpr) expr).getRhs(), false, operands);
+        } else if (decisiveValue && expr instanceof BoolOrExpr) {
+            collectOperands(((BoolOrExpr) expr).getLhs(), true, operands);
+            collectOperands(((BoolOrExpr) expr).getRhs(), true, operands);
+        } else {
+            operands.add(expr);
+        }
+    }
+
+    private static final class Operand {
+        final BooleanExpression expr;
+        final long cost;
+
+        Operand(BooleanExpression expr, Substitution substitutions) {
+            this.expr = expr;
+            this.cost = estimateCost(expr, substitutions);
+        }
+    }
+
+    private static List<Operand> sortByCost(List<BooleanExpression> operands, Substitution substitutions) {
+        List<Operand> sorted = new ArrayList<>(operands.size());
+        for (BooleanExpression operand : operands)
+            sorted.add(new Operand(operand, substitutions));
+        sorted.sort(Comparator.comparingLong(operand -> operand.cost)); // stable, so equally expensive operands keep their order
+        return sorted;
+    }
+
+    /**
+     * Estimates the cost of evaluating the given expression in terms of group operations, counting pairings and
+     * exponentiations as many group operations. Expressions without group elements have cost 0.
+     * <p>
+     * Variables count with the cost of their substitution (which is evaluated without further substitutions,
+     * as in {@link BoolVariableExpr#evaluate(Substitution)}), and variables without substitution as expensive.
+     *
+     * @param substitutions the substitutions the expression is evaluated with, may be null
+     */
+    static long estimateCost(Expression expr, Substitution substitutions) {
+        long[] cost = {0};
+        expr.treeWalk(node -> {
+            if (node instanceof VariableExpression) {
+                Expression substitution = substitutions == null
+                        ? null
+                        : substitutions.getSubstitution((VariableExpression) node);
+                cost[0] += substitution == null ? UNRESOLVED_VARIABLE_COST : estimateCost(substitution, null);
+            } else if (node instanceof PairingExpr) {
+                cost[0] += PAIRING_COST;
+            } else if (node instanceof GroupPowExpr) {
+                cost[0] += EXPONENTIATION_COST;
+            } else if (node instanceof GroupElementExpression) {
+                cost[0]++;
+            }
+        });
+        return cost[0];
+    }
+}
@@ -0,0 +1,286 @@
+package org.cryptimeleon.math.expressions.exponent;
+
+import org.cryptimeleon.math.expressions.EvaluationException;
+import org.cryptimeleon.math.expressions.Substitution;
+import org.cryptimeleon.math.expressions.ValueBundle;
+import org.cryptimeleon.math.misc.BigIntegerTools;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link ExponentExpr} compiled into a small program for a stack machine, see {@link ExponentExpr#compile()}.
+ * <p>
+ * Compilation folds subexpressions that do not contain variables into constants. Evaluating the program with
+ * different substitutions does not walk or substitute the expression tree, and only allocates the intermediate
+ * values. Instances are immutable and can be evaluated by multiple threads concurrently.
+ */
+public final class CompiledExponentExpr {
+    private static final byte CONST = 0;
+    private static final byte VAR = 1;
+    private static final byte ADD = 2;
+    private static final byte MUL = 3;
+    private static final byte NEG = 4;
+    private static final byte INV = 5;
+    private static final byte POW = 6;
+    /**
+     * Evaluates an expression of unknown type via {@link ExponentExpr#evaluate(Zn, Substitution)}.
+     */
+    private static final byte EXPR = 7;
+
+    private final ExponentExpr expr;
+    private final byte[] ops;
+    private final int[] args;
+    private final BigInteger[] constants;
+    private final ExponentVariableExpr[] variables;
+    private final ExponentExpr[] opaqueExprs;
+    private final CompiledExponentExpr[] powExponents;
+    private final int stackSize;
+    private final boolean isConstant;
+
+    /**
+     * Constants of the last {@code Zn} this was evaluated in.
+     */
+    private volatile ZnConstants znConstants = null;
+
+    private static final class ZnConstants {
+        final Zn zn;
+        final Zn.ZnElement[] values;
+
+        ZnConstants(Zn zn, Zn.ZnElement[] values) {
+            this.zn = zn;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Compiles the given expression.
+     */
+    CompiledExponentExpr(ExponentExpr expr) {
+        this.expr = expr;
+        Compiler compiler = new Compiler();
+        compiler.emit(expr);
+        int n = compiler.ops.size();
+        this.ops = new byte[n];
+        this.args = new int[n];
+        for (int i = 0; i < n; i++) {
+            ops[i] = compiler.ops.get(i);
+            args[i] = compiler.args.get(i);
+        }
+        this.constants = compiler.constants.toArray(new BigInteger[0]);
+        this.variables = compiler.variables.toArray(new ExponentVariableExpr[0]);
+        this.opaqueExprs = compiler.opaqueExprs.toArray(new ExponentExpr[0]);
+        this.powExponents = compiler.powExponents.toArray(new CompiledExponentExpr[0]);
+        this.stackSize = compiler.maxDepth;
+        this.isConstant = !expr.containsVariables();
+    }
+
+    /**
+     * Returns the expression this was compiled from.
+     */
+    public ExponentExpr getExpression() {
+        return expr;
+    }
+
+    /**
+     * Returns true if and only if the expression does not depend on any variables.
+     */
+    public boolean isConstant() {
+        return isConstant;
+    }
+
+    /**
+     * Evaluates the expression over the integers after substituting variables using the given substitutions.
+     * Equivalent to {@link ExponentExpr#evaluate(Substitution)}.
+     */
+    public BigInteger evaluate(Substitution substitutions) {
+        BigInteger[] stack = new BigInteger[stackSize];
+        int top = -1;
+        for (int pc = 0; pc < ops.length; pc++) {
+            int arg = args[pc];
+            switch (ops[pc]) {
+                case CONST:
+                    stack[++top] = constants[arg];
+                    break;
+                case VAR:
+                    stack[++top] = getInteger(variables[arg], substitutions);
+                    break;
+                case ADD:
+                    stack[top - 1] = stack[top - 1].add(stack[top]);
+                    top--;
+                    break;
+                case MUL:
+                    stack[top - 1] = stack[top - 1].multiply(stack[top]);
+                    top--;
+                    break;
+                case NEG:
+                    stack[top] = stack[top].negate();
+                    break;
+                case INV:
+                    throw new IllegalArgumentException("Cannot invert element over Z. Use evaluate(Zn) instead.");
+                case POW:
+                    stack[top] = stack[top].pow(BigIntegerTools.getExactInt(powExponents[arg].evaluate(substitutions)));
+                    break;
+                case EXPR:
+                    stack[++top] = opaqueExprs[arg].evaluate(substitutions);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + ops[pc]);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates the expression in the given {@code Zn} after substituting variables using the given substitutions.
+     * Equivalent to {@link ExponentExpr#evaluate(Zn, Substitution)}.
+     */
+    public Zn.ZnElement evaluate(Zn zn, Substitution substitutions) {
+        Zn.ZnElement[] constantValues = getConstants(zn);
+        Zn.ZnElement[] stack = new Zn.ZnElement[stackSize];
+        int top = -1;
+        for (int pc = 0; pc < ops.length; pc++) {
+            int arg = args[pc];
+            switch (ops[pc]) {
+                case CONST:
+                    stack[++top] = constantValues[arg];
+                    break;
+                case VAR:
+                    stack[++top] = getZnElement(variables[arg], zn, substitutions);
+                    break;
+                case ADD:
+                    stack[top - 1] = stack[top - 1].add(stack[top]);
+                    top--;
+                    break;
+                case MUL:
+                    stack[top - 1] = stack[top - 1].mul(stack[top]);
+                    top--;
+                    break;
+                case NEG:
+                    stack[top] = stack[top].neg();
+                    break;
+                case INV:
+                    stack[top] = stack[top].inv();
+                    break;
+                case POW:
+                    stack[top] = stack[top].pow(powExponents[arg].evaluate(substitutions));
+                    break;
+                case EXPR:
+                    stack[++top] = opaqueExprs[arg].evaluate(zn, substitutions);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + ops[pc]);
+            }
+        }
+        return stack[0];
+    }
+
+    private Zn.ZnElement[] getConstants(Zn zn) {
+        ZnConstants cached = znConstants;
+        if (cached != null && (cached.zn == zn || cached.zn.equals(zn)))
+            return cached.values;
+        Zn.ZnElement[] values = new Zn.ZnElement[constants.length];
+        for (int i = 0; i < constants.length; i++)
+            values[i] = zn.valueOf(constants[i]);
+        znConstants = new ZnConstants(zn, values);
+        return values;
+    }
+
+    private static BigInteger getInteger(ExponentVariableExpr variable, Substitution substitutions) {
+        if (substitutions instanceof ValueBundle) {
+            BigInteger result = ((ValueBundle) substitutions).getInteger(variable);
+            if (result == null)
+                throw new EvaluationException(variable, "Variable cannot be evaluated");
+            return result;
+        }
+        return variable.evaluate(substitutions);
+    }
+
+    private static Zn.ZnElement getZnElement(ExponentVariableExpr variable, Zn zn, Substitution substitutions) {
+        if (substitutions instanceof ValueBundle) {
+            RingElement ringElement = ((ValueBundle) substitutions).getRingElement(variable);
+            if (ringElement instanceof Zn.ZnElement && zn.equals(ringElement.getStructure()))
+                return (Zn.ZnElement) ringElement;
+            return zn.valueOf(getInteger(variable, substitutions));
+        }
+        return variable.evaluate(zn, substitutions);
+    }
+
+    /**
+     * Translates an expression tree into the (postfix) program.
+     */
+    private static final class Compiler {
+        final List<Byte> ops = new ArrayList<>();
+        final List<Integer> args = new ArrayList<>();
+        final List<BigInteger> constants = new ArrayList<>();
+        final List<ExponentVariableExpr> variables = new ArrayList<>();
+        final List<ExponentExpr> opaqueExprs = new ArrayList<>();
+        final List<CompiledExponentExpr> powExponents = new ArrayList<>();
+        int depth = 0;
+        int maxDepth = 0;
+
+        void emit(ExponentExpr expr) {
+            if (!(expr instanceof ExponentVariableExpr) && !expr.containsVariables()) {
+                BigInteger value;
+                try {
+                    value = expr.evaluate();
+                } catch (IllegalArgumentException e) { // e.g. inverses cannot be evaluated over the integers
+                    push(EXPR, opaqueExprs.size());
+                    opaqueExprs.add(expr);
+                    return;
+                }
+                push(CONST, constants.size());
+                constants.add(value);
+            } else if (expr instanceof ExponentVariableExpr) {
+                int index = variables.indexOf(expr);
+                if (index < 0) {
+                    index = variables.size();
+                    variables.add((ExponentVariableExpr) expr);
+                }
+                push(VAR, index);
+            } else if (expr instanceof ExponentSumExpr) {
+                emit(((ExponentSumExpr) expr).getLhs());
+                emit(((ExponentSumExpr) expr).getRhs());
+                pop(ADD);
+            } else if (expr instanceof ExponentMulExpr) {
+                emit(((ExponentMulExpr) expr).getLhs());
+                emit(((ExponentMulExpr) expr).getRhs());
+                pop(MUL);
+            } else if (expr instanceof ExponentNegExpr) {
+                emit(((ExponentNegExpr) expr).getChild());
+                unary(NEG, 0);
+            } else if (expr instanceof ExponentInvExpr) {
+                emit(((ExponentInvExpr) expr).getChild());
+                unary(INV, 0);
+            } else if (expr instanceof ExponentPowExpr) {
+                emit(((ExponentPowExpr) expr).getBase());
+                unary(POW, powExponents.size());
+                powExponents.add(new CompiledExponentExpr(((ExponentPowExpr) expr).getExponent()));
+            } else {
+                push(EXPR, opaqueExprs.size());
+                opaqueExprs.add(expr);
+            }
+        }
+
+        private void push(byte op, int arg) {
+            ops.add(op);
+            args.add(arg);
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void pop(byte op) {
+            ops.add(op);
+            args.add(0);
+            depth--;
+        }
+
+        private void unary(byte op, int arg) {
+            ops.add(op);
+            args.add(arg);
+        }
+    }
+}
@@ -34,6 +34,11 @@ public class ExponentEmptyExpr implements ExponentExpr {
         return this;
     }
 
+    @Override
+    public ExponentExpr negate() {
+        return this;
+    }
+
     @Override
     public ExponentExpr invert() {
         throw new ArithmeticException("division by 0");
@@ -253,6 +253,44 @@ public interface ExponentExpr extends Expression {
     }
 
 
+    /**
+     * Returns an equivalent expression in normal form, i.e. as a polynomial in its variables with folded constants.
+     * <p>
+     * Like terms are collected and terms with coefficient zero are eliminated, so for example {@code x*y + 2*(y*x)}
+     * normalizes to {@code 3*x*y}.
+     * Subexpressions that are not polynomials (such as inverses of variables) are treated like variables.
+     * The normal form is canonical in the sense that equivalent polynomials normalize to the same expression
+     * (given the same order of first occurrence of their variables).
+     *
+     * @return an expression that evaluates to the same value as this expression
+     */
+    default ExponentExpr normalize() {
+        return ExponentPolynomial.normalize(this, null);
+    }
+
+    /**
+     * Returns an expression in normal form that is equivalent to this expression when evaluated in the given
+     * {@code Zn}, see {@link #normalize()}.
+     * <p>
+     * Coefficients are reduced modulo n and inverses of constants are computed.
+     *
+     * @param zn the ring the expression will be evaluated in
+     * @return an expression that evaluates to the same value as this expression in {@code zn}
+     */
+    default ExponentExpr normalize(Zn zn) {
+        return ExponentPolynomial.normalize(this, zn.size());
+    }
+
+    /**
+     * Compiles this expression for repeated evaluation with different substitutions.
+     *
+     * @return an immutable, compiled version of this expression
+     * @see CompiledExponentExpr
+     */
+    default CompiledExponentExpr compile() {
+        return new CompiledExponentExpr(this);
+    }
+
     /**
      * Returns an equivalent expression of the form {@code y + f(variables)}, where {@code y} is constant (no variables),
      * and the expression {@code f} is linear.
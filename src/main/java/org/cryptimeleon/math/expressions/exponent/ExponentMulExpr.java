@@ -77,7 +77,8 @@ public class ExponentMulExpr implements ExponentExpr {
             return new ExponentSumExpr(lhsLinearized.getLhs().mul(rhs), lhsLinearized.getRhs().mul(rhs));
         } else { //lhs is constant, rhs isn't
             ExponentSumExpr rhsLinearized = rhs.linearize();
-            return new ExponentSumExpr(lhs.mul(rhsLinearized.getLhs()), lhs.mul(rhsLinearized.getRhs()));
+            //ExponentEmptyExpr.mul() keeps the constant part empty if it is
+            return new ExponentSumExpr(rhsLinearized.getLhs().mul(lhs), lhs.mul(rhsLinearized.getRhs()));
         }
     }
 }
@@ -0,0 +1,324 @@
+package org.cryptimeleon.math.expressions.exponent;
+
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Normalizes {@link ExponentExpr}s by representing them as polynomials, see {@link ExponentExpr#normalize()}.
+ * <p>
+ * Variables, as well as subexpressions that are not polynomial (inverses of non-constants, powers with
+ * non-constant exponents, unknown expression types), are treated as atoms of the polynomial.
+ * Coefficients are integers, reduced modulo the modulus if there is one.
+ */
+final class ExponentPolynomial {
+    /**
+     * Powers {@code p^k} of polynomials {@code p} with more than one term are only expanded for {@code k} up to this.
+     */
+    private static final int MAX_EXPANDED_POWER = 4;
+
+    /**
+     * Integer powers of constants are only computed if the result has at most (roughly) this many bits.
+     */
+    private static final long MAX_FOLDED_BIT_LENGTH = 1 << 16;
+
+    private final Map<Object, Integer> atomIndices = new HashMap<>();
+    private final List<ExponentExpr> atoms = new ArrayList<>();
+
+    private ExponentPolynomial() {
+
+    }
+
+    /**
+     * Returns an expression equivalent to {@code expr} in normal form.
+     *
+     * @param expr the expression to normalize
+     * @param modulus the modulus to reduce coefficients with, or null to normalize over the integers
+     */
+    static ExponentExpr normalize(ExponentExpr expr, BigInteger modulus) {
+        ExponentPolynomial normalizer = new ExponentPolynomial();
+        return normalizer.toExpr(normalizer.toPolynomial(expr, modulus), modulus);
+    }
+
+    /**
+     * A product of atoms, given by the power of each atom (indexed like {@link #atoms}).
+     */
+    private static final class Monomial implements Comparable<Monomial> {
+        static final Monomial ONE = new Monomial(new int[0]);
+
+        final int[] powers;
+        final long degree;
+
+        Monomial(int[] powers) {
+            int length = powers.length;
+            while (length > 0 && powers[length - 1] == 0)
+                length--;
+            this.powers = length == powers.length ? powers : Arrays.copyOf(powers, length);
+            long degree = 0;
+            for (int power : this.powers)
+                degree += power;
+            this.degree = degree;
+        }
+
+        static Monomial ofAtom(int index) {
+            int[] powers = new int[index + 1];
+            powers[index] = 1;
+            return new Monomial(powers);
+        }
+
+        /**
+         * @throws ArithmeticException if a power does not fit into an {@code int}
+         */
+        Monomial mul(Monomial other) {
+            int[] result = Arrays.copyOf(powers, Math.max(powers.length, other.powers.length));
+            for (int i = 0; i < other.powers.length; i++)
+                result[i] = Math.addExact(result[i], other.powers[i]);
+            return new Monomial(result);
+        }
+
+        /**
+         * @throws ArithmeticException if a power does not fit into an {@code int}
+         */
+        Monomial pow(int k) {
+            int[] result = new int[powers.length];
+            for (int i = 0; i < powers.length; i++)
+                result[i] = Math.multiplyExact(powers[i], k);
+            return new Monomial(result);
+        }
+
+        @Override
+        public int compareTo(Monomial other) {
+            if (degree != other.degree)
+                return Long.compare(degree, other.degree);
+            for (int i = 0; i < Math.max(powers.length, other.powers.length); i++) {
+                int power = i < powers.length ? powers[i] : 0;
+                int otherPower = i < other.powers.length ? other.powers[i] : 0;
+                if (power != otherPower)
+                    return Integer.compare(otherPower, power);
+            }
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Monomial && Arrays.equals(powers, ((Monomial) o).powers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(powers);
+        }
+    }
+
+    /**
+     * Identifies non-polynomial subexpressions by the polynomials they are built from.
+     */
+    private static final class CompositeAtom {
+        final String operation;
+        final List<Map<Monomial, BigInteger>> operands;
+        final BigInteger modulus;
+
+        CompositeAtom(String operation, BigInteger modulus, List<Map<Monomial, BigInteger>> operands) {
+            this.operation = operation;
+            this.modulus = modulus;
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CompositeAtom)) return false;
+            CompositeAtom other = (CompositeAtom) o;
+            return operation.equals(other.operation) && Objects.equals(modulus, other.modulus)
+                    && operands.equals(other.operands);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, modulus, operands);
+        }
+    }
+
+    private Map<Monomial, BigInteger> toPolynomial(ExponentExpr expr, BigInteger modulus) {
+        if (expr instanceof ExponentConstantExpr || expr instanceof ExponentEmptyExpr)
+            return constant(expr.evaluate(), modulus);
+        if (expr instanceof ExponentVariableExpr)
+            return atom(expr, expr);
+        if (expr instanceof ExponentSumExpr)
+            return add(toPolynomial(((ExponentSumExpr) expr).getLhs(), modulus),
+                    toPolynomial(((ExponentSumExpr) expr).getRhs(), modulus), modulus);
+        if (expr instanceof ExponentNegExpr)
+            return scale(toPolynomial(((ExponentNegExpr) expr).getChild(), modulus), BigInteger.ONE.negate(), modulus);
+        if (expr instanceof ExponentMulExpr) {
+            Map<Monomial, BigInteger> lhs = toPolynomial(((ExponentMulExpr) expr).getLhs(), modulus);
+            Map<Monomial, BigInteger> rhs = toPolynomial(((ExponentMulExpr) expr).getRhs(), modulus);
+            try {
+                return mul(lhs, rhs, modulus);
+            } catch (ArithmeticException e) {
+                // the powers of the atoms do not fit into an int, keep the product
+                return atom(new CompositeAtom("mul", modulus, Arrays.asList(lhs, rhs)),
+                        new ExponentMulExpr(toExpr(lhs, modulus), toExpr(rhs, modulus)));
+            }
+        }
+        if (expr instanceof ExponentInvExpr)
+            return invert(toPolynomial(((ExponentInvExpr) expr).getChild(), modulus), modulus);
+        if (expr instanceof ExponentPowExpr) // exponents are always evaluated over the integers
+            return pow(toPolynomial(((ExponentPowExpr) expr).getBase(), modulus),
+                    toPolynomial(((ExponentPowExpr) expr).getExponent(), null), modulus);
+
+        if (!expr.containsVariables()) {
+            try {
+                return constant(modulus == null ? expr.evaluate() : expr.evaluate(new Zn(modulus)).asInteger(), modulus);
+            } catch (IllegalArgumentException | UnsupportedOperationException | ArithmeticException e) {
+                // cannot be evaluated, keep as is
+            }
+        }
+        return atom(expr, expr);
+    }
+
+    private Map<Monomial, BigInteger> invert(Map<Monomial, BigInteger> p, BigInteger modulus) {
+        // over the integers, inverses cannot be evaluated (not even of constants), so they are kept
+        BigInteger value = getConstant(p);
+        if (modulus != null && value != null && value.gcd(modulus).equals(BigInteger.ONE))
+            return constant(value.modInverse(modulus), modulus);
+        return atom(new CompositeAtom("inv", modulus, Collections.singletonList(p)), new ExponentInvExpr(toExpr(p, modulus)));
+    }
+
+    private Map<Monomial, BigInteger> pow(Map<Monomial, BigInteger> base, Map<Monomial, BigInteger> exponent,
+                                          BigInteger modulus) {
+        BigInteger k = getConstant(exponent);
+        if (k != null) {
+            BigInteger value = getConstant(base);
+            if (value != null && modulus != null && (k.signum() >= 0 || value.gcd(modulus).equals(BigInteger.ONE)))
+                return constant(value.modPow(k, modulus), modulus);
+            if (k.signum() >= 0 && k.bitLength() < 32) {
+                int power = k.intValue();
+                if (value != null && (long) value.bitLength() * power <= MAX_FOLDED_BIT_LENGTH)
+                    return constant(value.pow(power), modulus);
+                try {
+                    if (value == null && base.size() == 1) {
+                        Map.Entry<Monomial, BigInteger> term = base.entrySet().iterator().next();
+                        Monomial monomial = term.getKey().pow(power);
+                        BigInteger coefficient = modulus == null ? term.getValue().pow(power)
+                                : term.getValue().modPow(k, modulus);
+                        Map<Monomial, BigInteger> result = new HashMap<>();
+                        addTerm(result, monomial, coefficient, modulus);
+                        return result;
+                    }
+                    if (value == null && power <= MAX_EXPANDED_POWER) {
+                        Map<Monomial, BigInteger> result = constant(BigInteger.ONE, modulus);
+                        for (int i = 0; i < power; i++)
+                            result = mul(result, base, modulus);
+                        return result;
+                    }
+                } catch (ArithmeticException e) {
+                    // the powers of the atoms do not fit into an int, keep the power
+                }
+            }
+        }
+        return atom(new CompositeAtom("pow", modulus, Arrays.asList(base, exponent)),
+                new ExponentPowExpr(toExpr(base, modulus), toExpr(exponent, null)));
+    }
+
+    private Map<Monomial, BigInteger> atom(Object key, ExponentExpr expr) {
+        Integer index = atomIndices.get(key);
+        if (index == null) {
+            index = atoms.size();
+            atoms.add(expr);
+            atomIndices.put(key, index);
+        }
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        result.put(Monomial.ofAtom(index), BigInteger.ONE);
+        return result;
+    }
+
+    private static Map<Monomial, BigInteger> constant(BigInteger value, BigInteger modulus) {
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        addTerm(result, Monomial.ONE, value, modulus);
+        return result;
+    }
+
+    /**
+     * Returns the value of the given polynomial if it is constant, or null otherwise.
+     */
+    private static BigInteger getConstant(Map<Monomial, BigInteger> p) {
+        if (p.isEmpty())
+            return BigInteger.ZERO;
+        if (p.size() == 1)
+            return p.get(Monomial.ONE);
+        return null;
+    }
+
+    private static void addTerm(Map<Monomial, BigInteger> p, Monomial monomial, BigInteger coefficient,
+                                BigInteger modulus) {
+        BigInteger sum = p.getOrDefault(monomial, BigInteger.ZERO).add(coefficient);
+        if (modulus != null)
+            sum = sum.mod(modulus);
+        if (sum.signum() == 0)
+            p.remove(monomial);
+        else
+            p.put(monomial, sum);
+    }
+
+    private static Map<Monomial, BigInteger> add(Map<Monomial, BigInteger> lhs, Map<Monomial, BigInteger> rhs,
+                                                 BigInteger modulus) {
+        Map<Monomial, BigInteger> result = new HashMap<>(lhs);
+        rhs.forEach((monomial, coefficient) -> addTerm(result, monomial, coefficient, modulus));
+        return result;
+    }
+
+    private static Map<Monomial, BigInteger> scale(Map<Monomial, BigInteger> p, BigInteger factor,
+                                                   BigInteger modulus) {
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        p.forEach((monomial, coefficient) -> addTerm(result, monomial, coefficient.multiply(factor), modulus));
+        return result;
+    }
+
+    private static Map<Monomial, BigInteger> mul(Map<Monomial, BigInteger> lhs, Map<Monomial, BigInteger> rhs,
+                                                 BigInteger modulus) {
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        lhs.forEach((lhsMonomial, lhsCoefficient) -> rhs.forEach((rhsMonomial, rhsCoefficient) ->
+                addTerm(result, lhsMonomial.mul(rhsMonomial), lhsCoefficient.multiply(rhsCoefficient), modulus)));
+        return result;
+    }
+
+    /**
+     * Turns the polynomial back into an expression, with the constant term first and the remaining terms ordered by
+     * degree.
+     * Coefficients larger than half the modulus are written as subtraction of a small coefficient.
+     */
+    private ExponentExpr toExpr(Map<Monomial, BigInteger> p, BigInteger modulus) {
+        if (p.isEmpty())
+            return new ExponentConstantExpr(BigInteger.ZERO);
+
+        List<Monomial> monomials = new ArrayList<>(p.keySet());
+        Collections.sort(monomials);
+        ExponentExpr result = null;
+        for (Monomial monomial : monomials) {
+            BigInteger coefficient = p.get(monomial);
+            boolean negative = coefficient.signum() < 0
+                    || modulus != null && coefficient.shiftLeft(1).compareTo(modulus) > 0;
+            if (negative)
+                coefficient = modulus == null ? coefficient.negate() : modulus.subtract(coefficient);
+
+            ExponentExpr term = null;
+            for (int i = 0; i < monomial.powers.length; i++) {
+                if (monomial.powers[i] == 0)
+                    continue;
+                ExponentExpr factor = monomial.powers[i] == 1 ? atoms.get(i) : atoms.get(i).pow(monomial.powers[i]);
+                term = term == null ? factor : term.mul(factor);
+            }
+            if (term == null)
+                term = new ExponentConstantExpr(coefficient);
+            else if (!coefficient.equals(BigInteger.ONE))
+                term = new ExponentConstantExpr(coefficient).mul(term);
+
+            if (result == null)
+                result = negative ? term.negate() : term;
+            else
+                result = negative ? result.sub(term) : result.add(term);
+        }
+        return result;
+    }
+}
@@ -31,6 +31,8 @@ public abstract class AbstractGroupElementExpression implements GroupElementExpr
     }
 
     protected BigInteger getGroupOrderIfKnown() {
+        if (getGroup() == null)
+            return null;
         try {
             return getGroup().size();
         } catch (UnsupportedOperationException unknownSizeException) {
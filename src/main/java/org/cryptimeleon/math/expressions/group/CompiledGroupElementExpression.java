@@ -0,0 +1,281 @@
+package org.cryptimeleon.math.expressions.group;
+
+import org.cryptimeleon.math.expressions.EvaluationException;
+import org.cryptimeleon.math.expressions.Substitution;
+import org.cryptimeleon.math.expressions.ValueBundle;
+import org.cryptimeleon.math.expressions.exponent.CompiledExponentExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentConstantExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentExpr;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link GroupElementExpression} compiled into an evaluation plan, see {@link GroupElementExpression#compile()}.
+ * <p>
+ * The plan has the form \(y \cdot \prod g_i^{x_i}\), where \(y\) is a precomputed constant and the \(g_i\) are
+ * constants, variables or pairings. Constant bases are precomputed for exponentiation
+ * (see {@link GroupElement#precomputePow()}). Factors with equal bases are combined, and their exponents \(x_i\) are
+ * normalized (see {@link ExponentExpr#normalize()}) and compiled (see {@link CompiledExponentExpr}).
+ * Hence evaluating the plan with different substitutions does not walk or substitute the expression tree.
+ * In lazy groups, the resulting product is computed as a single multi-exponentiation.
+ * <p>
+ * Instances are immutable and can be evaluated by multiple threads concurrently.
+ */
+public final class CompiledGroupElementExpression {
+    private final GroupElementExpression expr;
+    private final Group group;
+    /**
+     * The constant factor y, or null if there is none.
+     */
+    private final GroupElement constant;
+    private final Term[] terms;
+
+    /**
+     * Compiles the given expression.
+     */
+    CompiledGroupElementExpression(GroupElementExpression expr) {
+        this.expr = expr;
+        this.group = expr.getGroup();
+        Collector collector = new Collector();
+        collector.collect(expr, new ExponentConstantExpr(BigInteger.ONE));
+        collector.mergeTerms();
+
+        GroupElement y = null;
+        for (GroupElement c : collector.constants)
+            y = y == null ? c : y.op(c);
+        this.constant = y == null ? null : y.computeSync();
+        this.terms = collector.terms.toArray(new Term[0]);
+    }
+
+    /**
+     * Returns the expression this was compiled from.
+     */
+    public GroupElementExpression getExpression() {
+        return expr;
+    }
+
+    /**
+     * Returns the number of factors \(g_i^{x_i}\) that are computed on evaluation (in addition to the constant \(y\)).
+     */
+    public int getNumberOfTerms() {
+        return terms.length;
+    }
+
+    /**
+     * Evaluates the expression after substituting variables using the given substitutions.
+     * Equivalent to {@link GroupElementExpression#evaluate(Substitution)}.
+     */
+    public GroupElement evaluate(Substitution substitutions) {
+        GroupElement result = constant;
+        for (Term term : terms) {
+            GroupElement value = term.evaluate(substitutions);
+            result = result == null ? value : result.op(value);
+        }
+        if (result == null) {
+            if (group == null)
+                throw new EvaluationException(expr, "Cannot evaluate expression of unknown group");
+            return group.getNeutralElement();
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the expression (which must not contain variables).
+     */
+    public GroupElement evaluate() {
+        return evaluate(x -> null);
+    }
+
+    /**
+     * Flattens an expression into the factors of the plan.
+     */
+    private static final class Collector {
+        final List<Term> terms = new ArrayList<>();
+        final List<GroupElement> constants = new ArrayList<>();
+        /**
+         * Exponents of the constant and variable bases, combined for equal bases.
+         */
+        final Map<GroupElement, ExponentExpr> constantBases = new LinkedHashMap<>();
+        final Map<GroupVariableExpr, ExponentExpr> variableBases = new LinkedHashMap<>();
+
+        /**
+         * Walks the expression {@code expr^exponent}, collecting the factors that need to be computed on evaluation
+         * and the constant ones.
+         */
+        void collect(GroupElementExpression expr, ExponentExpr exponent) {
+            if (expr instanceof GroupEmptyExpr)
+                return;
+            if (expr instanceof GroupOpExpr) {
+                collect(((GroupOpExpr) expr).getLhs(), exponent);
+                collect(((GroupOpExpr) expr).getRhs(), exponent);
+            } else if (expr instanceof GroupPowExpr) {
+                collect(((GroupPowExpr) expr).getBase(), exponent.mul(((GroupPowExpr) expr).getExponent()));
+            } else if (expr instanceof GroupInvExpr) {
+                collect(((GroupInvExpr) expr).getBase(), exponent.negate());
+            } else if (!expr.containsVariables() && !exponent.containsVariables()) {
+                GroupElement value = expr.evaluate();
+                constants.add(value.pow(evaluateConstantExponent(exponent, value.getStructure())));
+            } else if (expr instanceof GroupElementConstantExpr) {
+                constantBases.merge(expr.evaluate(), exponent, ExponentExpr::add);
+            } else if (expr instanceof GroupVariableExpr) {
+                variableBases.merge((GroupVariableExpr) expr, exponent, ExponentExpr::add);
+            } else if (expr instanceof PairingExpr) {
+                terms.add(new PairingTerm((PairingExpr) expr, exponent));
+            } else {
+                terms.add(new ExpressionTerm(expr, exponent));
+            }
+        }
+
+        /**
+         * Creates the terms for the constant and variable bases, with their combined exponents normalized.
+         * Terms whose exponent turns out to be constant are folded into the constants or dropped if it is zero.
+         */
+        void mergeTerms() {
+            constantBases.forEach((base, exponent) -> {
+                Zn zn = getZnIfKnown(base.getStructure());
+                ExponentExpr normalized = zn == null ? exponent.normalize() : exponent.normalize(zn);
+                if (!normalized.containsVariables()) {
+                    constants.add(base.pow(evaluateConstantExponent(normalized, base.getStructure())));
+                } else {
+                    base.precomputePow();
+                    terms.add(new ConstantBaseTerm(base, normalized));
+                }
+            });
+            variableBases.forEach((variable, exponent) -> {
+                ExponentExpr normalized = exponent.normalize();
+                if (normalized.containsVariables() || normalized.evaluate().signum() != 0)
+                    terms.add(new VariableBaseTerm(variable, normalized));
+            });
+        }
+    }
+
+    private static BigInteger evaluateConstantExponent(ExponentExpr exponent, Group group) {
+        Zn zn = getZnIfKnown(group);
+        return zn == null ? exponent.evaluate() : exponent.evaluate(zn).asInteger();
+    }
+
+    /**
+     * Returns the {@code Zn} corresponding to the given group's order, or null if it is not known.
+     */
+    private static Zn getZnIfKnown(Group group) {
+        if (group == null)
+            return null;
+        try {
+            BigInteger size = group.size();
+            return size == null ? null : new Zn(size);
+        } catch (UnsupportedOperationException unknownSizeException) {
+            return null;
+        }
+    }
+
+    /**
+     * A factor \(g^x\) of the plan.
+     */
+    private abstract static class Term {
+        final CompiledExponentExpr exponent;
+
+        Term(ExponentExpr exponent) {
+            this.exponent = exponent.compile();
+        }
+
+        abstract GroupElement evaluate(Substitution substitutions);
+
+        /**
+         * Raises the given base to the exponent, evaluated in {@code zn} if not null and over the integers otherwise.
+         */
+        GroupElement pow(GroupElement base, Zn zn, Substitution substitutions) {
+            if (zn == null)
+                return base.pow(exponent.evaluate(substitutions));
+            return base.pow(exponent.evaluate(zn, substitutions));
+        }
+    }
+
+    private static final class ConstantBaseTerm extends Term {
+        private final GroupElement base;
+        private final Zn zn;
+
+        ConstantBaseTerm(GroupElement base, ExponentExpr exponent) {
+            super(exponent);
+            this.base = base;
+            this.zn = getZnIfKnown(base.getStructure());
+        }
+
+        @Override
+        GroupElement evaluate(Substitution substitutions) {
+            return pow(base, zn, substitutions);
+        }
+    }
+
+    private static final class VariableBaseTerm extends Term {
+        private final GroupVariableExpr variable;
+        private final boolean exponentIsOne;
+
+        VariableBaseTerm(GroupVariableExpr variable, ExponentExpr exponent) {
+            super(exponent);
+            this.variable = variable;
+            this.exponentIsOne = !exponent.containsVariables() && BigInteger.ONE.equals(exponent.evaluate());
+        }
+
+        @Override
+        GroupElement evaluate(Substitution substitutions) {
+            GroupElement base;
+            if (substitutions instanceof ValueBundle) {
+                base = ((ValueBundle) substitutions).getGroupElement(variable);
+                if (base == null)
+                    throw new EvaluationException(variable, "Variable cannot be evaluated");
+            } else {
+                base = variable.evaluate(substitutions);
+            }
+            if (exponentIsOne)
+                return base;
+            return pow(base, getZnIfKnown(base.getStructure()), substitutions);
+        }
+    }
+
+    private static final class PairingTerm extends Term {
+        private final BilinearMap map;
+        private final CompiledGroupElementExpression lhs, rhs;
+        private final Zn zn;
+
+        PairingTerm(PairingExpr pairing, ExponentExpr exponent) {
+            super(exponent);
+            this.map = pairing.getMap();
+            this.lhs = new CompiledGroupElementExpression(pairing.getLhs());
+            this.rhs = new CompiledGroupElementExpression(pairing.getRhs());
+            this.zn = getZnIfKnown(map.getGT());
+        }
+
+        @Override
+        GroupElement evaluate(Substitution substitutions) {
+            return pow(map.apply(lhs.evaluate(substitutions), rhs.evaluate(substitutions)), zn, substitutions);
+        }
+    }
+
+    /**
+     * A factor whose base is an expression of unknown type, evaluated via
+     * {@link GroupElementExpression#evaluate(Substitution)}.
+     */
+    private static final class ExpressionTerm extends Term {
+        private final GroupElementExpression base;
+        private final Zn zn;
+
+        ExpressionTerm(GroupElementExpression base, ExponentExpr exponent) {
+            super(exponent);
+            this.base = base;
+            this.zn = getZnIfKnown(base.getGroup());
+        }
+
+        @Override
+        GroupElement evaluate(Substitution substitutions) {
+            return pow(base.evaluate(substitutions), zn, substitutions);
+        }
+    }
+}
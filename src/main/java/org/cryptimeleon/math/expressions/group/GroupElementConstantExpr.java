@@ -43,7 +43,9 @@ public class GroupElementConstantExpr extends AbstractGroupElementExpression {
     @Override
     public GroupOpExpr flatten(ExponentExpr exponent) {
         if (exponent.containsVariables()) {
-            return new GroupOpExpr(new GroupEmptyExpr(getGroup()), this.pow(exponent));
+            BigInteger groupSize = getGroupOrderIfKnown();
+            ExponentExpr normalized = groupSize == null ? exponent.normalize() : exponent.normalize(new Zn(groupSize));
+            return new GroupOpExpr(new GroupEmptyExpr(getGroup()), this.pow(normalized));
         } else {
             BigInteger groupSize = getGroupOrderIfKnown();
             if (groupSize == null)
@@ -167,6 +167,19 @@ public interface GroupElementExpression extends Expression {
         return flattened;
     }
 
+    /**
+     * Compiles this expression for repeated evaluation with different substitutions.
+     * <p>
+     * Similar to {@link #precompute()}, this precomputes constant bases, but additionally resolves the structure of
+     * the expression once instead of on every evaluation.
+     *
+     * @return an immutable, compiled version of this expression
+     * @see CompiledGroupElementExpression
+     */
+    default CompiledGroupElementExpression compile() {
+        return new CompiledGroupElementExpression(this);
+    }
+
     /**
      * Returns an equivalent expression of the form {@code y * f(groupVariables, exponentVariables)},
      * where {@code y} is constant (no variables), and the expression {@code f} is linear.
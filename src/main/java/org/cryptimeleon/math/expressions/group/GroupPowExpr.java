@@ -6,6 +6,7 @@ import org.cryptimeleon.math.expressions.exponent.ExponentEmptyExpr;
 import org.cryptimeleon.math.expressions.exponent.ExponentExpr;
 import org.cryptimeleon.math.expressions.exponent.ExponentSumExpr;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
 
 import java.math.BigInteger;
 import java.util.function.Consumer;
@@ -62,8 +63,17 @@ public class GroupPowExpr extends AbstractGroupElementExpression {
         return new GroupPowExpr(base, this.exponent.mul(exp));
     }
 
+    /**
+     * Returns the exponent in normal form with respect to the group order, see {@link ExponentExpr#normalize(Zn)}.
+     */
+    protected ExponentExpr getNormalizedExponent() {
+        BigInteger groupOrder = getGroupOrderIfKnown();
+        return groupOrder == null ? exponent.normalize() : exponent.normalize(getGroup().getZn());
+    }
+
     @Override
     public GroupOpExpr linearize() throws IllegalArgumentException {
+        ExponentExpr exponent = getNormalizedExponent();
         boolean baseHasVariables = base.containsVariables();
         boolean exponentHasVariables = exponent.containsVariables();
 
@@ -71,18 +81,18 @@ public class GroupPowExpr extends AbstractGroupElementExpression {
             throw new IllegalArgumentException("Cannot linearize this expression (it's of the form g^x, where both g and x depend on variables)");
 
         if (!baseHasVariables && !exponentHasVariables)
-            return new GroupOpExpr(this, new GroupEmptyExpr(base.getGroup()));
+            return new GroupOpExpr(base.pow(exponent), new GroupEmptyExpr(base.getGroup()));
 
         if (baseHasVariables) { //hence exponent doesn't
             GroupOpExpr baseLinear = base.linearize();
             if (baseLinear.getLhs() instanceof GroupEmptyExpr) //base is linear already, hence this PowExpr is linear
-                return new GroupOpExpr(new GroupEmptyExpr(base.getGroup()), this);
+                return new GroupOpExpr(new GroupEmptyExpr(base.getGroup()), base.pow(exponent));
             else //split base into linear and constant part
                 return new GroupOpExpr(baseLinear.getLhs().pow(exponent), baseLinear.getRhs().pow(exponent));
         } else { //exponent has variables, base doesn't.
             ExponentSumExpr exponentLinear = exponent.linearize();
             if (exponentLinear.getLhs() instanceof ExponentEmptyExpr) //exponent is linear already, hence this PowExpr is linear
-                return new GroupOpExpr(new GroupEmptyExpr(base.getGroup()), this);
+                return new GroupOpExpr(new GroupEmptyExpr(base.getGroup()), base.pow(exponent));
             else //split exponent into linear and constant part
                 return new GroupOpExpr(base.pow(exponentLinear.getLhs()), base.pow(exponentLinear.getRhs()));
         }
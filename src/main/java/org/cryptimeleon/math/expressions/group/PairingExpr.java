@@ -89,7 +89,7 @@ public class PairingExpr extends AbstractGroupElementExpression {
     @Override
     public GroupOpExpr flatten(ExponentExpr exponent) {
         if (exponent.containsVariables() || lhs.containsVariables() || rhs.containsVariables()) {
-            return new GroupOpExpr(new GroupEmptyExpr(map.getGT()), new PairingExpr(map, lhs.flatten(exponent), rhs.flatten()).pow(exponent));
+            return new GroupOpExpr(new GroupEmptyExpr(map.getGT()), new PairingExpr(map, lhs.flatten(), rhs.flatten()).pow(exponent));
         }
         else {
             BigInteger groupSize = getGroupOrderIfKnown();
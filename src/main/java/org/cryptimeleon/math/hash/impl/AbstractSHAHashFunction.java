@@ -5,6 +5,11 @@ import org.cryptimeleon.math.hash.UniqueByteRepresentable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.StandaloneRepresentable;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The base class for SHA hash functions which implements some common methods.
  *
@@ -24,6 +29,26 @@ abstract class AbstractSHAHashFunction implements HashFunction, StandaloneRepres
         this.algorithm = algorithm;
     }
 
+    /**
+     * Per thread, a {@link MessageDigest} for each algorithm, so that hashing does not look up a new one each time.
+     */
+    private static final ThreadLocal<Map<String, MessageDigest>> digests = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Returns this thread's {@link MessageDigest} for {@link #algorithm}. The digest is reset.
+     */
+    private MessageDigest getDigest() {
+        MessageDigest digest = digests.get().computeIfAbsent(algorithm, name -> {
+            try {
+                return MessageDigest.getInstance(name);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        digest.reset();
+        return digest;
+    }
+
     /**
      * Applies this hash function to the given {@link UniqueByteRepresentable}.
      *
@@ -32,9 +57,7 @@ abstract class AbstractSHAHashFunction implements HashFunction, StandaloneRepres
      */
     @Override
     public byte[] hash(final UniqueByteRepresentable ubr) {
-        final SHAHashAccumulator accu = new SHAHashAccumulator(algorithm);
-        accu.append(ubr.getUniqueByteRepresentation());
-        return accu.extractBytes();
+        return hash(ubr.getUniqueByteRepresentation());
     }
 
     @Override
@@ -50,8 +73,6 @@ abstract class AbstractSHAHashFunction implements HashFunction, StandaloneRepres
      */
     @Override
     public byte[] hash(final byte[] bytes) {
-        final SHAHashAccumulator accu = new SHAHashAccumulator(algorithm);
-        accu.append(bytes);
-        return accu.extractBytes();
+        return getDigest().digest(bytes);
     }
 }
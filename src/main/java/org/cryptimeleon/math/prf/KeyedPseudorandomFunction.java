@@ -0,0 +1,23 @@
+package org.cryptimeleon.math.prf;
+
+/**
+ * A pseudorandom function \(f_k\) with a fixed key k.
+ * <p>
+ * Obtained via {@link PseudorandomFunction#withKey(PrfKey)}. Implementations may do the key-dependent setup
+ * (e.g. expanding the key schedule of a block cipher) once and reuse it for all evaluations,
+ * which makes evaluating many preimages under the same key cheaper than repeatedly calling
+ * {@link PseudorandomFunction#evaluate(PrfKey, PrfPreimage)}.
+ */
+public interface KeyedPseudorandomFunction {
+    /**
+     * Returns the key k.
+     */
+    PrfKey getKey();
+
+    /**
+     * Maps a preimage x to its image using the key k.
+     *
+     * @return output of \(f_k(x)\)
+     */
+    PrfImage evaluate(PrfPreimage x);
+}
@@ -33,6 +33,27 @@ public interface PseudorandomFunction extends StandaloneRepresentable, Represent
      */
     PrfImage evaluate(PrfKey k, PrfPreimage x);
 
+    /**
+     * Fixes the key k, e.g. to evaluate many preimages under the same key.
+     * <p>
+     * Implementations may override this to do the key-dependent setup only once.
+     *
+     * @return \(f_k\)
+     */
+    default KeyedPseudorandomFunction withKey(PrfKey k) {
+        return new KeyedPseudorandomFunction() {
+            @Override
+            public PrfKey getKey() {
+                return k;
+            }
+
+            @Override
+            public PrfImage evaluate(PrfPreimage x) {
+                return PseudorandomFunction.this.evaluate(k, x);
+            }
+        };
+    }
+
     //below this, there are only serialization-related methods
 
     /**
@@ -14,6 +14,7 @@ import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
+import java.lang.ref.WeakReference;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
@@ -58,20 +59,64 @@ public class AesPseudorandomFunction implements PseudorandomFunction {
         if (((ByteArrayImpl) x).length() != keylength / 8)
             throw new IllegalArgumentException("preimage x in the AES PRF has invalid length");
 
+        return new ByteArrayImpl(lastUsedCipher.get().encrypt((ByteArrayImpl) k,
+                ((ByteArrayImpl) x).getData()));
+    }
+
+    /**
+     * Fixes the key k. The returned object sets up AES with k only once per thread.
+     */
+    @Override
+    public KeyedAesPseudorandomFunction withKey(PrfKey k) {
+        return new KeyedAesPseudorandomFunction(this, (ByteArrayImpl) k);
+    }
+
+    /**
+     * Returns a new AES cipher (in ECB mode without padding) initialized for encryption with the given key.
+     */
+    static Cipher initCipher(byte[] key) {
         try {
             Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
-            SecretKeySpec keySpec = new SecretKeySpec(((ByteArrayImpl) k).getData(), "AES");
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec);
-            return new ByteArrayImpl(cipher.doFinal(((ByteArrayImpl) x).getData()));
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | BadPaddingException e) {
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+            return cipher;
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
             e.printStackTrace();
             throw new RuntimeException(e);
         } catch (InvalidKeyException e) {
             e.printStackTrace();
             throw new IllegalArgumentException("Input k to AES PRF must be of valid AES key length");
-        } catch (IllegalBlockSizeException e) {
-            e.printStackTrace();
-            throw new IllegalArgumentException("Input x to AES PRF must be of valid AES key length");
+        }
+    }
+
+    /**
+     * Per thread, the cipher used for the last evaluation of this PRF, so that consecutive evaluations with the same
+     * key object skip the cipher lookup and key expansion.
+     */
+    private final ThreadLocal<LastUsedCipher> lastUsedCipher = ThreadLocal.withInitial(LastUsedCipher::new);
+
+    private static class LastUsedCipher {
+        /**
+         * The key the cipher was initialized with. Only referenced weakly (and not copied), so the cache does not
+         * keep the key object reachable. Note that the cipher itself holds the expanded key schedule until this
+         * thread evaluates the PRF with a different key or terminates.
+         */
+        private WeakReference<ByteArrayImpl> key = null;
+        private Cipher cipher = null;
+
+        byte[] encrypt(ByteArrayImpl key, byte[] x) {
+            if (cipher == null || this.key.get() != key) {
+                cipher = initCipher(key.getData());
+                this.key = new WeakReference<>(key);
+            }
+            try {
+                return cipher.doFinal(x);
+            } catch (BadPaddingException e) {
+                e.printStackTrace();
+                throw new RuntimeException(e);
+            } catch (IllegalBlockSizeException e) {
+                e.printStackTrace();
+                throw new IllegalArgumentException("Input x to AES PRF must be of valid AES key length");
+            }
         }
     }
 
@@ -0,0 +1,67 @@
+package org.cryptimeleon.math.prf.aes;
+
+import org.cryptimeleon.math.misc.ByteArrayImpl;
+import org.cryptimeleon.math.prf.KeyedPseudorandomFunction;
+import org.cryptimeleon.math.prf.PrfKey;
+import org.cryptimeleon.math.prf.PrfPreimage;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+
+/**
+ * {@link AesPseudorandomFunction} with a fixed key.
+ * <p>
+ * Each thread initializes its own {@link Cipher} with the key once (which expands the key schedule)
+ * and reuses it for all evaluations. Instances can be shared between threads.
+ */
+public class KeyedAesPseudorandomFunction implements KeyedPseudorandomFunction {
+    private final AesPseudorandomFunction prf;
+    private final ByteArrayImpl key;
+    private final ThreadLocal<Cipher> cipher;
+
+    KeyedAesPseudorandomFunction(AesPseudorandomFunction prf, ByteArrayImpl key) {
+        if (key.length() != prf.getKeylength() / 8)
+            throw new IllegalArgumentException("key k in the AES PRF has invalid length");
+        this.prf = prf;
+        this.key = key;
+        byte[] keyData = key.getData().clone();
+        this.cipher = ThreadLocal.withInitial(() -> AesPseudorandomFunction.initCipher(keyData));
+    }
+
+    @Override
+    public ByteArrayImpl getKey() {
+        return key;
+    }
+
+    @Override
+    public ByteArrayImpl evaluate(PrfPreimage x) {
+        if (((ByteArrayImpl) x).length() != prf.getKeylength() / 8)
+            throw new IllegalArgumentException("preimage x in the AES PRF has invalid length");
+        byte[] result = new byte[((ByteArrayImpl) x).length()];
+        encryptBlocks(((ByteArrayImpl) x).getData(), 0, result, 0, result.length);
+        return new ByteArrayImpl(result);
+    }
+
+    /**
+     * Encrypts {@code length} bytes of {@code input} (starting at {@code inputOffset}) block by block
+     * (i.e. AES in ECB mode) and writes the result to {@code output} (starting at {@code outputOffset}).
+     *
+     * @param length number of bytes to encrypt, must be a multiple of the AES block size (16 bytes)
+     */
+    public void encryptBlocks(byte[] input, int inputOffset, byte[] output, int outputOffset, int length) {
+        if (length % 16 != 0)
+            throw new IllegalArgumentException("Length must be a multiple of the AES block size");
+        try {
+            cipher.get().update(input, inputOffset, length, output, outputOffset);
+        } catch (ShortBufferException e) {
+            throw new IllegalArgumentException("Output buffer too short", e);
+        }
+    }
+
+    /**
+     * Returns the (unkeyed) PRF this is based on.
+     */
+    public AesPseudorandomFunction getPseudorandomFunction() {
+        return prf;
+    }
+}
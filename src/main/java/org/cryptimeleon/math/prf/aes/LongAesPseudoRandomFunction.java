@@ -1,6 +1,7 @@
 package org.cryptimeleon.math.prf.aes;
 
 import org.cryptimeleon.math.misc.ByteArrayImpl;
+import org.cryptimeleon.math.prf.KeyedPseudorandomFunction;
 import org.cryptimeleon.math.prf.PrfKey;
 import org.cryptimeleon.math.prf.PrfPreimage;
 import org.cryptimeleon.math.prf.PseudorandomFunction;
@@ -59,16 +60,47 @@ public class LongAesPseudoRandomFunction implements PseudorandomFunction {
         if (((ByteArrayImpl) x).length() != preimageLengthBytes)
             throw new IllegalArgumentException("preimage x in the AES PRF has invalid length");
 
-        ByteArrayImpl result = new ByteArrayImpl(new byte[0]);
+        // no state is kept between calls (it would keep the key material reachable), use withKey() to reuse the setup
+        return (ByteArrayImpl) withKey(k).evaluate(x);
+    }
+
+    /**
+     * Fixes the key k. The returned object sets up the AES instances with the parts of k only once (per thread).
+     * Prefer this over {@link #evaluate(PrfKey, PrfPreimage)} when evaluating repeatedly with the same key.
+     */
+    @Override
+    public KeyedPseudorandomFunction withKey(PrfKey k) {
+        if (((ByteArrayImpl) k).length() != keyLengthBytes)
+            throw new IllegalArgumentException("key k in the AES PRF has invalid length");
+
+        KeyedAesPseudorandomFunction[] keyedAes = new KeyedAesPseudorandomFunction[factor];
         for (int i = 0; i < factor; i++) {
             ByteArrayImpl ki = ((ByteArrayImpl) k).substring(i * preimageLengthBytes, preimageLengthBytes);
-            byte[] bytesToAppend = ((ByteArrayImpl) aesPseudorandomFunction.evaluate(ki, x)).getData();
-            result = result.append(new ByteArrayImpl(bytesToAppend));
+            keyedAes[i] = aesPseudorandomFunction.withKey(ki);
         }
-        return result;
+        ByteArrayImpl key = new ByteArrayImpl(((ByteArrayImpl) k).getData().clone());
+
+        return new KeyedPseudorandomFunction() {
+            @Override
+            public ByteArrayImpl getKey() {
+                return key;
+            }
+
+            @Override
+            public ByteArrayImpl evaluate(PrfPreimage x) {
+                if (((ByteArrayImpl) x).length() != preimageLengthBytes)
+                    throw new IllegalArgumentException("preimage x in the AES PRF has invalid length");
+
+                byte[] result = new byte[keyLengthBytes];
+                for (int i = 0; i < factor; i++) {
+                    keyedAes[i].encryptBlocks(((ByteArrayImpl) x).getData(), 0, result, i * preimageLengthBytes,
+                            preimageLengthBytes);
+                }
+                return new ByteArrayImpl(result);
+            }
+        };
     }
 
-
     @Override
     public ByteArrayImpl restoreKey(Representation repr) {
         return new ByteArrayImpl(repr);
@@ -4,6 +4,7 @@ import org.cryptimeleon.math.hash.HashFunction;
 import org.cryptimeleon.math.hash.UniqueByteRepresentable;
 import org.cryptimeleon.math.hash.impl.ByteArrayAccumulator;
 import org.cryptimeleon.math.misc.ByteArrayImpl;
+import org.cryptimeleon.math.prf.KeyedPseudorandomFunction;
 import org.cryptimeleon.math.prf.PrfKey;
 import org.cryptimeleon.math.prf.aes.AesPseudorandomFunction;
 import org.cryptimeleon.math.prf.aes.LongAesPseudoRandomFunction;
@@ -15,9 +16,15 @@ import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * Get pseudorandom Zn Elements by a hash-then-prf construction.
@@ -43,6 +50,11 @@ public class HashThenPrfToZn implements StandaloneRepresentable {
     @Represented
     private Zn zn;
 
+    /**
+     * Number of elements generated from one keystream in {@link #hashThenPrfToZnVectorStreaming}.
+     */
+    private static final int STREAMING_RANGE_SIZE = 1024;
+
     // Redundant parameter that we do not want to compute every time we use this
     private BigInteger maxQuotient; // x from the description
 
@@ -109,6 +121,7 @@ public class HashThenPrfToZn implements StandaloneRepresentable {
      */
     public RingElementVector hashThenPrfToZnVector(PrfKey prfKey, UniqueByteRepresentable hashInput, int vectorSize, String prefix) {
         RingElement[] result = new RingElement[vectorSize];
+        KeyedPseudorandomFunction prf = longAesPseudoRandomFunction.withKey(prfKey);
 
         for (int i = 0; i < vectorSize; i++) {
             ByteArrayAccumulator accumulator = new ByteArrayAccumulator();
@@ -116,7 +129,7 @@ public class HashThenPrfToZn implements StandaloneRepresentable {
             accumulator.append(i); // Index to prevent having the same output for each element
             accumulator.escapeAndSeparate(prefix); // Prefix to allow using the same preImage and vectorSize twice
             accumulator.escapeAndAppend(hashInput);
-            Zn.ZnElement element = hashThenPrfToZn(prfKey, accumulator.extractBytes());
+            Zn.ZnElement element = hashThenPrfToZn(prf, accumulator.extractBytes());
             result[i] = element;
         }
 
@@ -127,13 +140,31 @@ public class HashThenPrfToZn implements StandaloneRepresentable {
      * Main method of Hash-then-PRF to Zn.
      * Private to avoid accidentally mixing different hashInput formats.
      *
-     * @param prfKey    the PRF key
+     * @param prf       the PRF with the PRF key
      * @param hashInput input to hash
      * @return a pseudorandom Zn element
      */
-    private Zn.ZnElement hashThenPrfToZn(PrfKey prfKey, byte[] hashInput) {
+    private Zn.ZnElement hashThenPrfToZn(KeyedPseudorandomFunction prf, byte[] hashInput) {
         BigInteger p = zn.getCharacteristic();
 
+        ByteArrayImpl prfOutput = hashThenPrf(prf, hashInput);
+
+        //Compute quotient and remainder of the prf output interpreted as a positive integer. Return remainder as
+        // ZnElement if quotient is smaller than largest quotient to ensurer elements are drawn uniformly at random
+        // from Zn
+        BigInteger[] quotientAndRemainder = new BigInteger(1, prfOutput.getData()).divideAndRemainder(p);
+
+        if (quotientAndRemainder[0].compareTo(maxQuotient) >= 0) {
+            throw new RuntimeException("PRF output is in the reject interval!");
+        }
+
+        return zn.valueOf(quotientAndRemainder[1]);
+    }
+
+    /**
+     * Computes the PRF applied to the (truncated) hash of the given input.
+     */
+    private ByteArrayImpl hashThenPrf(KeyedPseudorandomFunction prf, byte[] hashInput) {
         // Compute hash value
         byte[] hashOutput = hashFunction.hash(hashInput);
 
@@ -142,24 +173,102 @@ public class HashThenPrfToZn implements StandaloneRepresentable {
         System.arraycopy(hashOutput, 0, prfInput, 0, longAesPseudoRandomFunction.getPreimageLengthBytes());
 
         // Compute prf(hash)
-        ByteArrayImpl prfOutput = longAesPseudoRandomFunction.evaluate(prfKey, new ByteArrayImpl(prfInput));
+        return (ByteArrayImpl) prf.evaluate(new ByteArrayImpl(prfInput));
+    }
 
-        //Compute quotient and remainder of the prf output interpreted as a positive integer. Return remainder as
-        // ZnElement if quotient is smaller than largest quotient to ensurer elements are drawn uniformly at random
-        // from Zn
-        BigInteger[] quotientAndRemainder = new BigInteger(1, prfOutput.getData()).divideAndRemainder(p);
+    /**
+     * Generate pseudorandom ZnVectors of variable size, suited for large vectors.
+     * <p>
+     * Instead of hashing and evaluating the PRF for each element like
+     * {@link #hashThenPrfToZn(PrfKey, UniqueByteRepresentable, String)}, this hashes and evaluates the PRF once
+     * to obtain a seed. The seed is used as the key of AES in counter mode, and the resulting keystream is sliced
+     * into chunks of the bit length of n. Each chunk is interpreted as an integer and accepted as the next element
+     * if it is smaller than n (otherwise, the next chunk is tried).
+     * <p>
+     * The vector is generated in ranges of {@value #STREAMING_RANGE_SIZE} elements, each with its own keystream,
+     * so the result does not depend on whether ranges are computed in parallel.
+     * The result is different from the one of {@link #hashThenPrfToZnVector(PrfKey, UniqueByteRepresentable, int, String)}
+     * with the same arguments.
+     *
+     * @param prfKey     the PRF key
+     * @param hashInput  input to hash
+     * @param vectorSize target vector size
+     * @param prefix     prefix to allow using the same vectorSize and preImage several times
+     * @param parallel   whether to compute the ranges of the vector in parallel
+     * @return a pseudorandom Vector of Zn elements
+     */
+    public RingElementVector hashThenPrfToZnVectorStreaming(PrfKey prfKey, UniqueByteRepresentable hashInput,
+                                                            int vectorSize, String prefix, boolean parallel) {
+        ByteArrayAccumulator accumulator = new ByteArrayAccumulator();
+        accumulator.append(vectorSize);
+        accumulator.append(-1); // Not a valid index, so the seed differs from the PRF outputs in hashThenPrfToZnVector
+        accumulator.escapeAndSeparate(prefix);
+        accumulator.escapeAndAppend(hashInput);
+        byte[] seed = hashThenPrf(longAesPseudoRandomFunction.withKey(prfKey), accumulator.extractBytes()).getData();
+        SecretKeySpec streamKey = new SecretKeySpec(seed, 0, longAesPseudoRandomFunction.getPreimageLengthBytes(),
+                "AES");
 
-        if (quotientAndRemainder[0].compareTo(maxQuotient) >= 0) {
-            throw new RuntimeException("PRF output is in the reject interval!");
+        RingElement[] result = new RingElement[vectorSize];
+        int numRanges = (vectorSize + STREAMING_RANGE_SIZE - 1) / STREAMING_RANGE_SIZE;
+        IntStream ranges = IntStream.range(0, numRanges);
+        if (parallel)
+            ranges = ranges.parallel();
+        ranges.forEach(range -> fillFromKeystream(streamKey, range, result, range * STREAMING_RANGE_SIZE,
+                Math.min(vectorSize, (range + 1) * STREAMING_RANGE_SIZE)));
+
+        return new RingElementVector(result);
+    }
+
+    /**
+     * Fills {@code result[from]} to {@code result[to-1]} with elements sampled from the AES-CTR keystream
+     * of the given range.
+     */
+    private void fillFromKeystream(SecretKeySpec streamKey, int range, RingElement[] result, int from, int to) {
+        BigInteger n = zn.getCharacteristic();
+        int chunkBits = n.bitLength();
+        int chunkBytes = (chunkBits + 7) / 8;
+        int firstByteMask = 0xFF >>> (8 * chunkBytes - chunkBits);
+
+        // The first 8 bytes of the initial counter block identify the range, the last 8 count the AES blocks
+        byte[] initialCounter = new byte[16];
+        ByteBuffer.wrap(initialCounter).putLong(range);
+        Cipher cipher;
+        try {
+            cipher = Cipher.getInstance("AES/CTR/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, streamKey, new IvParameterSpec(initialCounter));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
         }
 
-        return zn.valueOf(quotientAndRemainder[1]);
+        // Enough keystream for 64 chunks at a time (i.e. roughly 32 elements)
+        byte[] zeros = new byte[Math.max(1, chunkBytes * 64 / 16) * 16];
+        byte[] keystream = new byte[0];
+        int position = 0;
+        byte[] chunk = new byte[chunkBytes];
+        for (int i = from; i < to; ) {
+            if (position + chunkBytes > keystream.length) {
+                keystream = cipher.update(zeros);
+                position = 0;
+            }
+            System.arraycopy(keystream, position, chunk, 0, chunkBytes);
+            position += chunkBytes;
+            chunk[0] &= firstByteMask;
+            BigInteger candidate = new BigInteger(1, chunk);
+            if (candidate.compareTo(n) < 0) { // reject otherwise (probability < 1/2)
+                result[i++] = zn.valueOf(candidate);
+            }
+        }
     }
 
     /*
      * Some wrappers with different method signatures.
      */
 
+    public RingElementVector hashThenPrfToZnVectorStreaming(PrfKey prfKey, UniqueByteRepresentable hashInput,
+                                                            int vectorSize, String prefix) {
+        return hashThenPrfToZnVectorStreaming(prfKey, hashInput, vectorSize, prefix, false);
+    }
+
     public RingElementVector hashThenPrfToZnVector(PrfKey prfKey, UniqueByteRepresentable hashInput, int vectorSize) {
         return hashThenPrfToZnVector(prfKey, hashInput, vectorSize, "");
     }
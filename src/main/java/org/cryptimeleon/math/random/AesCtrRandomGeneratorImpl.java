@@ -0,0 +1,149 @@
+package org.cryptimeleon.math.random;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * A random generator implementation using a deterministic random bit generator based on AES in counter mode,
+ * with a separate generator per thread.
+ * <p>
+ * Each thread's generator is seeded with a key from a {@link SecureRandom}. It generates random bytes in blocks of
+ * a few kilobytes: the AES-CTR keystream for the current key is computed, its first bytes replace the key and the
+ * remaining bytes are handed out (and erased once used). Hence, compromising the state of a generator does not reveal
+ * previously generated random bytes. Every few megabytes, fresh seed material from the {@code SecureRandom}
+ * is mixed into the key.
+ * <p>
+ * Compared to {@link SecureRandomGeneratorImpl}, threads do not contend for a single {@code SecureRandom} and random
+ * bytes are generated much faster, particularly many small requests such as when sampling random exponents.
+ * To use it throughout the library, set {@code RandomGenerator.impl = new AesCtrRandomGeneratorImpl()}.
+ */
+public class AesCtrRandomGeneratorImpl implements RandomGeneratorImpl {
+    /**
+     * Number of random bytes generated per key.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Number of buffer refills after which fresh seed material is mixed into the key.
+     */
+    private static final int RESEED_INTERVAL = 1024;
+
+    private static final int KEY_LENGTH = getKeyLength();
+
+    /**
+     * Plaintext for computing the keystream. Never written to.
+     */
+    private static final byte[] ZEROS = new byte[KEY_LENGTH + BUFFER_SIZE];
+
+    private final SecureRandom seedSource;
+    private final ThreadLocal<Generator> generator = ThreadLocal.withInitial(Generator::new);
+
+    /**
+     * Creates a random generator seeded from a new {@link SecureRandom}.
+     */
+    public AesCtrRandomGeneratorImpl() {
+        this(new SecureRandom());
+    }
+
+    /**
+     * Creates a random generator seeded from the given {@link SecureRandom}.
+     *
+     * @param seedSource the source of seed material, shared by all threads
+     */
+    public AesCtrRandomGeneratorImpl(SecureRandom seedSource) {
+        this.seedSource = seedSource;
+    }
+
+    @Override
+    public byte[] getRandomBytes(int l) {
+        byte[] result = new byte[l];
+        generator.get().nextBytes(result);
+        return result;
+    }
+
+    @Override
+    public void getRandomBytes(byte[] bytes) {
+        generator.get().nextBytes(bytes);
+    }
+
+    @Override
+    public boolean getRandomBit() {
+        return (generator.get().nextByte() & 1) == 0;
+    }
+
+    private static int getKeyLength() {
+        try {
+            return Cipher.getMaxAllowedKeyLength("AES") >= 256 ? 32 : 16;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The generator state of a single thread.
+     */
+    private final class Generator {
+        private final Cipher cipher;
+        private final byte[] key = new byte[KEY_LENGTH];
+        /**
+         * Keystream of the current key, with the next key in the first {@code KEY_LENGTH} bytes.
+         */
+        private final byte[] block = new byte[KEY_LENGTH + BUFFER_SIZE];
+        private int position = block.length;
+        private int refills = 0;
+
+        Generator() {
+            try {
+                cipher = Cipher.getInstance("AES/CTR/NoPadding");
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+            seedSource.nextBytes(key);
+        }
+
+        void nextBytes(byte[] bytes) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (position == block.length)
+                    refill();
+                int length = Math.min(bytes.length - offset, block.length - position);
+                System.arraycopy(block, position, bytes, offset, length);
+                Arrays.fill(block, position, position + length, (byte) 0);
+                position += length;
+                offset += length;
+            }
+        }
+
+        byte nextByte() {
+            if (position == block.length)
+                refill();
+            byte result = block[position];
+            block[position++] = 0;
+            return result;
+        }
+
+        private void refill() {
+            if (++refills % RESEED_INTERVAL == 0) {
+                byte[] seed = new byte[KEY_LENGTH];
+                seedSource.nextBytes(seed);
+                for (int i = 0; i < KEY_LENGTH; i++)
+                    key[i] ^= seed[i];
+            }
+            try {
+                // each key is only used once, so the IV can be fixed
+                cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(new byte[16]));
+                cipher.doFinal(ZEROS, 0, ZEROS.length, block, 0);
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+            System.arraycopy(block, 0, key, 0, KEY_LENGTH);
+            Arrays.fill(block, 0, KEY_LENGTH, (byte) 0);
+            position = KEY_LENGTH;
+        }
+    }
+}
@@ -20,6 +20,15 @@ public class RandomGenerator {
         return impl.getRandomNumber(exclusiveUpperBound);
     }
 
+    /**
+     * Generates {@code n} independent uniformly random integers k with {@code 0 <= k < exclusiveUpperBound}.
+     * <p>
+     * Faster than calling {@link #getRandomNumber(BigInteger)} {@code n} times.
+     */
+    public static BigInteger[] getRandomNumbers(BigInteger exclusiveUpperBound, int n) {
+        return impl.getRandomNumbers(exclusiveUpperBound, n);
+    }
+
     /**
      * Generates a uniformly random integer k with {@code 0 <= k < exclusiveUpperBound}
      */
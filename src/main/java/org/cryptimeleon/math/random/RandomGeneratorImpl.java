@@ -7,39 +7,58 @@ public interface RandomGeneratorImpl {
      * Generates a uniformly random number between {@code 0} (inclusive) and {@code exclusiveUpperBound} (exclusive).
      */
     default BigInteger getRandomNumber(BigInteger exclusiveUpperBound) {
-        int n = exclusiveUpperBound.subtract(BigInteger.ONE).bitLength();
-
         /*account for sign bit. BigIntegers are constructed with sign bit*/
-        n++;
+        int n = exclusiveUpperBound.subtract(BigInteger.ONE).bitLength() + 1;
 
-        int byte_length = n / 8;
         //round up to byte boundary
-        if (0 != n % 8) {
-            byte_length++;
-        }
+        int byteLength = (n + 7) / 8;
 
-        /*zero out BigEndian  MSBs including reserved sign bit to get range 0...2^n-1*/
-        byte mask = (byte) 0x7f;
-        if (0 != n % 8) {
-            mask = (byte) (mask >> (8 - (n % 8)));
-        }
+        /*zero out BigEndian MSBs including reserved sign bit to get range 0...2^(n-1)-1*/
+        byte mask = (byte) (0x7f >> ((8 - n % 8) % 8));
 
+        /* the same byte array is reused for all attempts (the BigInteger constructor copies it) */
+        byte[] randomBytes = new byte[byteLength];
         BigInteger result;
         do {
-            byte[] random_bytes = getRandomBytes(byte_length);
-
-            /* by always masking out sign bit, we get a positive number*/
-            /*furthermore, by masking out MSB of Big Endian representation, we get an integer
-             * in the range 0...2^(n-1)-1 */
-
-            random_bytes[0] = (byte) (random_bytes[0] & mask);
+            getRandomBytes(randomBytes);
+            randomBytes[0] = (byte) (randomBytes[0] & mask);
+            result = new BigInteger(randomBytes);
+        } while (result.compareTo(exclusiveUpperBound) >= 0);
 
-            /*create big integer */
-            result = new BigInteger(random_bytes);
+        return result;
+    }
 
-            /*now check if we are smaller than l or in the range l..2^(n-1)-1*/
-            /*discard the latter*/
-        } while (result.compareTo(exclusiveUpperBound) >= 0);
+    /**
+     * Generates {@code n} independent uniformly random numbers between {@code 0} (inclusive)
+     * and {@code exclusiveUpperBound} (exclusive).
+     * <p>
+     * Equivalent to calling {@link #getRandomNumber(BigInteger)} {@code n} times, but draws the random bytes
+     * for all numbers at once.
+     */
+    default BigInteger[] getRandomNumbers(BigInteger exclusiveUpperBound, int n) {
+        /* same sampling as in getRandomNumber(BigInteger) */
+        int bitLength = exclusiveUpperBound.subtract(BigInteger.ONE).bitLength() + 1;
+        int byteLength = (bitLength + 7) / 8;
+        byte mask = (byte) (0x7f >> ((8 - bitLength % 8) % 8));
+
+        BigInteger[] result = new BigInteger[n];
+        byte[] randomBytes = new byte[Math.multiplyExact(byteLength, n)];
+        byte[] candidate = new byte[byteLength];
+        int filled = 0;
+        while (filled < n) {
+            /* draw bytes for all numbers still missing (i.e. for all rejected candidates of the last round) */
+            int needed = n - filled;
+            if (randomBytes.length != needed * byteLength)
+                randomBytes = new byte[needed * byteLength];
+            getRandomBytes(randomBytes);
+            for (int i = 0; i < needed; i++) {
+                System.arraycopy(randomBytes, i * byteLength, candidate, 0, byteLength);
+                candidate[0] = (byte) (candidate[0] & mask);
+                BigInteger number = new BigInteger(candidate);
+                if (number.compareTo(exclusiveUpperBound) < 0)
+                    result[filled++] = number;
+            }
+        }
 
         return result;
     }
@@ -65,6 +84,17 @@ public interface RandomGeneratorImpl {
      */
     byte[] getRandomBytes(int l);
 
+    /**
+     * Fills the given byte array with random bytes.
+     * <p>
+     * Implementations should override this to avoid allocating a new array.
+     *
+     * @param bytes the array to fill
+     */
+    default void getRandomBytes(byte[] bytes) {
+        System.arraycopy(getRandomBytes(bytes.length), 0, bytes, 0, bytes.length);
+    }
+
     default boolean getRandomBit() {
         return getRandomBytes(1)[0] % 2 == 0;
     };
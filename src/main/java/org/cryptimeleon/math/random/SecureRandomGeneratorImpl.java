@@ -23,6 +23,11 @@ public class SecureRandomGeneratorImpl implements RandomGeneratorImpl {
         return result;
     }
 
+    @Override
+    public void getRandomBytes(byte[] bytes) {
+        rng.nextBytes(bytes);
+    }
+
     @Override
     public boolean getRandomBit() {
         return rng.nextBoolean();
@@ -0,0 +1,64 @@
+package org.cryptimeleon.math.serialization;
+
+import org.cryptimeleon.math.serialization.converter.BinaryFormatConverter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Objects that can be written directly to a {@link ByteBuffer}, without building a {@link Representation} first.
+ * <p>
+ * This is meant for hot paths, e.g. messages consisting of a few group elements and exponents.
+ * Elements of structures such as {@link org.cryptimeleon.math.structures.rings.zn.Zn}, extension fields and
+ * elliptic curve groups write their fixed-length encoding straight into the buffer; they are read back with the
+ * {@code readElement(ByteBuffer)} method of their structure.
+ * <p>
+ * The default implementation falls back to the {@code Representation} framework: it writes the length of the
+ * {@link BinaryFormatConverter} serialization of {@link #getRepresentation()}, followed by that serialization.
+ * Hence any {@code Representable} class (e.g. one using {@link org.cryptimeleon.math.serialization.annotations.ReprUtil})
+ * can implement this interface without further code, and restore itself via
+ * {@link #readRepresentation(ByteBuffer)}.
+ * <p>
+ * The encoding is not self-describing: reading requires knowing what was written (e.g. the structure of an element).
+ */
+public interface BinaryEncodable extends Representable {
+    /**
+     * Writes the binary encoding of this object to the given buffer, starting at its current position.
+     * Advances the buffer's position by {@link #getEncodedLength()}.
+     *
+     * @param buffer the buffer to write to
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+     */
+    default void writeTo(ByteBuffer buffer) {
+        byte[] bytes = new BinaryFormatConverter().serialize(getRepresentation());
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Returns the number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    default int getEncodedLength() {
+        return Integer.BYTES + new BinaryFormatConverter().serialize(getRepresentation()).length;
+    }
+
+    /**
+     * Returns the binary encoding of this object as a byte array.
+     */
+    default byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(getEncodedLength());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Reads a representation written by the default implementation of {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from, starting at its current position
+     * @return the representation
+     */
+    static Representation readRepresentation(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new BinaryFormatConverter().deserialize(bytes);
+    }
+}
@@ -8,10 +8,14 @@ import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -146,26 +150,12 @@ public class ReprUtil {
     }
 
     /**
-     * Runs the given {@link Consumer<Field>} on each field of the target instance's class and superclasses.
-     * <p>
-     * To enable this, each field is made accessible (readable, writeable) via {@code setAccessible}.
+     * Runs the given {@link Consumer<FieldPlan>} on each {@code @Represented} field of the target instance's class
+     * and superclasses.
      */
-    private void forEachField(Consumer<Field> fieldConsumer) {
-        Class<?> clazz = instance.getClass();
-        while (!clazz.equals(Object.class)) {
-            try {
-                Field[] fields = clazz.getDeclaredFields();
-                for (Field field : fields) {
-                    if (hasRepresentedTypeAnnotation(field)) {
-                        field.setAccessible(true); //TODO need to reset this to false or it was before?!
-                        fieldConsumer.accept(field);
-                    }
-                }
-            } catch (SecurityException | IllegalArgumentException e) {
-                throw new RuntimeException(e);
-            } finally {
-                clazz = clazz.getSuperclass();
-            }
+    private void forEachField(Consumer<FieldPlan> fieldConsumer) {
+        for (FieldPlan field : plans.get(instance.getClass()).representedFields) {
+            fieldConsumer.accept(field);
         }
     }
 
@@ -175,21 +165,122 @@ public class ReprUtil {
      * @param name name of the field
      * @return corresponding field
      */
-    private Field getFieldByName(String name) {
-        Class<?> clazz = instance.getClass();
-        while (!clazz.equals(Object.class)) {
-            try {
-                Field field = clazz.getDeclaredField(name);
-                return field;
-            } catch (SecurityException | IllegalArgumentException e) {
-                throw new RuntimeException(e);
-            } catch (NoSuchFieldException e) {
-                //That's expected. Just use the superclass then
-            } finally {
-                clazz = clazz.getSuperclass();
+    private FieldPlan getFieldByName(String name) {
+        return plans.get(instance.getClass()).getField(name);
+    }
+
+    /**
+     * Caches the {@link ClassPlan} of each class that is (de)serialized.
+     */
+    private static final ClassValue<ClassPlan> plans = new ClassValue<ClassPlan>() {
+        @Override
+        protected ClassPlan computeValue(Class<?> type) {
+            return new ClassPlan(type);
+        }
+    };
+
+    /**
+     * Caches parsed restorer strings, i.e. the result of splitting them at {@link #methodCallSeparator}.
+     */
+    private static final ConcurrentHashMap<String, String[]> parsedRestorerStrings = new ConcurrentHashMap<>();
+
+    /**
+     * Caches the public methods called by {@link #callMethods(Object, String[])}.
+     */
+    private static final ClassValue<ConcurrentHashMap<String, Method>> restorerMethods =
+            new ClassValue<ConcurrentHashMap<String, Method>>() {
+                @Override
+                protected ConcurrentHashMap<String, Method> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Everything needed to (de)serialize the instances of some class, computed once per class.
+     * Safe to share between threads.
+     */
+    private static class ClassPlan {
+        /**
+         * The fields annotated with {@code @Represented}, in the order they are (de)serialized.
+         */
+        final List<FieldPlan> representedFields = new ArrayList<>();
+        /**
+         * Maps field names to the corresponding field (of the class itself or the closest superclass declaring it).
+         * Filled on demand.
+         */
+        final ConcurrentHashMap<String, FieldPlan> fieldsByName = new ConcurrentHashMap<>();
+        final Class<?> type;
+
+        ClassPlan(Class<?> type) {
+            this.type = type;
+            Class<?> clazz = type;
+            while (!clazz.equals(Object.class)) {
+                try {
+                    for (Field field : clazz.getDeclaredFields()) {
+                        if (hasRepresentedTypeAnnotation(field)) {
+                            representedFields.add(new FieldPlan(field));
+                        }
+                    }
+                } catch (SecurityException | IllegalArgumentException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    clazz = clazz.getSuperclass();
+                }
             }
         }
-        return null;
+
+        /**
+         * Returns the field with the given name, or null if there is none.
+         */
+        FieldPlan getField(String name) {
+            FieldPlan result = fieldsByName.get(name);
+            if (result != null)
+                return result;
+
+            Class<?> clazz = type;
+            while (!clazz.equals(Object.class)) {
+                try {
+                    Field field = clazz.getDeclaredField(name);
+                    return fieldsByName.computeIfAbsent(name, n -> representedFields.stream()
+                            .filter(fieldPlan -> fieldPlan.field.equals(field))
+                            .findAny()
+                            .orElseGet(() -> new FieldPlan(field)));
+                } catch (SecurityException | IllegalArgumentException e) {
+                    throw new RuntimeException(e);
+                } catch (NoSuchFieldException e) {
+                    //That's expected. Just use the superclass then
+                } finally {
+                    clazz = clazz.getSuperclass();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A field together with its restorer string and (lazily determined) representation handler.
+     */
+    private static class FieldPlan {
+        final Field field;
+        final String restorerString;
+        private volatile RepresentationHandler handler = null;
+
+        FieldPlan(Field field) {
+            field.setAccessible(true);
+            this.field = field;
+            this.restorerString = getRestorerStringOfField(field);
+        }
+
+        RepresentationHandler getHandler() {
+            // Not synchronized, handlers are immutable, so computing one twice does not hurt.
+            if (handler == null)
+                handler = ReprUtil.getHandler(field.getGenericType(), restorerString);
+            return handler;
+        }
+
+        String getName() {
+            return field.getName();
+        }
     }
 
     /**
@@ -201,8 +292,7 @@ public class ReprUtil {
         ObjectRepresentation result = new ObjectRepresentation();
         forEachField(field -> {
             try {
-                field.setAccessible(true);
-                result.put(field.getName(), getHandler(field.getGenericType(), getRestorerStringOfField(field)).serializeToRepresentation(field.get(instance)));
+                result.put(field.getName(), field.getHandler().serializeToRepresentation(field.field.get(instance)));
             } catch (IllegalAccessException e) {
                 throw new RuntimeException(e);
             }
@@ -252,23 +342,21 @@ public class ReprUtil {
      * @param topLevelRepr the representation to restore the field from
      * @return the value assigned to the field
      */
-    Object restoreField(Field field, Representation topLevelRepr) {
+    private Object restoreField(FieldPlan field, Representation topLevelRepr) {
         try {
-            // Make sure we can access the field
-            field.setAccessible(true);
-            Object value = field.get(instance);
+            Object value = field.field.get(instance);
             // If the field already has a value, do not overwrite it
             if (value != null) {
                 return value;
             }
             // Retrieve the correct handler for the given field and restore the value from the representation entry
-            RepresentationHandler handlerForField = getHandlerForField(field);
+            RepresentationHandler handlerForField = field.getHandler();
             try {
                 value = handlerForField.deserializeFromRepresentation(topLevelRepr.obj().get(field.getName()), name -> getOrRecreateRestorer(name, topLevelRepr));
             } catch (RuntimeException e) {
-                throw new RuntimeException("An exception was thrown while restoring "+ field.getType().getSimpleName() + " " + field.getName()  +" in "+instance.getClass().getSimpleName(), e);
+                throw new RuntimeException("An exception was thrown while restoring "+ field.field.getType().getSimpleName() + " " + field.getName()  +" in "+instance.getClass().getSimpleName(), e);
             }
-            field.set(instance, value);
+            field.field.set(instance, value);
             return value;
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
@@ -291,7 +379,7 @@ public class ReprUtil {
      */
     RepresentationRestorer getOrRecreateRestorer(String restorerString, Representation topLevelRepr) {
         //Parse restorerString of form "baseName::methodToCall::methodToCall::..."
-        String[] parsed = methodCallSeparator.split(restorerString);
+        String[] parsed = parsedRestorerStrings.computeIfAbsent(restorerString, methodCallSeparator::split);
         String baseName = parsed[0];
 
         //Look for base name
@@ -299,7 +387,7 @@ public class ReprUtil {
             return restorers.get(baseName);
 
         //Base is some field
-        Field field = getFieldByName(baseName);
+        FieldPlan field = getFieldByName(baseName);
         if (field == null)
             throw new IllegalArgumentException("\""+baseName+"\" is neither the name of a restorer given through ReprUtil.register, nor is it a member of the class being recreated.");
 
@@ -328,7 +416,7 @@ public class ReprUtil {
         for (int i=1;i<parsedRestorerString.length;i++) {
             String methodToCall = parsedRestorerString[i];
             try {
-                currentObject = currentObject.getClass().getMethod(methodToCall).invoke(currentObject);
+                currentObject = getRestorerMethod(currentObject.getClass(), methodToCall).invoke(currentObject);
             } catch (IllegalAccessException | NoSuchMethodException e) {
                 e.printStackTrace();
                 throw new IllegalArgumentException("Cannot call desired method "+methodToCall+" on "+currentObject.getClass().getName(), e);
@@ -346,6 +434,19 @@ public class ReprUtil {
         return (RepresentationRestorer) currentObject;
     }
 
+    /**
+     * Returns the public method of the given class with the given name and no parameters.
+     */
+    private static Method getRestorerMethod(Class<?> clazz, String name) throws NoSuchMethodException {
+        ConcurrentHashMap<String, Method> methods = restorerMethods.get(clazz);
+        Method method = methods.get(name);
+        if (method == null) {
+            method = clazz.getMethod(name);
+            methods.put(name, method);
+        }
+        return method;
+    }
+
     /**
      * Checks whether given field is annotated with {@code @Represented}.
      */
@@ -376,9 +477,13 @@ public class ReprUtil {
 
     /**
      * Retrieves the representation handler for the given field.
+     *
+     * @deprecated handlers are cached per class now, this only remains for compatibility with subclasses
+     *             and returns the cached handler of the field
      */
+    @Deprecated
     protected static RepresentationHandler getHandlerForField(Field field) {
-        return getHandler(field.getGenericType(), getRestorerStringOfField(field));
+        return plans.get(field.getDeclaringClass()).getField(field.getName()).getHandler();
     }
 
     /**
@@ -1,7 +1,7 @@
 package org.cryptimeleon.math.structures;
 
 import org.cryptimeleon.math.hash.UniqueByteRepresentable;
-import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.BinaryEncodable;
 
 
 /**
@@ -13,7 +13,7 @@ import org.cryptimeleon.math.serialization.Representable;
  * <p>
  * Generally, two elements are only considered equal if they belong to equal structures.
  */
-public interface Element extends Representable, UniqueByteRepresentable {
+public interface Element extends BinaryEncodable, UniqueByteRepresentable {
 
     /**
      * Returns the {@code Structure} that this {@code Element} belongs to.
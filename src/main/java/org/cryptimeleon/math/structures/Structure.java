@@ -1,11 +1,13 @@
 package org.cryptimeleon.math.structures;
 
+import org.cryptimeleon.math.serialization.BinaryEncodable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.StandaloneRepresentable;
 import org.cryptimeleon.math.structures.cartesian.Vector;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 /**
@@ -67,6 +69,20 @@ public interface Structure extends StandaloneRepresentable {
      */
     Element restoreElement(Representation repr);
 
+    /**
+     * Reads an element of this structure from the given buffer.
+     * <p>
+     * The default implementation reads the representation written by the default implementation of
+     * {@link BinaryEncodable#writeTo(ByteBuffer)}. Structures whose elements override
+     * {@code writeTo(ByteBuffer)} must override this method accordingly.
+     *
+     * @param buffer the buffer to read from, starting at its current position
+     * @return the element written by {@link Element#writeTo(ByteBuffer)}
+     */
+    default Element readElement(ByteBuffer buffer) {
+        return restoreElement(BinaryEncodable.readRepresentation(buffer));
+    }
+
     /**
      * Returns the number of bytes returned by this structure's {@link Element#getUniqueByteRepresentation()},
      * or an empty {@code Optional} if this structure's elements do not guarantee a fixed length.
@@ -0,0 +1,89 @@
+package org.cryptimeleon.math.structures.cartesian;
+
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * An immutable list of elements backed by their packed binary encoding.
+ * <p>
+ * The packed encoding consists of a header (the number of elements and the slot width, each as an int) followed by
+ * one fixed-width slot per element, containing its {@link BinaryEncodable#writeTo(java.nio.ByteBuffer)} encoding.
+ * For structures with fixed-length encodings (such as {@link org.cryptimeleon.math.structures.rings.zn.Zn},
+ * extension fields or elliptic curve groups), each slot holds exactly one encoding, so packing and unpacking
+ * a vector essentially amounts to copying memory. Other encodings are padded with zeros to the longest one.
+ * <p>
+ * Elements are decoded lazily (reading directly from the packed byte array) when they are first accessed
+ * and are remembered afterwards.
+ *
+ * @param <X> the type of the elements
+ */
+public class PackedElementList<X> extends AbstractList<X> implements RandomAccess {
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+
+    private final byte[] packed;
+    private final int width;
+    private final Function<ByteBuffer, ? extends X> reader;
+    private final AtomicReferenceArray<X> decoded;
+
+    /**
+     * Creates a list of the elements contained in the given packed encoding.
+     * The given array is not copied and must not be changed afterwards.
+     *
+     * @param packed the packed encoding, as returned by {@link #pack(List)}
+     * @param reader decodes a single element, e.g. {@code Structure::readElement}
+     */
+    public PackedElementList(byte[] packed, Function<ByteBuffer, ? extends X> reader) {
+        if (packed.length < HEADER_LENGTH)
+            throw new IllegalArgumentException("Packed encoding is too short");
+        ByteBuffer header = ByteBuffer.wrap(packed);
+        int size = header.getInt();
+        this.width = header.getInt();
+        if (size < 0 || width < 0 || (long) size * width != packed.length - HEADER_LENGTH)
+            throw new IllegalArgumentException("Packed encoding has invalid length");
+        this.packed = packed;
+        this.reader = reader;
+        this.decoded = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Computes the packed encoding of the given elements.
+     *
+     * @param elements the elements to pack
+     * @return the packed encoding
+     */
+    public static byte[] pack(List<? extends BinaryEncodable> elements) {
+        int width = 0;
+        for (BinaryEncodable element : elements)
+            width = Math.max(width, element.getEncodedLength());
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.addExact(HEADER_LENGTH, Math.multiplyExact(elements.size(), width)));
+        buffer.putInt(elements.size());
+        buffer.putInt(width);
+        for (int i = 0; i < elements.size(); i++) {
+            buffer.position(HEADER_LENGTH + i * width);
+            elements.get(i).writeTo(buffer);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public X get(int index) {
+        X result = decoded.get(index);
+        if (result == null) {
+            result = reader.apply(ByteBuffer.wrap(packed, HEADER_LENGTH + index * width, width));
+            decoded.set(index, result);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return decoded.length();
+    }
+}
@@ -2,6 +2,8 @@ package org.cryptimeleon.math.structures.groups;
 
 import org.cryptimeleon.math.expressions.group.GroupElementExpression;
 import org.cryptimeleon.math.expressions.group.GroupEmptyExpr;
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.RepresentationRestorer;
 import org.cryptimeleon.math.structures.Structure;
@@ -11,6 +13,8 @@ import org.cryptimeleon.math.structures.rings.zn.Zn;
 
 import java.lang.reflect.Type;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * An algebraic group.
@@ -58,12 +62,32 @@ public interface Group extends Structure, RepresentationRestorer {
      * {@code Representation} of that vector.
      *
      * @param repr a representation of a {@code GroupElementVector}
-     *             (obtained via {@link GroupElementVector#getRepresentation()}).
+     *             (obtained via {@link GroupElementVector#getRepresentation()} or {@link GroupElementVector#getPackedRepresentation()}).
      */
     default GroupElementVector restoreVector(Representation repr) {
+        if (repr instanceof ByteArrayRepresentation)
+            return GroupElementVector.fromPackedRepresentation((ByteArrayRepresentation) repr, this);
         return GroupElementVector.fromStream(repr.list().stream().map(this::restoreElement));
     }
 
+    @Override
+    default GroupElement readElement(ByteBuffer buffer) {
+        return restoreElement(BinaryEncodable.readRepresentation(buffer));
+    }
+
+    /**
+     * Reads a {@link GroupElementVector} containing elements of this group from the given buffer.
+     *
+     * @param buffer the buffer to read from, starting at its current position
+     * @return the vector written by {@link GroupElementVector#writeTo(ByteBuffer)}
+     */
+    default GroupElementVector readVector(ByteBuffer buffer) {
+        GroupElement[] result = new GroupElement[buffer.getInt()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = readElement(buffer);
+        return new GroupElementVector(result);
+    }
+
     /**
      * Returns any generator of this group if the group is cyclic and it's feasible to compute a generator.
      * <p>
@@ -108,7 +132,7 @@ public interface Group extends Structure, RepresentationRestorer {
         if (size == null)
             throw new IllegalArgumentException("Infinitely large group - cannot output corresponding Zn");
 
-        return new Zn(size);
+        return Zn.of(size);
     }
 
     /**
@@ -122,7 +146,7 @@ public interface Group extends Structure, RepresentationRestorer {
      * Returns n random integers between {@code 0} and {@code size()-1} (inclusive) using a cryptographically strong RNG.
      */
     default RingElementVector getUniformlyRandomExponents(int n) {
-        return RingElementVector.generate(this::getUniformlyRandomExponent, n);
+        return getZn().getUniformlyRandomElements(n);
     }
 
     /**
@@ -152,5 +176,41 @@ public interface Group extends Structure, RepresentationRestorer {
     default RingElementVector getUniformlyRandomNonzeroExponents(int n) {
         return RingElementVector.generate(this::getUniformlyRandomNonzeroExponent, n);
     }
+
+    /**
+     * Computes \(\prod_i g_i^{x_i}\) for the given bases \(g_i\) of this group and exponents \(x_i\).
+     * <p>
+     * The default implementation combines the individual powers, which lazily evaluating groups already
+     * evaluate as a single multi-exponentiation. Groups that evaluate operations one by one (such as
+     * {@link org.cryptimeleon.math.structures.groups.basic.BasicGroup}) override this to evaluate
+     * the product as a single multi-exponentiation, too.
+     *
+     * @param bases the bases \(g_i\)
+     * @param exponents the exponents \(x_i\), one per base
+     * @return the product of the powers, the neutral element if there are no bases
+     */
+    default GroupElement multiexp(List<? extends GroupElement> bases, List<BigInteger> exponents) {
+        if (bases.size() != exponents.size())
+            throw new IllegalArgumentException("Number of bases and exponents differ");
+        GroupElement result = getNeutralElement();
+        for (int i = 0; i < bases.size(); i++)
+            result = result.op(bases.get(i).pow(exponents.get(i)));
+        return result;
+    }
+
+    /**
+     * Creates a pool of precomputed tuples \((r, g_1^r, \dots, g_k^r)\) for uniformly random exponents \(r\)
+     * and the given fixed bases of this group, which is refilled in the background.
+     * <p>
+     * Consider calling {@link GroupElement#precomputePow()} on the bases first, the pool does not do so.
+     *
+     * @param capacity the maximum number of precomputed tuples
+     * @param bases the bases \(g_1, \dots, g_k\)
+     * @return the randomness pool
+     * @see RandomnessPool
+     */
+    default RandomnessPool createRandomnessPool(int capacity, GroupElement... bases) {
+        return new RandomnessPool(this, capacity, bases);
+    }
 }
 
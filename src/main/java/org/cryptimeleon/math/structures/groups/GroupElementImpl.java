@@ -1,7 +1,7 @@
 package org.cryptimeleon.math.structures.groups;
 
 import org.cryptimeleon.math.hash.UniqueByteRepresentable;
-import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.BinaryEncodable;
 
 import java.math.BigInteger;
 
@@ -11,7 +11,7 @@ import java.math.BigInteger;
  * <p>
  * Implementations must properly implement {@code equals()} and {@code hashCode()}.
  */
-public interface GroupElementImpl extends Representable, UniqueByteRepresentable {
+public interface GroupElementImpl extends BinaryEncodable, UniqueByteRepresentable {
     /**
      * Retrieves the group this element belongs to.
      */
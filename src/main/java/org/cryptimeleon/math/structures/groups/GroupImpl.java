@@ -1,5 +1,6 @@
 package org.cryptimeleon.math.structures.groups;
 
+import org.cryptimeleon.math.serialization.BinaryEncodable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.StandaloneRepresentable;
 import org.cryptimeleon.math.serialization.annotations.RepresentationRestorer;
@@ -10,6 +11,7 @@ import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.lang.reflect.Type;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 /**
@@ -49,6 +51,20 @@ public interface GroupImpl extends StandaloneRepresentable, RepresentationRestor
      */
     GroupElementImpl restoreElement(Representation repr);
 
+    /**
+     * Reads an element of this group from the given buffer.
+     * <p>
+     * The default implementation reads the representation written by the default implementation of
+     * {@link BinaryEncodable#writeTo(ByteBuffer)}. Groups whose elements override
+     * {@code writeTo(ByteBuffer)} must override this method accordingly.
+     *
+     * @param buffer the buffer to read from, starting at its current position
+     * @return the element written by {@link GroupElementImpl#writeTo(ByteBuffer)}
+     */
+    default GroupElementImpl readElement(ByteBuffer buffer) {
+        return restoreElement(BinaryEncodable.readRepresentation(buffer));
+    }
+
     /**
      * Returns any generator of this group if the group is cyclic and it's feasible to compute a generator.
      * <p>
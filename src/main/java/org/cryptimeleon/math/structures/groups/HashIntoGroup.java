@@ -4,6 +4,8 @@ import org.cryptimeleon.math.hash.UniqueByteRepresentable;
 import org.cryptimeleon.math.structures.HashIntoStructure;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a hash function that maps a {@code byte[]} to a {@link GroupElement} of a {@link Group}.
@@ -13,6 +15,23 @@ public interface HashIntoGroup extends HashIntoStructure {
     @Override
     GroupElement hash(byte[] x);
 
+    /**
+     * Hashes each of the given byte arrays into the group.
+     * <p>
+     * Depending on the underlying implementation, this may be considerably faster than hashing each
+     * byte array separately.
+     *
+     * @param xs the byte arrays to hash
+     * @return the hashes, in the same order as the given byte arrays
+     */
+    default List<GroupElement> hash(List<byte[]> xs) {
+        List<GroupElement> result = new ArrayList<>(xs.size());
+        for (byte[] x : xs) {
+            result.add(hash(x));
+        }
+        return result;
+    }
+
     @Override
     default GroupElement hash(String x) {
         return hash(x.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,187 @@
+package org.cryptimeleon.math.structures.groups;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache for hash results, keyed by the hashed byte array.
+ * <p>
+ * Useful if the same (small) set of inputs, e.g. identities or attributes, is hashed over and over again.
+ * Once the cache holds {@link #getCapacity()} entries, the least recently used entry is evicted.
+ * <p>
+ * The cache keeps track of the number of hits, misses and evictions. It is safe to use from multiple threads.
+ * The hash function itself is evaluated outside of any lock, so concurrent misses for the same input may
+ * evaluate it more than once (which is fine since the hash function is deterministic).
+ *
+ * @param <V> the type of the cached hash results
+ */
+public class HashIntoGroupCache<V> {
+    private final int capacity;
+    private final LruMap<V> entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Creates an empty cache holding at most {@code capacity} hash results.
+     *
+     * @param capacity the maximum number of cached hash results, must be positive
+     */
+    public HashIntoGroupCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive, but is " + capacity);
+        this.capacity = capacity;
+        this.entries = new LruMap<>(capacity);
+    }
+
+    /**
+     * Returns the cached hash result for {@code x} or, if there is none, computes it using {@code hash}
+     * and caches it.
+     *
+     * @param x the hashed byte array
+     * @param hash computes the hash result for {@code x} on a cache miss
+     * @return the (cached) hash result for {@code x}
+     */
+    public V get(byte[] x, Function<byte[], ? extends V> hash) {
+        V result = getIfPresent(x);
+        if (result != null)
+            return result;
+        result = hash.apply(x);
+        put(x, result);
+        return result;
+    }
+
+    /**
+     * Returns the cached hash result for {@code x} or null if there is none.
+     * Counts as a hit or miss, respectively.
+     *
+     * @param x the hashed byte array
+     * @return the cached hash result for {@code x}, or null
+     */
+    public synchronized V getIfPresent(byte[] x) {
+        V result = entries.get(new Key(x));
+        if (result != null)
+            hits++;
+        else
+            misses++;
+        return result;
+    }
+
+    /**
+     * Caches the given hash result for {@code x}, possibly evicting the least recently used entry.
+     *
+     * @param x the hashed byte array
+     * @param result the hash result for {@code x}
+     */
+    public synchronized void put(byte[] x, V result) {
+        entries.put(new Key(x.clone()), result);
+    }
+
+    /**
+     * Removes all cached hash results. Does not reset the statistics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the maximum number of cached hash results.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of currently cached hash results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that were not answered from the cache.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of hash results that were evicted because the cache was full.
+     */
+    public synchronized long getEvictionCount() {
+        return entries.evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that were answered from the cache, or 0 if there were no lookups yet.
+     */
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "HashIntoGroupCache{" +
+                "size=" + entries.size() +
+                ", capacity=" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + entries.evictions +
+                '}';
+    }
+
+    /**
+     * A map in access order that evicts its least recently used entry once it holds more than {@code capacity}
+     * entries, counting the evictions.
+     */
+    private static final class LruMap<V> extends LinkedHashMap<Key, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private long evictions = 0;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+            if (size() > capacity) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            return Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
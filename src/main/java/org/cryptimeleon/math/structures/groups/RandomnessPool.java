@@ -0,0 +1,254 @@
+package org.cryptimeleon.math.structures.groups;
+
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of precomputed randomness for fixed bases, i.e. of tuples \((r, g_1^r, \dots, g_k^r)\)
+ * for uniformly random exponents \(r\).
+ * <p>
+ * Encryption and signing algorithms often spend most of their time computing such powers for fresh random \(r\).
+ * Since these do not depend on the message, they can be computed ahead of time: whenever samples are taken from the
+ * pool, it is refilled in the background by an {@link Executor} (by default, the common {@link ForkJoinPool},
+ * which is also used by {@link org.cryptimeleon.math.structures.groups.lazy.LazyGroup}).
+ * {@link #take()} returns a precomputed sample in constant time, or computes a fresh one if the pool is empty.
+ * <p>
+ * Every sample is handed out at most once. The pool is safe to use from multiple threads.
+ * The background refill can be stopped using {@link #close()}.
+ *
+ * @see Group#createRandomnessPool(int, GroupElement...)
+ */
+public class RandomnessPool implements AutoCloseable {
+    /**
+     * Number of samples computed by a single background task before it yields its worker thread.
+     */
+    private static final int REFILL_BATCH_SIZE = 16;
+
+    private final Zn zn;
+    private final GroupElement[] bases;
+    private final int capacity;
+    private final Executor executor;
+    private final ArrayBlockingQueue<Sample> samples;
+    private final AtomicBoolean refillScheduled = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+
+    private final AtomicLong numTakenFromPool = new AtomicLong();
+    private final AtomicLong numComputedOnDemand = new AtomicLong();
+    private final AtomicLong numComputedInBackground = new AtomicLong();
+    private final AtomicLong backgroundComputationNanos = new AtomicLong();
+
+    /**
+     * A random exponent \(r\) together with the powers \(g_1^r, \dots, g_k^r\) of the pool's bases.
+     */
+    public static class Sample {
+        private final Zn.ZnElement exponent;
+        private final GroupElementVector powers;
+
+        Sample(Zn.ZnElement exponent, GroupElementVector powers) {
+            this.exponent = exponent;
+            this.powers = powers;
+        }
+
+        /**
+         * Returns the random exponent \(r\).
+         */
+        public Zn.ZnElement getExponent() {
+            return exponent;
+        }
+
+        /**
+         * Returns the powers \(g_1^r, \dots, g_k^r\), in the order of the pool's bases.
+         */
+        public GroupElementVector getPowers() {
+            return powers;
+        }
+
+        /**
+         * Returns the power \(g_i^r\) of the i-th base (starting at 0).
+         */
+        public GroupElement getPower(int i) {
+            return powers.get(i);
+        }
+    }
+
+    /**
+     * Creates a pool of at most {@code capacity} samples for the given bases, refilled by the common
+     * {@link ForkJoinPool}. The pool starts filling immediately.
+     * <p>
+     * The pool does not trigger any precomputation on the bases. As the bases are fixed, it usually pays off to call
+     * {@link GroupElement#precomputePow()} on them before creating the pool.
+     *
+     * @param group the group containing the bases (whose {@link Group#getZn()} the exponents are sampled from)
+     * @param capacity the maximum number of precomputed samples
+     * @param bases the bases \(g_1, \dots, g_k\)
+     */
+    public RandomnessPool(Group group, int capacity, GroupElement... bases) {
+        this(group, capacity, ForkJoinPool.commonPool(), bases);
+    }
+
+    /**
+     * Creates a pool of at most {@code capacity} samples for the given bases, refilled by the given executor.
+     * The pool starts filling immediately.
+     * <p>
+     * The pool does not trigger any precomputation on the bases. As the bases are fixed, it usually pays off to call
+     * {@link GroupElement#precomputePow()} on them before creating the pool.
+     *
+     * @param group the group containing the bases (whose {@link Group#getZn()} the exponents are sampled from)
+     * @param capacity the maximum number of precomputed samples
+     * @param executor the executor running the background refill
+     * @param bases the bases \(g_1, \dots, g_k\)
+     */
+    public RandomnessPool(Group group, int capacity, Executor executor, GroupElement... bases) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Pool capacity must be positive, but is " + capacity);
+        if (bases.length == 0)
+            throw new IllegalArgumentException("At least one base is required");
+        for (GroupElement base : bases) {
+            if (!base.getStructure().equals(group))
+                throw new IllegalArgumentException("Base " + base + " is not an element of " + group);
+        }
+        this.zn = group.getZn();
+        this.bases = bases.clone();
+        this.capacity = capacity;
+        this.executor = executor;
+        this.samples = new ArrayBlockingQueue<>(capacity);
+        scheduleRefill();
+    }
+
+    /**
+     * Takes a sample from the pool, or computes a fresh one if the pool is empty.
+     * Triggers a background refill of the pool.
+     *
+     * @return a sample that has not been handed out before
+     */
+    public Sample take() {
+        Sample result = samples.poll();
+        if (result != null) {
+            numTakenFromPool.incrementAndGet();
+        } else {
+            numComputedOnDemand.incrementAndGet();
+            result = computeSample();
+        }
+        scheduleRefill();
+        return result;
+    }
+
+    /**
+     * Fills the pool up to its capacity in the calling thread, e.g. to warm it up before it is used.
+     */
+    public void fill() {
+        while (samples.remainingCapacity() > 0) {
+            if (!samples.offer(computeSample()))
+                break;
+        }
+    }
+
+    /**
+     * Stops refilling the pool in the background.
+     * Samples still in the pool can be taken, afterwards samples are computed on demand.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void scheduleRefill() {
+        if (!closed && samples.remainingCapacity() > 0 && refillScheduled.compareAndSet(false, true))
+            executor.execute(this::refill);
+    }
+
+    private void refill() {
+        try {
+            long start = System.nanoTime();
+            int computed = 0;
+            while (!closed && computed < REFILL_BATCH_SIZE && samples.remainingCapacity() > 0) {
+                Sample sample = computeSample();
+                computed++;
+                if (!samples.offer(sample))
+                    break;
+            }
+            numComputedInBackground.addAndGet(computed);
+            backgroundComputationNanos.addAndGet(System.nanoTime() - start);
+        } finally {
+            refillScheduled.set(false);
+        }
+        // continue with a new task if there is still space (also covers samples taken since the loop ended)
+        scheduleRefill();
+    }
+
+    private Sample computeSample() {
+        Zn.ZnElement exponent = zn.getUniformlyRandomElement();
+        GroupElement[] powers = new GroupElement[bases.length];
+        for (int i = 0; i < bases.length; i++)
+            powers[i] = bases[i].pow(exponent).computeSync();
+        return new Sample(exponent, new GroupElementVector(powers));
+    }
+
+    /**
+     * Returns the number of samples currently in the pool.
+     */
+    public int getPoolDepth() {
+        return samples.size();
+    }
+
+    /**
+     * Returns the maximum number of samples in the pool.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of bases, i.e. the number of powers in each sample.
+     */
+    public int getNumberOfBases() {
+        return bases.length;
+    }
+
+    /**
+     * Returns the number of samples that {@link #take()} returned from the pool.
+     */
+    public long getNumTakenFromPool() {
+        return numTakenFromPool.get();
+    }
+
+    /**
+     * Returns the number of samples that {@link #take()} had to compute because the pool was empty.
+     */
+    public long getNumComputedOnDemand() {
+        return numComputedOnDemand.get();
+    }
+
+    /**
+     * Returns the number of samples computed by the background refill.
+     */
+    public long getNumComputedInBackground() {
+        return numComputedInBackground.get();
+    }
+
+    /**
+     * Returns the number of samples the background refill computes per second (while it is running),
+     * or 0 if it has not computed any samples yet.
+     */
+    public double getRefillRate() {
+        long nanos = backgroundComputationNanos.get();
+        return nanos == 0 ? 0 : numComputedInBackground.get() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RandomnessPool{" +
+                "depth=" + getPoolDepth() +
+                ", capacity=" + capacity +
+                ", takenFromPool=" + getNumTakenFromPool() +
+                ", computedOnDemand=" + getNumComputedOnDemand() +
+                ", computedInBackground=" + getNumComputedInBackground() +
+                '}';
+    }
+}
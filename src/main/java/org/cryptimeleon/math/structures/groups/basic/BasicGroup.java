@@ -6,10 +6,17 @@ import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.metrics.GroupMetrics;
+import org.cryptimeleon.math.structures.groups.metrics.MetricsRecorder;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -29,7 +36,7 @@ public class BasicGroup implements Group {
         try {
             size = impl.size();
             isPrimeOrder = size.isProbablePrime(100);
-            zn = isPrimeOrder ? new Zp(size) : new Zn(size);
+            zn = isPrimeOrder ? Zp.of(size) : Zn.of(size);
         } catch (UnsupportedOperationException e) {
             size = null;
             isPrimeOrder = false;
@@ -75,6 +82,11 @@ public class BasicGroup implements Group {
         return wrap(impl.restoreElement(repr));
     }
 
+    @Override
+    public GroupElement readElement(ByteBuffer buffer) {
+        return wrap(impl.readElement(buffer));
+    }
+
     @Override
     public GroupElement getGenerator() throws UnsupportedOperationException {
         return wrap(impl.getGenerator());
@@ -95,6 +107,48 @@ public class BasicGroup implements Group {
         return zn;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Evaluates the product as a single {@link Multiexponentiation}, using the group's own multi-exponentiation
+     * algorithm if it implements one and the interleaved wNAF algorithm otherwise.
+     */
+    @Override
+    public GroupElement multiexp(List<? extends GroupElement> bases, List<BigInteger> exponents) {
+        if (bases.size() != exponents.size())
+            throw new IllegalArgumentException("Number of bases and exponents differ");
+        if (bases.isEmpty())
+            return getNeutralElement();
+        Multiexponentiation multiexp = new Multiexponentiation();
+        for (int i = 0; i < bases.size(); i++) {
+            BasicGroupElement base = (BasicGroupElement) bases.get(i);
+            BigInteger exponent = exponents.get(i);
+            if (size != null) {
+                exponent = exponent.mod(size);
+            } else if (exponent.signum() < 0) {
+                base = (BasicGroupElement) base.inv();
+                exponent = exponent.negate();
+            }
+            multiexp.put(base.impl, exponent, base.getPrecomputedSmallExponents());
+        }
+
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return wrap(computeMultiExp(multiexp));
+        long start = System.nanoTime();
+        GroupElementImpl result = computeMultiExp(multiexp);
+        recorder.recordMultiExp(GroupMetrics.getStructureName(impl), multiexp.getNumberOfTerms(),
+                System.nanoTime() - start);
+        return wrap(result);
+    }
+
+    private GroupElementImpl computeMultiExp(Multiexponentiation multiexp) {
+        if (impl.implementsOwnMultiExp())
+            return impl.multiexp(multiexp);
+        return ExponentiationAlgorithms.interleavingWnafMultiExp(multiexp,
+                Math.max(4, multiexp.computeMinPrecomputedWindowSize(MultiExpAlgorithm.WNAF)));
+    }
+
     @Override
     public Representation getRepresentation() {
         return new RepresentableRepresentation(impl);
@@ -8,8 +8,12 @@ import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.metrics.GroupMetrics;
+import org.cryptimeleon.math.structures.groups.metrics.MetricsRecorder;
+import org.cryptimeleon.math.structures.groups.metrics.Operation;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -47,7 +51,21 @@ public class BasicGroupElement implements GroupElement {
 
     @Override
     public GroupElement pow(BigInteger exponent) {
-        return new BasicGroupElement(group, ExponentiationAlgorithms.wnafExp(impl, exponent, getPrecomputedSmallExponents(), 4));
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return new BasicGroupElement(group, computePow(exponent));
+        String name = GroupMetrics.getStructureName(impl.getStructure());
+        recorder.recordPrecomputation(name, getPrecomputedSmallExponents().getCurrentlySupportedWindowSize() > 0);
+        long start = System.nanoTime();
+        GroupElementImpl result = computePow(exponent);
+        recorder.recordOperation(name, Operation.EXP, System.nanoTime() - start);
+        return new BasicGroupElement(group, result);
+    }
+
+    private GroupElementImpl computePow(BigInteger exponent) {
+        if (impl.getStructure().implementsOwnExp())
+            return impl.getStructure().exp(impl, exponent, getPrecomputedSmallExponents());
+        return ExponentiationAlgorithms.wnafExp(impl, exponent, getPrecomputedSmallExponents(), 4);
     }
 
     @Override
@@ -120,6 +138,16 @@ public class BasicGroupElement implements GroupElement {
         return getConcreteGroupElement().getRepresentation();
     }
 
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        getConcreteGroupElement().writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return getConcreteGroupElement().getEncodedLength();
+    }
+
     @Override
     public String toString() {
         return impl.toString();
@@ -3,10 +3,13 @@ package org.cryptimeleon.math.structures.groups.basic;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.HashIntoGroup;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * A basic {@link HashIntoGroupImpl} wrapper where operations are evaluated naively, i.e. operation by operation.
@@ -31,6 +34,11 @@ public class HashIntoBasicGroup implements HashIntoGroup {
         return target.wrap(impl.hashIntoGroupImpl(x));
     }
 
+    @Override
+    public List<GroupElement> hash(List<byte[]> xs) {
+        return impl.hashIntoGroupImpl(xs).stream().map(target::wrap).collect(Collectors.toList());
+    }
+
     @Override
     public Representation getRepresentation() {
         return ReprUtil.serialize(this);
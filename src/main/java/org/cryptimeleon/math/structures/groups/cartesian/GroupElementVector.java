@@ -1,15 +1,20 @@
 package org.cryptimeleon.math.structures.groups.cartesian;
 
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
 import org.cryptimeleon.math.serialization.ListRepresentation;
 import org.cryptimeleon.math.serialization.Representable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.cartesian.GroupElementExpressionVector;
+import org.cryptimeleon.math.structures.cartesian.PackedElementList;
 import org.cryptimeleon.math.structures.cartesian.Vector;
+import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.RingElement;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -18,7 +23,7 @@ import java.util.stream.Stream;
 /**
  * A vector of group elements supporting various operations on its elements.
  */
-public class GroupElementVector extends Vector<GroupElement> implements Representable {
+public class GroupElementVector extends Vector<GroupElement> implements BinaryEncodable {
 
     public GroupElementVector(GroupElement... values) {
         super(values);
@@ -111,6 +116,48 @@ public class GroupElementVector extends Vector<GroupElement> implements Represen
         return new ListRepresentation(map(Representable::getRepresentation).toList());
     }
 
+    /**
+     * Returns a packed representation of this vector, consisting of a single byte array that contains
+     * the fixed-width {@link GroupElement#writeTo(ByteBuffer)} encodings of all entries (see {@link PackedElementList}).
+     * <p>
+     * For large vectors of elements of the same group, this is much more compact and faster to (de-)serialize
+     * than {@link #getRepresentation()}. Can be restored using {@link Group#restoreVector(Representation)}.
+     */
+    public ByteArrayRepresentation getPackedRepresentation() {
+        return new ByteArrayRepresentation(PackedElementList.pack(values));
+    }
+
+    /**
+     * Restores a vector from its {@link #getPackedRepresentation()}.
+     * The entries are decoded lazily when they are first accessed.
+     *
+     * @param repr the packed representation
+     * @param group the group containing the vector entries
+     */
+    public static GroupElementVector fromPackedRepresentation(ByteArrayRepresentation repr, Group group) {
+        return new GroupElementVector(new PackedElementList<GroupElement>(repr.get(), group::readElement), true);
+    }
+
+    /**
+     * Writes the length of this vector (as an int), followed by the {@link GroupElement#writeTo(ByteBuffer)} encodings
+     * of its entries. Can be read using {@link Group#readVector(ByteBuffer)}
+     * if all entries are elements of the same group.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(length());
+        for (int i = 0; i < length(); i++)
+            get(i).writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        int result = Integer.BYTES;
+        for (int i = 0; i < length(); i++)
+            result += get(i).getEncodedLength();
+        return result;
+    }
+
     @Override
     public GroupElementVector pad(GroupElement valueToPadWith, int desiredLength) {
         return new GroupElementVector(super.pad(valueToPadWith, desiredLength));
@@ -0,0 +1,92 @@
+package org.cryptimeleon.math.structures.groups.debug;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+
+import java.util.Objects;
+
+/**
+ * An immutable copy of the counters of a {@link DebugBilinearGroup} bucket (or of all buckets summed up),
+ * consisting of the number of pairings and a {@link CountingSnapshot} for each of G1, G2 and GT.
+ * Obtained via {@link DebugBilinearGroup#getCounterSnapshot(String)}.
+ */
+public final class BilinearCountingSnapshot implements Representable {
+
+    private final long numPairings;
+    private final CountingSnapshot g1;
+    private final CountingSnapshot g2;
+    private final CountingSnapshot gT;
+
+    BilinearCountingSnapshot(long numPairings, CountingSnapshot g1, CountingSnapshot g2, CountingSnapshot gT) {
+        this.numPairings = numPairings;
+        this.g1 = g1;
+        this.g2 = g2;
+        this.gT = gT;
+    }
+
+    public BilinearCountingSnapshot(Representation repr) {
+        ObjectRepresentation obj = repr.obj();
+        this.numPairings = obj.get("numPairings").bigInt().get().longValueExact();
+        this.g1 = new CountingSnapshot(obj.get("G1"));
+        this.g2 = new CountingSnapshot(obj.get("G2"));
+        this.gT = new CountingSnapshot(obj.get("GT"));
+    }
+
+    /**
+     * Returns the number of pairings.
+     */
+    public long getNumPairings() {
+        return numPairings;
+    }
+
+    /**
+     * Returns the counters of G1.
+     */
+    public CountingSnapshot getG1() {
+        return g1;
+    }
+
+    /**
+     * Returns the counters of G2.
+     */
+    public CountingSnapshot getG2() {
+        return g2;
+    }
+
+    /**
+     * Returns the counters of GT.
+     */
+    public CountingSnapshot getGT() {
+        return gT;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return new ObjectRepresentation(
+                "numPairings", new BigIntegerRepresentation(numPairings),
+                "G1", g1.getRepresentation(),
+                "G2", g2.getRepresentation(),
+                "GT", gT.getRepresentation()
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BilinearCountingSnapshot that = (BilinearCountingSnapshot) o;
+        return numPairings == that.numPairings && g1.equals(that.g1) && g2.equals(that.g2) && gT.equals(that.gT);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numPairings, g1, g2, gT);
+    }
+
+    @Override
+    public String toString() {
+        return getRepresentation().toString();
+    }
+}
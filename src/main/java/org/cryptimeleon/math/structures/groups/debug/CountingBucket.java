@@ -2,77 +2,75 @@ package org.cryptimeleon.math.structures.groups.debug;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Stores group operation data.
  * <p>
- * Operations are thread-safe, meaning that all increment and getter methods are implemented automically,
- * and the multi-exponentiation term number list is protected via a lock.
+ * Operations are thread-safe. Counters are {@link LongAdder}s, so threads counting into the same bucket concurrently
+ * do not contend on a single memory location; the counts are only summed up when read.
+ * Reading counters while other threads are still counting into the bucket may hence yield inconsistent values
+ * across counters.
  */
 public class CountingBucket {
 
     /**
      * The counted number of inversions.
      */
-    final AtomicLong numInversions;
+    final LongAdder numInversions;
 
     /**
      * The counted number of operations.
      * Squarings are not considered in the group operation counter.
      */
-    final AtomicLong numOps;
+    final LongAdder numOps;
 
     /**
      * The counted number of squarings.
      */
-    final AtomicLong numSquarings;
+    final LongAdder numSquarings;
 
     /**
      * The counted number of exponentiations.
      */
-    final AtomicLong numExps;
+    final LongAdder numExps;
 
     /**
      * Number of retrieved representations for elements of this group.
      */
-    final AtomicLong numRetrievedRepresentations;
+    final LongAdder numRetrievedRepresentations;
 
     /**
      * Contains number of terms for each multi-exponentiation performed.
      */
-    private final List<Integer> multiExpTermNumbers;
-
-    private final Lock multiExpTermNumbersLock;
+    private final Queue<Integer> multiExpTermNumbers;
 
     public CountingBucket() {
-        this.numInversions = new AtomicLong();
-        this.numOps = new AtomicLong();
-        this.numSquarings = new AtomicLong();
-        this.numExps = new AtomicLong();
-        this.numRetrievedRepresentations = new AtomicLong();
-        this.multiExpTermNumbers = new ArrayList<>();
-        this.multiExpTermNumbersLock = new ReentrantLock();
+        this.numInversions = new LongAdder();
+        this.numOps = new LongAdder();
+        this.numSquarings = new LongAdder();
+        this.numExps = new LongAdder();
+        this.numRetrievedRepresentations = new LongAdder();
+        this.multiExpTermNumbers = new ConcurrentLinkedQueue<>();
     }
 
     public void incrementNumOps() {
-        numOps.incrementAndGet();
+        numOps.increment();
     }
 
     public void incrementNumInversions() {
-        numInversions.incrementAndGet();
+        numInversions.increment();
     }
 
     public void incrementNumSquarings() {
-        numSquarings.incrementAndGet();
+        numSquarings.increment();
     }
 
     public void incrementNumExps() {
-        numExps.incrementAndGet();
+        numExps.increment();
     }
 
     /**
@@ -80,13 +78,8 @@ public class CountingBucket {
      * @param numTerms the number of terms (bases) in the multi-exponentiation
      */
     public void addMultiExpBaseNumber(int numTerms) {
-        multiExpTermNumbersLock.lock();
-        try {
-            if (numTerms > 1) {
-                multiExpTermNumbers.add(numTerms);
-            }
-        } finally {
-            multiExpTermNumbersLock.unlock();
+        if (numTerms > 1) {
+            multiExpTermNumbers.add(numTerms);
         }
     }
 
@@ -95,36 +88,31 @@ public class CountingBucket {
      * @param newTerms the new terms to add to this bucket
      */
     public void addAllMultiExpBaseNumbers(List<Integer> newTerms) {
-        multiExpTermNumbersLock.lock();
-        try {
-            multiExpTermNumbers.addAll(newTerms);
-        } finally {
-            multiExpTermNumbersLock.unlock();
-        }
+        multiExpTermNumbers.addAll(newTerms);
     }
 
     void incrementNumRetrievedRepresentations() {
-        numRetrievedRepresentations.incrementAndGet();
+        numRetrievedRepresentations.increment();
     }
 
     public long getNumInversions() {
-        return numInversions.get();
+        return numInversions.sum();
     }
 
     public long getNumOps() {
-        return numOps.get();
+        return numOps.sum();
     }
 
     public long getNumSquarings() {
-        return numSquarings.get();
+        return numSquarings.sum();
     }
 
     public long getNumExps() {
-        return numExps.get();
+        return numExps.sum();
     }
 
     public long getNumRetrievedRepresentations() {
-        return numRetrievedRepresentations.get();
+        return numRetrievedRepresentations.sum();
     }
 
     /**
@@ -132,7 +120,7 @@ public class CountingBucket {
      * This list contains the number of exponentiations in each multi-exponentiation that has been calculated.
      */
     public List<Integer> getMultiExpTermNumbers() {
-        return Collections.unmodifiableList(multiExpTermNumbers);
+        return Collections.unmodifiableList(new ArrayList<>(multiExpTermNumbers));
     }
 
     /**
@@ -148,34 +136,29 @@ public class CountingBucket {
     }
 
     protected void resetOpsCounter() {
-        numOps.set(0);
+        numOps.reset();
     }
 
     protected void resetInversionsCounter() {
-        numInversions.set(0);
+        numInversions.reset();
     }
 
     protected void resetSquaringsCounter() {
-        numSquarings.set(0);
+        numSquarings.reset();
     }
 
-    protected void resetExpsCounter() { numExps.set(0); }
+    protected void resetExpsCounter() { numExps.reset(); }
 
     protected void resetMultiExpTermNumbers() {
-        multiExpTermNumbersLock.lock();
-        try {
-            multiExpTermNumbers.clear();
-        } finally {
-            multiExpTermNumbersLock.unlock();
-        }
+        multiExpTermNumbers.clear();
     }
 
     protected void resetRetrievedRepresentationsCounter() {
-        numRetrievedRepresentations.set(0);
+        numRetrievedRepresentations.reset();
     }
 
     protected boolean isEmpty() {
-        return numOps.get() == 0 && numInversions.get() == 0 && numSquarings.get() == 0 && numExps.get() == 0
-                && getMultiExpTermNumbers().isEmpty() && numRetrievedRepresentations.get() == 0;
+        return numOps.sum() == 0 && numInversions.sum() == 0 && numSquarings.sum() == 0 && numExps.sum() == 0
+                && multiExpTermNumbers.isEmpty() && numRetrievedRepresentations.sum() == 0;
     }
 }
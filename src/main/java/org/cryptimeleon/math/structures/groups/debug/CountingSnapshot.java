@@ -0,0 +1,178 @@
+package org.cryptimeleon.math.structures.groups.debug;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ListRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable copy of the counters of a {@link DebugGroup} bucket (or of all buckets summed up),
+ * as obtained via {@link DebugGroup#getCounterSnapshot(String)}.
+ * <p>
+ * Since the counters are only read when the snapshot is taken, taking snapshots is the intended way of retrieving
+ * counting results while other threads may still be counting.
+ * The snapshot can be exported as structured data via {@link #getRepresentation()}, e.g. to JSON using
+ * {@link org.cryptimeleon.math.serialization.converter.JSONConverter}.
+ */
+public final class CountingSnapshot implements Representable {
+
+    private final long numOpsTotal;
+    private final long numSquaringsTotal;
+    private final long numInversionsTotal;
+    private final long numOpsNoExpMultiExp;
+    private final long numSquaringsNoExpMultiExp;
+    private final long numInversionsNoExpMultiExp;
+    private final long numExps;
+    private final List<Integer> multiExpTermNumbers;
+    private final long numRetrievedRepresentations;
+
+    /**
+     * Takes a snapshot of the given buckets.
+     *
+     * @param total the bucket counting group operations including those done in (multi-)exponentiations
+     * @param noExpMultiExp the bucket counting (multi-)exponentiations as a single unit
+     */
+    CountingSnapshot(CountingBucket total, CountingBucket noExpMultiExp) {
+        this.numOpsTotal = total.getNumOps();
+        this.numSquaringsTotal = total.getNumSquarings();
+        this.numInversionsTotal = total.getNumInversions();
+        this.numOpsNoExpMultiExp = noExpMultiExp.getNumOps();
+        this.numSquaringsNoExpMultiExp = noExpMultiExp.getNumSquarings();
+        this.numInversionsNoExpMultiExp = noExpMultiExp.getNumInversions();
+        this.numExps = noExpMultiExp.getNumExps();
+        this.multiExpTermNumbers = noExpMultiExp.getMultiExpTermNumbers();
+        // one of the groups suffices since we represent both elements
+        this.numRetrievedRepresentations = total.getNumRetrievedRepresentations();
+    }
+
+    public CountingSnapshot(Representation repr) {
+        ObjectRepresentation obj = repr.obj();
+        this.numOpsTotal = obj.get("numOpsTotal").bigInt().get().longValueExact();
+        this.numSquaringsTotal = obj.get("numSquaringsTotal").bigInt().get().longValueExact();
+        this.numInversionsTotal = obj.get("numInversionsTotal").bigInt().get().longValueExact();
+        this.numOpsNoExpMultiExp = obj.get("numOpsNoExpMultiExp").bigInt().get().longValueExact();
+        this.numSquaringsNoExpMultiExp = obj.get("numSquaringsNoExpMultiExp").bigInt().get().longValueExact();
+        this.numInversionsNoExpMultiExp = obj.get("numInversionsNoExpMultiExp").bigInt().get().longValueExact();
+        this.numExps = obj.get("numExps").bigInt().get().longValueExact();
+        List<Integer> terms = new ArrayList<>();
+        for (Representation term : obj.get("multiExpTermNumbers").list())
+            terms.add(term.bigInt().getInt());
+        this.multiExpTermNumbers = Collections.unmodifiableList(terms);
+        this.numRetrievedRepresentations = obj.get("numRetrievedRepresentations").bigInt().get().longValueExact();
+    }
+
+    /**
+     * Returns the number of group operations (not including squarings), including ones done in
+     * (multi-)exponentiation algorithms.
+     */
+    public long getNumOpsTotal() {
+        return numOpsTotal;
+    }
+
+    /**
+     * Returns the number of group squarings, including ones done in (multi-)exponentiation algorithms.
+     */
+    public long getNumSquaringsTotal() {
+        return numSquaringsTotal;
+    }
+
+    /**
+     * Returns the number of group inversions, including ones done in (multi-)exponentiation algorithms.
+     */
+    public long getNumInversionsTotal() {
+        return numInversionsTotal;
+    }
+
+    /**
+     * Returns the number of group operations (not including squarings), not including ones done in
+     * (multi-)exponentiation algorithms.
+     */
+    public long getNumOpsNoExpMultiExp() {
+        return numOpsNoExpMultiExp;
+    }
+
+    /**
+     * Returns the number of group squarings, not including ones done in (multi-)exponentiation algorithms.
+     */
+    public long getNumSquaringsNoExpMultiExp() {
+        return numSquaringsNoExpMultiExp;
+    }
+
+    /**
+     * Returns the number of group inversions, not including ones done in (multi-)exponentiation algorithms.
+     */
+    public long getNumInversionsNoExpMultiExp() {
+        return numInversionsNoExpMultiExp;
+    }
+
+    /**
+     * Returns the number of exponentiations.
+     */
+    public long getNumExps() {
+        return numExps;
+    }
+
+    /**
+     * Returns the number of terms of each multi-exponentiation.
+     */
+    public List<Integer> getMultiExpTermNumbers() {
+        return multiExpTermNumbers;
+    }
+
+    /**
+     * Returns the number of retrieved representations of group elements (via {@code getRepresentation()}).
+     */
+    public long getNumRetrievedRepresentations() {
+        return numRetrievedRepresentations;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        ObjectRepresentation repr = new ObjectRepresentation();
+        repr.put("numOpsTotal", new BigIntegerRepresentation(numOpsTotal));
+        repr.put("numSquaringsTotal", new BigIntegerRepresentation(numSquaringsTotal));
+        repr.put("numInversionsTotal", new BigIntegerRepresentation(numInversionsTotal));
+        repr.put("numOpsNoExpMultiExp", new BigIntegerRepresentation(numOpsNoExpMultiExp));
+        repr.put("numSquaringsNoExpMultiExp", new BigIntegerRepresentation(numSquaringsNoExpMultiExp));
+        repr.put("numInversionsNoExpMultiExp", new BigIntegerRepresentation(numInversionsNoExpMultiExp));
+        repr.put("numExps", new BigIntegerRepresentation(numExps));
+        repr.put("multiExpTermNumbers", new ListRepresentation(multiExpTermNumbers.stream()
+                .map(BigIntegerRepresentation::new)
+                .collect(Collectors.toList())));
+        repr.put("numRetrievedRepresentations", new BigIntegerRepresentation(numRetrievedRepresentations));
+        return repr;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CountingSnapshot that = (CountingSnapshot) o;
+        return numOpsTotal == that.numOpsTotal
+                && numSquaringsTotal == that.numSquaringsTotal
+                && numInversionsTotal == that.numInversionsTotal
+                && numOpsNoExpMultiExp == that.numOpsNoExpMultiExp
+                && numSquaringsNoExpMultiExp == that.numSquaringsNoExpMultiExp
+                && numInversionsNoExpMultiExp == that.numInversionsNoExpMultiExp
+                && numExps == that.numExps
+                && multiExpTermNumbers.equals(that.multiExpTermNumbers)
+                && numRetrievedRepresentations == that.numRetrievedRepresentations;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numOpsTotal, numSquaringsTotal, numInversionsTotal, numExps, multiExpTermNumbers);
+    }
+
+    @Override
+    public String toString() {
+        return getRepresentation().toString();
+    }
+}
@@ -213,6 +213,60 @@ public class DebugBilinearGroup implements BilinearGroup {
         bilMap.setBucket(name);
     }
 
+    /**
+     * Sets the operation count storage bucket used by the calling thread to the one with the given name,
+     * overriding the bucket set via {@link #setBucket(String)} for this thread only.
+     * If a bucket with the given name does not exist, a new one is created.
+     * <p>
+     * The bucket is activated across G1, G2, and GT, as well as the pairing counter.
+     * See {@link DebugGroup#setThreadBucket(String)} for details.
+     *
+     * @param name the name of the bucket to enable for the calling thread
+     */
+    public void setThreadBucket(String name) {
+        g1.setThreadBucket(name);
+        g2.setThreadBucket(name);
+        gT.setThreadBucket(name);
+        bilMap.setThreadBucket(name);
+    }
+
+    /**
+     * Removes the calling thread's bucket set via {@link #setThreadBucket(String)} across G1, G2, and GT,
+     * as well as the pairing counter.
+     */
+    public void clearThreadBucket() {
+        g1.clearThreadBucket();
+        g2.clearThreadBucket();
+        gT.clearThreadBucket();
+        bilMap.clearThreadBucket();
+    }
+
+    /**
+     * Returns a snapshot of the counters of the bucket with the given name, including the ones in groups G1, G2, GT
+     * as well as the pairing counter.
+     */
+    public BilinearCountingSnapshot getCounterSnapshot(String bucketName) {
+        return new BilinearCountingSnapshot(getNumPairings(bucketName), g1.getCounterSnapshot(bucketName),
+                g2.getCounterSnapshot(bucketName), gT.getCounterSnapshot(bucketName));
+    }
+
+    /**
+     * Returns a snapshot of the counters of the default bucket, including the ones in groups G1, G2, GT
+     * as well as the pairing counter.
+     */
+    public BilinearCountingSnapshot getCounterSnapshot() {
+        return new BilinearCountingSnapshot(getNumPairings(), g1.getCounterSnapshot(), g2.getCounterSnapshot(),
+                gT.getCounterSnapshot());
+    }
+
+    /**
+     * Returns a snapshot of the counters summed up across all buckets, including the default bucket.
+     */
+    public BilinearCountingSnapshot getCounterSnapshotAllBuckets() {
+        return new BilinearCountingSnapshot(getNumPairingsAllBuckets(), g1.getCounterSnapshotAllBuckets(),
+                g2.getCounterSnapshotAllBuckets(), gT.getCounterSnapshotAllBuckets());
+    }
+
     /**
      * Returns the number of pairings computed in this bilinear group from the bucket with the given name.
      */
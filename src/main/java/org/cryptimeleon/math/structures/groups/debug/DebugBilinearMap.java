@@ -117,6 +117,26 @@ public class DebugBilinearMap implements BilinearMap {
         ((DebugBilinearMapImpl) bilMapNoExpMultiExp.getImpl()).setBucket(name);
     }
 
+    /**
+     * Sets the pairing counting bucket used by the calling thread to the one with the given name,
+     * overriding the bucket set via {@link #setBucket(String)} for this thread only.
+     * If a bucket with the given name does not exist, a new one is created.
+     *
+     * @param name the name of the bucket to enable for the calling thread
+     */
+    public void setThreadBucket(String name) {
+        ((DebugBilinearMapImpl) bilMapTotal.getImpl()).setThreadBucket(name);
+        ((DebugBilinearMapImpl) bilMapNoExpMultiExp.getImpl()).setThreadBucket(name);
+    }
+
+    /**
+     * Removes the calling thread's bucket set via {@link #setThreadBucket(String)}.
+     */
+    public void clearThreadBucket() {
+        ((DebugBilinearMapImpl) bilMapTotal.getImpl()).clearThreadBucket();
+        ((DebugBilinearMapImpl) bilMapNoExpMultiExp.getImpl()).clearThreadBucket();
+    }
+
     /**
      * Activates the default bucket.
      */
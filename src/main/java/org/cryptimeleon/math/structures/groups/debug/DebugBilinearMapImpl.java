@@ -8,7 +8,7 @@ import org.cryptimeleon.math.structures.rings.zn.Zn;
 import java.math.BigInteger;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A {@link BilinearMapImpl} implementing a fast, but insecure pairing over {@link Zn}.
@@ -40,10 +40,10 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
     protected BilinearGroup.Type pairingType;
 
     private static class PairingCounter {
-        private final AtomicLong count;
+        private final LongAdder count;
 
         public PairingCounter() {
-            this.count = new AtomicLong(0);
+            this.count = new LongAdder();
         }
 
         @Override
@@ -51,20 +51,20 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             PairingCounter that = (PairingCounter) o;
-            return count.equals(that.count);
+            return count.sum() == that.count.sum();
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(count);
+            return Long.hashCode(count.sum());
         }
 
         public void incNumPairings() {
-            count.incrementAndGet();
+            count.increment();
         }
 
         public long getNumPairings() {
-            return count.get();
+            return count.sum();
         }
     }
 
@@ -77,6 +77,11 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
 
     private static volatile PairingCounter currentBucket;
 
+    /**
+     * The bucket used by the current thread instead of {@code currentBucket}, if any.
+     */
+    private static final ThreadLocal<PairingCounter> threadBucket = new ThreadLocal<>();
+
     static {
         numPairingsMap = new ConcurrentHashMap<>();
         defaultBucket = new PairingCounter();
@@ -99,7 +104,7 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
      */
     public DebugBilinearMapImpl(BigInteger groupSize, BilinearGroup.Type type, boolean enableExpMultiExpCounting) {
         this.size = groupSize;
-        this.zn = new Zn(groupSize);
+        this.zn = Zn.of(groupSize);
         this.pairingType = type;
         if (enableExpMultiExpCounting) {
             g1 = new DebugGroupImplG1NoExpMultiExp("G1", groupSize);
@@ -167,6 +172,14 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
         currentBucket = putBucketIfAbsent(name);
     }
 
+    void setThreadBucket(String name) {
+        threadBucket.set(putBucketIfAbsent(name));
+    }
+
+    void clearThreadBucket() {
+        threadBucket.remove();
+    }
+
     void setDefaultBucket() {
         currentBucket = defaultBucket;
     }
@@ -197,7 +210,7 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
      * Sums up pairings across all buckets, including default bucket.
      */
     long getNumPairingsAllBuckets() {
-        return getBucketMap().reduceValuesToLong(Long.MAX_VALUE, pc -> pc.count.get(), 0L, Long::sum)
+        return getBucketMap().reduceValuesToLong(Long.MAX_VALUE, PairingCounter::getNumPairings, 0L, Long::sum)
                 + getNumPairings();
     }
 
@@ -207,14 +220,14 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
      * @param bucketName name of bucket which pairing counter to reset
      */
     void resetNumPairings(String bucketName) {
-        putBucketIfAbsent(bucketName).count.set(0);
+        putBucketIfAbsent(bucketName).count.reset();
     }
 
     /**
      * Resets pairing counter of default bucket.
      */
     void resetNumPairings() {
-        defaultBucket.count.set(0);
+        defaultBucket.count.reset();
     }
 
     /**
@@ -229,6 +242,7 @@ public class DebugBilinearMapImpl implements BilinearMapImpl {
      * Increments the pairing counter for the current bucket.
      */
     protected void incrementNumPairings() {
-        currentBucket.incNumPairings();
+        PairingCounter bucket = threadBucket.get();
+        (bucket != null ? bucket : currentBucket).incNumPairings();
     }
 }
@@ -171,6 +171,32 @@ public class DebugGroup implements Group {
         ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).setBucket(name);
     }
 
+    /**
+     * Sets the operation count storage bucket used by the calling thread to the one with the given name,
+     * overriding the bucket set via {@link #setBucket(String)} for this thread only.
+     * If a bucket with the given name does not exist, a new one is created.
+     * <p>
+     * This allows concurrently running protocols to count into separate buckets.
+     * Since elements are evaluated lazily, operations are counted in the bucket of the thread that computes them,
+     * i.e. the thread that calls {@link GroupElement#compute()} or otherwise requires the result,
+     * not necessarily the one that set up the computation.
+     *
+     * @param name the name of the bucket to enable for the calling thread
+     */
+    public void setThreadBucket(String name) {
+        ((DebugGroupImpl) groupTotal.getImpl()).setThreadBucket(name);
+        ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).setThreadBucket(name);
+    }
+
+    /**
+     * Removes the calling thread's bucket set via {@link #setThreadBucket(String)}, such that operations done by this
+     * thread are counted in the bucket set via {@link #setBucket(String)} again.
+     */
+    public void clearThreadBucket() {
+        ((DebugGroupImpl) groupTotal.getImpl()).clearThreadBucket();
+        ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).clearThreadBucket();
+    }
+
     /**
      * Retrieves number of group squarings including ones done in (multi-)exponentiation algorithms
      * from the bucket with the given name.
@@ -416,6 +442,36 @@ public class DebugGroup implements Group {
         return ((DebugGroupImpl) groupTotal.getImpl()).getNumRetrievedRepresentationsAllBuckets();
     }
 
+    /*
+    -------------- SNAPSHOT METHODS BLOCK ---------------------------------------------------------
+     */
+
+    /**
+     * Returns a snapshot of the counters of the bucket with the given name.
+     *
+     * @param bucketName the name of the bucket to take a snapshot of
+     */
+    public CountingSnapshot getCounterSnapshot(String bucketName) {
+        return new CountingSnapshot(((DebugGroupImpl) groupTotal.getImpl()).putBucketIfAbsent(bucketName),
+                ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).putBucketIfAbsent(bucketName));
+    }
+
+    /**
+     * Returns a snapshot of the counters of the default bucket.
+     */
+    public CountingSnapshot getCounterSnapshot() {
+        return new CountingSnapshot(((DebugGroupImpl) groupTotal.getImpl()).getDefaultBucket(),
+                ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).getDefaultBucket());
+    }
+
+    /**
+     * Returns a snapshot of the counters summed up across all buckets, including the default bucket.
+     */
+    public CountingSnapshot getCounterSnapshotAllBuckets() {
+        return new CountingSnapshot(((DebugGroupImpl) groupTotal.getImpl()).getAllBucketsBucket(),
+                ((DebugGroupImpl) groupNoExpMultiExp.getImpl()).getAllBucketsBucket());
+    }
+
     /**
      * Resets all counters for the bucket with the given name.
      */
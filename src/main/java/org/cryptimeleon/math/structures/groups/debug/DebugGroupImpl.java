@@ -39,7 +39,7 @@ public abstract class DebugGroupImpl implements GroupImpl {
      */
     public DebugGroupImpl(String name, BigInteger n) {
         this.name = name;
-        this.zn = new Zn(n);
+        this.zn = Zn.of(n);
     }
 
     public DebugGroupImpl(Representation repr) {
@@ -130,32 +130,26 @@ public abstract class DebugGroupImpl implements GroupImpl {
 
     void incrementNumOps() {
         getCurrentBucket().incrementNumOps();
-        getAllBucketsBucket().incrementNumOps();
     }
 
     void incrementNumInversions() {
         getCurrentBucket().incrementNumInversions();
-        getAllBucketsBucket().incrementNumInversions();
     }
 
     void incrementNumSquarings() {
         getCurrentBucket().incrementNumSquarings();
-        getAllBucketsBucket().incrementNumSquarings();
     }
 
     void incrementNumExps() {
         getCurrentBucket().incrementNumExps();
-        getAllBucketsBucket().incrementNumExps();
     }
 
     void addMultiExpBaseNumber(int numTerms) {
         getCurrentBucket().addMultiExpBaseNumber(numTerms);
-        getAllBucketsBucket().addMultiExpBaseNumber(numTerms);
     }
 
     void incrementNumRetrievedRepresentations() {
         getCurrentBucket().incrementNumRetrievedRepresentations();
-        getAllBucketsBucket().incrementNumRetrievedRepresentations();
     }
 
     long getNumOps(String bucketName) {
@@ -243,20 +237,23 @@ public abstract class DebugGroupImpl implements GroupImpl {
         getBucketMap().forEach((name, bucket) -> bucket.resetCounters());
     }
 
+    /**
+     * Sums up the counters of all buckets, including the default bucket, into a new bucket.
+     */
     CountingBucket getAllBucketsBucket() {
         CountingBucket allBucketsBucket = new CountingBucket();
-        allBucketsBucket.numExps.addAndGet(getNumExps());
-        allBucketsBucket.numInversions.addAndGet(getNumInversions());
-        allBucketsBucket.numOps.addAndGet(getNumOps());
-        allBucketsBucket.numSquarings.addAndGet(getNumSquarings());
-        allBucketsBucket.numRetrievedRepresentations.addAndGet(getNumRetrievedRepresentations());
+        allBucketsBucket.numExps.add(getNumExps());
+        allBucketsBucket.numInversions.add(getNumInversions());
+        allBucketsBucket.numOps.add(getNumOps());
+        allBucketsBucket.numSquarings.add(getNumSquarings());
+        allBucketsBucket.numRetrievedRepresentations.add(getNumRetrievedRepresentations());
         allBucketsBucket.addAllMultiExpBaseNumbers(getMultiExpTermNumbers());
         for (String bucketName : getBucketMap().keySet()) {
-            allBucketsBucket.numExps.addAndGet(getNumExps(bucketName));
-            allBucketsBucket.numInversions.addAndGet(getNumInversions(bucketName));
-            allBucketsBucket.numOps.addAndGet(getNumOps(bucketName));
-            allBucketsBucket.numSquarings.addAndGet(getNumSquarings(bucketName));
-            allBucketsBucket.numRetrievedRepresentations.addAndGet(getNumRetrievedRepresentations(bucketName));
+            allBucketsBucket.numExps.add(getNumExps(bucketName));
+            allBucketsBucket.numInversions.add(getNumInversions(bucketName));
+            allBucketsBucket.numOps.add(getNumOps(bucketName));
+            allBucketsBucket.numSquarings.add(getNumSquarings(bucketName));
+            allBucketsBucket.numRetrievedRepresentations.add(getNumRetrievedRepresentations(bucketName));
             allBucketsBucket.addAllMultiExpBaseNumbers(getMultiExpTermNumbers(bucketName));
         }
         return allBucketsBucket;
@@ -272,6 +269,20 @@ public abstract class DebugGroupImpl implements GroupImpl {
      */
     abstract void setBucket(String name);
 
+    /**
+     * Sets the operation count storage bucket used by the calling thread to the one with the given name,
+     * overriding the bucket set via {@link #setBucket(String)} for this thread.
+     * If a bucket with the given name does not exist, a new one is created.
+     *
+     * @param name the name of the bucket to enable for the calling thread
+     */
+    abstract void setThreadBucket(String name);
+
+    /**
+     * Removes the calling thread's bucket set via {@link #setThreadBucket(String)}, such that the thread counts into
+     * the bucket set via {@link #setBucket(String)} again.
+     */
+    abstract void clearThreadBucket();
 
     /**
      * Sets the currently used operation count storage bucket to the default one.
@@ -286,6 +297,9 @@ public abstract class DebugGroupImpl implements GroupImpl {
      */
     abstract CountingBucket putBucketIfAbsent(String name);
 
+    /**
+     * Returns the bucket that operations done by the calling thread are counted in.
+     */
     abstract CountingBucket getCurrentBucket();
 
     abstract CountingBucket getDefaultBucket();
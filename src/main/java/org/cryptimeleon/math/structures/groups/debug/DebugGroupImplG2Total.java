@@ -28,6 +28,11 @@ public class DebugGroupImplG2Total extends DebugGroupImplTotal {
      */
     private static volatile CountingBucket currentBucket;
 
+    /**
+     * The bucket used by the current thread instead of {@code currentBucket}, if any.
+     */
+    private static final ThreadLocal<CountingBucket> threadBucket = new ThreadLocal<>();
+
     // Initialization block for variables
     static {
         countingBucketMap = new ConcurrentHashMap<>();
@@ -65,6 +70,24 @@ public class DebugGroupImplG2Total extends DebugGroupImplTotal {
         currentBucket = putBucketIfAbsent(name);
     }
 
+    /**
+     * Sets the operation count storage bucket used by the calling thread to the one with the given name,
+     * overriding the currently used bucket for this thread.
+     * If a bucket with the given name does not exist, a new one is created.
+     *
+     * @param name the name of the bucket to enable for the calling thread
+     */
+    void setThreadBucket(String name) {
+        threadBucket.set(putBucketIfAbsent(name));
+    }
+
+    /**
+     * Removes the calling thread's bucket, such that the thread counts into the currently used bucket again.
+     */
+    void clearThreadBucket() {
+        threadBucket.remove();
+    }
+
     /**
      * Sets the currently used operation count storage bucket to the default one.
      */
@@ -83,7 +106,8 @@ public class DebugGroupImplG2Total extends DebugGroupImplTotal {
     }
 
     CountingBucket getCurrentBucket() {
-        return currentBucket;
+        CountingBucket bucket = threadBucket.get();
+        return bucket != null ? bucket : currentBucket;
     }
 
     CountingBucket getDefaultBucket() {
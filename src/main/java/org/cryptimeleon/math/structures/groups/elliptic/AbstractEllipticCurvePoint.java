@@ -5,6 +5,8 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 
+import java.nio.ByteBuffer;
+
 public abstract class AbstractEllipticCurvePoint implements EllipticCurvePoint {
     FieldElement x, y, z;
 
@@ -56,6 +58,30 @@ public abstract class AbstractEllipticCurvePoint implements EllipticCurvePoint {
         return r;
     }
 
+    /**
+     * Writes a flag byte (0 for the neutral element, 1 otherwise) followed by the normalized x- and y-coordinates.
+     * For the neutral element, both coordinates are written as zero.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        if (isNeutralElement()) {
+            FieldElement zero = getFieldOfDefinition().getZeroElement();
+            buffer.put((byte) 0);
+            zero.writeTo(buffer);
+            zero.writeTo(buffer);
+        } else {
+            AbstractEllipticCurvePoint normalized = (AbstractEllipticCurvePoint) this.normalize();
+            buffer.put((byte) 1);
+            normalized.getX().writeTo(buffer);
+            normalized.getY().writeTo(buffer);
+        }
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return 1 + 2 * getFieldOfDefinition().getZeroElement().getEncodedLength();
+    }
+
     public String toString() {
         return isNeutralElement() ? "point at infinity" :
                 z.isOne() ? "(" + x.toString() + "," + y.toString() + ")" :
@@ -41,7 +41,7 @@ public abstract class AbstractPairing implements BilinearMapImpl {
      * @return f^e
      */
     public PairingTargetGroupElementImpl exponentiate(FieldElement f) {
-        return gT.getElement((ExtensionFieldElement) f.pow(gT.getCofactor()));
+        return gT.getElement((ExtensionFieldElement) gT.getCofactorChain().pow(f));
     }
 
     /**
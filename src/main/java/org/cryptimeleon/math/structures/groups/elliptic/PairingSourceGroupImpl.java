@@ -5,11 +5,13 @@ import org.cryptimeleon.math.serialization.ObjectRepresentation;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -27,6 +29,11 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
 
     private FieldElement a1, a2, a3, a4, a6;
 
+    /**
+     * Addition chains for the group order and the cofactor, computed on first use.
+     */
+    private volatile FixedExponentChain sizeChain, cofactorChain;
+
     public BigInteger getSize() {
         return size;
     }
@@ -178,7 +185,7 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
             return false;
 
         //Check subgroup membership
-        return this.getElement(x, y).pow(this.size()).isNeutralElement();
+        return getSizeChain().pow(this.getElement(x, y)).isNeutralElement();
     }
 
     public Field getFieldOfDefinition() {
@@ -224,6 +231,11 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
         return getElement(x, y);
     }
 
+    @Override
+    public PairingSourceGroupElement readElement(ByteBuffer buffer) {
+        return (PairingSourceGroupElement) WeierstrassCurve.super.readElement(buffer);
+    }
+
     @Override
     public Optional<Integer> getUniqueByteLength() {
         //reserve space for x,y,z coordinate
@@ -256,12 +268,26 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
      * @return a point in this subgroup
      */
     public PairingSourceGroupElement multiplyByCofactor(GroupElementImpl element) {
-        GroupElementImpl result = getNeutralElement();
-        for (int i = cofactor.bitLength() - 1; i >= 0; i--) {
-            result = result.op(result);
-            if (cofactor.testBit(i))
-                result = result.op(element);
-        }
-        return (PairingSourceGroupElement) result;
+        return (PairingSourceGroupElement) getCofactorChain().pow(element);
+    }
+
+    /**
+     * Returns an addition chain for exponentiations by the group order.
+     */
+    protected FixedExponentChain getSizeChain() {
+        FixedExponentChain chain = sizeChain;
+        if (chain == null)
+            sizeChain = chain = new FixedExponentChain(size);
+        return chain;
+    }
+
+    /**
+     * Returns an addition chain for exponentiations by the cofactor.
+     */
+    protected FixedExponentChain getCofactorChain() {
+        FixedExponentChain chain = cofactorChain;
+        if (chain == null)
+            cofactorChain = chain = new FixedExponentChain(cofactor);
+        return chain;
     }
 }
@@ -7,6 +7,7 @@ import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public abstract class PairingTargetGroupElementImpl implements GroupElementImpl, UniqueByteRepresentable {
@@ -28,6 +29,16 @@ public abstract class PairingTargetGroupElementImpl implements GroupElementImpl,
         return elem.getRepresentation();
     }
 
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        elem.writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return elem.getEncodedLength();
+    }
+
     @Override
     public PairingTargetGroupImpl getStructure() {
         return group;
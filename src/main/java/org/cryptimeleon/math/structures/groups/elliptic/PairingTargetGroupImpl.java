@@ -5,12 +5,14 @@ import org.cryptimeleon.math.serialization.ObjectRepresentation;
 import org.cryptimeleon.math.serialization.Representable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -25,6 +27,7 @@ public abstract class PairingTargetGroupImpl implements GroupImpl, Representable
     protected ExtensionField fieldOfDefinition;
     protected BigInteger size;
     private PairingTargetGroupElementImpl generator = null; //not part of this object's state. Only used for optimization.
+    private volatile FixedExponentChain cofactorChain = null; //not part of this object's state. Only used for optimization.
 
     public ExtensionField getFieldOfDefinition() {
         return fieldOfDefinition;
@@ -52,6 +55,17 @@ public abstract class PairingTargetGroupImpl implements GroupImpl, Representable
         return fieldOfDefinition.size().divide(this.size());
     }
 
+    /**
+     * Returns an addition chain for exponentiations by the cofactor, which map units of the field of definition
+     * into this group.
+     */
+    public FixedExponentChain getCofactorChain() {
+        FixedExponentChain chain = cofactorChain;
+        if (chain == null)
+            cofactorChain = chain = new FixedExponentChain(getCofactor());
+        return chain;
+    }
+
     @Override
     public BigInteger size() throws UnsupportedOperationException {
         return size;
@@ -95,7 +109,7 @@ public abstract class PairingTargetGroupImpl implements GroupImpl, Representable
             FieldElement fe;
             do {
                 fe = this.getFieldOfDefinition().getUniformlyRandomElement();
-                fe = fe.pow(this.getFieldOfDefinition().size().subtract(BigInteger.ONE).divide(this.size()));
+                fe = getCofactorChain().pow(fe);
 
 
             } while (fe.isOne());
@@ -115,6 +129,11 @@ public abstract class PairingTargetGroupImpl implements GroupImpl, Representable
      */
     public abstract PairingTargetGroupElementImpl getElement(ExtensionFieldElement fe);
 
+    @Override
+    public PairingTargetGroupElementImpl readElement(ByteBuffer buffer) {
+        return getElement(fieldOfDefinition.readElement(buffer));
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -1,7 +1,10 @@
 package org.cryptimeleon.math.structures.groups.elliptic;
 
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 
+import java.nio.ByteBuffer;
+
 /**
  * An elliptic curve defined by the weierstrass equation
  * \(y^2 + A1 \cdot xy + A3 \cdot y = x^3 + A2 \cdot x^2 + A4 \cdot x + A6\).
@@ -56,6 +59,24 @@ public interface WeierstrassCurve extends EllipticCurve {
      */
     EllipticCurvePoint getElement(FieldElement x, FieldElement y);
 
+    /**
+     * Reads a point written by {@link AbstractEllipticCurvePoint#writeTo(ByteBuffer)}.
+     * <p>
+     * Like {@link #restoreElement(org.cryptimeleon.math.serialization.Representation)}, this does not check
+     * whether the point lies on the curve.
+     */
+    @Override
+    default GroupElementImpl readElement(ByteBuffer buffer) {
+        byte flag = buffer.get();
+        FieldElement x = getFieldOfDefinition().readElement(buffer);
+        FieldElement y = getFieldOfDefinition().readElement(buffer);
+        if (flag == 0)
+            return getNeutralElement();
+        if (flag != 1)
+            throw new IllegalArgumentException("Invalid elliptic curve point encoding");
+        return getElement(x, y);
+    }
+
     default boolean isShortForm() {
         return getA3().isZero() && getA2().isZero() && getA1().isZero();
     }
@@ -0,0 +1,299 @@
+package org.cryptimeleon.math.structures.groups.elliptic.nopairing;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * An element of the secp256k1 base field \(\mathbb{F}_p\), \(p = 2^{256} - 2^{32} - 977\), stored as eight
+ * 32 bit limbs.
+ * <p>
+ * Arithmetic is done on the limbs directly instead of via {@link BigInteger}. Products are reduced by folding
+ * the upper 256 bits onto the lower ones twice using \(2^{256} \equiv 2^{32} + 977 \mod p\),
+ * followed by a single conditional subtraction of \(p\).
+ * <p>
+ * Elements are immutable and always fully reduced, i.e. each residue class has a unique limb representation.
+ * This class is used internally for the point arithmetic of {@link Secp256k1Impl}; coordinates are exposed
+ * as {@link org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement}s.
+ */
+final class Secp256k1FieldElement {
+    private static final int LIMBS = 8;
+    private static final long MASK = 0xffffffffL;
+    /**
+     * \(2^{256} - p = 2^{32} + 977\).
+     */
+    private static final long C = 0x1000003d1L;
+    /**
+     * Lower 32 bits of {@link #C}.
+     */
+    private static final long C_LOW = 0x3d1L;
+
+    static final Secp256k1FieldElement ZERO = new Secp256k1FieldElement(new int[LIMBS]);
+    static final Secp256k1FieldElement ONE = new Secp256k1FieldElement(new int[] {1, 0, 0, 0, 0, 0, 0, 0});
+
+    /**
+     * Little endian limbs, i.e. the element is \(\sum_i \mathit{limbs}[i] 2^{32i}\) with unsigned limbs.
+     */
+    private final int[] limbs;
+
+    private Secp256k1FieldElement(int[] limbs) {
+        this.limbs = limbs;
+    }
+
+    /**
+     * Returns the element represented by the given integer (which is reduced mod p).
+     */
+    static Secp256k1FieldElement valueOf(BigInteger value) {
+        byte[] bytes = value.mod(Secp256k1Impl.p).toByteArray();
+        int[] limbs = new int[LIMBS];
+        for (int i = 0; i < bytes.length && i < 4 * LIMBS; i++)
+            limbs[i / 4] |= (bytes[bytes.length - 1 - i] & 0xff) << (8 * (i % 4));
+        return new Secp256k1FieldElement(limbs);
+    }
+
+    /**
+     * Returns the (non-negative) integer represented by this element.
+     */
+    BigInteger toBigInteger() {
+        byte[] bytes = new byte[4 * LIMBS + 1];
+        for (int i = 0; i < LIMBS; i++) {
+            int limb = limbs[i];
+            int offset = bytes.length - 4 * i;
+            bytes[offset - 1] = (byte) limb;
+            bytes[offset - 2] = (byte) (limb >>> 8);
+            bytes[offset - 3] = (byte) (limb >>> 16);
+            bytes[offset - 4] = (byte) (limb >>> 24);
+        }
+        return new BigInteger(bytes);
+    }
+
+    boolean isZero() {
+        for (int limb : limbs)
+            if (limb != 0)
+                return false;
+        return true;
+    }
+
+    boolean isOne() {
+        if (limbs[0] != 1)
+            return false;
+        for (int i = 1; i < LIMBS; i++)
+            if (limbs[i] != 0)
+                return false;
+        return true;
+    }
+
+    Secp256k1FieldElement add(Secp256k1FieldElement other) {
+        int[] a = limbs, b = other.limbs;
+        int[] r = new int[LIMBS];
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long v = (a[i] & MASK) + (b[i] & MASK) + carry;
+            r[i] = (int) v;
+            carry = v >>> 32;
+        }
+        // a + b < 2p. If a + b >= 2^256, then a + b - p = (a + b - 2^256) + C does not overflow
+        if (carry != 0)
+            addSmall(r, C);
+        else
+            reduceOnce(r);
+        return new Secp256k1FieldElement(r);
+    }
+
+    Secp256k1FieldElement sub(Secp256k1FieldElement other) {
+        int[] a = limbs, b = other.limbs;
+        int[] r = new int[LIMBS];
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long v = (a[i] & MASK) - (b[i] & MASK) - borrow;
+            r[i] = (int) v;
+            borrow = (v >>> 63);
+        }
+        // a - b < 0, hence add p, i.e. subtract C modulo 2^256
+        if (borrow != 0) {
+            borrow = 0;
+            for (int i = 0; i < LIMBS && (i < 2 || borrow != 0); i++) {
+                long v = (r[i] & MASK) - (i == 0 ? C_LOW : i == 1 ? 1 : 0) - borrow;
+                r[i] = (int) v;
+                borrow = (v >>> 63);
+            }
+        }
+        return new Secp256k1FieldElement(r);
+    }
+
+    Secp256k1FieldElement neg() {
+        return ZERO.sub(this);
+    }
+
+    /**
+     * Returns {@code this + this}.
+     */
+    Secp256k1FieldElement twice() {
+        return add(this);
+    }
+
+    Secp256k1FieldElement mul(Secp256k1FieldElement other) {
+        int[] a = limbs, b = other.limbs;
+        int[] t = new int[2 * LIMBS];
+        for (int i = 0; i < LIMBS; i++) {
+            long ai = a[i] & MASK;
+            long carry = 0;
+            for (int j = 0; j < LIMBS; j++) {
+                // at most (2^32-1)^2 + 2 (2^32-1) = 2^64 - 1, so this does not overflow (as unsigned value)
+                long v = ai * (b[j] & MASK) + (t[i + j] & MASK) + carry;
+                t[i + j] = (int) v;
+                carry = v >>> 32;
+            }
+            t[i + LIMBS] = (int) carry;
+        }
+        return new Secp256k1FieldElement(reduce(t));
+    }
+
+    Secp256k1FieldElement square() {
+        int[] a = limbs;
+        int[] t = new int[2 * LIMBS];
+        // products a_i a_j with i < j
+        for (int i = 0; i < LIMBS; i++) {
+            long ai = a[i] & MASK;
+            long carry = 0;
+            for (int j = i + 1; j < LIMBS; j++) {
+                long v = ai * (a[j] & MASK) + (t[i + j] & MASK) + carry;
+                t[i + j] = (int) v;
+                carry = v >>> 32;
+            }
+            t[i + LIMBS] = (int) carry;
+        }
+        // double them
+        int previous = 0;
+        for (int k = 0; k < 2 * LIMBS; k++) {
+            int current = t[k];
+            t[k] = (current << 1) | (previous >>> 31);
+            previous = current;
+        }
+        // add the squares a_i^2
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long ai = a[i] & MASK;
+            long square = ai * ai;
+            long v = (t[2 * i] & MASK) + (square & MASK) + carry;
+            t[2 * i] = (int) v;
+            v = (t[2 * i + 1] & MASK) + (square >>> 32) + (v >>> 32);
+            t[2 * i + 1] = (int) v;
+            carry = v >>> 32;
+        }
+        return new Secp256k1FieldElement(reduce(t));
+    }
+
+    /**
+     * Squares this element n times.
+     */
+    Secp256k1FieldElement squareTimes(int n) {
+        Secp256k1FieldElement result = this;
+        for (int i = 0; i < n; i++)
+            result = result.square();
+        return result;
+    }
+
+    /**
+     * Computes the inverse as \(x^{p-2}\) using the addition chain of libsecp256k1
+     * (255 squarings and 15 multiplications).
+     *
+     * @throws ArithmeticException if this element is zero
+     */
+    Secp256k1FieldElement inv() {
+        if (isZero())
+            throw new ArithmeticException("Zero is not invertible");
+        // xk = x^(2^k - 1)
+        Secp256k1FieldElement x2 = square().mul(this);
+        Secp256k1FieldElement x3 = x2.square().mul(this);
+        Secp256k1FieldElement x6 = x3.squareTimes(3).mul(x3);
+        Secp256k1FieldElement x9 = x6.squareTimes(3).mul(x3);
+        Secp256k1FieldElement x11 = x9.squareTimes(2).mul(x2);
+        Secp256k1FieldElement x22 = x11.squareTimes(11).mul(x11);
+        Secp256k1FieldElement x44 = x22.squareTimes(22).mul(x22);
+        Secp256k1FieldElement x88 = x44.squareTimes(44).mul(x44);
+        Secp256k1FieldElement x176 = x88.squareTimes(88).mul(x88);
+        Secp256k1FieldElement x220 = x176.squareTimes(44).mul(x44);
+        Secp256k1FieldElement x223 = x220.squareTimes(3).mul(x3);
+        // p - 2 = [223 ones] 0 [22 ones] 0000 1 0 11 0 1
+        return x223.squareTimes(23).mul(x22)
+                .squareTimes(5).mul(this)
+                .squareTimes(3).mul(x2)
+                .squareTimes(2).mul(this);
+    }
+
+    /**
+     * Reduces the 512 bit value given by 16 limbs.
+     */
+    private static int[] reduce(int[] t) {
+        // first fold: lo + hi * 2^32 + hi * 977, the result has at most 256 + 34 bits
+        int[] r = new int[LIMBS];
+        long carry = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long v = (t[i] & MASK) + (t[i + LIMBS] & MASK) * C_LOW + carry;
+            if (i > 0)
+                v += t[i + LIMBS - 1] & MASK;
+            r[i] = (int) v;
+            carry = v >>> 32;
+        }
+        long top = carry + (t[2 * LIMBS - 1] & MASK);
+
+        // second fold: r + top * 2^32 + top * 977
+        long v = (r[0] & MASK) + top * C_LOW;
+        r[0] = (int) v;
+        v = (r[1] & MASK) + top + (v >>> 32);
+        r[1] = (int) v;
+        carry = v >>> 32;
+        for (int i = 2; i < LIMBS && carry != 0; i++) {
+            v = (r[i] & MASK) + carry;
+            r[i] = (int) v;
+            carry = v >>> 32;
+        }
+        // if this overflowed, the remaining value is small, so adding C once more does not overflow
+        if (carry != 0)
+            addSmall(r, C);
+        else
+            reduceOnce(r);
+        return r;
+    }
+
+    /**
+     * Subtracts p from r if r >= p, using that r >= p iff r + C >= 2^256.
+     */
+    private static void reduceOnce(int[] r) {
+        int[] s = r.clone();
+        if (addSmall(s, C) != 0)
+            System.arraycopy(s, 0, r, 0, LIMBS);
+    }
+
+    /**
+     * Adds the (at most 63 bit) value c to r in place and returns the carry out of the top limb.
+     */
+    private static long addSmall(int[] r, long c) {
+        long v = (r[0] & MASK) + (c & MASK);
+        r[0] = (int) v;
+        long carry = (v >>> 32) + (c >>> 32);
+        for (int i = 1; i < LIMBS && carry != 0; i++) {
+            v = (r[i] & MASK) + carry;
+            r[i] = (int) v;
+            carry = v >>> 32;
+        }
+        return carry;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(limbs, ((Secp256k1FieldElement) o).limbs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(limbs);
+    }
+
+    @Override
+    public String toString() {
+        return toBigInteger().toString();
+    }
+}
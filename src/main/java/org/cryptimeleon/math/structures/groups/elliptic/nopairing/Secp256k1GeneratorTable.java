@@ -0,0 +1,78 @@
+package org.cryptimeleon.math.structures.groups.elliptic.nopairing;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed multiples of the secp256k1 generator for fast fixed-base exponentiation.
+ * <p>
+ * The exponent is split into 64 windows of 4 bits. For every window i, the table contains the affine points
+ * \(j \cdot 16^i \cdot G\) for \(j = 1, \ldots, 15\), so \(k \cdot G\) is the sum of (at most) 64 table entries
+ * and can be computed with mixed additions only, without any doublings.
+ * The table takes roughly 60 KB and is computed (once) on first use.
+ */
+class Secp256k1GeneratorTable {
+    private static final int WINDOW_SIZE = 4;
+    private static final int WINDOWS = 256 / WINDOW_SIZE;
+    private static final int ENTRIES = (1 << WINDOW_SIZE) - 1;
+
+    /**
+     * Affine coordinates, {@code x[i][j-1]} is the x-coordinate of \(j \cdot 16^i \cdot G\).
+     */
+    private final Secp256k1FieldElement[][] x = new Secp256k1FieldElement[WINDOWS][ENTRIES];
+    private final Secp256k1FieldElement[][] y = new Secp256k1FieldElement[WINDOWS][ENTRIES];
+
+    private static class Holder {
+        static final Secp256k1GeneratorTable INSTANCE = new Secp256k1GeneratorTable(new Secp256k1Impl());
+    }
+
+    /**
+     * Returns the table, computing it on first use.
+     */
+    static Secp256k1GeneratorTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private Secp256k1GeneratorTable(Secp256k1Impl curve) {
+        Secp256k1Point[] points = new Secp256k1Point[WINDOWS * ENTRIES];
+        Secp256k1Point base = curve.getGenerator();
+        for (int i = 0; i < WINDOWS; i++) {
+            Secp256k1Point multiple = base;
+            for (int j = 0; j < ENTRIES; j++) {
+                points[i * ENTRIES + j] = multiple;
+                multiple = multiple.add(base);
+            }
+            base = multiple; // 16 * base
+        }
+
+        // normalize all points with a single inversion (Montgomery's trick)
+        Secp256k1FieldElement[] products = new Secp256k1FieldElement[points.length];
+        Secp256k1FieldElement product = Secp256k1FieldElement.ONE;
+        for (int k = 0; k < points.length; k++) {
+            products[k] = product;
+            product = product.mul(points[k].z);
+        }
+        Secp256k1FieldElement inverse = product.inv();
+        for (int k = points.length - 1; k >= 0; k--) {
+            Secp256k1FieldElement zInv = inverse.mul(products[k]);
+            inverse = inverse.mul(points[k].z);
+            Secp256k1FieldElement zInvSquare = zInv.square();
+            x[k / ENTRIES][k % ENTRIES] = points[k].x.mul(zInvSquare);
+            y[k / ENTRIES][k % ENTRIES] = points[k].y.mul(zInvSquare).mul(zInv);
+        }
+    }
+
+    /**
+     * Computes \(k \cdot G\) for \(0 \leq k < 2^{256}\).
+     */
+    Secp256k1Point multiply(Secp256k1Impl curve, BigInteger k) {
+        Secp256k1Point result = curve.getNeutralElement();
+        for (int i = 0; i < WINDOWS; i++) {
+            int digit = 0;
+            for (int b = WINDOW_SIZE - 1; b >= 0; b--)
+                digit = (digit << 1) | (k.testBit(i * WINDOW_SIZE + b) ? 1 : 0);
+            if (digit != 0)
+                result = result.addAffine(x[i][digit - 1], y[i][digit - 1]);
+        }
+        return result;
+    }
+}
@@ -5,9 +5,12 @@ import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.StringRepresentation;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
-import org.cryptimeleon.math.structures.groups.elliptic.AffineEllipticCurvePoint;
-import org.cryptimeleon.math.structures.groups.elliptic.EllipticCurvePoint;
 import org.cryptimeleon.math.structures.groups.elliptic.WeierstrassCurve;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpTerm;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
@@ -23,6 +26,10 @@ import java.util.Optional;
  * <p>
  * The curve is defined in Weierstrass short form \(y^2 = x^3 + b\) over a field \(\mathbb{F}_p\).
  * Specific parameters are taken from <a href="https://www.secg.org/sec2-v2.pdf">here</a>.
+ * <p>
+ * Points are {@link Secp256k1Point}s in Jacobian coordinates, with field arithmetic done by
+ * {@link Secp256k1FieldElement}. Exponentiations of the generator use a precomputed table
+ * ({@link Secp256k1GeneratorTable}), other exponentiations use wNAF.
  */
 class Secp256k1Impl implements WeierstrassCurve {
     /**
@@ -59,6 +66,17 @@ class Secp256k1Impl implements WeierstrassCurve {
     public static final Zp.ZpElement generatorY =
             zp.valueOf(new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16));
 
+    /**
+     * Generator coordinates for the point arithmetic.
+     */
+    private static final Secp256k1FieldElement GENERATOR_X = Secp256k1FieldElement.valueOf(generatorX.asInteger());
+    private static final Secp256k1FieldElement GENERATOR_Y = Secp256k1FieldElement.valueOf(generatorY.asInteger());
+
+    /**
+     * Window size for exponentiations of bases other than the generator.
+     */
+    private static final int WNAF_WINDOW_SIZE = 5;
+
     /**
      * Initialize the curve.
      */
@@ -100,8 +118,9 @@ class Secp256k1Impl implements WeierstrassCurve {
     }
 
     @Override
-    public EllipticCurvePoint getElement(FieldElement x, FieldElement y) {
-        return new AffineEllipticCurvePoint(this, x,y);
+    public Secp256k1Point getElement(FieldElement x, FieldElement y) {
+        return new Secp256k1Point(this, Secp256k1FieldElement.valueOf(x.asInteger()),
+                Secp256k1FieldElement.valueOf(y.asInteger()));
     }
 
     @Override
@@ -110,23 +129,83 @@ class Secp256k1Impl implements WeierstrassCurve {
     }
 
     @Override
-    public GroupElementImpl getNeutralElement() {
-        return new AffineEllipticCurvePoint(this);
+    public Secp256k1Point getNeutralElement() {
+        return new Secp256k1Point(this);
     }
 
     @Override
     public GroupElementImpl getUniformlyRandomElement() throws UnsupportedOperationException {
-        return getGenerator().pow(RandomGenerator.getRandomNumber(n));
+        return Secp256k1GeneratorTable.getInstance().multiply(this, RandomGenerator.getRandomNumber(n));
     }
 
     @Override
-    public GroupElementImpl restoreElement(Representation repr) {
-        return new AffineEllipticCurvePoint(this, repr);
+    public Secp256k1Point restoreElement(Representation repr) {
+        return new Secp256k1Point(this,
+                Secp256k1FieldElement.valueOf(zp.restoreElement(repr.obj().get("x")).asInteger()),
+                Secp256k1FieldElement.valueOf(zp.restoreElement(repr.obj().get("y")).asInteger()),
+                Secp256k1FieldElement.valueOf(zp.restoreElement(repr.obj().get("z")).asInteger()));
     }
 
     @Override
-    public GroupElementImpl getGenerator() throws UnsupportedOperationException {
-        return getElement(generatorX, generatorY);
+    public Secp256k1Point getGenerator() throws UnsupportedOperationException {
+        return new Secp256k1Point(this, GENERATOR_X, GENERATOR_Y);
+    }
+
+    @Override
+    public boolean implementsOwnExp() {
+        return true;
+    }
+
+    /**
+     * Uses the precomputed generator table if the base is the generator, and wNAF otherwise.
+     */
+    @Override
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent,
+                                SmallExponentPrecomputation precomputation) {
+        BigInteger k = exponent.mod(n); // all points have order dividing n
+        if (isGenerator(base))
+            return Secp256k1GeneratorTable.getInstance().multiply(this, k);
+        return ExponentiationAlgorithms.wnafExp(base, k, precomputation, WNAF_WINDOW_SIZE);
+    }
+
+    @Override
+    public boolean implementsOwnMultiExp() {
+        return true;
+    }
+
+    /**
+     * Computes the terms with the generator as base (e.g. in signature verification) using the precomputed
+     * generator table and the remaining ones using interleaved wNAF.
+     */
+    @Override
+    public GroupElementImpl multiexp(Multiexponentiation mexp) {
+        Multiexponentiation remaining = new Multiexponentiation();
+        BigInteger generatorExponent = BigInteger.ZERO;
+        boolean hasGeneratorTerm = false;
+        for (MultiExpTerm term : mexp.getTerms()) {
+            if (isGenerator(term.getBase())) {
+                generatorExponent = generatorExponent.add(term.getExponent());
+                hasGeneratorTerm = true;
+            } else {
+                remaining.put(term);
+            }
+        }
+        mexp.getConstantFactor().ifPresent(remaining::put);
+        if (hasGeneratorTerm)
+            remaining.put(Secp256k1GeneratorTable.getInstance().multiply(this, generatorExponent.mod(n)));
+        if (remaining.getNumberOfTerms() == 0)
+            return remaining.getConstantFactor().orElse(getNeutralElement());
+        return ExponentiationAlgorithms.interleavingWnafMultiExp(remaining,
+                Math.max(WNAF_WINDOW_SIZE, remaining.computeMinPrecomputedWindowSize(MultiExpAlgorithm.WNAF)));
+    }
+
+    private boolean isGenerator(GroupElementImpl element) {
+        if (!(element instanceof Secp256k1Point))
+            return false;
+        Secp256k1Point point = (Secp256k1Point) element;
+        if (point.z.isOne())
+            return point.x.equals(GENERATOR_X) && point.y.equals(GENERATOR_Y);
+        return point.equals(getGenerator());
     }
 
     @Override
@@ -0,0 +1,294 @@
+package org.cryptimeleon.math.structures.groups.elliptic.nopairing;
+
+import org.cryptimeleon.math.hash.ByteAccumulator;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.EllipticCurvePoint;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * A point on secp256k1 in Jacobian coordinates, i.e. \((X, Y, Z)\) represents the affine point
+ * \((X/Z^2, Y/Z^3)\) and \(Z = 0\) represents the point at infinity.
+ * <p>
+ * Group operations use the formulas for \(a = 0\) from the
+ * <a href="https://hyperelliptic.org/EFD/g1p/auto-shortw-jacobian-0.html">Explicit-Formulas Database</a>
+ * (dbl-2009-l for doubling, add-2007-bl for addition and madd-2007-bl if the second point is affine)
+ * and do not need any field inversions.
+ * <p>
+ * Representations, byte encodings and {@link #updateAccumulator(ByteAccumulator)} use the normalized affine
+ * coordinates and are the same as for {@link org.cryptimeleon.math.structures.groups.elliptic.AffineEllipticCurvePoint}.
+ */
+class Secp256k1Point implements EllipticCurvePoint {
+    private final Secp256k1Impl structure;
+    final Secp256k1FieldElement x, y, z;
+
+    Secp256k1Point(Secp256k1Impl structure, Secp256k1FieldElement x, Secp256k1FieldElement y,
+                   Secp256k1FieldElement z) {
+        this.structure = structure;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates the affine point (x, y).
+     */
+    Secp256k1Point(Secp256k1Impl structure, Secp256k1FieldElement x, Secp256k1FieldElement y) {
+        this(structure, x, y, Secp256k1FieldElement.ONE);
+    }
+
+    /**
+     * Creates the point at infinity.
+     */
+    Secp256k1Point(Secp256k1Impl structure) {
+        this(structure, Secp256k1FieldElement.ONE, Secp256k1FieldElement.ONE, Secp256k1FieldElement.ZERO);
+    }
+
+    @Override
+    public Secp256k1Impl getStructure() {
+        return structure;
+    }
+
+    @Override
+    public Field getFieldOfDefinition() {
+        return Secp256k1Impl.zp;
+    }
+
+    @Override
+    public boolean isNeutralElement() {
+        return z.isZero();
+    }
+
+    /**
+     * Returns the affine x-coordinate of this point.
+     */
+    public Zp.ZpElement getX() {
+        return isNeutralElement() ? Secp256k1Impl.zp.getZeroElement() : toZp(normalize().x);
+    }
+
+    /**
+     * Returns the affine y-coordinate of this point.
+     */
+    public Zp.ZpElement getY() {
+        return isNeutralElement() ? Secp256k1Impl.zp.getOneElement() : toZp(normalize().y);
+    }
+
+    private static Zp.ZpElement toZp(Secp256k1FieldElement element) {
+        return Secp256k1Impl.zp.createZnElement(element.toBigInteger());
+    }
+
+    @Override
+    public Secp256k1Point normalize() {
+        if (isNormalized())
+            return this;
+        Secp256k1FieldElement zInv = z.inv();
+        Secp256k1FieldElement zInvSquare = zInv.square();
+        return new Secp256k1Point(structure, x.mul(zInvSquare), y.mul(zInvSquare).mul(zInv));
+    }
+
+    @Override
+    public boolean isNormalized() {
+        return z.isOne() || z.isZero();
+    }
+
+    @Override
+    public Secp256k1Point inv() {
+        return isNeutralElement() ? this : new Secp256k1Point(structure, x, y.neg(), z);
+    }
+
+    @Override
+    public GroupElementImpl op(GroupElementImpl e) throws IllegalArgumentException {
+        return add((Secp256k1Point) e);
+    }
+
+    @Override
+    public Secp256k1Point square() {
+        return twice();
+    }
+
+    @Override
+    public GroupElementImpl pow(BigInteger k) {
+        return structure.exp(this, k, null);
+    }
+
+    /**
+     * Computes {@code this + this} (dbl-2009-l).
+     */
+    Secp256k1Point twice() {
+        if (isNeutralElement() || y.isZero())
+            return structure.getNeutralElement();
+        Secp256k1FieldElement a = x.square();
+        Secp256k1FieldElement b = y.square();
+        Secp256k1FieldElement c = b.square();
+        Secp256k1FieldElement d = x.add(b).square().sub(a).sub(c).twice();
+        Secp256k1FieldElement e = a.twice().add(a);
+        Secp256k1FieldElement f = e.square();
+        Secp256k1FieldElement x3 = f.sub(d.twice());
+        Secp256k1FieldElement c8 = c.twice().twice().twice();
+        Secp256k1FieldElement y3 = e.mul(d.sub(x3)).sub(c8);
+        Secp256k1FieldElement z3 = y.mul(z).twice();
+        return new Secp256k1Point(structure, x3, y3, z3);
+    }
+
+    /**
+     * Computes {@code this + other} (add-2007-bl, or madd-2007-bl if other is affine).
+     */
+    Secp256k1Point add(Secp256k1Point other) {
+        if (isNeutralElement())
+            return other;
+        if (other.isNeutralElement())
+            return this;
+        if (other.z.isOne())
+            return addAffine(other.x, other.y);
+
+        Secp256k1FieldElement z1z1 = z.square();
+        Secp256k1FieldElement z2z2 = other.z.square();
+        Secp256k1FieldElement u1 = x.mul(z2z2);
+        Secp256k1FieldElement u2 = other.x.mul(z1z1);
+        Secp256k1FieldElement s1 = y.mul(other.z).mul(z2z2);
+        Secp256k1FieldElement s2 = other.y.mul(z).mul(z1z1);
+        Secp256k1FieldElement h = u2.sub(u1);
+        Secp256k1FieldElement r = s2.sub(s1);
+        if (h.isZero())
+            return r.isZero() ? twice() : structure.getNeutralElement();
+        Secp256k1FieldElement i = h.twice().square();
+        Secp256k1FieldElement j = h.mul(i);
+        r = r.twice();
+        Secp256k1FieldElement v = u1.mul(i);
+        Secp256k1FieldElement x3 = r.square().sub(j).sub(v.twice());
+        Secp256k1FieldElement y3 = r.mul(v.sub(x3)).sub(s1.mul(j).twice());
+        Secp256k1FieldElement z3 = z.add(other.z).square().sub(z1z1).sub(z2z2).mul(h);
+        return new Secp256k1Point(structure, x3, y3, z3);
+    }
+
+    /**
+     * Computes {@code this + (x2, y2)} for an affine point (x2, y2) (madd-2007-bl).
+     */
+    Secp256k1Point addAffine(Secp256k1FieldElement x2, Secp256k1FieldElement y2) {
+        if (isNeutralElement())
+            return new Secp256k1Point(structure, x2, y2);
+        Secp256k1FieldElement z1z1 = z.square();
+        Secp256k1FieldElement u2 = x2.mul(z1z1);
+        Secp256k1FieldElement s2 = y2.mul(z).mul(z1z1);
+        Secp256k1FieldElement h = u2.sub(x);
+        Secp256k1FieldElement r = s2.sub(y);
+        if (h.isZero())
+            return r.isZero() ? twice() : structure.getNeutralElement();
+        Secp256k1FieldElement hh = h.square();
+        Secp256k1FieldElement i = hh.twice().twice();
+        Secp256k1FieldElement j = h.mul(i);
+        r = r.twice();
+        Secp256k1FieldElement v = x.mul(i);
+        Secp256k1FieldElement x3 = r.square().sub(j).sub(v.twice());
+        Secp256k1FieldElement y3 = r.mul(v.sub(x3)).sub(y.mul(j).twice());
+        Secp256k1FieldElement z3 = z.add(h).square().sub(z1z1).sub(hh);
+        return new Secp256k1Point(structure, x3, y3, z3);
+    }
+
+    /**
+     * Computes the line through this and Q as for affine points, i.e. \(a_0(y-y_P)-a_1(x-x_P)\).
+     * Not needed for point arithmetic, since {@link #op(GroupElementImpl)} does not use lines.
+     */
+    @Override
+    public FieldElement[] computeLine(EllipticCurvePoint Q) {
+        Secp256k1Point P = (Secp256k1Point) Q;
+        if (isNeutralElement() || P.isNeutralElement() || equals(P.inv()))
+            return new FieldElement[] {Secp256k1Impl.zp.getZeroElement(), Secp256k1Impl.zp.getOneElement()};
+        FieldElement lambda;
+        if (equals(P)) {
+            FieldElement xSquare = getX().square();
+            lambda = xSquare.add(xSquare).add(xSquare).div(getY().add(getY()));
+        } else {
+            lambda = P.getY().sub(getY()).div(P.getX().sub(getX()));
+        }
+        return new FieldElement[] {Secp256k1Impl.zp.getOneElement(), lambda};
+    }
+
+    /**
+     * Adds P to this. The line is not needed for this.
+     */
+    @Override
+    public EllipticCurvePoint add(EllipticCurvePoint P, FieldElement[] line) {
+        return add((Secp256k1Point) P);
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        // normalize only once instead of in both getX() and getY()
+        Secp256k1Point normalized = normalize();
+        ObjectRepresentation r = new ObjectRepresentation();
+        r.put("x", normalized.getX().getRepresentation());
+        r.put("y", normalized.getY().getRepresentation());
+        r.put("z", (isNeutralElement() ? Secp256k1Impl.zp.getZeroElement() : Secp256k1Impl.zp.getOneElement())
+                .getRepresentation());
+        return r;
+    }
+
+    @Override
+    public ByteAccumulator updateAccumulator(ByteAccumulator accumulator) {
+        Secp256k1Point normalized = normalize();
+        accumulator.append(normalized.getX());
+        accumulator.append(normalized.getY());
+        accumulator.append(toZp(normalized.z));
+        return accumulator;
+    }
+
+    /**
+     * Writes a flag byte (0 for the neutral element, 1 otherwise) followed by the normalized x- and y-coordinates,
+     * as {@link org.cryptimeleon.math.structures.groups.elliptic.AbstractEllipticCurvePoint#writeTo(ByteBuffer)}.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        if (isNeutralElement()) {
+            buffer.put((byte) 0);
+            Secp256k1Impl.zp.getZeroElement().writeTo(buffer);
+            Secp256k1Impl.zp.getZeroElement().writeTo(buffer);
+        } else {
+            Secp256k1Point normalized = normalize();
+            buffer.put((byte) 1);
+            normalized.getX().writeTo(buffer);
+            normalized.getY().writeTo(buffer);
+        }
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return 1 + 2 * Secp256k1Impl.zp.getZeroElement().getEncodedLength();
+    }
+
+    /**
+     * Compares the points without normalizing them, i.e. checks whether \(X_1 Z_2^2 = X_2 Z_1^2\) and
+     * \(Y_1 Z_2^3 = Y_2 Z_1^3\).
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Secp256k1Point)) return false;
+        Secp256k1Point other = (Secp256k1Point) o;
+        if (isNeutralElement() || other.isNeutralElement())
+            return isNeutralElement() && other.isNeutralElement();
+        Secp256k1FieldElement z1z1 = z.square();
+        Secp256k1FieldElement z2z2 = other.z.square();
+        return x.mul(z2z2).equals(other.x.mul(z1z1))
+                && y.mul(other.z).mul(z2z2).equals(other.y.mul(z).mul(z1z1));
+    }
+
+    @Override
+    public int hashCode() {
+        return isNeutralElement() ? 0 : normalize().x.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (isNeutralElement())
+            return "point at infinity";
+        Secp256k1Point normalized = normalize();
+        return "(" + normalized.getX() + "," + normalized.getY() + ")";
+    }
+}
@@ -2,20 +2,43 @@ package org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular;
 
 import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
+import java.math.BigInteger;
+
 /**
  * Tate-pairing implementation for the supersingular bilinear group.
+ * <p>
+ * The Miller loop works on Jacobian coordinates without any inversions, and the final exponentiation is split into
+ * an easy part \(f^{q-1}\) (computed via conjugation) and a hard part \(f^{(q+1)/r}\) on unitary elements
+ * (for which inversion is conjugation).
  */
 class SupersingularTatePairing extends AbstractPairing {
 
+    /**
+     * Window size used for the wNAF exponentiation in the hard part of the final exponentiation.
+     */
+    private static final int FINAL_EXP_WINDOW_SIZE = 4;
+
     //SupersingularTypeADistortionMap distortionMap;
 
+    /**
+     * The exponent \((q+1)/r\) of the hard part of the final exponentiation in wNAF form.
+     */
+    private final int[] hardPartDigits;
+
     public SupersingularTatePairing(SupersingularSourceGroupImpl g1, SupersingularTargetGroupImpl gT) {
         super(g1, g1, gT);
         //	this.distortionMap = new SupersingularTypeADistortionMap(g1,gT.getFieldOfDefinition());
+        // cofactor is (q^2-1)/r = (q-1)(q+1)/r
+        BigInteger q = gT.getFieldOfDefinition().getCharacteristic();
+        this.hardPartDigits = ExponentiationAlgorithms.precomputeExponentDigitsForWnaf(
+                gT.getCofactor().divide(q.subtract(BigInteger.ONE)), FINAL_EXP_WINDOW_SIZE
+        );
     }
 
     @Override
@@ -59,12 +82,192 @@ class SupersingularTatePairing extends AbstractPairing {
             return gT.getFieldOfDefinition().getOneElement();
         }
 
-        ExtensionFieldElement result = this.miller(P, Q, g1.size());
+        ExtensionFieldElement result = this.projectiveMiller(P, Q, g1.size());
 
         return result;
 
     }
 
+    /**
+     * Miller's algorithm on Jacobian coordinates \((X, Y, Z) \mapsto (X/Z^2, Y/Z^3)\) for the curve
+     * \(y^2 = x^3 - 3x\), evaluating the lines at the distorted point \(\phi(Q) = (-x_Q, i y_Q)\).
+     * <p>
+     * Each line is scaled by a factor from \(\mathbb{F}_q\) to clear its denominator. Like the vertical lines,
+     * these factors are eliminated by the final exponentiation, since \(q - 1\) divides \((q^2-1)/r\).
+     *
+     * @param P first argument of the pairing, not the neutral element
+     * @param Q second argument of the pairing, not the neutral element
+     * @param n loop bound, an odd number such that \(nP = O\)
+     * @return \(f_{n,P}(\phi(Q))\) up to factors from \(\mathbb{F}_q\)
+     */
+    ExtensionFieldElement projectiveMiller(PairingSourceGroupElement P, PairingSourceGroupElement Q,
+                                           BigInteger n) {
+        ExtensionField targetField = gT.getFieldOfDefinition();
+        // elements of the target field are a + b i with i^2 = -c (and c = 1 for the distortion map to work)
+        FieldElement c = targetField.getConstant();
+        PairingSourceGroupElement pNormalized = (PairingSourceGroupElement) P.normalize();
+        PairingSourceGroupElement qNormalized = (PairingSourceGroupElement) Q.normalize();
+        FieldElement xp = pNormalized.getX();
+        FieldElement yp = pNormalized.getY();
+        FieldElement xq = qNormalized.getX();
+        FieldElement yq = qNormalized.getY();
+
+        // line through P and T is evaluated at phi(Q) as (lambda (xq + xp) - yp) + yq i, which we reuse for all additions
+        FieldElement xSum = xq.add(xp);
+
+        FieldElement x = xp;
+        FieldElement y = yp;
+        FieldElement z = xp.getStructure().getOneElement();
+        FieldElement f0 = z;
+        FieldElement f1 = xp.getStructure().getZeroElement();
+
+        for (int i = n.bitLength() - 2; i >= 0; i--) {
+            /*
+             * f = f^2 * l_T,T(phi(Q)), T = 2T.
+             *
+             * With M = 3(X - Z^2)(X + Z^2) = 3X^2 - 3Z^4, the tangent has slope M/(2YZ) and
+             * 2YZ^3 * l_T,T(phi(Q)) = (M(X + Z^2 xq) - 2Y^2) + 2YZ^3 yq i.
+             */
+            FieldElement zz = z.square();
+            FieldElement m = x.sub(zz).mul(x.add(zz));
+            m = m.add(m).add(m);
+            FieldElement yy = y.square();
+            FieldElement yyyy = yy.square();
+            FieldElement s = x.mul(yy);
+            s = s.add(s);
+            s = s.add(s);
+            FieldElement zNew = y.mul(z);
+            zNew = zNew.add(zNew);
+
+            FieldElement l0 = m.mul(x.add(zz.mul(xq))).sub(yy.add(yy));
+            FieldElement l1 = zNew.mul(zz).mul(yq);
+
+            x = m.square().sub(s.add(s));
+            FieldElement eightYyyy = yyyy.add(yyyy);
+            eightYyyy = eightYyyy.add(eightYyyy);
+            eightYyyy = eightYyyy.add(eightYyyy);
+            y = m.mul(s.sub(x)).sub(eightYyyy);
+            z = zNew;
+
+            FieldElement[] fSquared = square(f0, f1, c);
+            FieldElement[] fNew = mul(fSquared[0], fSquared[1], l0, l1, c);
+            f0 = fNew[0];
+            f1 = fNew[1];
+
+            if (n.testBit(i)) {
+                /*
+                 * f = f * l_T,P(phi(Q)), T = T + P.
+                 *
+                 * With H = xp Z^2 - X and R = yp Z^3 - Y, the line has slope R/(ZH) and
+                 * ZH * l_T,P(phi(Q)) = (R(xq + xp) - ZH yp) + ZH yq i.
+                 */
+                zz = z.square();
+                FieldElement h = xp.mul(zz).sub(x);
+                FieldElement r = yp.mul(z).mul(zz).sub(y);
+                if (h.isZero()) {
+                    // T = -P, so the line is vertical (and eliminated) and T + P = O, which only happens in the last step
+                    break;
+                }
+                zNew = z.mul(h);
+
+                l0 = r.mul(xSum).sub(zNew.mul(yp));
+                l1 = zNew.mul(yq);
+
+                FieldElement hh = h.square();
+                FieldElement hhh = hh.mul(h);
+                FieldElement xhh = x.mul(hh);
+                x = r.square().sub(hhh).sub(xhh.add(xhh));
+                y = r.mul(xhh.sub(x)).sub(y.mul(hhh));
+                z = zNew;
+
+                fNew = mul(f0, f1, l0, l1, c);
+                f0 = fNew[0];
+                f1 = fNew[1];
+            }
+        }
+
+        //result is not an element of target group because it has not been exponentiated by cofactor yet.
+        return targetField.createElement(f0, f1);
+    }
+
+    /**
+     * Computes \(f^{(q^2-1)/r}\).
+     * <p>
+     * The easy part \(g = f^{q-1} = \bar{f}/f = \bar{f}^2 / N(f)\) only needs an inversion in \(\mathbb{F}_q\).
+     * The result \(g\) has norm 1, so squaring is cheaper and \(g^{-1} = \bar{g}\), which allows computing the hard part
+     * \(g^{(q+1)/r}\) with a wNAF exponentiation without any precomputed inverses.
+     */
+    @Override
+    public PairingTargetGroupElementImpl exponentiate(FieldElement f) {
+        ExtensionField targetField = gT.getFieldOfDefinition();
+        FieldElement[] coefficients = ((ExtensionFieldElement) f).getCoefficients();
+        FieldElement a = coefficients[0];
+        FieldElement b = coefficients.length > 1 ? coefficients[1] : a.getStructure().getZeroElement();
+        // elements are a + b i with i^2 = -c
+        FieldElement c = targetField.getConstant();
+
+        // easy part: conj(f)^2 / N(f) = ((a^2 - c b^2) - 2ab i) / (a^2 + c b^2)
+        FieldElement aa = a.square();
+        FieldElement cbb = c.mul(b.square());
+        FieldElement normInv = aa.add(cbb).inv();
+        FieldElement ab = a.mul(b);
+        FieldElement g0 = aa.sub(cbb).mul(normInv);
+        FieldElement g1 = ab.add(ab).neg().mul(normInv);
+
+        // hard part: precompute odd powers g, g^3, ..., g^(2^windowSize - 1)
+        FieldElement[][] oddPowers = new FieldElement[1 << (FINAL_EXP_WINDOW_SIZE - 1)][];
+        oddPowers[0] = new FieldElement[] {g0, g1};
+        FieldElement[] gSquared = unitarySquare(g0, g1);
+        for (int i = 1; i < oddPowers.length; i++)
+            oddPowers[i] = mul(oddPowers[i - 1][0], oddPowers[i - 1][1], gSquared[0], gSquared[1], c);
+
+        FieldElement[] result = null;
+        for (int j = hardPartDigits.length - 1; j >= 0; j--) {
+            if (result != null)
+                result = unitarySquare(result[0], result[1]);
+            int digit = hardPartDigits[j];
+            if (digit != 0) {
+                FieldElement[] power = oddPowers[(Math.abs(digit) - 1) / 2];
+                FieldElement power1 = digit > 0 ? power[1] : power[1].neg(); // inverse is conjugate
+                result = result == null
+                        ? new FieldElement[] {power[0], power1}
+                        : mul(result[0], result[1], power[0], power1, c);
+            }
+        }
+        if (result == null)
+            return gT.getElement(targetField.getOneElement());
+
+        return gT.getElement(targetField.createElement(result[0], result[1]));
+    }
+
+    /**
+     * Squares \(a + b i\) for \(i^2 = -constant\).
+     */
+    private static FieldElement[] square(FieldElement a, FieldElement b, FieldElement constant) {
+        FieldElement ab = a.mul(b);
+        return new FieldElement[] {a.square().sub(constant.mul(b.square())), ab.add(ab)};
+    }
+
+    /**
+     * Multiplies \(a + b i\) and \(c + d i\) for \(i^2 = -constant\).
+     */
+    private static FieldElement[] mul(FieldElement a, FieldElement b, FieldElement c, FieldElement d,
+                                      FieldElement constant) {
+        FieldElement ac = a.mul(c);
+        FieldElement bd = b.mul(d);
+        return new FieldElement[] {ac.sub(constant.mul(bd)), a.add(b).mul(c.add(d)).sub(ac).sub(bd)};
+    }
+
+    /**
+     * Squares \(a + b i\) with norm 1, i.e. \(a^2 + constant \cdot b^2 = 1\), for \(i^2 = -constant\).
+     */
+    private static FieldElement[] unitarySquare(FieldElement a, FieldElement b) {
+        // (a + bi)^2 = (a^2 - constant b^2) + 2ab i = (2a^2 - 1) + 2ab i
+        FieldElement aa = a.square();
+        FieldElement ab = a.mul(b);
+        return new FieldElement[] {aa.add(aa).sub(a.getStructure().getOneElement()), ab.add(ab)};
+    }
+
     @Override
     public boolean isSymmetric() {
         return true;
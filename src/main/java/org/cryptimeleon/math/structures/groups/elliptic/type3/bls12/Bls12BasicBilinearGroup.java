@@ -0,0 +1,20 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.basic.BasicBilinearGroup;
+
+/**
+ * A type 3 bilinear group on the BLS12-381 curve where operations are evaluated naively, that is, not lazily.
+ *
+ * @see Bls12BilinearGroup for the version with lazy evaluation
+ */
+public class Bls12BasicBilinearGroup extends BasicBilinearGroup {
+
+    public Bls12BasicBilinearGroup() {
+        super(new Bls12BilinearGroupImpl());
+    }
+
+    public Bls12BasicBilinearGroup(Representation repr) {
+        super(repr);
+    }
+}
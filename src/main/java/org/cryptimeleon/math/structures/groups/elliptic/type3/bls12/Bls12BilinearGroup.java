@@ -0,0 +1,20 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.lazy.LazyBilinearGroup;
+
+/**
+ * A type 3 bilinear group on the BLS12-381 curve where operations are evaluated lazily.
+ *
+ * @see Bls12BasicBilinearGroup for the version without lazy evaluation
+ */
+public class Bls12BilinearGroup extends LazyBilinearGroup {
+
+    public Bls12BilinearGroup() {
+        super(new Bls12BilinearGroupImpl());
+    }
+
+    public Bls12BilinearGroup(Representation repr) {
+        super(repr);
+    }
+}
@@ -0,0 +1,244 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.GroupHomomorphismImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+
+/**
+ * The implementation of the BLS12-381 bilinear group.
+ * <p>
+ * BLS12-381 is the Barreto-Lynn-Scott curve with embedding degree 12 and the 64 bit parameter
+ * \(u = -\mathtt{0xd201000000010000}\), as used by ZCash, Ethereum and the IETF pairing-friendly curves draft.
+ * \(\mathbb{G}_1\), \(\mathbb{G}_2\), and \(\mathbb{G}_T\) are defined based on:
+ * <ul>
+ * <li> a finite field \(\mathbb{F}_p\) defined by the 381 bit prime \(p = (u-1)^2 (u^4-u^2+1)/3 + u\)
+ * <li> a quadratic extension \(\mathbb{F}_{p^2}=\mathbb{F}_p(i)\) defined by the irreducible binomial \(x^2+1\)
+ * <li> a sextic extension \(\mathbb{F}_{p^{12}}=\mathbb{F}_{p^2}(w)\) defined by the irreducible binomial
+ *      \(x^6-\xi\) with \(\xi = 1+i\)
+ * <li> \(\mathbb{G}_1\), the subgroup of prime order \(r = u^4-u^2+1\) (255 bit) of \(E:y^2=x^3+4\)
+ * <li> \(\mathbb{G}_2\), the subgroup of order \(r\) of the sextic twist \(E':y^2=x^3+4\xi\) over
+ *      \(\mathbb{F}_{p^2}\)
+ * </ul>
+ * The generators are the standard ones. Compared to the BN curves, the smaller base field makes
+ * arithmetic in all groups and the pairing faster at the 128 bit security level.
+ */
+class Bls12BilinearGroupImpl implements BilinearGroupImpl {
+    /**
+     * The curve parameter \(u\).
+     */
+    static final BigInteger U = new BigInteger("-d201000000010000", 16);
+
+    /**
+     * BLS12-381 targets the 128 bit security level (recent estimates for the number field sieve put it
+     * slightly lower, at about 120 bits).
+     */
+    private static final int SECURITY_LEVEL = 128;
+
+    private static final BigInteger G1_X = new BigInteger("17f1d3a73197d7942695638c4fa9ac0fc3688c4f9774b905a14e3a3f171"
+            + "bac586c55e83ff97a1aeffb3af00adb22c6bb", 16);
+    private static final BigInteger G1_Y = new BigInteger("08b3f481e3aaa0f1a09e30ed741d8ae4fcf5e095d5d00af600db18cb2c0"
+            + "4b3edd03cc744a2888ae40caa232946c5e7e1", 16);
+    private static final BigInteger G2_X0 = new BigInteger("024aa2b2f08f0a91260805272dc51051c6e47ad4fa403b02b4510b647ae"
+            + "3d1770bac0326a805bbefd48056c8c121bdb8", 16);
+    private static final BigInteger G2_X1 = new BigInteger("13e02b6052719f607dacd3a088274f65596bd0d09920b61ab5da61bbdc7"
+            + "f5049334cf11213945d57e5ac7d055d042b7e", 16);
+    private static final BigInteger G2_Y0 = new BigInteger("0ce5d527727d6e118cc9cdc6da2e351aadfd9baa8cbdd3a76d429a69516"
+            + "0d12c923ac9cc3baca289e193548608b82801", 16);
+    private static final BigInteger G2_Y1 = new BigInteger("0606c4a02ea734cc32acd2b02bc28b99cb3e287e85a763af267492ab572"
+            + "e99ab3f370d275cec1da1aaa9075ff05f79be", 16);
+
+    private static final String G1_HASH_DST = "CRYPTIMELEON-V01-CS01-with-BLS12381G1_XMD:SHA-256_SVDW_RO_";
+    private static final String G2_HASH_DST = "CRYPTIMELEON-V01-CS01-with-BLS12381G2_XMD:SHA-256_SVDW_RO_";
+
+    @Represented
+    private Bls12Group1Impl g1impl;
+    @Represented
+    private Bls12Group2Impl g2impl;
+    @Represented
+    private Bls12TargetGroupImpl gtimpl;
+    @Represented
+    private Bls12HashToSourceGroupImpl hashIntoG1impl;
+    @Represented
+    private Bls12HashToSourceGroupImpl hashIntoG2impl;
+
+    private Bls12OptimalAtePairing bilinearMapImpl;
+
+    public Bls12BilinearGroupImpl() {
+        BigInteger p = p(U);
+        BigInteger r = groupOrder(U);
+
+        /* setup base field and G1 */
+        Zp baseField = new Zp(p);
+        g1impl = new Bls12Group1Impl(r, cofactorG1(U), baseField.getElement(4));
+
+        /* F_p^2 = F_p[x]/(x^2+1), xi = 1+i */
+        ExtensionField F2 = new ExtensionField(baseField.getOneElement(), 2);
+        ExtensionFieldElement xi = F2.createElement(baseField.getOneElement(), baseField.getOneElement());
+
+        /* construct G2 on the twist E': y^2 = x^3 + 4 xi */
+        g2impl = new Bls12Group2Impl(r, cofactorG2(U), (ExtensionFieldElement) xi.mul(4));
+
+        g1impl.setGenerator(g1impl.getElement(baseField.getElement(G1_X), baseField.getElement(G1_Y)));
+        g2impl.setGenerator(g2impl.getElement(
+                F2.createElement(baseField.getElement(G2_X0), baseField.getElement(G2_X1)),
+                F2.createElement(baseField.getElement(G2_Y0), baseField.getElement(G2_Y1))));
+
+        /* construct GT of size r over F_p^12 = F_p^2[x]/(x^6 - xi) */
+        gtimpl = new Bls12TargetGroupImpl(xi.neg(), r);
+
+        hashIntoG1impl = new Bls12HashToSourceGroupImpl(g1impl, G1_HASH_DST);
+        hashIntoG2impl = new Bls12HashToSourceGroupImpl(g2impl, G2_HASH_DST);
+
+        bilinearMapImpl = new Bls12OptimalAtePairing(g1impl, g2impl, gtimpl, U);
+    }
+
+    public Bls12BilinearGroupImpl(Representation representation) {
+        new ReprUtil(this).deserialize(representation);
+        bilinearMapImpl = new Bls12OptimalAtePairing(g1impl, g2impl, gtimpl, U);
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public GroupImpl getG1() {
+        return g1impl;
+    }
+
+    @Override
+    public GroupImpl getG2() {
+        return g2impl;
+    }
+
+    @Override
+    public GroupImpl getGT() {
+        return gtimpl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Bls12BilinearGroupImpl that = (Bls12BilinearGroupImpl) o;
+        return g1impl.equals(that.g1impl) &&
+                g2impl.equals(that.g2impl) &&
+                gtimpl.equals(that.gtimpl) &&
+                hashIntoG1impl.equals(that.hashIntoG1impl) &&
+                hashIntoG2impl.equals(that.hashIntoG2impl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(g1impl);
+    }
+
+    @Override
+    public BilinearMapImpl getBilinearMap() {
+        return bilinearMapImpl;
+    }
+
+    @Override
+    public HashIntoGroupImpl getHashIntoG1() {
+        return hashIntoG1impl;
+    }
+
+    @Override
+    public HashIntoGroupImpl getHashIntoG2() {
+        return hashIntoG2impl;
+    }
+
+    /**
+     * Hashing into GT is not supported since GT is a subgroup of \(\mathbb{F}_{p^{12}}^*\) with a large cofactor,
+     * see {@code BarretoNaehrigBilinearGroupImpl}.
+     */
+    @Override
+    public HashIntoGroupImpl getHashIntoGT() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Integer getSecurityLevel() {
+        return SECURITY_LEVEL;
+    }
+
+    @Override
+    public BilinearGroup.Type getPairingType() {
+        return BilinearGroup.Type.TYPE_3;
+    }
+
+    /**
+     * This functions throws an exception because for type 3 pairings there is no efficient homomorphism
+     * {@code H : G2 -> G1}.
+     */
+    @Override
+    public GroupHomomorphismImpl getHomomorphismG2toG1() {
+        throw new UnsupportedOperationException("Map G2->G1 not available for BLS12 Type 3 Pairings.");
+    }
+
+    @Override
+    public String toString() {
+        return "Bls12BilinearGroupImpl{" +
+                "g1impl=" + g1impl +
+                ", g2impl=" + g2impl +
+                ", gtimpl=" + gtimpl +
+                ", bilinearMapImpl=" + bilinearMapImpl +
+                ", hashIntoG1impl=" + hashIntoG1impl +
+                ", hashIntoG2impl=" + hashIntoG2impl +
+                '}';
+    }
+
+    /**
+     * Characteristic \(p\) of BLS12 curves is parameterized as follows:
+     * <p>
+     * \(p = p(u) = (u-1)^2 (u^4-u^2+1)/3 + u\)
+     */
+    private static BigInteger p(BigInteger u) {
+        return u.subtract(BigInteger.ONE).pow(2).multiply(groupOrder(u)).divide(BigInteger.valueOf(3)).add(u);
+    }
+
+    /**
+     * Group order \(r\) of BLS12 curves is parameterized as follows:
+     * <p>
+     * \(r = r(u) = u^4 - u^2 + 1\)
+     */
+    private static BigInteger groupOrder(BigInteger u) {
+        return u.pow(4).subtract(u.pow(2)).add(BigInteger.ONE);
+    }
+
+    /**
+     * Cofactor of \(\mathbb{G}_1\) in \(E(\mathbb{F}_p)\): \(h_1 = (u-1)^2/3\)
+     */
+    private static BigInteger cofactorG1(BigInteger u) {
+        return u.subtract(BigInteger.ONE).pow(2).divide(BigInteger.valueOf(3));
+    }
+
+    /**
+     * Cofactor of \(\mathbb{G}_2\) in \(E'(\mathbb{F}_{p^2})\):
+     * \(h_2 = (u^8 - 4u^7 + 5u^6 - 4u^4 + 6u^3 - 4u^2 - 4u + 13)/9\)
+     */
+    private static BigInteger cofactorG2(BigInteger u) {
+        return u.pow(8).subtract(u.pow(7).multiply(BigInteger.valueOf(4)))
+                .add(u.pow(6).multiply(BigInteger.valueOf(5)))
+                .subtract(u.pow(4).multiply(BigInteger.valueOf(4)))
+                .add(u.pow(3).multiply(BigInteger.valueOf(6)))
+                .subtract(u.pow(2).multiply(BigInteger.valueOf(4)))
+                .subtract(u.multiply(BigInteger.valueOf(4)))
+                .add(BigInteger.valueOf(13))
+                .divide(BigInteger.valueOf(9));
+    }
+}
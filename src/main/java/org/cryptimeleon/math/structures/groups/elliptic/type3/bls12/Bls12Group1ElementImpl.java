@@ -0,0 +1,24 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * Element of G1.
+ */
+class Bls12Group1ElementImpl extends Bls12SourceGroupElementImpl {
+
+    /**
+     * Construct point on given curve with given x- and y-coordinates.
+     *
+     * @param curve curve of point
+     * @param x x-coordinate of point
+     * @param y y-coordinate of point
+     */
+    Bls12Group1ElementImpl(Bls12Group1Impl curve, FieldElement x, FieldElement y) {
+        super(curve, x, y);
+    }
+
+    Bls12Group1ElementImpl(Bls12Group1Impl curve) {
+        super(curve);
+    }
+}
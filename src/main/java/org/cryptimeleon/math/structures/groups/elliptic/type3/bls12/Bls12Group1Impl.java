@@ -0,0 +1,84 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.math.BigInteger;
+
+/**
+ * G1 in the BLS12-381 bilinear group, i.e. the subgroup of order \(r\) of \(E:y^2=x^3+4\) over \(\mathbb{F}_p\).
+ */
+class Bls12Group1Impl extends Bls12SourceGroupImpl {
+    /**
+     * Construct subgroup of E:y^2=x^3+b using given parameters.
+     *
+     * @param size size of the subgroup
+     * @param cofactor the cofactor, i.e. the number of points on the curve divided by the size of the subgroup
+     * @param b curve parameter for weierstrass equation
+     */
+    public Bls12Group1Impl(BigInteger size, BigInteger cofactor, Zp.ZpElement b) {
+        super(size, cofactor, b);
+    }
+
+    /**
+     * Recreates a group from the given representation.
+     *
+     * @param r the representation to use for reconstruction
+     */
+    public Bls12Group1Impl(Representation r) {
+        super(r);
+    }
+
+    @Override
+    public Bls12Group1ElementImpl getNeutralElement() {
+        return new Bls12Group1ElementImpl(this);
+    }
+
+    @Override
+    public Bls12Group1ElementImpl getElement(FieldElement x, FieldElement y) {
+        return new Bls12Group1ElementImpl(this, x, y);
+    }
+
+    @Override
+    BigInteger[] getCoefficients(FieldElement x) {
+        return new BigInteger[] {x.asInteger()};
+    }
+
+    @Override
+    FieldElement createFieldElement(BigInteger... coefficients) {
+        return getFieldOfDefinition().getElement(coefficients[0]);
+    }
+
+    @Override
+    boolean isSquare(FieldElement x) {
+        return FiniteFieldTools.isSquare(x);
+    }
+
+    @Override
+    FieldElement sqrt(FieldElement x) {
+        return ((Zp.ZpElement) x).sqrt();
+    }
+
+    /**
+     * Maps a point on the curve into G1 by multiplying with the effective cofactor \(1-u\),
+     * which is much smaller than the actual cofactor \((u-1)^2/3\) (see RFC 9380, Section 8.8.1).
+     */
+    @Override
+    public PairingSourceGroupElement multiplyByCofactor(GroupElementImpl element) {
+        return (PairingSourceGroupElement) element.pow(BigInteger.ONE.subtract(Bls12BilinearGroupImpl.U));
+    }
+
+    @Override
+    public double estimateCostInvPerOp() {
+        return 307;
+    }
+
+    @Override
+    public String toString() {
+        return "BLS12-381 G1";
+    }
+}
@@ -0,0 +1,161 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+
+import java.math.BigInteger;
+
+/**
+ * G2 in the BLS12-381 bilinear group, i.e. the subgroup of order \(r\) of the sextic twist
+ * \(E':y^2=x^3+4\xi\) over \(\mathbb{F}_{p^2}=\mathbb{F}_p(i)\), where \(i^2=-1\) and \(\xi=1+i\).
+ */
+class Bls12Group2Impl extends Bls12SourceGroupImpl {
+    /**
+     * Coefficients of the endomorphism \(\psi(x,y) = (c_x \bar{x}, c_y \bar{y})\), where \(\bar{x}\) denotes the
+     * conjugate, \(c_x = \xi^{-(p-1)/3}\) and \(c_y = \xi^{-(p-1)/2}\).
+     */
+    private ExtensionFieldElement psiCoefficientX, psiCoefficientY;
+
+    /**
+     * Construct subgroup of E':y^2=x^3+b using given parameters.
+     *
+     * @param size size of the subgroup
+     * @param cofactor the cofactor, i.e. the number of points on the curve divided by the size of the subgroup
+     * @param b curve parameter for weierstrass equation, \(b = 4\xi\)
+     */
+    public Bls12Group2Impl(BigInteger size, BigInteger cofactor, ExtensionFieldElement b) {
+        super(size, cofactor, b);
+        initPsi();
+    }
+
+    /**
+     * Recreates a group from the given representation.
+     *
+     * @param r the representation to use for reconstruction
+     */
+    public Bls12Group2Impl(Representation r) {
+        super(r);
+        initPsi();
+    }
+
+    private void initPsi() {
+        FieldElement xi = getA6().div(getFieldOfDefinition().getElement(4));
+        BigInteger pMinusOne = getCharacteristic().subtract(BigInteger.ONE);
+        psiCoefficientX = (ExtensionFieldElement) xi.pow(pMinusOne.divide(BigInteger.valueOf(3))).inv();
+        psiCoefficientY = (ExtensionFieldElement) xi.pow(pMinusOne.shiftRight(1)).inv();
+    }
+
+    @Override
+    public Bls12Group2ElementImpl getElement(FieldElement x, FieldElement y) {
+        return new Bls12Group2ElementImpl(this, x, y);
+    }
+
+    @Override
+    public Bls12Group2ElementImpl getNeutralElement() {
+        return new Bls12Group2ElementImpl(this);
+    }
+
+    @Override
+    BigInteger[] getCoefficients(FieldElement x) {
+        FieldElement[] coefficients = Bls12TargetGroupImpl.getCoefficients((ExtensionFieldElement) x);
+        return new BigInteger[] {coefficients[0].asInteger(), coefficients[1].asInteger()};
+    }
+
+    @Override
+    FieldElement createFieldElement(BigInteger... coefficients) {
+        Field baseField = ((ExtensionField) getFieldOfDefinition()).getBaseField();
+        return ((ExtensionField) getFieldOfDefinition()).createElement(
+                baseField.getElement(coefficients[0]), baseField.getElement(coefficients[1]));
+    }
+
+    /**
+     * Since \(i^2=-1\), \(a_0 + a_1 i\) is a square iff its norm \(a_0^2 + a_1^2\) is a square in \(\mathbb{F}_p\).
+     */
+    @Override
+    boolean isSquare(FieldElement x) {
+        FieldElement[] a = Bls12TargetGroupImpl.getCoefficients((ExtensionFieldElement) x);
+        return FiniteFieldTools.isSquare(a[0].square().add(a[1].square()));
+    }
+
+    /**
+     * Computes a square root using algorithm 9 of G. Adj and F. Rodríguez-Henríquez,
+     * "Square root computation over even extension fields", for \(p \equiv 3 \mod 4\).
+     */
+    @Override
+    FieldElement sqrt(FieldElement x) {
+        if (x.isZero())
+            return x;
+        BigInteger p = getCharacteristic();
+        // a1 = x^((p-3)/4), x0 = x^((p+1)/4), alpha = x^((p-1)/2)
+        FieldElement a1 = x.pow(p.subtract(BigInteger.valueOf(3)).shiftRight(2));
+        FieldElement x0 = a1.mul(x);
+        FieldElement alpha = a1.mul(x0);
+        FieldElement result;
+        if (alpha.neg().isOne()) {
+            // multiply by i
+            FieldElement[] coefficients = Bls12TargetGroupImpl.getCoefficients((ExtensionFieldElement) x0);
+            result = ((ExtensionField) getFieldOfDefinition()).createElement(coefficients[1].neg(), coefficients[0]);
+        } else {
+            result = alpha.add(getFieldOfDefinition().getOneElement())
+                    .pow(p.subtract(BigInteger.ONE).shiftRight(1)).mul(x0);
+        }
+        if (!result.square().equals(x))
+            throw new ArithmeticException(x + " is not a square");
+        return result;
+    }
+
+    /**
+     * Computes the conjugate \(a_0 - a_1 i\) of \(a_0 + a_1 i \in \mathbb{F}_{p^2}\), i.e. \(x^p\).
+     */
+    static ExtensionFieldElement conjugate(FieldElement x) {
+        ExtensionFieldElement element = (ExtensionFieldElement) x;
+        FieldElement[] coefficients = Bls12TargetGroupImpl.getCoefficients(element);
+        return element.getStructure().createElement(coefficients[0], coefficients[1].neg());
+    }
+
+    /**
+     * Applies the endomorphism \(\psi\) (the twisted Frobenius endomorphism) to the given point.
+     * On G2, \(\psi\) acts as multiplication with \(p\).
+     */
+    Bls12Group2ElementImpl psi(PairingSourceGroupElement point) {
+        if (point.isNeutralElement())
+            return getNeutralElement();
+        return getElement(
+                conjugate(point.getX()).mul(psiCoefficientX),
+                conjugate(point.getY()).mul(psiCoefficientY)
+        );
+    }
+
+    /**
+     * Maps a point on the twist into G2 by multiplying with the effective cofactor
+     * \(h_{\mathrm{eff}}\) of Budroni and Pintore, which is computed as
+     * \([u^2-u-1]P + [u-1]\psi(P) + \psi^2(2P)\) (see RFC 9380, Appendix G.3).
+     */
+    @Override
+    public PairingSourceGroupElement multiplyByCofactor(GroupElementImpl element) {
+        PairingSourceGroupElement point = (PairingSourceGroupElement) element;
+        GroupElementImpl t1 = point.pow(Bls12BilinearGroupImpl.U);
+        GroupElementImpl t2 = psi(point);
+        GroupElementImpl t3 = psi(psi((PairingSourceGroupElement) point.op(point)));
+        t3 = t3.op(t2.inv());
+        t2 = t1.op(t2).pow(Bls12BilinearGroupImpl.U);
+        t3 = t3.op(t2).op(t1.inv());
+        return (PairingSourceGroupElement) t3.op(point.inv());
+    }
+
+    @Override
+    public double estimateCostInvPerOp() {
+        return 600;
+    }
+
+    @Override
+    public String toString() {
+        return "BLS12-381 G2";
+    }
+}
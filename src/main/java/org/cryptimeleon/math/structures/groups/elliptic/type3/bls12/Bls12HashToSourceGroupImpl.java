@@ -0,0 +1,230 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.hash.HashFunction;
+import org.cryptimeleon.math.hash.impl.SHA256HashFunction;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hashing to G1 and G2 of the BLS12-381 bilinear group, indifferentiable from a random oracle.
+ * <p>
+ * Follows the {@code hash_to_curve} construction of RFC 9380: the message is expanded using
+ * {@code expand_message_xmd} with SHA-256 and hashed to two field elements, both are mapped to the curve,
+ * and the sum of the two points is mapped to the subgroup by multiplying with the effective cofactor.
+ * <p>
+ * The field elements are mapped to the curve using the straight-line Shallue-van de Woestijne method
+ * (RFC 9380, Section 6.6.1). The RFC 9380 suites for BLS12-381 instead use the simplified SWU map on
+ * isogenous curves, hence the hash values differ from those suites.
+ */
+class Bls12HashToSourceGroupImpl implements HashIntoGroupImpl {
+    /**
+     * Number of bytes hashed to a single \(\mathbb{F}_p\) element, \(L = \lceil (\lceil \log_2 p \rceil + 128) / 8
+     * \rceil\).
+     */
+    private static final int FP_HASH_LENGTH = 64;
+
+    @Represented
+    private Bls12SourceGroupImpl groupImpl;
+    /**
+     * Domain separation tag for {@code expand_message_xmd}.
+     */
+    @Represented
+    private String domainSeparationTag;
+
+    private HashFunction hashFunction;
+    private Field field;
+
+    // constants for the Shallue-van de Woestijne method
+    private FieldElement svdwZ;
+    private FieldElement svdwC1;
+    private FieldElement svdwC2;
+    private FieldElement svdwC3;
+    private FieldElement svdwC4;
+
+    /**
+     * Instantiates the hash function into the given group.
+     *
+     * @param groupImpl the group to hash into
+     * @param domainSeparationTag the domain separation tag, at most 255 bytes (UTF-8 encoded)
+     */
+    public Bls12HashToSourceGroupImpl(Bls12SourceGroupImpl groupImpl, String domainSeparationTag) {
+        this.groupImpl = groupImpl;
+        this.domainSeparationTag = domainSeparationTag;
+        init();
+    }
+
+    public Bls12HashToSourceGroupImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+        init();
+    }
+
+    private void init() {
+        if (domainSeparationTag.getBytes(StandardCharsets.UTF_8).length > 255)
+            throw new IllegalArgumentException("Domain separation tag must be at most 255 bytes long");
+        hashFunction = new SHA256HashFunction();
+        field = groupImpl.getFieldOfDefinition();
+        initSvdW();
+    }
+
+    @Override
+    public GroupElementImpl hashIntoGroupImpl(byte[] x) {
+        FieldElement[] u = hashToField(x);
+        GroupElementImpl sum = SvdWEncode(u[0]).op(SvdWEncode(u[1]));
+        return groupImpl.multiplyByCofactor(sum);
+    }
+
+    /**
+     * Hashes the given message to two field elements, as {@code hash_to_field} of RFC 9380, Section 5.2.
+     */
+    private FieldElement[] hashToField(byte[] msg) {
+        int degree = groupImpl.getCoefficients(field.getZeroElement()).length;
+        byte[] uniformBytes = expandMessageXmd(msg, 2 * degree * FP_HASH_LENGTH);
+        FieldElement[] result = new FieldElement[2];
+        for (int i = 0; i < result.length; i++) {
+            BigInteger[] coefficients = new BigInteger[degree];
+            for (int j = 0; j < degree; j++) {
+                int offset = FP_HASH_LENGTH * (j + i * degree);
+                coefficients[j] = new BigInteger(1, Arrays.copyOfRange(uniformBytes, offset, offset + FP_HASH_LENGTH))
+                        .mod(groupImpl.getCharacteristic());
+            }
+            result[i] = groupImpl.createFieldElement(coefficients);
+        }
+        return result;
+    }
+
+    /**
+     * Implements {@code expand_message_xmd} of RFC 9380, Section 5.3.1, with SHA-256.
+     */
+    byte[] expandMessageXmd(byte[] msg, int lengthInBytes) {
+        int blockLength = hashFunction.getOutputLength();
+        int ell = (lengthInBytes + blockLength - 1) / blockLength;
+        if (ell > 255)
+            throw new IllegalArgumentException("Requested output too long");
+        byte[] dst = domainSeparationTag.getBytes(StandardCharsets.UTF_8);
+        byte[] dstPrime = Arrays.copyOf(dst, dst.length + 1);
+        dstPrime[dst.length] = (byte) dst.length;
+
+        // msg_prime = Z_pad || msg || I2OSP(len_in_bytes, 2) || I2OSP(0, 1) || DST_prime, with 64 byte Z_pad
+        int zPadLength = 64;
+        byte[] msgPrime = new byte[zPadLength + msg.length + 3 + dstPrime.length];
+        System.arraycopy(msg, 0, msgPrime, zPadLength, msg.length);
+        msgPrime[zPadLength + msg.length] = (byte) (lengthInBytes >> 8);
+        msgPrime[zPadLength + msg.length + 1] = (byte) lengthInBytes;
+        System.arraycopy(dstPrime, 0, msgPrime, zPadLength + msg.length + 3, dstPrime.length);
+        byte[] b0 = hashFunction.hash(msgPrime);
+
+        byte[] result = new byte[ell * blockLength];
+        byte[] previous = new byte[blockLength];
+        byte[] input = new byte[blockLength + 1 + dstPrime.length];
+        System.arraycopy(dstPrime, 0, input, blockLength + 1, dstPrime.length);
+        for (int i = 1; i <= ell; i++) {
+            // b_i = H(strxor(b_0, b_(i-1)) || I2OSP(i, 1) || DST_prime), with b_0 in place of the xor for i = 1
+            for (int j = 0; j < blockLength; j++)
+                input[j] = (byte) (b0[j] ^ previous[j]);
+            input[blockLength] = (byte) i;
+            previous = hashFunction.hash(input);
+            System.arraycopy(previous, 0, result, (i - 1) * blockLength, blockLength);
+        }
+        return Arrays.copyOf(result, lengthInBytes);
+    }
+
+    /**
+     * Computes the constants for the Shallue-van de Woestijne method as in RFC 9380, Appendix F.1 and H.1
+     * (for curves \(y^2 = g(x) = x^3 + b\)).
+     */
+    private void initSvdW() {
+        // find Z such that g(Z) != 0, -3Z^2/(4g(Z)) is a nonzero square, and g(Z) or g(-Z/2) is square
+        FieldElement two = field.getElement(2);
+        for (long ctr = 1; svdwZ == null; ctr++) {
+            for (FieldElement z : new FieldElement[] {field.getElement(ctr), field.getElement(-ctr)}) {
+                FieldElement gz = groupImpl.g(z);
+                if (gz.isZero())
+                    continue;
+                FieldElement h = z.square().mul(3).neg().div(gz.mul(4));
+                if (h.isZero() || !groupImpl.isSquare(h))
+                    continue;
+                if (groupImpl.isSquare(gz) || groupImpl.isSquare(groupImpl.g(z.neg().div(two)))) {
+                    svdwZ = z;
+                    break;
+                }
+            }
+        }
+        // c1 = g(Z), c2 = -Z/2, c3 = sqrt(-g(Z) * 3Z^2) with sgn0(c3) = 0, c4 = -4g(Z) / (3Z^2)
+        FieldElement threeZSquare = svdwZ.square().mul(3);
+        svdwC1 = groupImpl.g(svdwZ);
+        svdwC2 = svdwZ.neg().div(two);
+        svdwC3 = groupImpl.sqrt(svdwC1.neg().mul(threeZSquare));
+        if (sgn0(svdwC3))
+            svdwC3 = svdwC3.neg();
+        svdwC4 = svdwC1.mul(4).neg().div(threeZSquare);
+    }
+
+    /**
+     * Implements the sgn0 function from RFC 9380, Section 4.1, i.e. returns the parity of the first nonzero
+     * coefficient.
+     */
+    static boolean sgn0(FieldElement x) {
+        if (x instanceof ExtensionFieldElement) {
+            for (FieldElement coefficient : ((ExtensionFieldElement) x).getCoefficients()) {
+                if (!coefficient.isZero())
+                    return sgn0(coefficient);
+            }
+            return false;
+        }
+        return x.asInteger().testBit(0);
+    }
+
+    /**
+     * Applies the straight-line Shallue-van de Woestijne method of RFC 9380, Appendix F.1, to the given
+     * field element.
+     */
+    GroupElementImpl SvdWEncode(FieldElement u) {
+        FieldElement one = field.getOneElement();
+        FieldElement tv1 = u.square().mul(svdwC1);
+        FieldElement tv2 = one.add(tv1);
+        tv1 = one.sub(tv1);
+        FieldElement tv3 = tv1.mul(tv2);
+        tv3 = tv3.isZero() ? tv3 : tv3.inv(); // inv0
+        FieldElement tv4 = u.mul(tv1).mul(tv3).mul(svdwC3);
+        FieldElement x1 = svdwC2.sub(tv4);
+        boolean e1 = groupImpl.isSquare(groupImpl.g(x1));
+        FieldElement x2 = svdwC2.add(tv4);
+        boolean e2 = groupImpl.isSquare(groupImpl.g(x2)) && !e1;
+        FieldElement x3 = tv2.square().mul(tv3).square().mul(svdwC4).add(svdwZ);
+        FieldElement x = e1 ? x1 : x3;
+        x = e2 ? x2 : x;
+        FieldElement y = groupImpl.sqrt(groupImpl.g(x));
+        y = sgn0(u) == sgn0(y) ? y : y.neg();
+        return groupImpl.getElement(x, y);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Bls12HashToSourceGroupImpl that = (Bls12HashToSourceGroupImpl) o;
+        return Objects.equals(groupImpl, that.groupImpl)
+                && Objects.equals(domainSeparationTag, that.domainSeparationTag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupImpl, domainSeparationTag);
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+}
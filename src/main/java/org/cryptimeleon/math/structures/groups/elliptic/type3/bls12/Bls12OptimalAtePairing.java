@@ -0,0 +1,147 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+
+/**
+ * Optimal Ate pairing \(e(P, Q) = f_{u,Q}(P)^{3(p^{12}-1)/r}\) on BLS12-381.
+ * <p>
+ * The Miller loop runs over the 64 bit curve parameter \(|u|\) on the twist, with lines evaluated at the
+ * untwisted P (multiplied with \(w^3\), which is eliminated by the final exponentiation, as are the vertical lines).
+ * <p>
+ * The final exponentiation consists of the easy part \(f^{(p^6-1)(p^2+1)}\), which maps f into the cyclotomic
+ * subgroup, and the hard part computing (three times) \((p^4-p^2+1)/r\) as
+ * \((u-1)^2 (u+p) (u^2+p^2-1) + 3\) using four exponentiations with \(u\) and cyclotomic squarings
+ * (L. Ghammam and E. Fouotsa, "On the Computation of the Optimal Ate Pairing at the 192-bit Security Level",
+ * Algorithm 1), as done by most BLS12-381 implementations.
+ * Since 3 does not divide \(r\), the result is still a non-degenerate bilinear map.
+ */
+class Bls12OptimalAtePairing extends AbstractPairing {
+    private final BigInteger u;
+
+    public Bls12OptimalAtePairing(Bls12Group1Impl g1, Bls12Group2Impl g2, Bls12TargetGroupImpl gT, BigInteger u) {
+        super(g1, g2, gT);
+        this.u = u;
+    }
+
+    private Bls12TargetGroupImpl getTargetGroup() {
+        return (Bls12TargetGroupImpl) gT;
+    }
+
+    /**
+     * Not used, since {@link #pair(PairingSourceGroupElement, PairingSourceGroupElement)} evaluates lines itself.
+     */
+    @Override
+    protected ExtensionFieldElement evaluateLine(FieldElement[] line, PairingSourceGroupElement P,
+                                                 PairingSourceGroupElement Q) {
+        throw new UnsupportedOperationException("Lines are evaluated by the Miller loop of the optimal Ate pairing");
+    }
+
+    /**
+     * Computes the Miller loop \(f_{u,Q}(P)\) for \(P \in \mathbb{G}_1\), \(Q \in \mathbb{G}_2\).
+     */
+    @Override
+    protected ExtensionFieldElement pair(PairingSourceGroupElement P, PairingSourceGroupElement Q) {
+        ExtensionField targetField = gT.getFieldOfDefinition();
+        if (P.isNeutralElement() || Q.isNeutralElement())
+            return targetField.getOneElement();
+
+        /*
+         * The twist E' -> E maps (x, y) to (x w^-2, y w^-3). Hence, the line through T with slope lambda on E',
+         * evaluated at P = (xp, yp), is yp - lambda xp w^-1 + (lambda xT - yT) w^-3.
+         * Multiplied with w^3: (lambda xT - yT) + (-lambda xp) w^2 + yp w^3.
+         */
+        ExtensionField extField = (ExtensionField) Q.getFieldOfDefinition();
+        FieldElement xpNeg = extField.createElement(P.getX().neg());
+        FieldElement yp = extField.createElement(P.getY());
+        FieldElement xq = Q.getX();
+        FieldElement yq = Q.getY();
+
+        FieldElement xt = xq;
+        FieldElement yt = yq;
+        ExtensionFieldElement f = targetField.getOneElement();
+        BigInteger loopParameter = u.abs();
+        for (int i = loopParameter.bitLength() - 2; i >= 0; i--) {
+            // doubling step
+            FieldElement xtSquare = xt.square();
+            FieldElement lambda = xtSquare.add(xtSquare).add(xtSquare).div(yt.add(yt));
+            f = (ExtensionFieldElement) f.square();
+            f = getTargetGroup().mulBySparse(f, lambda.mul(xt).sub(yt), lambda.mul(xpNeg), yp);
+            FieldElement x = lambda.square().sub(xt).sub(xt);
+            yt = lambda.mul(xt.sub(x)).sub(yt);
+            xt = x;
+
+            if (loopParameter.testBit(i)) {
+                // addition step. T = [k]Q with k < r, hence T != +-Q
+                lambda = yq.sub(yt).div(xq.sub(xt));
+                f = getTargetGroup().mulBySparse(f, lambda.mul(xt).sub(yt), lambda.mul(xpNeg), yp);
+                x = lambda.square().sub(xt).sub(xq);
+                yt = lambda.mul(xt.sub(x)).sub(yt);
+                xt = x;
+            }
+        }
+
+        // f_{-|u|,Q} = 1/f_{|u|,Q} (up to vertical lines), and 1/f can be replaced by the conjugate f^(p^6)
+        // because f^(p^6+1) is eliminated by the final exponentiation
+        if (u.signum() < 0)
+            f = getTargetGroup().conjugate(f);
+        return f;
+    }
+
+    @Override
+    public PairingTargetGroupElementImpl exponentiate(FieldElement f) {
+        Bls12TargetGroupImpl gT = getTargetGroup();
+        ExtensionFieldElement fe = (ExtensionFieldElement) f;
+
+        // easy part: f^((p^6-1)(p^2+1))
+        ExtensionFieldElement t = gT.conjugate(fe).mul(fe.inv());
+        t = gT.frobenius(t, 2).mul(t);
+
+        // hard part: t^(3(p^4-p^2+1)/r) = t^((u-1)^2 (u+p) (u^2+p^2-1) + 3)
+        ExtensionFieldElement y0 = gT.cyclotomicSquare(t);
+        ExtensionFieldElement y1 = powU(t).mul(gT.conjugate(t)); // t^(u-1)
+        ExtensionFieldElement y2 = powU(y1);
+        y1 = gT.conjugate(y1).mul(y2); // t^((u-1)^2)
+        y2 = powU(y1);
+        y1 = gT.frobenius(y1, 1).mul(y2); // t^((u-1)^2 (u+p))
+        t = t.mul(y0); // t^3
+        y0 = powU(y1);
+        y2 = powU(y0);
+        y0 = gT.frobenius(y1, 2);
+        y1 = gT.conjugate(y1).mul(y2).mul(y0); // t^((u-1)^2 (u+p) (u^2+p^2-1))
+        t = t.mul(y1);
+
+        return gT.getElement(t);
+    }
+
+    /**
+     * Computes \(f^u\) for f in the cyclotomic subgroup.
+     */
+    private ExtensionFieldElement powU(ExtensionFieldElement f) {
+        Bls12TargetGroupImpl gT = getTargetGroup();
+        BigInteger exponent = u.abs();
+        ExtensionFieldElement result = f;
+        for (int i = exponent.bitLength() - 2; i >= 0; i--) {
+            result = gT.cyclotomicSquare(result);
+            if (exponent.testBit(i))
+                result = result.mul(f);
+        }
+        return u.signum() < 0 ? gT.conjugate(result) : result;
+    }
+
+    @Override
+    public String toString() {
+        return "Optimal Ate Pairing G1xG2->Gt of Type 3 on BLS12-381";
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Abstract class for elements of both G1 and G2.
+ */
+abstract class Bls12SourceGroupElementImpl extends PairingSourceGroupElement {
+
+    public Bls12SourceGroupElementImpl(Bls12SourceGroupImpl curve, FieldElement x, FieldElement y) {
+        super(curve, x, y);
+    }
+
+    public Bls12SourceGroupElementImpl(Bls12SourceGroupImpl curve) {
+        super(curve);
+    }
+
+    @Override
+    public Bls12SourceGroupImpl getStructure() {
+        return (Bls12SourceGroupImpl) super.getStructure();
+    }
+
+    @Override
+    public Bls12SourceGroupElementImpl pow(BigInteger e) {
+        return (Bls12SourceGroupElementImpl) super.pow(e);
+    }
+
+    /**
+     * Writes the compressed encoding of this point, see {@link Bls12SourceGroupImpl}.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        getStructure().writeCompressed(this, buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return getStructure().getCompressedLength();
+    }
+}
@@ -0,0 +1,193 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Abstract class underlying both G1 and G2.
+ * <p>
+ * This class implements a subgroup of \(E:y^2=x^3+b\) over \(\mathbb{F}_p\) (G1) or \(\mathbb{F}_{p^2}\) (G2).
+ * <p>
+ * Elements are encoded in the compressed form used by ZCash and most other BLS12-381 implementations:
+ * the x-coordinate as 48 (G1) or 96 (G2) big-endian bytes (for G2, the coefficient of \(i\) first),
+ * where the three most significant bits are flags. The first flag is always set (compressed encoding),
+ * the second flag is set for the neutral element (and all other bits are zero),
+ * and the third flag is set if y is the lexicographically larger one of the two possible y-coordinates.
+ */
+abstract class Bls12SourceGroupImpl extends PairingSourceGroupImpl {
+    /**
+     * Number of bytes of an encoded \(\mathbb{F}_p\) element.
+     */
+    static final int FP_BYTE_LENGTH = 48;
+
+    private static final int COMPRESSION_FLAG = 0x80;
+    private static final int INFINITY_FLAG = 0x40;
+    private static final int SIGN_FLAG = 0x20;
+
+    public Bls12SourceGroupImpl(BigInteger size, BigInteger cofactor, FieldElement b) {
+        super(size, cofactor, b.getStructure().getZeroElement(), b);
+    }
+
+    public Bls12SourceGroupImpl(Representation r) {
+        super(r);
+    }
+
+    /**
+     * Returns the characteristic \(p\) of the field of definition.
+     */
+    BigInteger getCharacteristic() {
+        return getFieldOfDefinition().getCharacteristic();
+    }
+
+    /**
+     * Returns the coefficients of the given element of the field of definition over \(\mathbb{F}_p\),
+     * lowest degree first.
+     */
+    abstract BigInteger[] getCoefficients(FieldElement x);
+
+    /**
+     * Creates the element of the field of definition with the given coefficients over \(\mathbb{F}_p\),
+     * lowest degree first.
+     */
+    abstract FieldElement createFieldElement(BigInteger... coefficients);
+
+    /**
+     * Returns true iff the given element of the field of definition is a square.
+     */
+    abstract boolean isSquare(FieldElement x);
+
+    /**
+     * Computes a square root of the given element of the field of definition.
+     *
+     * @throws ArithmeticException if x is not a square
+     */
+    abstract FieldElement sqrt(FieldElement x);
+
+    /**
+     * Evaluates the right-hand side \(g(x) = x^3 + b\) of the curve equation.
+     */
+    FieldElement g(FieldElement x) {
+        return x.square().mul(x).add(getA6());
+    }
+
+    /**
+     * Returns true iff y is lexicographically larger than -y, i.e. iff its highest degree nonzero coefficient is
+     * larger than \((p-1)/2\).
+     */
+    boolean isLexicographicallyLargest(FieldElement y) {
+        BigInteger[] coefficients = getCoefficients(y);
+        BigInteger halfP = getCharacteristic().shiftRight(1);
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            if (coefficients[i].signum() != 0)
+                return coefficients[i].compareTo(halfP) > 0;
+        }
+        return false;
+    }
+
+    /**
+     * Computes the point with the given x-coordinate whose y-coordinate is the lexicographically larger
+     * (or smaller) one of the two solutions.
+     * Does not check subgroup membership.
+     *
+     * @param x the x-coordinate
+     * @param largestY whether to choose the lexicographically larger y-coordinate
+     * @throws IllegalArgumentException if there is no point with the given x-coordinate on the curve
+     */
+    PairingSourceGroupElement decompress(FieldElement x, boolean largestY) {
+        FieldElement y;
+        try {
+            y = sqrt(g(x));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("No point with x-coordinate " + x + " on " + this);
+        }
+        if (isLexicographicallyLargest(y) != largestY)
+            y = y.neg();
+        return getElement(x, y);
+    }
+
+    /**
+     * Returns the number of bytes of an encoded element.
+     */
+    int getCompressedLength() {
+        return FP_BYTE_LENGTH * getCoefficients(getFieldOfDefinition().getZeroElement()).length;
+    }
+
+    /**
+     * Writes the compressed encoding of the given point (see class description).
+     */
+    void writeCompressed(PairingSourceGroupElement point, ByteBuffer buffer) {
+        byte[] encoding = new byte[getCompressedLength()];
+        if (point.isNeutralElement()) {
+            encoding[0] = (byte) (COMPRESSION_FLAG | INFINITY_FLAG);
+        } else {
+            BigInteger[] coefficients = getCoefficients(point.getX());
+            for (int i = 0; i < coefficients.length; i++) {
+                // highest degree coefficient first
+                byte[] bytes = coefficients[i].toByteArray();
+                int length = Math.min(bytes.length, FP_BYTE_LENGTH);
+                System.arraycopy(bytes, bytes.length - length, encoding,
+                        (coefficients.length - i) * FP_BYTE_LENGTH - length, length);
+            }
+            encoding[0] |= COMPRESSION_FLAG;
+            if (isLexicographicallyLargest(point.getY()))
+                encoding[0] |= SIGN_FLAG;
+        }
+        buffer.put(encoding);
+    }
+
+    /**
+     * Reads a point written by {@link #writeCompressed(PairingSourceGroupElement, ByteBuffer)}.
+     * <p>
+     * Like {@link #restoreElement(Representation)}, this does not check subgroup membership.
+     *
+     * @throws IllegalArgumentException if the encoding is malformed or there is no such point on the curve
+     */
+    @Override
+    public PairingSourceGroupElement readElement(ByteBuffer buffer) {
+        byte[] encoding = new byte[getCompressedLength()];
+        buffer.get(encoding);
+        int flags = encoding[0] & (COMPRESSION_FLAG | INFINITY_FLAG | SIGN_FLAG);
+        encoding[0] &= ~(COMPRESSION_FLAG | INFINITY_FLAG | SIGN_FLAG);
+        if ((flags & COMPRESSION_FLAG) == 0)
+            throw new IllegalArgumentException("Invalid BLS12-381 point encoding: not compressed");
+
+        int numCoefficients = encoding.length / FP_BYTE_LENGTH;
+        BigInteger[] coefficients = new BigInteger[numCoefficients];
+        for (int i = 0; i < numCoefficients; i++) {
+            byte[] bytes = new byte[FP_BYTE_LENGTH];
+            System.arraycopy(encoding, (numCoefficients - 1 - i) * FP_BYTE_LENGTH, bytes, 0, FP_BYTE_LENGTH);
+            coefficients[i] = new BigInteger(1, bytes);
+            if (coefficients[i].compareTo(getCharacteristic()) >= 0)
+                throw new IllegalArgumentException("Invalid BLS12-381 point encoding: coordinate out of range");
+        }
+
+        if ((flags & INFINITY_FLAG) != 0) {
+            for (BigInteger coefficient : coefficients) {
+                if (coefficient.signum() != 0 || (flags & SIGN_FLAG) != 0)
+                    throw new IllegalArgumentException("Invalid BLS12-381 encoding of the neutral element");
+            }
+            return (PairingSourceGroupElement) getNeutralElement();
+        }
+        return decompress(createFieldElement(coefficients), (flags & SIGN_FLAG) != 0);
+    }
+
+    @Override
+    public boolean isShortForm() {
+        return true;
+    }
+
+    @Override
+    public boolean hasPrimeSize() throws UnsupportedOperationException {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Subgroup of F-rational points on E:x^3+b with b=" + this.getA6().toString();
+    }
+}
@@ -0,0 +1,39 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+
+/**
+ * Element of target group GT.
+ * <p>
+ * Since GT is contained in the cyclotomic subgroup, squaring uses the faster cyclotomic squaring.
+ */
+class Bls12TargetGroupElementImpl extends PairingTargetGroupElementImpl {
+    public Bls12TargetGroupElementImpl(Bls12TargetGroupImpl g, ExtensionFieldElement fe) {
+        super(g, fe);
+    }
+
+    @Override
+    public Bls12TargetGroupElementImpl square() {
+        return getStructure().getElement(getStructure().cyclotomicSquare(getElem()));
+    }
+
+    @Override
+    public Bls12TargetGroupElementImpl pow(BigInteger e) {
+        BigInteger k = e.mod(getStructure().size());
+        ExtensionFieldElement result = getStructure().getFieldOfDefinition().getOneElement();
+        for (int i = k.bitLength() - 1; i >= 0; i--) {
+            result = getStructure().cyclotomicSquare(result);
+            if (k.testBit(i))
+                result = result.mul(getElem());
+        }
+        return getStructure().getElement(result);
+    }
+
+    @Override
+    public Bls12TargetGroupImpl getStructure() {
+        return (Bls12TargetGroupImpl) super.getStructure();
+    }
+}
@@ -0,0 +1,184 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Target group GT, the subgroup of order \(r\) of \(\mathbb{F}_{p^{12}}^*\).
+ * <p>
+ * \(\mathbb{F}_{p^{12}} = \mathbb{F}_{p^2}(w)\) with \(w^6 = \xi\). Besides the generic field arithmetic,
+ * this class offers the operations specific to this tower that are needed by the pairing:
+ * Frobenius maps, multiplication with (sparse) line values and squaring in the cyclotomic subgroup.
+ */
+class Bls12TargetGroupImpl extends PairingTargetGroupImpl {
+    /**
+     * The sextic non-residue \(\xi = w^6\) in \(\mathbb{F}_{p^2}\).
+     */
+    private ExtensionFieldElement xi;
+    /**
+     * \(\gamma_{k,i} = \xi^{i(p^k-1)/6}\), such that \(w^{i p^k} = \gamma_{k,i} w^i\), for \(k = 1, 2\).
+     */
+    private FieldElement[][] frobeniusCoefficients;
+
+    /**
+     * Constructs a subgroup of given size in F12 where F12=F2(w)=F2[x]/(x^6+v).
+     *
+     * @param v    element that defines extension of degree 6, \(v = -\xi\)
+     * @param size size of subgroup
+     */
+    public Bls12TargetGroupImpl(ExtensionFieldElement v, BigInteger size) {
+        super(new ExtensionField(v, 6), size);
+        init();
+    }
+
+    public Bls12TargetGroupImpl(Representation r) {
+        super(r);
+        init();
+    }
+
+    private void init() {
+        xi = (ExtensionFieldElement) getFieldOfDefinition().getConstant().neg();
+        BigInteger p = getFieldOfDefinition().getCharacteristic();
+        frobeniusCoefficients = new FieldElement[3][6];
+        for (int k = 1; k <= 2; k++) {
+            FieldElement gamma = xi.pow(p.pow(k).subtract(BigInteger.ONE).divide(BigInteger.valueOf(6)));
+            frobeniusCoefficients[k][0] = xi.getStructure().getOneElement();
+            for (int i = 1; i < 6; i++)
+                frobeniusCoefficients[k][i] = frobeniusCoefficients[k][i - 1].mul(gamma);
+        }
+    }
+
+    /**
+     * Returns the sextic non-residue \(\xi\).
+     */
+    ExtensionFieldElement getXi() {
+        return xi;
+    }
+
+    /**
+     * Returns the coefficients of x, padded with zeros to the extension degree
+     * (elements of an {@link ExtensionField} may be stored with fewer coefficients).
+     */
+    static FieldElement[] getCoefficients(ExtensionFieldElement x) {
+        FieldElement[] coefficients = x.getCoefficients();
+        int degree = x.getStructure().getExtensionDegree();
+        if (coefficients.length == degree)
+            return coefficients;
+        FieldElement[] result = Arrays.copyOf(coefficients, degree);
+        for (int i = coefficients.length; i < degree; i++)
+            result[i] = x.getStructure().getBaseField().getZeroElement();
+        return result;
+    }
+
+    /**
+     * Computes \(f^{p^k}\) for \(k \in \{1, 2\}\).
+     */
+    ExtensionFieldElement frobenius(ExtensionFieldElement f, int k) {
+        FieldElement[] a = getCoefficients(f);
+        FieldElement[] result = new FieldElement[6];
+        for (int i = 0; i < 6; i++) {
+            // for k = 2, a_i^(p^2) = a_i as a_i is in F_p^2
+            FieldElement ai = k == 1 ? Bls12Group2Impl.conjugate(a[i]) : a[i];
+            result[i] = ai.mul(frobeniusCoefficients[k][i]);
+        }
+        return getFieldOfDefinition().createElement(result);
+    }
+
+    /**
+     * Computes \(f^{p^6}\), which is the inverse of f for elements of the cyclotomic subgroup (e.g. GT).
+     */
+    ExtensionFieldElement conjugate(ExtensionFieldElement f) {
+        FieldElement[] a = getCoefficients(f);
+        FieldElement[] result = new FieldElement[6];
+        for (int i = 0; i < 6; i++)
+            result[i] = i % 2 == 0 ? a[i] : a[i].neg();
+        return getFieldOfDefinition().createElement(result);
+    }
+
+    /**
+     * Computes \(f \cdot (l_0 + l_2 w^2 + l_3 w^3)\), i.e. multiplies with a sparse element such as a line value.
+     */
+    ExtensionFieldElement mulBySparse(ExtensionFieldElement f, FieldElement l0, FieldElement l2, FieldElement l3) {
+        FieldElement[] a = getCoefficients(f);
+        FieldElement[] l = {l0, null, l2, l3};
+        // coefficients of w^k and of w^(k+6) = xi w^k
+        FieldElement[] low = new FieldElement[6];
+        FieldElement[] high = new FieldElement[6];
+        for (int i = 0; i < 6; i++) {
+            for (int j : new int[] {0, 2, 3}) {
+                FieldElement product = a[i].mul(l[j]);
+                FieldElement[] target = i + j < 6 ? low : high;
+                int k = (i + j) % 6;
+                target[k] = target[k] == null ? product : target[k].add(product);
+            }
+        }
+        FieldElement[] result = new FieldElement[6];
+        for (int k = 0; k < 6; k++)
+            result[k] = high[k] == null ? low[k] : low[k].add(high[k].mul(xi));
+        return getFieldOfDefinition().createElement(result);
+    }
+
+    /**
+     * Squares an element of the cyclotomic subgroup (i.e. an element of norm 1 over \(\mathbb{F}_{p^6}\),
+     * such as the result of the easy part of the final exponentiation or an element of GT), using
+     * R. Granger and M. Scott, "Faster Squaring in the Cyclotomic Subgroup of Sixth Degree Extensions".
+     * <p>
+     * The result is undefined for elements outside the cyclotomic subgroup.
+     */
+    ExtensionFieldElement cyclotomicSquare(ExtensionFieldElement f) {
+        FieldElement[] a = getCoefficients(f);
+        // view f as (a0 + a3 s) + (a1 + a4 s) w + (a2 + a5 s) w^2 with s = w^3, s^2 = xi
+        FieldElement[] t01 = squareQuartic(a[0], a[3]);
+        FieldElement[] t23 = squareQuartic(a[1], a[4]);
+        FieldElement[] t45 = squareQuartic(a[2], a[5]);
+
+        FieldElement[] result = new FieldElement[6];
+        // 3 t - 2 conj(a), or 3 t + 2 conj(a) for the coefficients of s
+        result[0] = t01[0].sub(a[0]).mul(2).add(t01[0]);
+        result[3] = t01[1].add(a[3]).mul(2).add(t01[1]);
+        result[2] = t23[0].sub(a[2]).mul(2).add(t23[0]);
+        result[5] = t23[1].add(a[5]).mul(2).add(t23[1]);
+        FieldElement t = t45[1].mul(xi);
+        result[1] = t.add(a[1]).mul(2).add(t);
+        result[4] = t45[0].sub(a[4]).mul(2).add(t45[0]);
+        return getFieldOfDefinition().createElement(result);
+    }
+
+    /**
+     * Squares \(a + b s\) in \(\mathbb{F}_{p^4} = \mathbb{F}_{p^2}(s)\), \(s^2 = \xi\).
+     */
+    private FieldElement[] squareQuartic(FieldElement a, FieldElement b) {
+        FieldElement aSquare = a.square();
+        FieldElement bSquare = b.square();
+        return new FieldElement[] {
+                bSquare.mul(xi).add(aSquare),
+                a.add(b).square().sub(aSquare).sub(bSquare)
+        };
+    }
+
+    @Override
+    public Bls12TargetGroupElementImpl getElement(ExtensionFieldElement fe) {
+        return new Bls12TargetGroupElementImpl(this, fe);
+    }
+
+    @Override
+    public boolean hasPrimeSize() throws UnsupportedOperationException {
+        return true;
+    }
+
+    @Override
+    public double estimateCostInvPerOp() {
+        return 614;
+    }
+
+    @Override
+    public String toString() {
+        return "BLS12-381 GT";
+    }
+}
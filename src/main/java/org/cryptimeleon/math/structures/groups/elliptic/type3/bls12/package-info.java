@@ -0,0 +1,4 @@
+/**
+ * Contains the type 3 pairing implementation on the BLS12-381 curve.
+ */
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
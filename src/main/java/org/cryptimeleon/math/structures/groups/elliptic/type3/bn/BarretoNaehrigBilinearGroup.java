@@ -22,6 +22,16 @@ public class BarretoNaehrigBilinearGroup extends LazyBilinearGroup {
         super(new BarretoNaehrigBilinearGroupImpl(spec));
     }
 
+    /**
+     * Instantiates the group given by the spec, using the given map to the curve when hashing into G1 and G2.
+     *
+     * @param spec the group parameters
+     * @param hashMapping the map used by the hash functions into G1 and G2
+     */
+    public BarretoNaehrigBilinearGroup(BarretoNaehrigParameterSpec spec, BarretoNaehrigHashMapping hashMapping) {
+        super(new BarretoNaehrigBilinearGroupImpl(spec, hashMapping));
+    }
+
     public BarretoNaehrigBilinearGroup(Representation repr) {
         super(repr);
     }
@@ -80,6 +80,16 @@ class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
     }
 
     public BarretoNaehrigBilinearGroupImpl(BarretoNaehrigParameterSpec spec) {
+        this(spec, BarretoNaehrigHashMapping.FOUQUE_TIBOUCHI);
+    }
+
+    /**
+     * Instantiates the group given by the spec, using the given map to the curve when hashing into G1 and G2.
+     *
+     * @param spec the group parameters
+     * @param hashMapping the map used by the hash functions into G1 and G2
+     */
+    public BarretoNaehrigBilinearGroupImpl(BarretoNaehrigParameterSpec spec, BarretoNaehrigHashMapping hashMapping) {
         /* get parameter u that identifies the BN curve */
         u = spec.u;
 
@@ -140,8 +150,8 @@ class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
             default:
                 throw new IllegalArgumentException("Unknown hash function " + spec.hash);
         }
-        hashIntoG1impl = new BarretoNaehrigHashToSourceGroupImpl(g1impl, hash);
-        hashIntoG2impl = new BarretoNaehrigHashToSourceGroupImpl(g2impl, hash);
+        hashIntoG1impl = new BarretoNaehrigHashToSourceGroupImpl(g1impl, hash, hashMapping);
+        hashIntoG2impl = new BarretoNaehrigHashToSourceGroupImpl(g2impl, hash, hashMapping);
 
         /* construct new bilinearMap based on its name */
         if ("Tate".equals(spec.pairing)) {
@@ -0,0 +1,31 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
+
+/**
+ * The map from field elements to curve points used when hashing into G1 and G2 of the Barreto-Naehrig
+ * bilinear group.
+ * <p>
+ * In both cases, a message is hashed to two field elements, both are mapped to the curve and the resulting
+ * points are added, which yields a hash function indifferentiable from a random oracle.
+ * The two options result in different hash values.
+ *
+ * @see BarretoNaehrigBilinearGroup#BarretoNaehrigBilinearGroup(BarretoNaehrigParameterSpec, BarretoNaehrigHashMapping)
+ */
+public enum BarretoNaehrigHashMapping {
+    /**
+     * The Shallue-van de Woestijne encoding as given in algorithm 1 of P.-A. Fouque and M. Tibouchi,
+     * "Indifferentiable Hashing to Barreto–Naehrig Curves". Needs three quadratic character evaluations and one
+     * square root per mapped field element.
+     * <p>
+     * This is the default.
+     */
+    FOUQUE_TIBOUCHI,
+    /**
+     * The straight-line Shallue-van de Woestijne method from RFC 9380, Section 6.6.1 (Appendix F.1).
+     * Needs two quadratic character evaluations, one square root and one inversion per mapped field element,
+     * and does not branch on intermediate values (except inside the underlying field arithmetic).
+     * <p>
+     * The simplified SWU map (Wahby-Boneh) is not offered since it requires a curve with nonzero {@code a4},
+     * i.e. an isogenous curve for each parameter set.
+     */
+    SVDW
+}
@@ -7,14 +7,21 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Class for indifferentiable hashing to G1 and G2 of the Barreto-Naehrig bilinear group.
@@ -22,17 +29,36 @@ import java.util.Objects;
  * Indifferentiable means that the resulting hash function is indifferentiable from a random oracle.
  * <p>
  * Hashing is done via the Shallue-van de Woestijne encoding from P.-A. Fouque and M. Tibouchi:
- * "Indifferentiable Hashing to Barreto–Naehrig Curves".
+ * "Indifferentiable Hashing to Barreto–Naehrig Curves", or, if selected, via the straight-line
+ * Shallue-van de Woestijne method from RFC 9380 (see {@link BarretoNaehrigHashMapping}).
+ * <p>
+ * Hashing many values at once via {@link #hashIntoGroupImpl(List)} shares the field inversions of all inputs
+ * (Montgomery's trick) and hashes large batches in parallel.
  */
 class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
 
+    /**
+     * Number of inputs hashed per task when hashing a batch in parallel.
+     */
+    private static final int PARALLEL_BATCH_CHUNK_SIZE = 32;
+
     @Represented
     BarretoNaehrigSourceGroupImpl groupImpl;
+    @Represented
+    BarretoNaehrigHashMapping mapping;
     Field baseField;
     FieldElement b;
 
     FieldElement c1;
     FieldElement c2;
+    FieldElement c1Inv;
+
+    // constants for the RFC 9380 Shallue-van de Woestijne method
+    FieldElement svdwZ;
+    FieldElement svdwC1;
+    FieldElement svdwC2;
+    FieldElement svdwC3;
+    FieldElement svdwC4;
 
     HashFunction hashFunction1;
     HashFunction hashFunction2;
@@ -44,7 +70,13 @@ class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
     }
 
     public BarretoNaehrigHashToSourceGroupImpl(BarretoNaehrigSourceGroupImpl group1Impl, HashFunction hashFunction) {
+        this(group1Impl, hashFunction, BarretoNaehrigHashMapping.FOUQUE_TIBOUCHI);
+    }
+
+    public BarretoNaehrigHashToSourceGroupImpl(BarretoNaehrigSourceGroupImpl group1Impl, HashFunction hashFunction,
+                                               BarretoNaehrigHashMapping mapping) {
         this.groupImpl = group1Impl;
+        this.mapping = mapping;
         baseField = groupImpl.getFieldOfDefinition();
         init(hashFunction);
     }
@@ -57,32 +89,106 @@ class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
 
     @Override
     public GroupElementImpl hashIntoGroupImpl(byte[] x) {
-        // Hashes given bytes to field element and applies SW encoding to it
-        // Don't need any cofactor multiplication since the cofactor is always 1 for G1
+        return hashBatch(Arrays.asList(x)).get(0);
+    }
+
+    /**
+     * Hashes all given byte arrays into the group.
+     * <p>
+     * The field inversions needed for all inputs are computed using a single inversion, and the two points
+     * computed per input are added using a shared inversion as well.
+     * Large batches are split up and hashed in parallel.
+     *
+     * @param xs the byte arrays to hash
+     * @return the hashes, in the same order as the given byte arrays
+     */
+    @Override
+    public List<GroupElementImpl> hashIntoGroupImpl(List<byte[]> xs) {
+        if (xs.size() <= PARALLEL_BATCH_CHUNK_SIZE) {
+            return hashBatch(xs);
+        }
+        int numChunks = (xs.size() + PARALLEL_BATCH_CHUNK_SIZE - 1) / PARALLEL_BATCH_CHUNK_SIZE;
+        return IntStream.range(0, numChunks).parallel()
+                .mapToObj(i -> hashBatch(xs.subList(i * PARALLEL_BATCH_CHUNK_SIZE,
+                        Math.min(xs.size(), (i + 1) * PARALLEL_BATCH_CHUNK_SIZE))))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hashes the given byte arrays sequentially, sharing inversions.
+     */
+    private List<GroupElementImpl> hashBatch(List<byte[]> xs) {
+        // Hashes given bytes to field elements and applies SW encoding to them.
         // To get indifferentiability (Fouque and Tibouchi, Section 5), we need to
         //  calculate f(h1(m)) + f(h2(m)),
         //  where f is the SW encoding and h1 and h2 are independent random oracles to F_q.
+        FieldElement[] t = new FieldElement[2 * xs.size()];
+        for (int i = 0; i < xs.size(); i++) {
+            t[2 * i] = hashToField((byte) 0, hashFunction1, xs.get(i));
+            t[2 * i + 1] = hashToField((byte) 1, hashFunction2, xs.get(i));
+        }
+
+        PairingSourceGroupElement[] points = mapping == BarretoNaehrigHashMapping.SVDW ? SvdWEncode(t) : SWEncode(t);
+        GroupElementImpl[] sums = addPairs(points);
+
+        List<GroupElementImpl> result = new ArrayList<>(xs.size());
+        for (GroupElementImpl sum : sums) {
+            // Make sure that the resulting element is in the correct subgroup.
+            // Don't need any cofactor multiplication if the cofactor is 1 (as is the case for G1)
+            result.add(groupImpl.getCofactor().equals(BigInteger.ONE) ? sum : groupImpl.multiplyByCofactor(sum));
+        }
+        return result;
+    }
 
-        // Add prefixes to make hash functions independent
-        byte[] concat0X = new byte[1 + x.length];
-        concat0X[0] = 0;
-        System.arraycopy(x, 0, concat0X, 1, x.length);
+    /**
+     * Hashes the given bytes, prefixed with the given byte to make hash functions independent, into the base field.
+     */
+    private FieldElement hashToField(byte prefix, HashFunction hashFunction, byte[] x) {
+        byte[] prefixedX = new byte[1 + x.length];
+        prefixedX[0] = prefix;
+        System.arraycopy(x, 0, prefixedX, 1, x.length);
 
-        byte[] concat1X = new byte[1 + x.length];
-        concat1X[0] = 1;
-        System.arraycopy(x, 0, concat1X, 1, x.length);
+        return baseField.getElement(new BigInteger(hashFunction.hash(prefixedX)));
+    }
 
-        byte[] h1 = hashFunction1.hash(concat0X);
-        BigInteger i1 = new BigInteger(h1);
-        byte[] h2 = hashFunction2.hash(concat1X);
-        BigInteger i2 = new BigInteger(h2);
+    /**
+     * Computes {@code points[2i] + points[2i+1]} for all i, sharing the inversion needed for the affine addition.
+     */
+    private GroupElementImpl[] addPairs(PairingSourceGroupElement[] points) {
+        GroupElementImpl[] result = new GroupElementImpl[points.length / 2];
+        FieldElement[] denominators = new FieldElement[result.length];
+        for (int i = 0; i < result.length; i++) {
+            PairingSourceGroupElement p = points[2 * i];
+            PairingSourceGroupElement q = points[2 * i + 1];
+            if (p.isNeutralElement() || q.isNeutralElement() || p.getX().equals(q.getX())) {
+                // doubling or neutral result, leave those to the generic group operation
+                result[i] = p.op(q);
+                denominators[i] = baseField.getZeroElement();
+            } else {
+                denominators[i] = q.getX().sub(p.getX());
+            }
+        }
 
-        GroupElementImpl result = SWEncode(baseField.getElement(i1)).op(SWEncode(baseField.getElement(i2)));
-        // Make sure that the resulting element is in the correct subgroup
-        return groupImpl.multiplyByCofactor(result);
+        FieldElement[] inverses = FiniteFieldTools.batchInvert(denominators);
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] != null)
+                continue;
+            PairingSourceGroupElement p = points[2 * i];
+            PairingSourceGroupElement q = points[2 * i + 1];
+            // short Weierstrass addition: lambda = (y_q - y_p) / (x_q - x_p),
+            // x = lambda^2 - x_p - x_q, y = lambda * (x_p - x) - y_p
+            FieldElement lambda = q.getY().sub(p.getY()).mul(inverses[i]);
+            FieldElement x = lambda.square().sub(p.getX()).sub(q.getX());
+            FieldElement y = lambda.mul(p.getX().sub(x)).sub(p.getY());
+            result[i] = groupImpl.getElement(x, y);
+        }
+        return result;
     }
 
     void init(HashFunction hashFunction) {
+        if (mapping == null)
+            mapping = BarretoNaehrigHashMapping.FOUQUE_TIBOUCHI;
         b = groupImpl.getA6();
         // Need two independent hash functions for indifferentiability
         hashFunction1 = hashFunction;
@@ -91,6 +197,125 @@ class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
         c1 = FiniteFieldTools.sqrt(baseField.getElement(-3));
         // c2 = (-1 + sqrt{-3})/2
         c2 = baseField.getOneElement().neg().add(c1).div(baseField.getElement(2));
+        c1Inv = c1.inv();
+        if (mapping == BarretoNaehrigHashMapping.SVDW)
+            initSvdW();
+    }
+
+    /**
+     * Computes the constants for the Shallue-van de Woestijne method as in RFC 9380, Appendix F.1 and H.1
+     * (for curves \(y^2 = g(x) = x^3 + b\)).
+     */
+    private void initSvdW() {
+        // find Z such that g(Z) != 0, -3Z^2/(4g(Z)) is a nonzero square, and g(Z) or g(-Z/2) is square
+        FieldElement two = baseField.getElement(2);
+        for (long ctr = 1; svdwZ == null; ctr++) {
+            for (FieldElement z : new FieldElement[] {baseField.getElement(ctr), baseField.getElement(-ctr)}) {
+                FieldElement gz = g(z);
+                if (gz.isZero())
+                    continue;
+                FieldElement h = z.square().mul(3).neg().div(gz.mul(4));
+                if (h.isZero() || !FiniteFieldTools.isSquare(h))
+                    continue;
+                if (FiniteFieldTools.isSquare(gz) || FiniteFieldTools.isSquare(g(z.neg().div(two)))) {
+                    svdwZ = z;
+                    break;
+                }
+            }
+        }
+        // c1 = g(Z), c2 = -Z/2, c3 = sqrt(-g(Z) * 3Z^2) with sgn0(c3) = 0, c4 = -4g(Z) / (3Z^2)
+        FieldElement threeZSquare = svdwZ.square().mul(3);
+        svdwC1 = g(svdwZ);
+        svdwC2 = svdwZ.neg().div(two);
+        svdwC3 = FiniteFieldTools.sqrt(svdwC1.neg().mul(threeZSquare));
+        if (sgn0(svdwC3))
+            svdwC3 = svdwC3.neg();
+        svdwC4 = svdwC1.mul(4).neg().div(threeZSquare);
+    }
+
+    /**
+     * Evaluates the right-hand side \(g(x) = x^3 + b\) of the curve equation.
+     */
+    private FieldElement g(FieldElement x) {
+        return x.square().mul(x).add(b);
+    }
+
+    /**
+     * Implements the sgn0 function from RFC 9380, Section 4.1, i.e. returns the parity of the first nonzero
+     * coefficient.
+     */
+    static boolean sgn0(FieldElement x) {
+        if (x instanceof ExtensionFieldElement) {
+            for (FieldElement coefficient : ((ExtensionFieldElement) x).getCoefficients()) {
+                if (!coefficient.isZero())
+                    return sgn0(coefficient);
+            }
+            return false;
+        }
+        return x.asInteger().testBit(0);
+    }
+
+    /**
+     * Applies the straight-line Shallue-van de Woestijne method of RFC 9380, Appendix F.1, to all given field
+     * elements, sharing one inversion among all of them.
+     */
+    PairingSourceGroupElement[] SvdWEncode(FieldElement[] us) {
+        FieldElement one = baseField.getOneElement();
+        FieldElement[] tv1s = new FieldElement[us.length];
+        FieldElement[] tv2s = new FieldElement[us.length];
+        FieldElement[] denominators = new FieldElement[us.length];
+        for (int i = 0; i < us.length; i++) {
+            FieldElement tv1 = us[i].square().mul(svdwC1);
+            tv2s[i] = one.add(tv1);
+            tv1s[i] = one.sub(tv1);
+            denominators[i] = tv1s[i].mul(tv2s[i]);
+        }
+        FieldElement[] tv3s = FiniteFieldTools.batchInvert(denominators); // inv0
+
+        PairingSourceGroupElement[] result = new PairingSourceGroupElement[us.length];
+        for (int i = 0; i < us.length; i++) {
+            FieldElement u = us[i];
+            FieldElement tv4 = u.mul(tv1s[i]).mul(tv3s[i]).mul(svdwC3);
+            FieldElement x1 = svdwC2.sub(tv4);
+            boolean e1 = FiniteFieldTools.isSquare(g(x1));
+            FieldElement x2 = svdwC2.add(tv4);
+            boolean e2 = FiniteFieldTools.isSquare(g(x2)) && !e1;
+            FieldElement x3 = tv2s[i].square().mul(tv3s[i]).square().mul(svdwC4).add(svdwZ);
+            FieldElement x = e1 ? x1 : x3;
+            x = e2 ? x2 : x;
+            FieldElement y = FiniteFieldTools.sqrt(g(x));
+            y = sgn0(u) == sgn0(y) ? y : y.neg();
+            result[i] = groupImpl.getElement(x, y);
+        }
+        return result;
+    }
+
+    /**
+     * Applies {@link #SWEncode(FieldElement)} to all given field elements, sharing one inversion among all of them.
+     */
+    PairingSourceGroupElement[] SWEncode(FieldElement[] ts) {
+        // to compute w = sqrt{-3} * t/(1+b+t^2) and 1/w, we invert t * (1+b+t^2)
+        FieldElement[] denominators = new FieldElement[ts.length];
+        FieldElement[] toInvert = new FieldElement[ts.length];
+        for (int i = 0; i < ts.length; i++) {
+            denominators[i] = baseField.getOneElement().add(b.add(ts[i].pow(2)));
+            toInvert[i] = ts[i].mul(denominators[i]);
+        }
+        FieldElement[] inverses = FiniteFieldTools.batchInvert(toInvert);
+
+        PairingSourceGroupElement[] result = new PairingSourceGroupElement[ts.length];
+        for (int i = 0; i < ts.length; i++) {
+            if (toInvert[i].isZero()) {
+                // t = 0 or 1+b+t^2 = 0, handled (or rejected) by the single element version
+                result[i] = (PairingSourceGroupElement) SWEncode(ts[i]);
+            } else {
+                // w = sqrt{-3} * t/(1+b+t^2), 1/w = (1+b+t^2) / (sqrt{-3} * t)
+                FieldElement w = c1.mul(ts[i]).mul(ts[i]).mul(inverses[i]);
+                FieldElement wInv = c1Inv.mul(denominators[i]).mul(denominators[i]).mul(inverses[i]);
+                result[i] = (PairingSourceGroupElement) SWEncode(ts[i], w, wInv.square());
+            }
+        }
+        return result;
     }
 
     /**
@@ -109,12 +334,20 @@ class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
         }
         // w = sqrt{-3} * t/(1+b+t^2)
         FieldElement w = baseField.getOneElement().add(groupImpl.getA6().add(t.pow(2))).inv().mul(t).mul(c1);
+        return SWEncode(t, w, baseField.getOneElement().div(w.square()));
+    }
+
+    /**
+     * Continues {@link #SWEncode(FieldElement)} for nonzero t, given \(w = \sqrt{-3} \cdot t/(1+b+t^2)\)
+     * and \(1/w^2\).
+     */
+    private GroupElementImpl SWEncode(FieldElement t, FieldElement w, FieldElement wSquareInv) {
         // x_1 = (-1 + sqrt{-3})/2 - tw
         FieldElement x1 = c2.add(t.mul(w).neg());
         // x_2 = -1 - x_1
         FieldElement x2 = baseField.getOneElement().neg().add(x1.neg());
         // x_3 = 1 + 1/w^2
-        FieldElement x3 = baseField.getOneElement().add(baseField.getOneElement().div(w.square()));
+        FieldElement x3 = baseField.getOneElement().add(wSquareInv);
         // r_1, r_2, r_3 <-$ F_q^*
         FieldElement r1 = baseField.getUniformlyRandomUnit();
         FieldElement r2 = baseField.getUniformlyRandomUnit();
@@ -163,12 +396,12 @@ class BarretoNaehrigHashToSourceGroupImpl implements HashIntoGroupImpl {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BarretoNaehrigHashToSourceGroupImpl that = (BarretoNaehrigHashToSourceGroupImpl) o;
-        return Objects.equals(groupImpl, that.groupImpl);
+        return Objects.equals(groupImpl, that.groupImpl) && mapping == that.mapping;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(groupImpl, hashFunction1, hashFunction2);
+        return Objects.hash(groupImpl, hashFunction1, hashFunction2, mapping);
     }
 
     @Override
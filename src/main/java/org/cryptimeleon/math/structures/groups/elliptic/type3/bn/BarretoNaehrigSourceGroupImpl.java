@@ -4,6 +4,7 @@ import org.cryptimeleon.math.random.RandomGenerator;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupImpl;
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
@@ -16,6 +17,12 @@ import java.math.BigInteger;
  * This class implements a subgroup of \(E:y^2=x^3+b\).
  */
 abstract class BarretoNaehrigSourceGroupImpl extends PairingSourceGroupImpl {
+    /**
+     * Addition chain for the cube root exponent used in {@link #decompressX(FieldElement, int)},
+     * computed on first use.
+     */
+    private volatile FixedExponentChain cubeRootChain;
+
     public BarretoNaehrigSourceGroupImpl(BigInteger size, BigInteger cofactor, ExtensionFieldElement a6) {
         super(size, cofactor, a6.getStructure().getZeroElement(), a6);
     }
@@ -114,6 +121,28 @@ abstract class BarretoNaehrigSourceGroupImpl extends PairingSourceGroupImpl {
         /* tmp = y^2-b */
         tmp = tmp.sub(getA6());
 
+        /* compute third root */
+        x = getCubeRootChain().pow(tmp);
+
+        if (!x.pow(BigInteger.valueOf(3)).equals(tmp)) {
+            throw new IllegalArgumentException("Argument " + y + "is not a cube in " + x.getStructure());
+        }
+
+        /* select one out of three possible third roots */
+        x = x.mul(((ExtensionField) getFieldOfDefinition()).getCubeRoot().pow(BigInteger.valueOf(sel)));
+
+        return x;
+    }
+
+    /**
+     * Returns an addition chain for the exponent e such that \(t^e\) is a cube root of all cubes t in the field of
+     * definition.
+     */
+    private FixedExponentChain getCubeRootChain() {
+        FixedExponentChain chain = cubeRootChain;
+        if (chain != null)
+            return chain;
+
         // TODO: move cube root computation to Field or FieldElement itself
         BigInteger e;
         switch (getFieldOfDefinition().size().mod(BigInteger.valueOf(9)).intValue()) {
@@ -129,18 +158,8 @@ abstract class BarretoNaehrigSourceGroupImpl extends PairingSourceGroupImpl {
         }
 
         e = e.divide(BigInteger.valueOf(9));
-
-        /* compute third root */
-        x = tmp.pow(e);
-
-        if (!x.pow(BigInteger.valueOf(3)).equals(tmp)) {
-            throw new IllegalArgumentException("Argument " + y + "is not a cube in " + x.getStructure());
-        }
-
-        /* select one out of three possible third roots */
-        x = x.mul(((ExtensionField) getFieldOfDefinition()).getCubeRoot().pow(BigInteger.valueOf(sel)));
-
-        return x;
+        cubeRootChain = chain = new FixedExponentChain(e);
+        return chain;
     }
 
     @Override
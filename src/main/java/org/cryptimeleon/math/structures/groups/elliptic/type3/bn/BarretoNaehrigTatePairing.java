@@ -3,6 +3,7 @@ package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
@@ -14,6 +15,7 @@ import java.math.BigInteger;
  */
 class BarretoNaehrigTatePairing extends AbstractPairing {
     BigInteger lambda2, lambda1, lambda0;
+    private final FixedExponentChain lambda2Chain, lambda1Chain, lambda0Chain;
 
     /**
      * Construct Tate pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\).
@@ -29,6 +31,9 @@ class BarretoNaehrigTatePairing extends AbstractPairing {
                 .add(u.pow(2).multiply(BigInteger.valueOf(-30)))
                 .add(u.multiply(BigInteger.valueOf(-18)))
                 .add(BigInteger.valueOf(-2));
+        lambda2Chain = new FixedExponentChain(lambda2);
+        lambda1Chain = new FixedExponentChain(lambda1);
+        lambda0Chain = new FixedExponentChain(lambda0);
     }
 
     /**
@@ -93,9 +98,10 @@ class BarretoNaehrigTatePairing extends AbstractPairing {
             FieldElement resultFrob1 = result.applyFrobenius();
             FieldElement resultFrob2 = resultFrob1.applyFrobenius();
             FieldElement resultFrob3 = resultFrob2.applyFrobenius();
-            result = resultFrob3.mul(resultFrob2.pow(lambda2)).mul(resultFrob1.pow(lambda1)).mul(result.pow(lambda0));
+            result = resultFrob3.mul(lambda2Chain.pow(resultFrob2)).mul(lambda1Chain.pow(resultFrob1))
+                    .mul(lambda0Chain.pow(result));
         } else {
-            result = f.pow(gT.getCofactor());
+            result = gT.getCofactorChain().pow(f);
         }
 
         return gT.getElement((ExtensionFieldElement) result);
@@ -258,6 +258,130 @@ public class ExponentiationAlgorithms {
         return result;
     }
 
+    /**
+     * Evaluates a multi-exponentiation using the bucket method (Pippenger's algorithm).
+     * <p>
+     * Exponents are split into windows of {@code windowSize} bits. For each window, every base is added to
+     * the bucket corresponding to its window value and the buckets are then combined using running sums.
+     * The cost is roughly {@code ceil(l/windowSize) * (numTerms + 2^(windowSize+1))} group operations
+     * plus {@code l} squarings (for exponents of bit length {@code l}), independent of any precomputations.
+     * Hence this only pays off for a large number of terms.
+     * <p>
+     * Bases with negative exponents are inverted.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @param windowSize the window size (bucket bit length) to use,
+     *                   see {@link #computeOptimalPippengerWindowSize(int, int)}
+     * @return result of the multi-exponentiation
+     */
+    public static GroupElementImpl pippengerMultiExp(Multiexponentiation multiexp, int windowSize) {
+        if (windowSize < 1 || windowSize > 30)
+            throw new IllegalArgumentException("Window size must be between 1 and 30");
+        List<MultiExpTerm> terms = multiexp.getTerms();
+        if (terms.isEmpty()) //nothing to do here.
+            return multiexp.getConstantFactor().orElseThrow(
+                    () -> new IllegalArgumentException("Cannot compute an empty multiexp")
+            );
+
+        int numTerms = terms.size();
+        GroupElementImpl[] bases = new GroupElementImpl[numTerms];
+        BigInteger[] exponents = new BigInteger[numTerms];
+        int longestExponentBitLength = 0;
+        for (int i = 0; i < numTerms; i++) {
+            MultiExpTerm term = terms.get(i);
+            if (term.getExponent().signum() < 0) {
+                bases[i] = term.getBase().inv();
+                exponents[i] = term.getExponent().negate();
+            } else {
+                bases[i] = term.getBase();
+                exponents[i] = term.getExponent();
+            }
+            longestExponentBitLength = Math.max(longestExponentBitLength, exponents[i].bitLength());
+        }
+
+        // null is used to represent the neutral element, saving operations with it
+        GroupElementImpl result = null;
+        GroupElementImpl[] buckets = new GroupElementImpl[1 << windowSize];
+        int numWindows = (longestExponentBitLength + windowSize - 1) / windowSize;
+        for (int window = numWindows - 1; window >= 0; window--) {
+            if (result != null) {
+                for (int k = 0; k < windowSize; k++) {
+                    result = result.square();
+                }
+            }
+
+            // sort bases into buckets
+            Arrays.fill(buckets, null);
+            int lowestBit = window * windowSize;
+            for (int i = 0; i < numTerms; i++) {
+                int bucketIndex = 0;
+                for (int k = windowSize - 1; k >= 0; k--) {
+                    bucketIndex <<= 1;
+                    if (exponents[i].testBit(lowestBit + k)) {
+                        bucketIndex++;
+                    }
+                }
+                if (bucketIndex != 0) {
+                    buckets[bucketIndex] = buckets[bucketIndex] == null ? bases[i] : buckets[bucketIndex].op(bases[i]);
+                }
+            }
+
+            // compute prod_k bucket[k]^k via running sums
+            GroupElementImpl runningSum = null;
+            GroupElementImpl windowResult = null;
+            for (int k = buckets.length - 1; k >= 1; k--) {
+                if (buckets[k] != null) {
+                    runningSum = runningSum == null ? buckets[k] : runningSum.op(buckets[k]);
+                }
+                if (runningSum != null) {
+                    windowResult = windowResult == null ? runningSum : windowResult.op(runningSum);
+                }
+            }
+            if (windowResult != null) {
+                result = result == null ? windowResult : result.op(windowResult);
+            }
+        }
+
+        if (result == null) {
+            result = bases[0].getStructure().getNeutralElement();
+        }
+
+        //Multiply with constant specified in the Multiexponentiation
+        result = multiexp.getConstantFactor().map(result::op).orElse(result);
+
+        return result;
+    }
+
+    /**
+     * Computes the window size for {@link #pippengerMultiExp(Multiexponentiation, int)} that minimizes the
+     * estimated number of group operations.
+     *
+     * @param numTerms the number of terms of the multi-exponentiation
+     * @param exponentBitLength the bit length of the exponents
+     * @return the window size to use for the bucket method
+     */
+    public static int computeOptimalPippengerWindowSize(int numTerms, int exponentBitLength) {
+        int bestWindowSize = 1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int windowSize = 1; windowSize <= 20; windowSize++) {
+            double cost = estimatePippengerOps(numTerms, exponentBitLength, windowSize);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestWindowSize = windowSize;
+            }
+        }
+        return bestWindowSize;
+    }
+
+    /**
+     * Estimates the number of group operations (excluding squarings) done by
+     * {@link #pippengerMultiExp(Multiexponentiation, int)}.
+     */
+    static double estimatePippengerOps(int numTerms, int exponentBitLength, int windowSize) {
+        int numWindows = (exponentBitLength + windowSize - 1) / windowSize;
+        return numWindows * ((double) numTerms + 2 * ((1 << windowSize) - 1));
+    }
+
     /**
      * Tests if the bit at position {@code index} equals {@code 1}, i.e. is set.
      * <p>
@@ -0,0 +1,370 @@
+package org.cryptimeleon.math.structures.groups.exp;
+
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+
+import java.util.Objects;
+
+/**
+ * Immutable description of how (multi-)exponentiations in some group should be evaluated, i.e. which algorithms
+ * and window sizes to use.
+ * <p>
+ * A plan can either be derived from the static cost estimate {@link GroupImpl#estimateCostInvPerOp()}
+ * (see {@link #fromCostEstimate(GroupImpl)}), or from the measured cost of group operations on the actual
+ * group implementation (see {@link #calibrate(GroupImpl)}).
+ * Calibrated plans additionally contain the measured operation costs.
+ * <p>
+ * Plans are {@link Representable}, so calibration results can be persisted (e.g. using a
+ * {@link org.cryptimeleon.math.serialization.converter.Converter}) and restored later via
+ * {@link #ExponentiationPlan(Representation)} to avoid calibrating on every startup.
+ *
+ * @see org.cryptimeleon.math.structures.groups.lazy.LazyGroup#setExponentiationPlan(ExponentiationPlan)
+ */
+public class ExponentiationPlan implements Representable {
+    /**
+     * Number of exponentiations that cached precomputations are assumed to be amortized over when choosing
+     * the precomputation window size.
+     */
+    public static final int PRECOMPUTATION_AMORTIZATION = 64;
+
+    /**
+     * Value of {@link #getPippengerThreshold()} signifying that the bucket method is never used.
+     */
+    public static final int PIPPENGER_DISABLED = Integer.MAX_VALUE;
+
+    @Represented
+    private ExpAlgorithm expAlgorithm;
+    @Represented
+    private MultiExpAlgorithm multiExpAlgorithm;
+    @Represented
+    private Integer exponentiationWindowSize;
+    @Represented
+    private Integer precomputationWindowSize;
+    @Represented
+    private Integer pippengerThreshold;
+    /**
+     * Measured costs in nanoseconds, or null if the plan was not calibrated.
+     */
+    @Represented
+    private Long opCostNanos, squareCostNanos, invCostNanos;
+
+    /**
+     * Creates a plan with the given settings.
+     *
+     * @param expAlgorithm the algorithm to use for single exponentiations
+     * @param multiExpAlgorithm the algorithm to use for multi-exponentiations
+     * @param exponentiationWindowSize the window size for non-cached precomputations
+     * @param precomputationWindowSize the window size for cached precomputations
+     * @param pippengerThreshold the minimum number of multi-exponentiation terms for which the bucket method
+     *                           is used instead of {@code multiExpAlgorithm}, or {@link #PIPPENGER_DISABLED}
+     */
+    public ExponentiationPlan(ExpAlgorithm expAlgorithm, MultiExpAlgorithm multiExpAlgorithm,
+                              int exponentiationWindowSize, int precomputationWindowSize, int pippengerThreshold) {
+        this(expAlgorithm, multiExpAlgorithm, exponentiationWindowSize, precomputationWindowSize, pippengerThreshold,
+                null, null, null);
+    }
+
+    private ExponentiationPlan(ExpAlgorithm expAlgorithm, MultiExpAlgorithm multiExpAlgorithm,
+                               int exponentiationWindowSize, int precomputationWindowSize, int pippengerThreshold,
+                               Long opCostNanos, Long squareCostNanos, Long invCostNanos) {
+        this.expAlgorithm = Objects.requireNonNull(expAlgorithm);
+        this.multiExpAlgorithm = Objects.requireNonNull(multiExpAlgorithm);
+        this.exponentiationWindowSize = exponentiationWindowSize;
+        this.precomputationWindowSize = precomputationWindowSize;
+        this.pippengerThreshold = pippengerThreshold;
+        this.opCostNanos = opCostNanos;
+        this.squareCostNanos = squareCostNanos;
+        this.invCostNanos = invCostNanos;
+    }
+
+    public ExponentiationPlan(Representation repr) {
+        ReprUtil.deserialize(this, repr);
+    }
+
+    /**
+     * Creates the plan that is used by default, i.e. chooses wNAF over sliding window algorithms based on
+     * {@link GroupImpl#estimateCostInvPerOp()}, uses window sizes 4 and 8 for non-cached and cached precomputations,
+     * respectively, and never uses the bucket method.
+     *
+     * @param impl the group to create the plan for
+     */
+    public static ExponentiationPlan fromCostEstimate(GroupImpl impl) {
+        return fromCostEstimate(impl, 4, 8);
+    }
+
+    /**
+     * Creates a plan that chooses wNAF over sliding window algorithms based on
+     * {@link GroupImpl#estimateCostInvPerOp()} and uses the given window sizes.
+     *
+     * @param impl the group to create the plan for
+     * @param exponentiationWindowSize the window size for non-cached precomputations
+     * @param precomputationWindowSize the window size for cached precomputations
+     */
+    public static ExponentiationPlan fromCostEstimate(GroupImpl impl, int exponentiationWindowSize,
+                                                      int precomputationWindowSize) {
+        if (impl.estimateCostInvPerOp() >= ExponentiationAlgorithms.WNAF_INVERSION_COST_THRESHOLD) {
+            return new ExponentiationPlan(ExpAlgorithm.WNAF, MultiExpAlgorithm.WNAF,
+                    exponentiationWindowSize, precomputationWindowSize, PIPPENGER_DISABLED);
+        } else {
+            return new ExponentiationPlan(ExpAlgorithm.SLIDING, MultiExpAlgorithm.SLIDING,
+                    exponentiationWindowSize, precomputationWindowSize, PIPPENGER_DISABLED);
+        }
+    }
+
+    /**
+     * Measures the cost of group operations on the given group and derives a plan from the results.
+     * Takes roughly 100 milliseconds (more for very slow groups, since every operation is measured at least a
+     * few times).
+     *
+     * @param impl the group to calibrate for. Must have known finite order.
+     */
+    public static ExponentiationPlan calibrate(GroupImpl impl) {
+        return calibrate(impl, 100);
+    }
+
+    /**
+     * Measures the cost of group operations on the given group and derives a plan from the results.
+     *
+     * @param impl the group to calibrate for. Must have known finite order.
+     * @param timeBudgetMillis the approximate time to spend on measurements
+     */
+    public static ExponentiationPlan calibrate(GroupImpl impl, long timeBudgetMillis) {
+        long budgetPerMeasurement = Math.max(1, timeBudgetMillis * 1_000_000L / 4); // warmup + 3 measurements
+        GroupElementImpl a = impl.getUniformlyRandomNonNeutral();
+        GroupElementImpl b = impl.getUniformlyRandomNonNeutral();
+
+        // warmup, giving the JIT a chance to compile the group operations
+        measure(a, b, Operation.OP, budgetPerMeasurement / 3);
+        measure(a, b, Operation.SQUARE, budgetPerMeasurement / 3);
+        measure(a, b, Operation.INV, budgetPerMeasurement / 3);
+
+        long op = measure(a, b, Operation.OP, budgetPerMeasurement);
+        long square = measure(a, b, Operation.SQUARE, budgetPerMeasurement);
+        long inv = measure(a, b, Operation.INV, budgetPerMeasurement);
+
+        return fromOperationCosts(op, square, inv, impl.size().bitLength());
+    }
+
+    private static volatile Object calibrationSink;
+
+    private enum Operation {
+        OP, SQUARE, INV
+    }
+
+    /**
+     * Repeatedly applies the given operation until the time budget is used up (but at least 8 times).
+     *
+     * @return the average cost of the operation in nanoseconds (at least 1)
+     */
+    private static long measure(GroupElementImpl a, GroupElementImpl b, Operation operation, long budgetNanos) {
+        GroupElementImpl current = a;
+        long iterations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            // apply operation in small batches to keep the overhead of nanoTime() low
+            for (int i = 0; i < 8; i++) {
+                switch (operation) {
+                    case OP:
+                        current = current.op(b);
+                        break;
+                    case SQUARE:
+                        current = current.square();
+                        break;
+                    case INV:
+                        current = current.inv();
+                        break;
+                }
+            }
+            iterations += 8;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budgetNanos);
+
+        calibrationSink = current; // make sure the computation is not optimized away
+
+        return Math.max(1, elapsed / iterations);
+    }
+
+    /**
+     * Derives a plan from the given costs of group operations (in some arbitrary but common unit, usually
+     * nanoseconds) by minimizing the estimated cost of an exponentiation.
+     *
+     * @param opCost cost of a group operation
+     * @param squareCost cost of a squaring
+     * @param invCost cost of an inversion
+     * @param exponentBitLength the typical bit length of exponents, usually the bit length of the group order
+     */
+    public static ExponentiationPlan fromOperationCosts(long opCost, long squareCost, long invCost,
+                                                        int exponentBitLength) {
+        if (opCost <= 0 || squareCost <= 0 || invCost <= 0 || exponentBitLength <= 0)
+            throw new IllegalArgumentException("Costs and exponent bit length must be positive");
+
+        // choose algorithm and window size minimizing the cost of a single exponentiation without cached
+        // precomputations
+        int bestSlidingWindow = findBestWindowSize(ExpAlgorithm.SLIDING, opCost, squareCost, invCost,
+                exponentBitLength, 1);
+        int bestWnafWindow = findBestWindowSize(ExpAlgorithm.WNAF, opCost, squareCost, invCost,
+                exponentBitLength, 1);
+        double slidingCost = estimateExpCost(ExpAlgorithm.SLIDING, bestSlidingWindow, opCost, squareCost, invCost,
+                exponentBitLength, 1);
+        double wnafCost = estimateExpCost(ExpAlgorithm.WNAF, bestWnafWindow, opCost, squareCost, invCost,
+                exponentBitLength, 1);
+        ExpAlgorithm expAlgorithm = wnafCost < slidingCost ? ExpAlgorithm.WNAF : ExpAlgorithm.SLIDING;
+        MultiExpAlgorithm multiExpAlgorithm = expAlgorithm == ExpAlgorithm.WNAF
+                ? MultiExpAlgorithm.WNAF : MultiExpAlgorithm.SLIDING;
+        int exponentiationWindowSize = expAlgorithm == ExpAlgorithm.WNAF ? bestWnafWindow : bestSlidingWindow;
+        double costPerTerm = Math.min(wnafCost, slidingCost) - exponentBitLength * (double) squareCost;
+
+        // cached precomputations are amortized over multiple exponentiations
+        int precomputationWindowSize = findBestWindowSize(expAlgorithm, opCost, squareCost, invCost,
+                exponentBitLength, PRECOMPUTATION_AMORTIZATION);
+
+        // find the number of terms from which the bucket method beats the interleaved algorithms
+        int pippengerThreshold = PIPPENGER_DISABLED;
+        for (int numTerms = 2; numTerms <= 1 << 16; numTerms *= 2) {
+            int pippengerWindowSize = ExponentiationAlgorithms.computeOptimalPippengerWindowSize(numTerms,
+                    exponentBitLength);
+            double pippengerCost = ExponentiationAlgorithms.estimatePippengerOps(numTerms, exponentBitLength,
+                    pippengerWindowSize) * opCost;
+            if (pippengerCost < numTerms * costPerTerm) {
+                pippengerThreshold = numTerms;
+                break;
+            }
+        }
+
+        return new ExponentiationPlan(expAlgorithm, multiExpAlgorithm, exponentiationWindowSize,
+                precomputationWindowSize, pippengerThreshold, opCost, squareCost, invCost);
+    }
+
+    private static int findBestWindowSize(ExpAlgorithm algorithm, long opCost, long squareCost, long invCost,
+                                          int exponentBitLength, int amortization) {
+        int bestWindowSize = 1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int windowSize = 1; windowSize <= 16; windowSize++) {
+            double cost = estimateExpCost(algorithm, windowSize, opCost, squareCost, invCost, exponentBitLength,
+                    amortization);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestWindowSize = windowSize;
+            }
+        }
+        return bestWindowSize;
+    }
+
+    /**
+     * Estimates the cost of an exponentiation where the precomputation is shared by {@code amortization}
+     * exponentiations.
+     */
+    private static double estimateExpCost(ExpAlgorithm algorithm, int windowSize, long opCost, long squareCost,
+                                          long invCost, int exponentBitLength, int amortization) {
+        // computing the odd powers up to 2^windowSize - 1 takes one squaring and 2^(windowSize-1) - 1 operations
+        double precomputationCost = (((1 << (windowSize - 1)) - 1) * (double) opCost + squareCost) / amortization;
+        double digitCost;
+        if (algorithm == ExpAlgorithm.WNAF) {
+            // on average, every nonzero digit is negative with probability 1/2, requiring an inversion of the
+            // precomputed power
+            digitCost = exponentBitLength / (windowSize + 2.0) * (opCost + invCost / 2.0);
+        } else {
+            digitCost = exponentBitLength / (windowSize + 1.0) * opCost;
+        }
+        return precomputationCost + digitCost + exponentBitLength * (double) squareCost;
+    }
+
+    public ExpAlgorithm getExpAlgorithm() {
+        return expAlgorithm;
+    }
+
+    public MultiExpAlgorithm getMultiExpAlgorithm() {
+        return multiExpAlgorithm;
+    }
+
+    public int getExponentiationWindowSize() {
+        return exponentiationWindowSize;
+    }
+
+    public int getPrecomputationWindowSize() {
+        return precomputationWindowSize;
+    }
+
+    /**
+     * Returns the minimum number of multi-exponentiation terms for which the bucket method
+     * ({@link ExponentiationAlgorithms#pippengerMultiExp(Multiexponentiation, int)}) should be used,
+     * or {@link #PIPPENGER_DISABLED}.
+     */
+    public int getPippengerThreshold() {
+        return pippengerThreshold;
+    }
+
+    /**
+     * Returns true if this plan was derived from measured operation costs.
+     */
+    public boolean isCalibrated() {
+        return opCostNanos != null;
+    }
+
+    /**
+     * Returns the measured cost of a group operation in nanoseconds, or null if not calibrated.
+     */
+    public Long getOpCostNanos() {
+        return opCostNanos;
+    }
+
+    /**
+     * Returns the measured cost of a squaring in nanoseconds, or null if not calibrated.
+     */
+    public Long getSquareCostNanos() {
+        return squareCostNanos;
+    }
+
+    /**
+     * Returns the measured cost of an inversion in nanoseconds, or null if not calibrated.
+     */
+    public Long getInvCostNanos() {
+        return invCostNanos;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExponentiationPlan that = (ExponentiationPlan) o;
+        return expAlgorithm == that.expAlgorithm
+                && multiExpAlgorithm == that.multiExpAlgorithm
+                && Objects.equals(exponentiationWindowSize, that.exponentiationWindowSize)
+                && Objects.equals(precomputationWindowSize, that.precomputationWindowSize)
+                && Objects.equals(pippengerThreshold, that.pippengerThreshold)
+                && Objects.equals(opCostNanos, that.opCostNanos)
+                && Objects.equals(squareCostNanos, that.squareCostNanos)
+                && Objects.equals(invCostNanos, that.invCostNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expAlgorithm, multiExpAlgorithm, exponentiationWindowSize, precomputationWindowSize,
+                pippengerThreshold);
+    }
+
+    @Override
+    public String toString() {
+        return "ExponentiationPlan{" +
+                "expAlgorithm=" + expAlgorithm +
+                ", multiExpAlgorithm=" + multiExpAlgorithm +
+                ", exponentiationWindowSize=" + exponentiationWindowSize +
+                ", precomputationWindowSize=" + precomputationWindowSize +
+                ", pippengerThreshold=" + (pippengerThreshold == PIPPENGER_DISABLED ? "disabled" : pippengerThreshold) +
+                (isCalibrated()
+                        ? ", opCostNanos=" + opCostNanos + ", squareCostNanos=" + squareCostNanos
+                                + ", invCostNanos=" + invCostNanos
+                        : "") +
+                '}';
+    }
+}
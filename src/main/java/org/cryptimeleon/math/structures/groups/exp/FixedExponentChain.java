@@ -0,0 +1,241 @@
+package org.cryptimeleon.math.structures.groups.exp;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.RingElement;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * An addition chain for a fixed exponent, for raising many different bases to the same (large) exponent,
+ * e.g. the group order for subgroup membership tests or the cofactor of a curve or field.
+ * <p>
+ * The exponent is recoded once into sliding windows, using the window size that minimizes the total number of
+ * operations (including the precomputation of the odd powers of each base). For groups where inversions are cheap
+ * (see {@link ExponentiationAlgorithms#WNAF_INVERSION_COST_THRESHOLD}), a signed (wNAF) recoding is used if it
+ * needs fewer operations.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class FixedExponentChain {
+    /**
+     * The largest window size that is considered.
+     */
+    private static final int MAX_WINDOW_SIZE = 10;
+
+    private final BigInteger exponent;
+    private final Recoding unsignedRecoding;
+    /**
+     * The recoding used if inversions are cheap, computed on first use
+     * (the unsigned recoding if the signed one is not cheaper).
+     */
+    private volatile Recoding signedRecoding;
+
+    /**
+     * Computes the addition chain for the given exponent.
+     *
+     * @param exponent the exponent; for negative exponents, results are inverted
+     */
+    public FixedExponentChain(BigInteger exponent) {
+        this.exponent = exponent;
+        this.unsignedRecoding = exponent.signum() == 0 ? null : Recoding.unsigned(exponent.abs());
+    }
+
+    public BigInteger getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Returns the number of group operations (squarings and multiplications) needed to raise a base to the exponent
+     * using this chain, not counting the final inversion for negative exponents.
+     *
+     * @param signed whether inversions are cheap, i.e. a signed recoding may be used
+     */
+    public int getLength(boolean signed) {
+        Recoding recoding = getRecoding(signed);
+        return recoding == null ? 0 : recoding.cost;
+    }
+
+    /**
+     * Computes \(\text{base}^e\) for the fixed exponent e.
+     *
+     * @param base the base
+     * @return the power
+     */
+    public GroupElementImpl pow(GroupElementImpl base) {
+        if (unsignedRecoding == null)
+            return base.getStructure().getNeutralElement();
+        Recoding recoding = getRecoding(base.getStructure().estimateCostInvPerOp()
+                >= ExponentiationAlgorithms.WNAF_INVERSION_COST_THRESHOLD);
+        GroupElementImpl result = evaluate(recoding, base, GroupElementImpl::square, GroupElementImpl::op,
+                GroupElementImpl::inv);
+        return exponent.signum() < 0 ? result.inv() : result;
+    }
+
+    /**
+     * Computes \(\text{base}^e\) for the fixed exponent e.
+     *
+     * @param base the base
+     * @return the power
+     */
+    public RingElement pow(RingElement base) {
+        if (unsignedRecoding == null)
+            return base.getStructure().getOneElement();
+        RingElement result = evaluate(unsignedRecoding, base, RingElement::square, RingElement::mul, null);
+        return exponent.signum() < 0 ? result.inv() : result;
+    }
+
+    /**
+     * Computes \(\text{base}^e\) for the fixed exponent e.
+     *
+     * @param base the base
+     * @return the power
+     */
+    public FieldElement pow(FieldElement base) {
+        return (FieldElement) pow((RingElement) base);
+    }
+
+    private Recoding getRecoding(boolean signed) {
+        if (!signed || unsignedRecoding == null)
+            return unsignedRecoding;
+        Recoding recoding = signedRecoding;
+        if (recoding == null) {
+            recoding = Recoding.signed(exponent.abs());
+            if (recoding.cost >= unsignedRecoding.cost)
+                recoding = unsignedRecoding;
+            signedRecoding = recoding;
+        }
+        return recoding;
+    }
+
+    /**
+     * Evaluates the given recoding for the given base, using the given operations.
+     *
+     * @param inverse inverts an element, may be null for unsigned recodings
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T evaluate(Recoding recoding, T base, UnaryOperator<T> square, BinaryOperator<T> op,
+                                  UnaryOperator<T> inverse) {
+        int[] digits = recoding.digits;
+
+        // oddPowers[i] = base^(2i+1), oddNegativePowers[i] = base^(-2i-1) (computed when needed)
+        Object[] oddPowers = new Object[(recoding.maxDigit + 1) / 2];
+        oddPowers[0] = base;
+        if (oddPowers.length > 1) {
+            T baseSquared = square.apply(base);
+            for (int i = 1; i < oddPowers.length; i++)
+                oddPowers[i] = op.apply((T) oddPowers[i - 1], baseSquared);
+        }
+        Object[] oddNegativePowers = recoding.isSigned ? new Object[oddPowers.length] : null;
+
+        // the most significant digit is positive
+        T result = (T) oddPowers[digits[digits.length - 1] / 2];
+        for (int i = digits.length - 2; i >= 0; i--) {
+            result = square.apply(result);
+            int digit = digits[i];
+            if (digit > 0) {
+                result = op.apply(result, (T) oddPowers[digit / 2]);
+            } else if (digit < 0) {
+                int index = -digit / 2;
+                if (oddNegativePowers[index] == null)
+                    oddNegativePowers[index] = inverse.apply((T) oddPowers[index]);
+                result = op.apply(result, (T) oddNegativePowers[index]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A recoding of a positive exponent into odd digits, i.e. \(e = \sum_i d_i 2^i\) where each digit is zero or odd.
+     */
+    private static final class Recoding {
+        /**
+         * The digits, least significant first. The most significant digit is positive.
+         */
+        final int[] digits;
+        final boolean isSigned;
+        /**
+         * The largest absolute value of a digit.
+         */
+        final int maxDigit;
+        /**
+         * The number of squarings and multiplications needed for evaluating the recoding.
+         */
+        final int cost;
+
+        private Recoding(int[] digits, boolean isSigned) {
+            int length = digits.length;
+            while (digits[length - 1] == 0)
+                length--;
+            this.digits = length == digits.length ? digits : Arrays.copyOf(digits, length);
+            this.isSigned = isSigned;
+
+            int maxDigit = 0;
+            int nonZeroDigits = 0;
+            for (int digit : this.digits) {
+                maxDigit = Math.max(maxDigit, Math.abs(digit));
+                if (digit != 0)
+                    nonZeroDigits++;
+            }
+            this.maxDigit = maxDigit;
+            // precomputation (one squaring and a multiplication per further odd power),
+            // one squaring per digit and one multiplication per nonzero digit (except for the first one)
+            int precomputationCost = maxDigit > 1 ? 1 + (maxDigit - 1) / 2 : 0;
+            this.cost = precomputationCost + (length - 1) + (nonZeroDigits - 1);
+        }
+
+        /**
+         * Returns the cheapest sliding window recoding of the given positive exponent.
+         */
+        static Recoding unsigned(BigInteger exponent) {
+            Recoding best = null;
+            for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+                Recoding recoding = new Recoding(slidingWindowDigits(exponent, windowSize), false);
+                if (best == null || recoding.cost < best.cost)
+                    best = recoding;
+            }
+            return best;
+        }
+
+        /**
+         * Returns the cheapest wNAF recoding of the given positive exponent.
+         */
+        static Recoding signed(BigInteger exponent) {
+            Recoding best = null;
+            for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+                Recoding recoding = new Recoding(
+                        ExponentiationAlgorithms.precomputeExponentDigitsForWnaf(exponent, windowSize), true);
+                if (best == null || recoding.cost < best.cost)
+                    best = recoding;
+            }
+            return best;
+        }
+
+        /**
+         * Splits the given positive exponent into windows of at most {@code windowSize} bits that start and end
+         * with a one bit, scanning from the most significant bit.
+         */
+        private static int[] slidingWindowDigits(BigInteger exponent, int windowSize) {
+            int[] digits = new int[exponent.bitLength()];
+            int i = exponent.bitLength() - 1;
+            while (i >= 0) {
+                if (!exponent.testBit(i)) {
+                    i--;
+                    continue;
+                }
+                int j = Math.max(i - windowSize + 1, 0);
+                while (!exponent.testBit(j))
+                    j++;
+                int digit = 0;
+                for (int k = i; k >= j; k--)
+                    digit = (digit << 1) | (exponent.testBit(k) ? 1 : 0);
+                digits[j] = digit;
+                i = j - 1;
+            }
+            return digits;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.cryptimeleon.math.structures.groups.lazy;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one of the results of hashing a batch of byte arrays to some structure.
+ * The whole batch is hashed as soon as the first result is needed.
+ */
+class BatchHashResultLazyGroupElement extends LazyGroupElement {
+    protected Batch batch;
+    protected int index;
+
+    public BatchHashResultLazyGroupElement(Batch batch, int index) {
+        super(batch.hash.target);
+        this.batch = batch;
+        this.index = index;
+    }
+
+    @Override
+    protected void computeConcreteValue() {
+        setConcreteValue(batch.getResults().get(index));
+    }
+
+    /**
+     * The batch of preimages shared by all its results.
+     */
+    static class Batch {
+        protected final HashIntoLazyGroup hash;
+        protected final List<byte[]> preimages;
+        private List<GroupElementImpl> results = null;
+
+        Batch(HashIntoLazyGroup hash, List<byte[]> preimages) {
+            this.hash = hash;
+            this.preimages = new ArrayList<>(preimages);
+        }
+
+        synchronized List<GroupElementImpl> getResults() {
+            if (results == null) {
+                results = hash.impl.hashIntoGroupImpl(preimages);
+            }
+            return results;
+        }
+    }
+}
@@ -4,9 +4,13 @@ package org.cryptimeleon.math.structures.groups.lazy;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.HashIntoGroup;
+import org.cryptimeleon.math.structures.groups.HashIntoGroupCache;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -22,6 +26,8 @@ public class HashIntoLazyGroup implements HashIntoGroup {
     @Represented
     protected LazyGroup target;
 
+    private volatile HashIntoGroupCache<LazyGroupElement> cache = null;
+
     public HashIntoLazyGroup(HashIntoGroupImpl hash, LazyGroup target) {
         this.impl = hash;
         this.target = target;
@@ -33,7 +39,86 @@ public class HashIntoLazyGroup implements HashIntoGroup {
 
     @Override
     public LazyGroupElement hash(byte[] x) {
-        return new HashResultLazyGroupElement(this, x);
+        HashIntoGroupCache<LazyGroupElement> cache = this.cache;
+        if (cache == null)
+            return new HashResultLazyGroupElement(this, x);
+
+        LazyGroupElement result = cache.getIfPresent(x);
+        if (result == null) {
+            result = new HashResultLazyGroupElement(this, x.clone());
+            cache.put(x, result);
+        }
+        return result;
+    }
+
+    /**
+     * Hashes each of the given byte arrays into the group.
+     * <p>
+     * The hashes are computed together (using {@link HashIntoGroupImpl#hashIntoGroupImpl(List)})
+     * as soon as the value of any of the resulting elements is needed.
+     */
+    @Override
+    public List<GroupElement> hash(List<byte[]> xs) {
+        HashIntoGroupCache<LazyGroupElement> cache = this.cache;
+        if (cache == null) {
+            BatchHashResultLazyGroupElement.Batch batch = new BatchHashResultLazyGroupElement.Batch(this, xs);
+            List<GroupElement> result = new ArrayList<>(xs.size());
+            for (int i = 0; i < xs.size(); i++) {
+                result.add(new BatchHashResultLazyGroupElement(batch, i));
+            }
+            return result;
+        }
+
+        List<GroupElement> result = new ArrayList<>(xs.size());
+        List<Integer> missingIndices = new ArrayList<>();
+        List<byte[]> missing = new ArrayList<>();
+        for (int i = 0; i < xs.size(); i++) {
+            LazyGroupElement cached = cache.getIfPresent(xs.get(i));
+            if (cached == null) {
+                missingIndices.add(i);
+                missing.add(xs.get(i).clone());
+            }
+            result.add(cached);
+        }
+        if (!missing.isEmpty()) {
+            BatchHashResultLazyGroupElement.Batch batch = new BatchHashResultLazyGroupElement.Batch(this, missing);
+            for (int j = 0; j < missing.size(); j++) {
+                LazyGroupElement element = new BatchHashResultLazyGroupElement(batch, j);
+                cache.put(missing.get(j), element);
+                result.set(missingIndices.get(j), element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Enables caching of hash results, replacing any existing cache.
+     * <p>
+     * With caching enabled, hashing the same byte array again returns the same {@link LazyGroupElement}
+     * (as long as it has not been evicted), so the hash function is evaluated only once.
+     * Cached elements stay lazy, i.e. they are only evaluated (and any precomputations for exponentiations are
+     * only done) once they are actually used.
+     *
+     * @param capacity the maximum number of cached hash results
+     */
+    public void enableCache(int capacity) {
+        cache = new HashIntoGroupCache<>(capacity);
+    }
+
+    /**
+     * Disables caching of hash results and drops all cached results.
+     */
+    public void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache of hash results, e.g. to query its hit and miss counts, or null if caching is disabled.
+     *
+     * @see #enableCache(int)
+     */
+    public HashIntoGroupCache<LazyGroupElement> getCache() {
+        return cache;
     }
 
     @Override
@@ -8,13 +8,16 @@ import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.exp.*;
+import org.cryptimeleon.math.structures.groups.metrics.GroupMetrics;
+import org.cryptimeleon.math.structures.groups.metrics.MetricsRecorder;
+import org.cryptimeleon.math.structures.groups.metrics.Operation;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 
 /**
@@ -26,7 +29,7 @@ import java.util.concurrent.ForkJoinPool;
  * For more information, see the <a href="https://upbcuk.github.io/docs/lazy-eval.html">documentation</a>.
  */
 public class LazyGroup implements Group {
-    static final ExecutorService executor = ForkJoinPool.commonPool();  //using the commonPool because it automatically terminates with the JVM.
+    static final ForkJoinPool executor = ForkJoinPool.commonPool();  //using the commonPool because it automatically terminates with the JVM.
     // Alternative: Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()); //but in that case, you'd have to handle shutdown gracefully yourself, probably via Runtime.getRuntime().addShutdownHook
     // I'm guessing the newFixedThreadPool may perform better
     // than the workStealingPool because this generally observes the order of tasks thrown at it (which generally the user will choose "correctly", i.e. smaller
@@ -45,11 +48,40 @@ public class LazyGroup implements Group {
     GroupElement generator;
     MultiExpAlgorithm selectedMultiExpAlgorithm;
     ExpAlgorithm selectedExpAlgorithm;
+    int pippengerThreshold = ExponentiationPlan.PIPPENGER_DISABLED;
+    /**
+     * The plan set via constructor or {@link #setExponentiationPlan(ExponentiationPlan)}, or null if the
+     * static default plan should be chosen during {@link #init()}.
+     */
+    private ExponentiationPlan initialPlan;
+    /**
+     * The name under which (multi-)exponentiations are reported to the installed {@link MetricsRecorder}.
+     */
+    private String metricsName;
 
     public LazyGroup(GroupImpl impl) {
         this(impl, 4, 8);
     }
 
+    /**
+     * Instantiates a lazy group that evaluates (multi-)exponentiations according to the given plan.
+     * <p>
+     * For example, {@code new LazyGroup(impl, ExponentiationPlan.calibrate(impl))} chooses algorithms and
+     * window sizes based on the measured performance of {@code impl}.
+     * <p>
+     * The plan is not part of the representation of this group. To keep it, persist the plan separately
+     * (it is {@link org.cryptimeleon.math.serialization.Representable} itself) and pass it to
+     * {@link #LazyGroup(Representation, ExponentiationPlan)} when restoring the group.
+     *
+     * @param impl the group to wrap
+     * @param plan the plan to use
+     */
+    public LazyGroup(GroupImpl impl, ExponentiationPlan plan) {
+        this.impl = impl;
+        this.initialPlan = plan;
+        init();
+    }
+
     public LazyGroup(GroupImpl impl, int exponentiationWindowSize, int precomputationWindowSize) {
         this.impl = impl;
         this.exponentiationWindowSize = exponentiationWindowSize;
@@ -64,14 +96,10 @@ public class LazyGroup implements Group {
         }
         generator = wrap(impl.getGenerator());
         isPrimeOrder = size.isProbablePrime(100);
-        zn = isPrimeOrder ? new Zp(size) : new Zn(size);
-        if (impl.estimateCostInvPerOp() >= ExponentiationAlgorithms.WNAF_INVERSION_COST_THRESHOLD) {
-            selectedMultiExpAlgorithm = MultiExpAlgorithm.WNAF;
-            selectedExpAlgorithm = ExpAlgorithm.WNAF;
-        } else {
-            selectedMultiExpAlgorithm = MultiExpAlgorithm.SLIDING;
-            selectedExpAlgorithm = ExpAlgorithm.SLIDING;
-        }
+        zn = isPrimeOrder ? Zp.of(size) : Zn.of(size);
+        metricsName = GroupMetrics.getStructureName(impl);
+        setExponentiationPlan(initialPlan != null ? initialPlan
+                : ExponentiationPlan.fromCostEstimate(impl, exponentiationWindowSize, precomputationWindowSize));
     }
 
     public LazyGroup(Representation repr) {
@@ -86,6 +114,19 @@ public class LazyGroup implements Group {
         init();
     }
 
+    /**
+     * Restores a lazy group from its representation and evaluates (multi-)exponentiations according to the given
+     * plan, e.g. a plan restored via {@link ExponentiationPlan#ExponentiationPlan(Representation)}.
+     *
+     * @param repr the representation of the group
+     * @param plan the plan to use
+     */
+    public LazyGroup(Representation repr, ExponentiationPlan plan) {
+        ReprUtil.deserialize(this, repr);
+        this.initialPlan = plan;
+        init();
+    }
+
     public LazyGroupElement wrap(GroupElementImpl impl) {
         return new ConstLazyGroupElement(this, impl);
     }
@@ -120,6 +161,11 @@ public class LazyGroup implements Group {
         return wrap(impl.restoreElement(repr));
     }
 
+    @Override
+    public GroupElement readElement(ByteBuffer buffer) {
+        return wrap(impl.readElement(buffer));
+    }
+
     @Override
     public GroupElement getGenerator() throws UnsupportedOperationException {
         return generator;
@@ -164,11 +210,31 @@ public class LazyGroup implements Group {
     }
 
     public GroupElementImpl compute(Multiexponentiation multiexp) {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null || multiexp.isEmpty())
+            return computeMultiExp(multiexp);
+        for (MultiExpTerm term : multiexp.getTerms())
+            recorder.recordPrecomputation(metricsName, term.getPrecomputation().getCurrentlySupportedWindowSize() > 0);
+        long start = System.nanoTime();
+        GroupElementImpl result = computeMultiExp(multiexp);
+        recorder.recordMultiExp(metricsName, multiexp.getNumberOfTerms(), System.nanoTime() - start);
+        return result;
+    }
+
+    private GroupElementImpl computeMultiExp(Multiexponentiation multiexp) {
         if (multiexp.isEmpty())
             return impl.getNeutralElement();
         if (impl.implementsOwnMultiExp())
             return impl.multiexp(multiexp);
         // use generic if group does not implement own algorithm
+        if (multiexp.getNumberOfTerms() >= pippengerThreshold) {
+            return ExponentiationAlgorithms.pippengerMultiExp(
+                    multiexp,
+                    ExponentiationAlgorithms.computeOptimalPippengerWindowSize(
+                            multiexp.getNumberOfTerms(), size.bitLength()
+                    )
+            );
+        }
         switch (selectedMultiExpAlgorithm) {
             case SLIDING:
                 return ExponentiationAlgorithms.interleavingSlidingWindowMultiExp(
@@ -194,6 +260,19 @@ public class LazyGroup implements Group {
     }
 
     public GroupElementImpl compute(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return computeExp(base, exponent, precomputation);
+        recorder.recordPrecomputation(metricsName,
+                precomputation != null && precomputation.getCurrentlySupportedWindowSize() > 0);
+        long start = System.nanoTime();
+        GroupElementImpl result = computeExp(base, exponent, precomputation);
+        recorder.recordOperation(metricsName, Operation.EXP, System.nanoTime() - start);
+        return result;
+    }
+
+    private GroupElementImpl computeExp(GroupElementImpl base, BigInteger exponent,
+                                        SmallExponentPrecomputation precomputation) {
         if (impl.implementsOwnExp())
             return impl.exp(base, exponent, precomputation);
         // use generic if group does not implement own algorithm
@@ -264,6 +343,57 @@ public class LazyGroup implements Group {
         this.selectedExpAlgorithm = selectedExpAlgorithm;
     }
 
+    /**
+     * Returns the minimum number of multi-exponentiation terms for which the bucket method
+     * (see {@link ExponentiationAlgorithms#pippengerMultiExp(Multiexponentiation, int)}) is used instead of the
+     * selected multi-exponentiation algorithm.
+     */
+    public int getPippengerThreshold() {
+        return pippengerThreshold;
+    }
+
+    /**
+     * Sets the minimum number of multi-exponentiation terms for which the bucket method is used.
+     *
+     * @param pippengerThreshold the threshold, or {@link ExponentiationPlan#PIPPENGER_DISABLED}
+     */
+    public void setPippengerThreshold(int pippengerThreshold) {
+        this.pippengerThreshold = pippengerThreshold;
+    }
+
+    /**
+     * Returns the plan describing the currently used (multi-)exponentiation algorithms and window sizes.
+     * <p>
+     * If settings have been changed via the individual setters since the last call to
+     * {@link #setExponentiationPlan(ExponentiationPlan)}, the returned plan reflects these changes
+     * (and no longer contains measured costs).
+     */
+    public ExponentiationPlan getExponentiationPlan() {
+        ExponentiationPlan current = new ExponentiationPlan(selectedExpAlgorithm, selectedMultiExpAlgorithm,
+                exponentiationWindowSize, precomputationWindowSize, pippengerThreshold);
+        if (initialPlan != null && current.getExpAlgorithm() == initialPlan.getExpAlgorithm()
+                && current.getMultiExpAlgorithm() == initialPlan.getMultiExpAlgorithm()
+                && current.getExponentiationWindowSize() == initialPlan.getExponentiationWindowSize()
+                && current.getPrecomputationWindowSize() == initialPlan.getPrecomputationWindowSize()
+                && current.getPippengerThreshold() == initialPlan.getPippengerThreshold())
+            return initialPlan;
+        return current;
+    }
+
+    /**
+     * Applies the given plan, i.e. sets algorithms, window sizes and the bucket method threshold accordingly.
+     *
+     * @param plan the plan to apply, for example obtained via {@link ExponentiationPlan#calibrate(GroupImpl)}
+     */
+    public void setExponentiationPlan(ExponentiationPlan plan) {
+        this.initialPlan = plan;
+        this.selectedExpAlgorithm = plan.getExpAlgorithm();
+        this.selectedMultiExpAlgorithm = plan.getMultiExpAlgorithm();
+        this.exponentiationWindowSize = plan.getExponentiationWindowSize();
+        this.precomputationWindowSize = plan.getPrecomputationWindowSize();
+        this.pippengerThreshold = plan.getPippengerThreshold();
+    }
+
     public GroupImpl getImpl() {
         return impl;
     }
@@ -8,8 +8,11 @@ import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.metrics.GroupMetrics;
+import org.cryptimeleon.math.structures.groups.metrics.MetricsRecorder;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -102,6 +105,12 @@ public abstract class LazyGroupElement implements GroupElement {
         if (computationState == ComputationState.NOTHING) {
             computationState = ComputationState.REQUESTED;
             LazyGroup.executor.submit(this::computeSync); //this computeSync() call may theoretically end up not doing anything because another thread may already have computed the result (or started to).
+            MetricsRecorder recorder = GroupMetrics.getRecorder();
+            if (recorder != null)
+                recorder.recordLazyQueueDepth(
+                        (int) Math.min(Integer.MAX_VALUE,
+                                LazyGroup.executor.getQueuedSubmissionCount() + LazyGroup.executor.getQueuedTaskCount())
+                );
         }
         return this;
     }
@@ -225,6 +234,16 @@ public abstract class LazyGroupElement implements GroupElement {
         return getConcreteValue().getRepresentation();
     }
 
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        getConcreteValue().writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return getConcreteValue().getEncodedLength();
+    }
+
     @Override
     public String toString() {
         if (computationState == ComputationState.DONE)
@@ -0,0 +1,111 @@
+package org.cryptimeleon.math.structures.groups.mappings.impl;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.HashIntoGroupCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link HashIntoGroupImpl} that caches the results of another {@code HashIntoGroupImpl}.
+ * <p>
+ * Computes the same hash values as the wrapped hash function, but remembers the most recently used ones
+ * (see {@link HashIntoGroupCache}). The cache itself is not part of the representation.
+ */
+public class CachedHashIntoGroupImpl implements HashIntoGroupImpl {
+    @Represented
+    private HashIntoGroupImpl impl;
+    @Represented
+    private Integer capacity;
+
+    private HashIntoGroupCache<GroupElementImpl> cache;
+
+    /**
+     * Wraps the given hash function, caching at most {@code capacity} hash results.
+     *
+     * @param impl the hash function whose results should be cached
+     * @param capacity the maximum number of cached hash results
+     */
+    public CachedHashIntoGroupImpl(HashIntoGroupImpl impl, int capacity) {
+        this.impl = impl;
+        this.capacity = capacity;
+        init();
+    }
+
+    public CachedHashIntoGroupImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+        init();
+    }
+
+    private void init() {
+        cache = new HashIntoGroupCache<>(capacity);
+    }
+
+    @Override
+    public GroupElementImpl hashIntoGroupImpl(byte[] x) {
+        return cache.get(x, impl::hashIntoGroupImpl);
+    }
+
+    /**
+     * Hashes each of the given byte arrays, evaluating the wrapped hash function
+     * (as a batch) only for those not in the cache.
+     */
+    @Override
+    public List<GroupElementImpl> hashIntoGroupImpl(List<byte[]> xs) {
+        List<GroupElementImpl> result = new ArrayList<>(xs.size());
+        List<Integer> missingIndices = new ArrayList<>();
+        List<byte[]> missing = new ArrayList<>();
+        for (int i = 0; i < xs.size(); i++) {
+            GroupElementImpl cached = cache.getIfPresent(xs.get(i));
+            if (cached == null) {
+                missingIndices.add(i);
+                missing.add(xs.get(i));
+            }
+            result.add(cached);
+        }
+        if (!missing.isEmpty()) {
+            List<GroupElementImpl> hashes = impl.hashIntoGroupImpl(missing);
+            for (int j = 0; j < missing.size(); j++) {
+                cache.put(missing.get(j), hashes.get(j));
+                result.set(missingIndices.get(j), hashes.get(j));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the wrapped hash function.
+     */
+    public HashIntoGroupImpl getImpl() {
+        return impl;
+    }
+
+    /**
+     * Returns the cache, e.g. to query its hit and miss counts.
+     */
+    public HashIntoGroupCache<GroupElementImpl> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CachedHashIntoGroupImpl that = (CachedHashIntoGroupImpl) o;
+        return impl.equals(that.impl) && capacity.equals(that.capacity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(impl, capacity);
+    }
+}
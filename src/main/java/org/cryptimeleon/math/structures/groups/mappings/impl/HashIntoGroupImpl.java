@@ -5,6 +5,8 @@ import org.cryptimeleon.math.serialization.StandaloneRepresentable;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for implementing a hash function to some group.
@@ -19,6 +21,23 @@ public interface HashIntoGroupImpl extends StandaloneRepresentable {
     GroupElementImpl hashIntoGroupImpl(byte[] x);
 
 
+    /**
+     * Hashes each of the given byte arrays into the configured group.
+     * <p>
+     * Implementations may override this to share work between the inputs (or compute hashes in parallel).
+     * By default, this simply hashes one input after the other.
+     *
+     * @param xs the byte arrays to hash
+     * @return the hashes, in the same order as the given byte arrays
+     */
+    default List<GroupElementImpl> hashIntoGroupImpl(List<byte[]> xs) {
+        List<GroupElementImpl> result = new ArrayList<>(xs.size());
+        for (byte[] x : xs) {
+            result.add(hashIntoGroupImpl(x));
+        }
+        return result;
+    }
+
     default GroupElementImpl hashIntoGroupImpl(UniqueByteRepresentable ubr) {
         return hashIntoGroupImpl(ubr.getUniqueByteRepresentation());
     }
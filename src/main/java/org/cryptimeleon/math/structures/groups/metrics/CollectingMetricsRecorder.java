@@ -0,0 +1,197 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsRecorder} collecting counts and latency histograms in memory, separately for each group.
+ * <p>
+ * Measurements can be queried at any time, or exported as structured data via {@link #getRepresentation()}
+ * (e.g. to JSON using {@link org.cryptimeleon.math.serialization.converter.JSONConverter}).
+ * <p>
+ * Usage:
+ * <pre>
+ * CollectingMetricsRecorder metrics = new CollectingMetricsRecorder();
+ * GroupMetrics.setRecorder(metrics);
+ * // ... run protocol ...
+ * metrics.getLatencies("G1", Operation.EXP).getQuantileUpperBound(0.99);
+ * </pre>
+ */
+public class CollectingMetricsRecorder implements MetricsRecorder, Representable {
+
+    /**
+     * The measurements of a single group.
+     */
+    public static class StructureMetrics implements Representable {
+        private final Map<Operation, Histogram> latencies;
+        private final Histogram multiExpTermNumbers = new Histogram();
+        private final LongAdder precomputationHits = new LongAdder();
+        private final LongAdder precomputationMisses = new LongAdder();
+
+        StructureMetrics() {
+            Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values())
+                latencies.put(operation, new Histogram());
+            this.latencies = Collections.unmodifiableMap(latencies);
+        }
+
+        /**
+         * Returns the number of recorded operations of the given kind.
+         */
+        public long getCount(Operation operation) {
+            return latencies.get(operation).getCount();
+        }
+
+        /**
+         * Returns the histogram of latencies (in nanoseconds) of operations of the given kind.
+         */
+        public Histogram getLatencies(Operation operation) {
+            return latencies.get(operation);
+        }
+
+        /**
+         * Returns the histogram of the number of terms of the recorded multi-exponentiations.
+         */
+        public Histogram getMultiExpTermNumbers() {
+            return multiExpTermNumbers;
+        }
+
+        /**
+         * Returns the number of (multi-)exponentiation bases for which a precomputation was available.
+         */
+        public long getNumPrecomputationHits() {
+            return precomputationHits.sum();
+        }
+
+        /**
+         * Returns the number of (multi-)exponentiation bases for which no precomputation was available.
+         */
+        public long getNumPrecomputationMisses() {
+            return precomputationMisses.sum();
+        }
+
+        void reset() {
+            latencies.values().forEach(Histogram::reset);
+            multiExpTermNumbers.reset();
+            precomputationHits.reset();
+            precomputationMisses.reset();
+        }
+
+        /**
+         * Returns the latencies of all kinds of operations that have been recorded at least once, as well as the
+         * multi-exponentiation term numbers and precomputation hits and misses.
+         */
+        @Override
+        public Representation getRepresentation() {
+            ObjectRepresentation operations = new ObjectRepresentation();
+            latencies.forEach((operation, histogram) -> {
+                if (histogram.getCount() > 0)
+                    operations.put(operation.name(), histogram.getRepresentation());
+            });
+            ObjectRepresentation repr = new ObjectRepresentation();
+            repr.put("operations", operations);
+            repr.put("multiExpTermNumbers", multiExpTermNumbers.getRepresentation());
+            repr.put("precomputationHits", new BigIntegerRepresentation(getNumPrecomputationHits()));
+            repr.put("precomputationMisses", new BigIntegerRepresentation(getNumPrecomputationMisses()));
+            return repr;
+        }
+    }
+
+    private final ConcurrentHashMap<String, StructureMetrics> structures = new ConcurrentHashMap<>();
+    private final Histogram lazyQueueDepths = new Histogram();
+
+    private StructureMetrics getOrCreate(String structure) {
+        StructureMetrics metrics = structures.get(structure);
+        return metrics != null ? metrics : structures.computeIfAbsent(structure, name -> new StructureMetrics());
+    }
+
+    @Override
+    public void recordOperation(String structure, Operation operation, long nanos) {
+        getOrCreate(structure).latencies.get(operation).record(nanos);
+    }
+
+    @Override
+    public void recordMultiExp(String structure, int numTerms, long nanos) {
+        StructureMetrics metrics = getOrCreate(structure);
+        metrics.latencies.get(Operation.MULTIEXP).record(nanos);
+        metrics.multiExpTermNumbers.record(numTerms);
+    }
+
+    @Override
+    public void recordPrecomputation(String structure, boolean hit) {
+        StructureMetrics metrics = getOrCreate(structure);
+        (hit ? metrics.precomputationHits : metrics.precomputationMisses).increment();
+    }
+
+    @Override
+    public void recordLazyQueueDepth(int depth) {
+        lazyQueueDepths.record(depth);
+    }
+
+    /**
+     * Returns the names of all groups for which something has been recorded.
+     */
+    public Set<String> getStructureNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(structures.keySet()));
+    }
+
+    /**
+     * Returns the measurements of the group with the given name.
+     */
+    public StructureMetrics getMetrics(String structure) {
+        return getOrCreate(structure);
+    }
+
+    /**
+     * Returns the number of recorded operations of the given kind in the group with the given name.
+     */
+    public long getCount(String structure, Operation operation) {
+        return getOrCreate(structure).getCount(operation);
+    }
+
+    /**
+     * Returns the histogram of latencies (in nanoseconds) of operations of the given kind in the group with the
+     * given name.
+     */
+    public Histogram getLatencies(String structure, Operation operation) {
+        return getOrCreate(structure).getLatencies(operation);
+    }
+
+    /**
+     * Returns the histogram of the recorded depths of the queue of lazy group element computations.
+     */
+    public Histogram getLazyQueueDepths() {
+        return lazyQueueDepths;
+    }
+
+    /**
+     * Resets all measurements.
+     */
+    public void reset() {
+        structures.values().forEach(StructureMetrics::reset);
+        lazyQueueDepths.reset();
+    }
+
+    /**
+     * Returns the measurements of all groups (by name), as well as the lazy queue depths.
+     */
+    @Override
+    public Representation getRepresentation() {
+        ObjectRepresentation structuresRepr = new ObjectRepresentation();
+        structures.forEach((name, metrics) -> structuresRepr.put(name, metrics.getRepresentation()));
+        return new ObjectRepresentation(
+                "structures", structuresRepr,
+                "lazyQueueDepths", lazyQueueDepths.getRepresentation()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+
+/**
+ * Global switch for recording group operation metrics.
+ * <p>
+ * Once a {@link MetricsRecorder} is installed via {@link #setRecorder(MetricsRecorder)}, the following is recorded:
+ * <ul>
+ *     <li>(multi-)exponentiations and precomputation usage of every
+ *     {@link org.cryptimeleon.math.structures.groups.lazy.LazyGroup} and
+ *     {@link org.cryptimeleon.math.structures.groups.basic.BasicGroup}, as well as the queue depth of the
+ *     background computation of lazy group elements,</li>
+ *     <li>group operations, squarings, inversions, pairings and hashes of groups and bilinear groups wrapped by
+ *     {@link InstrumentedGroupImpl} and {@link InstrumentedBilinearGroupImpl}.</li>
+ * </ul>
+ * Group operations done as part of (multi-)exponentiations are recorded as well.
+ * <p>
+ * Without a recorder (the default), instrumented code only checks for a recorder, i.e. the overhead is a single
+ * volatile read per operation.
+ */
+public final class GroupMetrics {
+    private static volatile MetricsRecorder recorder = null;
+
+    private GroupMetrics() {
+
+    }
+
+    /**
+     * Installs the given recorder, replacing the current one.
+     *
+     * @param recorder the recorder to pass measurements to, or null to disable recording
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        GroupMetrics.recorder = recorder;
+    }
+
+    /**
+     * Returns the currently installed recorder, or null if recording is disabled.
+     */
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Returns true if a recorder is installed.
+     */
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Returns the name under which measurements concerning the given group are recorded, i.e. the name of an
+     * {@link InstrumentedGroupImpl}, or the simple class name for other groups.
+     */
+    public static String getStructureName(GroupImpl group) {
+        if (group instanceof InstrumentedGroupImpl)
+            return ((InstrumentedGroupImpl) group).getName();
+        return group.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,156 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ListRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of non-negative values (e.g. latencies in nanoseconds) with exponentially growing buckets.
+ * <p>
+ * Bucket 0 counts the value 0, bucket {@code i > 0} counts the values in {@code [2^(i-1), 2^i)}.
+ * Negative values are counted as 0.
+ */
+public class Histogram implements Representable {
+    private static final int NUM_BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[NUM_BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Returns the index of the bucket counting the given value.
+     */
+    static int getBucketIndex(long value) {
+        return value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Returns the largest value counted by the bucket with the given index.
+     */
+    public static long getBucketUpperBound(int index) {
+        return index == 0 ? 0 : index == NUM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << index) - 1;
+    }
+
+    /**
+     * Counts the given value.
+     */
+    public void record(long value) {
+        buckets[getBucketIndex(value)].increment();
+        if (value > 0) {
+            sum.add(value);
+            max.accumulate(value);
+        }
+    }
+
+    /**
+     * Returns the number of counted values.
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets)
+            count += bucket.sum();
+        return count;
+    }
+
+    /**
+     * Returns the sum of all counted values.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the largest counted value, or 0 if no value has been counted.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the counted values, or 0 if no value has been counted.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * Returns the number of values counted by each bucket, up to the last nonempty bucket.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[NUM_BUCKETS];
+        int length = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            if (counts[i] != 0)
+                length = i + 1;
+        }
+        long[] result = new long[length];
+        System.arraycopy(counts, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Returns an upper bound for the given quantile of the counted values, namely the upper bound of the bucket
+     * containing it (but at most the largest counted value).
+     *
+     * @param quantile the quantile, between 0 and 1 (e.g. 0.99 for the 99th percentile)
+     */
+    public long getQuantileUpperBound(double quantile) {
+        if (quantile < 0 || quantile > 1)
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long count : counts)
+            total += count;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0)
+                return Math.min(getBucketUpperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Resets all buckets.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets)
+            bucket.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns count, sum, maximum and bucket counts of this histogram.
+     */
+    @Override
+    public Representation getRepresentation() {
+        ListRepresentation bucketCounts = new ListRepresentation();
+        for (long count : getBucketCounts())
+            bucketCounts.add(new BigIntegerRepresentation(count));
+        ObjectRepresentation repr = new ObjectRepresentation();
+        repr.put("count", new BigIntegerRepresentation(getCount()));
+        repr.put("sum", new BigIntegerRepresentation(getSum()));
+        repr.put("max", new BigIntegerRepresentation(getMax()));
+        repr.put("buckets", bucketCounts);
+        return repr;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram(count=%d, mean=%.1f, max=%d)", getCount(), getMean(), getMax());
+    }
+}
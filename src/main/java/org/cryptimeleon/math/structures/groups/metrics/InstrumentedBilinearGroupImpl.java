@@ -0,0 +1,154 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.GroupHomomorphismImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+
+import java.util.Objects;
+
+/**
+ * A {@link BilinearGroupImpl} wrapper reporting group operations, pairings and hash evaluations of the wrapped
+ * bilinear group to the {@link MetricsRecorder} installed via {@link GroupMetrics#setRecorder(MetricsRecorder)}.
+ * <p>
+ * The groups are recorded as "G1", "G2", "GT" and the pairing as "e", each prefixed by the name of this bilinear group
+ * and a dot (if the name is not empty).
+ * For example, {@code new LazyBilinearGroup(new InstrumentedBilinearGroupImpl(impl))} can be used in place of
+ * {@code new LazyBilinearGroup(impl)}.
+ *
+ * @see InstrumentedGroupImpl
+ */
+public class InstrumentedBilinearGroupImpl implements BilinearGroupImpl {
+    /**
+     * The name prefixed to the names under which measurements are recorded.
+     */
+    @Represented
+    private String name;
+
+    @Represented
+    private BilinearGroupImpl impl;
+
+    private InstrumentedGroupImpl g1, g2, gT;
+    private InstrumentedBilinearMapImpl bilinearMap;
+
+    /**
+     * Wraps the given bilinear group, recording measurements under the names "G1", "G2", "GT" and "e".
+     */
+    public InstrumentedBilinearGroupImpl(BilinearGroupImpl impl) {
+        this("", impl);
+    }
+
+    /**
+     * Wraps the given bilinear group.
+     *
+     * @param name the name prefixed to the names under which measurements are recorded
+     * @param impl the bilinear group to wrap
+     */
+    public InstrumentedBilinearGroupImpl(String name, BilinearGroupImpl impl) {
+        this.name = name;
+        this.impl = impl;
+        init();
+    }
+
+    public InstrumentedBilinearGroupImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+        init();
+    }
+
+    private void init() {
+        g1 = new InstrumentedGroupImpl(qualify("G1"), impl.getG1());
+        g2 = impl.getPairingType() == BilinearGroup.Type.TYPE_1
+                ? g1
+                : new InstrumentedGroupImpl(qualify("G2"), impl.getG2());
+        gT = new InstrumentedGroupImpl(qualify("GT"), impl.getGT());
+        bilinearMap = new InstrumentedBilinearMapImpl(qualify("e"), impl.getBilinearMap(), g1, g2, gT);
+    }
+
+    private String qualify(String groupName) {
+        return name.isEmpty() ? groupName : name + "." + groupName;
+    }
+
+    /**
+     * Returns the wrapped bilinear group.
+     */
+    public BilinearGroupImpl getImpl() {
+        return impl;
+    }
+
+    @Override
+    public InstrumentedGroupImpl getG1() {
+        return g1;
+    }
+
+    @Override
+    public InstrumentedGroupImpl getG2() {
+        return g2;
+    }
+
+    @Override
+    public InstrumentedGroupImpl getGT() {
+        return gT;
+    }
+
+    @Override
+    public BilinearMapImpl getBilinearMap() {
+        return bilinearMap;
+    }
+
+    @Override
+    public GroupHomomorphismImpl getHomomorphismG2toG1() throws UnsupportedOperationException {
+        return new InstrumentedGroupHomomorphismImpl(impl.getHomomorphismG2toG1(), g1);
+    }
+
+    @Override
+    public HashIntoGroupImpl getHashIntoG1() throws UnsupportedOperationException {
+        return new InstrumentedHashIntoGroupImpl(impl.getHashIntoG1(), g1);
+    }
+
+    @Override
+    public HashIntoGroupImpl getHashIntoG2() throws UnsupportedOperationException {
+        return new InstrumentedHashIntoGroupImpl(impl.getHashIntoG2(), g2);
+    }
+
+    @Override
+    public HashIntoGroupImpl getHashIntoGT() throws UnsupportedOperationException {
+        return new InstrumentedHashIntoGroupImpl(impl.getHashIntoGT(), gT);
+    }
+
+    @Override
+    public Integer getSecurityLevel() {
+        return impl.getSecurityLevel();
+    }
+
+    @Override
+    public BilinearGroup.Type getPairingType() {
+        return impl.getPairingType();
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedBilinearGroupImpl that = (InstrumentedBilinearGroupImpl) o;
+        return name.equals(that.name) && impl.equals(that.impl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, impl);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + String.format("(name=%s, impl=%s)", name, impl);
+    }
+}
@@ -0,0 +1,93 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * A {@link BilinearMapImpl} wrapper reporting pairing evaluations of the wrapped map
+ * to the {@link MetricsRecorder} installed via {@link GroupMetrics#setRecorder(MetricsRecorder)}.
+ * <p>
+ * Operates on the elements of the {@link InstrumentedGroupImpl}s wrapping the source and target groups of the map.
+ */
+public class InstrumentedBilinearMapImpl implements BilinearMapImpl {
+    private final String name;
+    private final BilinearMapImpl impl;
+    private final InstrumentedGroupImpl g1, g2, gT;
+
+    /**
+     * Wraps the given bilinear map.
+     *
+     * @param name the name under which pairings are recorded
+     * @param impl the bilinear map to wrap
+     * @param g1 the instrumented first source group of the map
+     * @param g2 the instrumented second source group of the map
+     * @param gT the instrumented target group of the map
+     */
+    public InstrumentedBilinearMapImpl(String name, BilinearMapImpl impl, InstrumentedGroupImpl g1,
+                                       InstrumentedGroupImpl g2, InstrumentedGroupImpl gT) {
+        this.name = name;
+        this.impl = impl;
+        this.g1 = g1;
+        this.g2 = g2;
+        this.gT = gT;
+    }
+
+    @Override
+    public GroupElementImpl apply(GroupElementImpl g1, GroupElementImpl g2, BigInteger exponent) {
+        GroupElementImpl lhs = InstrumentedGroupImpl.unwrap(g1);
+        GroupElementImpl rhs = InstrumentedGroupImpl.unwrap(g2);
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return gT.wrap(impl.apply(lhs, rhs, exponent));
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.apply(lhs, rhs, exponent);
+        recorder.recordOperation(name, Operation.PAIRING, System.nanoTime() - start);
+        return gT.wrap(result);
+    }
+
+    @Override
+    public GroupElementImpl apply(GroupElementImpl g1, GroupElementImpl g2) {
+        GroupElementImpl lhs = InstrumentedGroupImpl.unwrap(g1);
+        GroupElementImpl rhs = InstrumentedGroupImpl.unwrap(g2);
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return gT.wrap(impl.apply(lhs, rhs));
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.apply(lhs, rhs);
+        recorder.recordOperation(name, Operation.PAIRING, System.nanoTime() - start);
+        return gT.wrap(result);
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return impl.isSymmetric();
+    }
+
+    /**
+     * Returns the wrapped bilinear map.
+     */
+    public BilinearMapImpl getImpl() {
+        return impl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedBilinearMapImpl that = (InstrumentedBilinearMapImpl) o;
+        return name.equals(that.name) && impl.equals(that.impl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, impl);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + String.format("(name=%s, impl=%s)", name, impl);
+    }
+}
@@ -0,0 +1,127 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.hash.ByteAccumulator;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * An element of an {@link InstrumentedGroupImpl}, reporting operations on it to the installed
+ * {@link MetricsRecorder}.
+ */
+public class InstrumentedGroupElementImpl implements GroupElementImpl {
+    private final InstrumentedGroupImpl group;
+    private final GroupElementImpl impl;
+
+    public InstrumentedGroupElementImpl(InstrumentedGroupImpl group, GroupElementImpl impl) {
+        this.group = group;
+        this.impl = impl;
+    }
+
+    /**
+     * Returns the wrapped element.
+     */
+    public GroupElementImpl getImpl() {
+        return impl;
+    }
+
+    @Override
+    public InstrumentedGroupImpl getStructure() {
+        return group;
+    }
+
+    @Override
+    public GroupElementImpl inv() {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return group.wrap(impl.inv());
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.inv();
+        recorder.recordOperation(group.getName(), Operation.INV, System.nanoTime() - start);
+        return group.wrap(result);
+    }
+
+    @Override
+    public GroupElementImpl op(GroupElementImpl e) throws IllegalArgumentException {
+        GroupElementImpl other = InstrumentedGroupImpl.unwrap(e);
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return group.wrap(impl.op(other));
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.op(other);
+        recorder.recordOperation(group.getName(), Operation.OP, System.nanoTime() - start);
+        return group.wrap(result);
+    }
+
+    @Override
+    public GroupElementImpl square() {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return group.wrap(impl.square());
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.square();
+        recorder.recordOperation(group.getName(), Operation.SQUARE, System.nanoTime() - start);
+        return group.wrap(result);
+    }
+
+    @Override
+    public GroupElementImpl pow(BigInteger k) {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return group.wrap(impl.pow(k));
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.pow(k);
+        recorder.recordOperation(group.getName(), Operation.EXP, System.nanoTime() - start);
+        return group.wrap(result);
+    }
+
+    @Override
+    public boolean isNeutralElement() {
+        return impl.isNeutralElement();
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return impl.getRepresentation();
+    }
+
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        impl.writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        return impl.getEncodedLength();
+    }
+
+    @Override
+    public ByteAccumulator updateAccumulator(ByteAccumulator accumulator) {
+        return impl.updateAccumulator(accumulator);
+    }
+
+    @Override
+    public byte[] getUniqueByteRepresentation() {
+        return impl.getUniqueByteRepresentation();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedGroupElementImpl that = (InstrumentedGroupElementImpl) o;
+        return group.equals(that.group) && impl.equals(that.impl);
+    }
+
+    @Override
+    public int hashCode() {
+        return impl.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return impl.toString();
+    }
+}
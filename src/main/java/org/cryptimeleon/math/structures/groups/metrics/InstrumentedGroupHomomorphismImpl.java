@@ -0,0 +1,63 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.GroupHomomorphismImpl;
+
+import java.util.Objects;
+
+/**
+ * A {@link GroupHomomorphismImpl} wrapper mapping between {@link InstrumentedGroupImpl}s.
+ * <p>
+ * Evaluations of the homomorphism itself are not recorded.
+ */
+public class InstrumentedGroupHomomorphismImpl implements GroupHomomorphismImpl {
+    @Represented
+    private GroupHomomorphismImpl impl;
+
+    /**
+     * The instrumented group wrapping the wrapped homomorphism's target group.
+     */
+    @Represented
+    private InstrumentedGroupImpl target;
+
+    /**
+     * Wraps the given homomorphism.
+     *
+     * @param impl the homomorphism to wrap
+     * @param target the instrumented group wrapping the target group of {@code impl}
+     */
+    public InstrumentedGroupHomomorphismImpl(GroupHomomorphismImpl impl, InstrumentedGroupImpl target) {
+        this.impl = impl;
+        this.target = target;
+    }
+
+    public InstrumentedGroupHomomorphismImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+    }
+
+    @Override
+    public GroupElementImpl apply(GroupElementImpl elem) {
+        return target.wrap(impl.apply(InstrumentedGroupImpl.unwrap(elem)));
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedGroupHomomorphismImpl that = (InstrumentedGroupHomomorphismImpl) o;
+        return impl.equals(that.impl) && target.equals(that.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(impl, target);
+    }
+}
@@ -0,0 +1,158 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link GroupImpl} wrapper reporting the group operations, squarings and inversions of the wrapped group
+ * to the {@link MetricsRecorder} installed via {@link GroupMetrics#setRecorder(MetricsRecorder)}.
+ * <p>
+ * Computes exactly the same elements as the wrapped group, each wrapped in an
+ * {@link InstrumentedGroupElementImpl}. For example, {@code new LazyGroup(new InstrumentedGroupImpl("G1", impl))}
+ * can be used in place of {@code new LazyGroup(impl)}.
+ * (Multi-)exponentiations are always computed by the generic algorithms (so that their group operations are recorded),
+ * even if the wrapped group {@linkplain GroupImpl#implementsOwnExp() implements its own}.
+ */
+public class InstrumentedGroupImpl implements GroupImpl {
+    /**
+     * The name under which measurements are recorded.
+     */
+    @Represented
+    private String name;
+
+    @Represented
+    private GroupImpl impl;
+
+    /**
+     * Wraps the given group.
+     *
+     * @param name the name under which measurements are recorded
+     * @param impl the group to wrap
+     */
+    public InstrumentedGroupImpl(String name, GroupImpl impl) {
+        this.name = name;
+        this.impl = impl;
+    }
+
+    public InstrumentedGroupImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+    }
+
+    /**
+     * Returns the name under which measurements are recorded.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the wrapped group.
+     */
+    public GroupImpl getImpl() {
+        return impl;
+    }
+
+    /**
+     * Wraps an element of the wrapped group.
+     */
+    public InstrumentedGroupElementImpl wrap(GroupElementImpl elem) {
+        return new InstrumentedGroupElementImpl(this, elem);
+    }
+
+    /**
+     * Returns the element of the wrapped group that the given element wraps.
+     *
+     * @throws IllegalArgumentException if the given element is not an {@link InstrumentedGroupElementImpl}
+     */
+    static GroupElementImpl unwrap(GroupElementImpl elem) {
+        if (!(elem instanceof InstrumentedGroupElementImpl))
+            throw new IllegalArgumentException("Not an instrumented group element: " + elem);
+        return ((InstrumentedGroupElementImpl) elem).getImpl();
+    }
+
+    @Override
+    public GroupElementImpl getNeutralElement() {
+        return wrap(impl.getNeutralElement());
+    }
+
+    @Override
+    public GroupElementImpl getUniformlyRandomElement() throws UnsupportedOperationException {
+        return wrap(impl.getUniformlyRandomElement());
+    }
+
+    @Override
+    public GroupElementImpl getUniformlyRandomNonNeutral() throws UnsupportedOperationException {
+        return wrap(impl.getUniformlyRandomNonNeutral());
+    }
+
+    @Override
+    public GroupElementImpl restoreElement(Representation repr) {
+        return wrap(impl.restoreElement(repr));
+    }
+
+    @Override
+    public GroupElementImpl readElement(ByteBuffer buffer) {
+        return wrap(impl.readElement(buffer));
+    }
+
+    @Override
+    public GroupElementImpl getGenerator() throws UnsupportedOperationException {
+        return wrap(impl.getGenerator());
+    }
+
+    @Override
+    public boolean isCommutative() {
+        return impl.isCommutative();
+    }
+
+    @Override
+    public BigInteger size() throws UnsupportedOperationException {
+        return impl.size();
+    }
+
+    @Override
+    public boolean hasPrimeSize() {
+        return impl.hasPrimeSize();
+    }
+
+    @Override
+    public double estimateCostInvPerOp() {
+        return impl.estimateCostInvPerOp();
+    }
+
+    @Override
+    public Optional<Integer> getUniqueByteLength() {
+        return impl.getUniqueByteLength();
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedGroupImpl that = (InstrumentedGroupImpl) o;
+        return name.equals(that.name) && impl.equals(that.impl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, impl);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + String.format("(name=%s, impl=%s)", name, impl);
+    }
+}
@@ -0,0 +1,90 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link HashIntoGroupImpl} wrapper reporting hash evaluations to the {@link MetricsRecorder} installed via
+ * {@link GroupMetrics#setRecorder(MetricsRecorder)}, hashing into an {@link InstrumentedGroupImpl}.
+ */
+public class InstrumentedHashIntoGroupImpl implements HashIntoGroupImpl {
+    @Represented
+    private HashIntoGroupImpl impl;
+
+    /**
+     * The instrumented group wrapping the wrapped hash function's target group.
+     */
+    @Represented
+    private InstrumentedGroupImpl group;
+
+    /**
+     * Wraps the given hash function.
+     *
+     * @param impl the hash function to wrap
+     * @param group the instrumented group wrapping the target group of {@code impl}
+     */
+    public InstrumentedHashIntoGroupImpl(HashIntoGroupImpl impl, InstrumentedGroupImpl group) {
+        this.impl = impl;
+        this.group = group;
+    }
+
+    public InstrumentedHashIntoGroupImpl(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+    }
+
+    @Override
+    public GroupElementImpl hashIntoGroupImpl(byte[] x) {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        if (recorder == null)
+            return group.wrap(impl.hashIntoGroupImpl(x));
+        long start = System.nanoTime();
+        GroupElementImpl result = impl.hashIntoGroupImpl(x);
+        recorder.recordOperation(group.getName(), Operation.HASH, System.nanoTime() - start);
+        return group.wrap(result);
+    }
+
+    /**
+     * Hashes the given byte arrays as a batch using the wrapped hash function.
+     * Each hash is recorded with the average time per hash.
+     */
+    @Override
+    public List<GroupElementImpl> hashIntoGroupImpl(List<byte[]> xs) {
+        MetricsRecorder recorder = GroupMetrics.getRecorder();
+        long start = recorder == null ? 0 : System.nanoTime();
+        List<GroupElementImpl> hashes = impl.hashIntoGroupImpl(xs);
+        if (recorder != null && !xs.isEmpty()) {
+            long nanosPerHash = (System.nanoTime() - start) / xs.size();
+            for (int i = 0; i < xs.size(); i++)
+                recorder.recordOperation(group.getName(), Operation.HASH, nanosPerHash);
+        }
+        List<GroupElementImpl> result = new ArrayList<>(hashes.size());
+        for (GroupElementImpl hash : hashes)
+            result.add(group.wrap(hash));
+        return result;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstrumentedHashIntoGroupImpl that = (InstrumentedHashIntoGroupImpl) o;
+        return impl.equals(that.impl) && group.equals(that.group);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(impl, group);
+    }
+}
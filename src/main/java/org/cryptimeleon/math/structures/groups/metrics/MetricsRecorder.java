@@ -0,0 +1,56 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+/**
+ * Receives measurements of group operations, see {@link GroupMetrics}.
+ * <p>
+ * This is the extension point for connecting the measurements to a monitoring system (e.g. a metrics library or
+ * Java Flight Recorder events). {@link CollectingMetricsRecorder} simply collects them in memory.
+ * <p>
+ * Implementations must be thread-safe and should be fast, since they are called for every single operation.
+ * All methods do nothing by default.
+ */
+public interface MetricsRecorder {
+    /**
+     * Records that an operation has been computed.
+     *
+     * @param structure the name of the group (or bilinear map) the operation has been computed in
+     * @param operation the kind of operation
+     * @param nanos the time the operation took in nanoseconds
+     */
+    default void recordOperation(String structure, Operation operation, long nanos) {
+
+    }
+
+    /**
+     * Records that a multi-exponentiation has been computed.
+     *
+     * @param structure the name of the group the multi-exponentiation has been computed in
+     * @param numTerms the number of terms (bases) in the multi-exponentiation
+     * @param nanos the time the multi-exponentiation took in nanoseconds
+     */
+    default void recordMultiExp(String structure, int numTerms, long nanos) {
+
+    }
+
+    /**
+     * Records whether a precomputation (see {@link org.cryptimeleon.math.structures.groups.GroupElement#precomputePow()})
+     * was available for a base of an exponentiation or multi-exponentiation.
+     *
+     * @param structure the name of the group the exponentiation has been computed in
+     * @param hit true if precomputed powers of the base were available
+     */
+    default void recordPrecomputation(String structure, boolean hit) {
+
+    }
+
+    /**
+     * Records the number of tasks waiting to be executed by the background computation of
+     * {@link org.cryptimeleon.math.structures.groups.lazy.LazyGroup} elements, measured whenever a new computation
+     * is requested via {@link org.cryptimeleon.math.structures.groups.GroupElement#compute()}.
+     *
+     * @param depth the number of queued tasks
+     */
+    default void recordLazyQueueDepth(int depth) {
+
+    }
+}
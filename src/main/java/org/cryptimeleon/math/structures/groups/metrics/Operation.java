@@ -0,0 +1,35 @@
+package org.cryptimeleon.math.structures.groups.metrics;
+
+/**
+ * The kinds of operations reported to a {@link MetricsRecorder}.
+ */
+public enum Operation {
+    /**
+     * A group operation (not including squarings).
+     */
+    OP,
+    /**
+     * A squaring.
+     */
+    SQUARE,
+    /**
+     * An inversion.
+     */
+    INV,
+    /**
+     * An exponentiation.
+     */
+    EXP,
+    /**
+     * A multi-exponentiation, see {@link MetricsRecorder#recordMultiExp(String, int, long)}.
+     */
+    MULTIEXP,
+    /**
+     * A pairing evaluation.
+     */
+    PAIRING,
+    /**
+     * Hashing a value into a group.
+     */
+    HASH
+}
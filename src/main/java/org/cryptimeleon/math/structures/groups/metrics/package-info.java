@@ -0,0 +1,10 @@
+/**
+ * Contains an optional instrumentation layer recording operation counts and latencies of real group and
+ * bilinear map implementations (as opposed to {@link org.cryptimeleon.math.structures.groups.debug}, which replaces
+ * the arithmetic).
+ * <p>
+ * Measurements are passed to the {@link org.cryptimeleon.math.structures.groups.metrics.MetricsRecorder} installed
+ * via {@link org.cryptimeleon.math.structures.groups.metrics.GroupMetrics#setRecorder(MetricsRecorder)}.
+ * If no recorder is installed, nothing is measured.
+ */
+package org.cryptimeleon.math.structures.groups.metrics;
@@ -3,6 +3,7 @@ package org.cryptimeleon.math.structures.rings;
 import org.cryptimeleon.math.serialization.Representation;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * A commutative ring where every element except 0 has a multiplicative inverse.
@@ -30,6 +31,11 @@ public interface Field extends Ring {
     @Override
     FieldElement restoreElement(Representation repr);
 
+    @Override
+    default FieldElement readElement(ByteBuffer buffer) {
+        return (FieldElement) Ring.super.readElement(buffer);
+    }
+
     @Override
     FieldElement getElement(BigInteger i);
 
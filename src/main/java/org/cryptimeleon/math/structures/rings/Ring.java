@@ -1,5 +1,7 @@
 package org.cryptimeleon.math.structures.rings;
 
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.RepresentationRestorer;
 import org.cryptimeleon.math.structures.Structure;
@@ -8,6 +10,7 @@ import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 
 import java.lang.reflect.Type;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -57,12 +60,32 @@ public interface Ring extends Structure, RepresentationRestorer {
      * {@code Representation} of that vector.
      *
      * @param repr a representation of a {@code RingElementVector}
-     *             (obtained via {@link RingElementVector#getRepresentation()}).
+     *             (obtained via {@link RingElementVector#getRepresentation()} or {@link RingElementVector#getPackedRepresentation()}).
      */
     default RingElementVector restoreVector(Representation repr) {
+        if (repr instanceof ByteArrayRepresentation)
+            return RingElementVector.fromPackedRepresentation((ByteArrayRepresentation) repr, this);
         return RingElementVector.fromStream(repr.list().stream().map(this::restoreElement));
     }
 
+    @Override
+    default RingElement readElement(ByteBuffer buffer) {
+        return restoreElement(BinaryEncodable.readRepresentation(buffer));
+    }
+
+    /**
+     * Reads a {@link RingElementVector} containing elements of this ring from the given buffer.
+     *
+     * @param buffer the buffer to read from, starting at its current position
+     * @return the vector written by {@link RingElementVector#writeTo(ByteBuffer)}
+     */
+    default RingElementVector readVector(ByteBuffer buffer) {
+        RingElement[] result = new RingElement[buffer.getInt()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = readElement(buffer);
+        return new RingElementVector(result);
+    }
+
     @Override
     default Object restoreFromRepresentation(Type type, Representation repr) {
         if (type instanceof Class && RingElement.class.isAssignableFrom((Class) type))
@@ -3,14 +3,21 @@ package org.cryptimeleon.math.structures.rings.cartesian;
 import org.cryptimeleon.math.expressions.exponent.ExponentConstantExpr;
 import org.cryptimeleon.math.hash.ByteAccumulator;
 import org.cryptimeleon.math.hash.UniqueByteRepresentable;
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
 import org.cryptimeleon.math.serialization.ListRepresentation;
 import org.cryptimeleon.math.serialization.Representable;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.cartesian.ExponentExpressionVector;
+import org.cryptimeleon.math.structures.cartesian.PackedElementList;
 import org.cryptimeleon.math.structures.cartesian.Vector;
+import org.cryptimeleon.math.structures.rings.Ring;
 import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.ZnVectorArithmetic;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -19,7 +26,7 @@ import java.util.stream.Stream;
 /**
  * A vector of ring elements supporting element-wise ring operations with other ring element vectors.
  */
-public class RingElementVector extends Vector<RingElement> implements Representable, UniqueByteRepresentable {
+public class RingElementVector extends Vector<RingElement> implements BinaryEncodable, UniqueByteRepresentable {
 
     public RingElementVector(RingElement... values) {
         super(values);
@@ -41,7 +48,17 @@ public class RingElementVector extends Vector<RingElement> implements Representa
         super(vector);
     }
 
+    /**
+     * Computes the element-wise product of this vector and {@code other}.
+     * <p>
+     * If all entries are elements of the same {@link Zn}, this is done via {@link ZnVectorArithmetic}
+     * (in parallel for long vectors).
+     */
     public RingElementVector mul(Vector<? extends RingElement> other) {
+        List<? extends RingElement> otherValues = valuesOf(other);
+        Zn zn = ZnVectorArithmetic.getCommonRing(values, otherValues);
+        if (zn != null && length() == other.length())
+            return new RingElementVector(ZnVectorArithmetic.mul(zn, values, otherValues), true);
         return zip(other, RingElement::mul, RingElementVector::instantiateWithSafeArray);
     }
 
@@ -57,6 +74,20 @@ public class RingElementVector extends Vector<RingElement> implements Representa
         return map(g -> g.mul(factor), RingElementVector::instantiateWithSafeArray);
     }
 
+    /**
+     * Computes the element-wise sum of this vector and {@code other}.
+     * <p>
+     * If all entries are elements of the same {@link Zn}, this is done via {@link ZnVectorArithmetic}
+     * (in parallel for long vectors).
+     */
+    public RingElementVector add(Vector<? extends RingElement> other) {
+        List<? extends RingElement> otherValues = valuesOf(other);
+        Zn zn = ZnVectorArithmetic.getCommonRing(values, otherValues);
+        if (zn != null && length() == other.length())
+            return new RingElementVector(ZnVectorArithmetic.add(zn, values, otherValues), true);
+        return zip(other, RingElement::add, RingElementVector::instantiateWithSafeArray);
+    }
+
     public RingElementVector add(RingElement elem) {
         return map(g -> g.add(elem), RingElementVector::instantiateWithSafeArray);
     }
@@ -76,7 +107,19 @@ public class RingElementVector extends Vector<RingElement> implements Representa
                 RingElementVector::new);
     }
 
+    /**
+     * Computes the inner product of this vector and {@code rightHandSide}.
+     * <p>
+     * If all entries are elements of the same {@link Zn}, the products are summed up without intermediate
+     * reductions via {@link ZnVectorArithmetic#innerProduct(Zn, List, List)} (in parallel for long vectors).
+     *
+     * @param zeroElement the result for empty vectors
+     */
     public RingElement innerProduct(Vector<? extends RingElement> rightHandSide, RingElement zeroElement) {
+        List<? extends RingElement> otherValues = valuesOf(rightHandSide);
+        Zn zn = ZnVectorArithmetic.getCommonRing(values, otherValues);
+        if (zn != null && length() == rightHandSide.length())
+            return ZnVectorArithmetic.innerProduct(zn, values, otherValues);
         return zipReduce(rightHandSide, RingElement::mul, RingElement::add, zeroElement);
     }
 
@@ -88,6 +131,24 @@ public class RingElementVector extends Vector<RingElement> implements Representa
         return new RingElementVector(array, true);
     }
 
+    private static List<? extends RingElement> valuesOf(Vector<? extends RingElement> vector) {
+        return vector instanceof RingElementVector ? ((RingElementVector) vector).values : vector.toList();
+    }
+
+    /**
+     * Returns the vector of elements of {@code zn} with the given representatives (which are reduced mod n).
+     * <p>
+     * If {@code zn} is a {@link org.cryptimeleon.math.structures.rings.zn.WordZn} or
+     * {@link org.cryptimeleon.math.structures.rings.zn.WordZp} (see {@link Zn#of(BigInteger)}), the entries are
+     * stored densely as {@code long}s (see {@link ZnVectorArithmetic#valueOf(Zn, long...)}).
+     *
+     * @param zn the ring
+     * @param representatives the integer representatives of the entries
+     */
+    public static RingElementVector fromLongs(Zn zn, long... representatives) {
+        return new RingElementVector(ZnVectorArithmetic.valueOf(zn, representatives), true);
+    }
+
     public static RingElementVector iterate(RingElement initialValue, Function<RingElement, RingElement> nextValue, int n) {
         return Vector.iterate(initialValue, nextValue, n, RingElementVector::instantiateWithSafeArray);
     }
@@ -113,6 +174,48 @@ public class RingElementVector extends Vector<RingElement> implements Representa
         return new ListRepresentation(map(Representable::getRepresentation).toList());
     }
 
+    /**
+     * Returns a packed representation of this vector, consisting of a single byte array that contains
+     * the fixed-width {@link RingElement#writeTo(ByteBuffer)} encodings of all entries (see {@link PackedElementList}).
+     * <p>
+     * For large vectors of elements of the same ring, this is much more compact and faster to (de-)serialize
+     * than {@link #getRepresentation()}. Can be restored using {@link Ring#restoreVector(Representation)}.
+     */
+    public ByteArrayRepresentation getPackedRepresentation() {
+        return new ByteArrayRepresentation(PackedElementList.pack(values));
+    }
+
+    /**
+     * Restores a vector from its {@link #getPackedRepresentation()}.
+     * The entries are decoded lazily when they are first accessed.
+     *
+     * @param repr the packed representation
+     * @param ring the ring containing the vector entries
+     */
+    public static RingElementVector fromPackedRepresentation(ByteArrayRepresentation repr, Ring ring) {
+        return new RingElementVector(new PackedElementList<RingElement>(repr.get(), ring::readElement), true);
+    }
+
+    /**
+     * Writes the length of this vector (as an int), followed by the {@link RingElement#writeTo(ByteBuffer)} encodings
+     * of its entries. Can be read using {@link Ring#readVector(ByteBuffer)}
+     * if all entries are elements of the same ring.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(length());
+        for (int i = 0; i < length(); i++)
+            get(i).writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        int result = Integer.BYTES;
+        for (int i = 0; i < length(); i++)
+            result += get(i).getEncodedLength();
+        return result;
+    }
+
     @Override
     public RingElementVector pad(RingElement valueToPadWith, int desiredLength) {
         return new RingElementVector(super.pad(valueToPadWith, desiredLength));
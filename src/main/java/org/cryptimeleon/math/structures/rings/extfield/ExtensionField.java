@@ -5,10 +5,12 @@ import org.cryptimeleon.math.serialization.*;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.helpers.SquareRootEngine;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +23,8 @@ public class ExtensionField implements Field {
 
     //primitive cube root that is required for cube-root computation,
     private FieldElement cubeRoot = null;
+    //square roots and quadratic residuosity in this field, created on first use
+    private volatile SquareRootEngine squareRootEngine;
     protected FieldElement constant;
     protected int extensionDegree;
     protected PolynomialRing.Polynomial definingPolynomial;
@@ -133,6 +137,16 @@ public class ExtensionField implements Field {
         this.cubeRoot = cubeRoot;
     }
 
+    /**
+     * Returns the engine for computing square roots in this field, which caches the constants the algorithms need.
+     */
+    public SquareRootEngine getSquareRootEngine() {
+        SquareRootEngine engine = squareRootEngine;
+        if (engine == null)
+            squareRootEngine = engine = new SquareRootEngine(this);
+        return engine;
+    }
+
     /**
      * Search and set primitive cube root in this field.
      */
@@ -199,6 +213,15 @@ public class ExtensionField implements Field {
         return new ExtensionFieldElement(this, reduce(coefficients));
     }
 
+    @Override
+    public ExtensionFieldElement readElement(ByteBuffer buffer) {
+        Field baseField = constant.getStructure();
+        FieldElement[] coefficients = new FieldElement[extensionDegree];
+        for (int i = 0; i < extensionDegree; i++)
+            coefficients[i] = baseField.readElement(buffer);
+        return new ExtensionFieldElement(this, coefficients);
+    }
+
     @Override
     public ExtensionFieldElement getElement(BigInteger i) {
         return createElement(constant.getStructure().getElement(i));
@@ -10,6 +10,7 @@ import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -236,12 +237,36 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
             accumulationMethod.accept(coefficients[i]);
 
         for (int i = coefficients.length; i <= field.getExtensionDegree(); i++) //pad with zeros if the coefficients array is too short
-            accumulationMethod.accept(field.getConstant().getStructure().getZeroElement());
+            accumulationMethod.accept(field.getBaseField().getZeroElement());
 
         return accumulator;
 
     }
 
+    /**
+     * Writes the {@code extensionDegree} coefficients (using their {@link FieldElement#writeTo(ByteBuffer)}).
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        for (int i = 0; i < field.getExtensionDegree(); i++)
+            getCoefficient(i).writeTo(buffer);
+    }
+
+    @Override
+    public int getEncodedLength() {
+        int result = 0;
+        for (int i = 0; i < field.getExtensionDegree(); i++)
+            result += getCoefficient(i).getEncodedLength();
+        return result;
+    }
+
+    /**
+     * Returns the i-th coefficient, or zero if i exceeds the stored coefficients.
+     */
+    private FieldElement getCoefficient(int i) {
+        return i < coefficients.length ? coefficients[i] : field.getBaseField().getZeroElement();
+    }
+
     @Override
     public BigInteger asInteger() throws UnsupportedOperationException {
         if (coefficients.length == 0)
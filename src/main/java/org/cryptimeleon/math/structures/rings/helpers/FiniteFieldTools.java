@@ -1,10 +1,7 @@
 package org.cryptimeleon.math.structures.rings.helpers;
 
-import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 
-import java.math.BigInteger;
-
 /**
  * Contains miscellaneous methods for working with finite fields.
  */
@@ -12,86 +9,55 @@ public abstract class FiniteFieldTools {
 
     /**
      * Returns true iff there is an \(y\) in the same field such that \(y^2 = x\).
+     *
+     * @see SquareRootEngine#isSquare(FieldElement)
      */
     public static boolean isSquare(FieldElement x) {
-        if (x.isZero())
-            return true;
-
-        if (x.getStructure().getCharacteristic().equals(BigInteger.valueOf(2)))
-            throw new UnsupportedOperationException();
-
-        //for cyclic groups we can determine the Legendre symbol
-        return x.pow(x.getStructure().sizeUnitGroup().divide(new BigInteger("2"))).isOne();
-        /*
-         * Proof: Let q be the unit group size. q is even. Let g be a generator of the unit group, g^z = x.
-         * If x is a quadratic residue and y^2 = x, then x^(q/2) = (y^2)^(q/2) = 1.
-         * If x^(q/2) = 1, then g^(zq/2) = 1, i.e. zq/2 is a multiple of q (over the integers).
-         * Hence z must be even and so g^(z/2) is a square root of x.
-         */
+        return SquareRootEngine.of(x.getStructure()).isSquare(x);
     }
 
     /**
-     * Computes the square root of the given element.
+     * Inverts all given elements using Montgomery's trick, i.e. using a single field inversion and
+     * {@code 3(n-1)} multiplications instead of {@code n} inversions.
+     * <p>
+     * Zero elements are mapped to zero (like {@code inv0} in RFC 9380) and do not disturb the inversion of
+     * the other elements.
+     *
+     * @param elements the elements to invert, all from the same field
+     * @return an array containing the inverses of the given elements at the corresponding positions
      */
-    public static FieldElement sqrt(FieldElement element) {
-        if (!isSquare(element)) {
-            throw new ArithmeticException(element + "is not a square");
-        }
-
-        if (element.isZero())
-            return element;
-
-        /* order of multiplicative group of the field */
-        Field field = element.getStructure();
-        BigInteger q = field.sizeUnitGroup();
-        FieldElement t, r;
-
-        /* implementation of Tonelli-Shanks */
-
-        FieldElement z = field.getOneElement();
-
-        int m;
-
-        /*
-         * search non-deterministically for QNR
-         */
-        do {
-            z = field.getUniformlyRandomElement();
-        } while (isSquare(z) || z.isZero());
-
-        int s = 0;
-
-        while (!q.testBit(0)) {
-            q = q.shiftRight(1);
-            s++;
+    public static FieldElement[] batchInvert(FieldElement[] elements) {
+        FieldElement[] result = new FieldElement[elements.length];
+        // prefixProducts[i] contains the product of all nonzero elements before position i (or null if none)
+        FieldElement[] prefixProducts = new FieldElement[elements.length];
+        FieldElement product = null;
+        for (int i = 0; i < elements.length; i++) {
+            prefixProducts[i] = product;
+            if (!elements[i].isZero()) {
+                product = product == null ? elements[i] : product.mul(elements[i]);
+            }
         }
 
-        z = z.pow(q);
-
-        r = element.pow((q.add(BigInteger.valueOf(1)).divide(BigInteger.valueOf(2))));
-
-        t = element.pow(q);
-
-        m = s;
-
-        while (!t.isOne()) {
-            int i = 0;
-            FieldElement t_squared = t;
-            while (!t_squared.isOne()) {
-                i++;
-                t_squared = t_squared.mul(t_squared);
+        // productInv is the inverse of the product of all nonzero elements at positions <= i
+        FieldElement productInv = product == null ? null : product.inv();
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (elements[i].isZero()) {
+                result[i] = elements[i];
+                continue;
             }
-            FieldElement b = z;
-            for (int j = 0; j < m - i - 1; j++) {
-                b = b.mul(b);
-            }
-            r = r.mul(b);
-            b = b.mul(b);
-            t = t.mul(b);
-            z = b;
-            m = i;
+            result[i] = prefixProducts[i] == null ? productInv : productInv.mul(prefixProducts[i]);
+            productInv = productInv.mul(elements[i]);
         }
+        return result;
+    }
 
-        return r;
+    /**
+     * Computes the square root of the given element.
+     *
+     * @throws ArithmeticException if the element is not a square
+     * @see SquareRootEngine#sqrt(FieldElement)
+     */
+    public static FieldElement sqrt(FieldElement element) {
+        return SquareRootEngine.of(element.getStructure()).sqrt(element);
     }
 }
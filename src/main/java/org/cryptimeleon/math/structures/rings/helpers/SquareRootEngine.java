@@ -0,0 +1,440 @@
+package org.cryptimeleon.math.structures.rings.helpers;
+
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.zn.WordZp;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.math.BigInteger;
+
+/**
+ * Computes square roots and decides quadratic residuosity in a fixed finite field, caching everything that only
+ * depends on the field (exponents, a quadratic non-residue, etc.).
+ * <p>
+ * The square root algorithm is chosen according to the field size q:
+ * <ul>
+ *     <li>for \(q \equiv 3 \pmod 4\), \(\sqrt{a} = a^{(q+1)/4}\),</li>
+ *     <li>for \(q \equiv 5 \pmod 8\), Atkin's algorithm is used,</li>
+ *     <li>for quadratic {@link ExtensionField}s, the complex method reduces the computation to two square roots in
+ *     the base field,</li>
+ *     <li>otherwise, the Tonelli-Shanks algorithm is used with a fixed quadratic non-residue.</li>
+ * </ul>
+ * All algorithms are deterministic, i.e. the same root is returned for the same input.
+ * <p>
+ * Quadratic residuosity in {@link Zp} is decided by computing the Jacobi symbol using the binary algorithm, and in
+ * {@link ExtensionField}s by computing the Jacobi symbol of the norm of the element.
+ * Other fields use Euler's criterion.
+ * <p>
+ * Use {@link #of(Field)} to obtain the (cached) instance for a field.
+ *
+ * @see FiniteFieldTools
+ */
+public final class SquareRootEngine {
+    /**
+     * The number of small elements that are tried (deterministically) when searching for a quadratic non-residue.
+     */
+    private static final int MAX_NON_RESIDUE_CANDIDATES = 64;
+
+    private enum Method {
+        /**
+         * Characteristic 2, every element is a square and \(\sqrt{a} = a^{q/2}\).
+         */
+        CHARACTERISTIC_TWO,
+        /**
+         * \(q \equiv 3 \pmod 4\), \(\sqrt{a} = a^{(q+1)/4}\).
+         */
+        THREE_MOD_FOUR,
+        /**
+         * \(q \equiv 5 \pmod 8\), Atkin's algorithm.
+         */
+        FIVE_MOD_EIGHT,
+        /**
+         * Extension field of degree 1, delegates to the base field.
+         */
+        BASE_FIELD,
+        /**
+         * Extension field of degree 2, complex method.
+         */
+        COMPLEX,
+        /**
+         * Tonelli-Shanks.
+         */
+        TONELLI_SHANKS
+    }
+
+    private final Field field;
+    private final Method method;
+    /**
+     * The exponent for {@link Method#CHARACTERISTIC_TWO}, {@link Method#THREE_MOD_FOUR}, {@link Method#FIVE_MOD_EIGHT},
+     * and {@link Method#TONELLI_SHANKS} (see {@link #sqrt(FieldElement)}).
+     */
+    private final FixedExponentChain sqrtExponent;
+    /**
+     * Euler's criterion \((q-1)/2\), for fields without a faster residuosity test.
+     */
+    private final FixedExponentChain eulerExponent;
+
+    /**
+     * The engine of the base field, for extension fields.
+     */
+    private final SquareRootEngine baseFieldEngine;
+    /**
+     * The degree of the field over its prime field, for extension fields with a {@link Zp} at the bottom
+     * (and 0 otherwise).
+     */
+    private final int primeFieldDegree;
+
+    /**
+     * For {@link Method#COMPLEX}: \(\beta = X^2\) (a non-residue in the base field), \(\beta^{-1}\), and \(2^{-1}\).
+     */
+    private final FieldElement beta, betaInv, twoInv;
+
+    /**
+     * For {@link Method#TONELLI_SHANKS}: \(q - 1 = 2^s t\) with odd t, and \(z^t\) for a non-residue z
+     * (a generator of the Sylow 2-subgroup).
+     */
+    private final int s;
+    private final FieldElement nonResidueToT;
+
+    /**
+     * Precomputes the constants for the given finite field.
+     * <p>
+     * Usually, you want to use {@link #of(Field)} instead.
+     *
+     * @param field a finite field
+     */
+    public SquareRootEngine(Field field) {
+        this.field = field;
+        BigInteger q = field.size();
+        int qMod8 = q.intValue() & 7;
+
+        FieldElement beta = null, betaInv = null, twoInv = null;
+        int s = 0;
+        FieldElement nonResidueToT = null;
+        SquareRootEngine baseFieldEngine = null;
+        int primeFieldDegree = 0;
+        if (field instanceof ExtensionField) {
+            ExtensionField extensionField = (ExtensionField) field;
+            baseFieldEngine = of(extensionField.getBaseField());
+            int baseDegree = baseFieldEngine.field instanceof Zp ? 1 : baseFieldEngine.primeFieldDegree;
+            primeFieldDegree = baseDegree * extensionField.getExtensionDegree();
+        }
+
+        if (!q.testBit(0)) {
+            method = Method.CHARACTERISTIC_TWO;
+            sqrtExponent = new FixedExponentChain(q.shiftRight(1));
+        } else if (field instanceof ExtensionField && ((ExtensionField) field).isBaseField()) {
+            method = Method.BASE_FIELD;
+            sqrtExponent = null;
+        } else if ((qMod8 & 3) == 3) {
+            method = Method.THREE_MOD_FOUR;
+            sqrtExponent = new FixedExponentChain(q.add(BigInteger.ONE).shiftRight(2));
+        } else if (qMod8 == 5) {
+            method = Method.FIVE_MOD_EIGHT;
+            sqrtExponent = new FixedExponentChain(q.shiftRight(3));
+        } else if (field instanceof ExtensionField && ((ExtensionField) field).getExtensionDegree() == 2) {
+            method = Method.COMPLEX;
+            sqrtExponent = null;
+            Field baseField = ((ExtensionField) field).getBaseField();
+            // X^2 + constant = 0
+            beta = ((ExtensionField) field).getConstant().neg();
+            betaInv = beta.inv();
+            twoInv = baseField.getElement(2).inv();
+        } else {
+            method = Method.TONELLI_SHANKS;
+            BigInteger t = q.subtract(BigInteger.ONE);
+            s = t.getLowestSetBit();
+            t = t.shiftRight(s);
+            sqrtExponent = new FixedExponentChain(t.shiftRight(1));
+        }
+        this.eulerExponent = method == Method.CHARACTERISTIC_TWO ? null
+                : new FixedExponentChain(q.shiftRight(1));
+        this.baseFieldEngine = baseFieldEngine;
+        this.primeFieldDegree = primeFieldDegree;
+        this.beta = beta;
+        this.betaInv = betaInv;
+        this.twoInv = twoInv;
+
+        if (method == Method.TONELLI_SHANKS) {
+            BigInteger t = q.subtract(BigInteger.ONE).shiftRight(s);
+            nonResidueToT = pow(findNonResidue(), new FixedExponentChain(t));
+        }
+        this.s = s;
+        this.nonResidueToT = nonResidueToT;
+    }
+
+    /**
+     * Returns the engine for the given field, which is cached by {@link Zp} and {@link ExtensionField}.
+     *
+     * @param field a finite field
+     */
+    public static SquareRootEngine of(Field field) {
+        if (field instanceof Zp)
+            return ((Zp) field).getSquareRootEngine();
+        if (field instanceof ExtensionField)
+            return ((ExtensionField) field).getSquareRootEngine();
+        return new SquareRootEngine(field);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns true iff there is a \(y\) in the field such that \(y^2 = x\).
+     *
+     * @param x an element of this engine's field
+     */
+    public boolean isSquare(FieldElement x) {
+        if (x.isZero() || method == Method.CHARACTERISTIC_TWO)
+            return true;
+
+        if (field instanceof Zp) {
+            if (x instanceof WordZp.WordZpElement)
+                return jacobiSymbol(((WordZp.WordZpElement) x).longValue(), field.size().longValue()) == 1;
+            return jacobiSymbol(((Zp.ZpElement) x).asInteger(), field.size()) == 1;
+        }
+
+        if (field instanceof ExtensionField) {
+            FieldElement[] coefficients = ((ExtensionFieldElement) x).getCoefficients();
+            if (method == Method.BASE_FIELD)
+                return baseFieldEngine.isSquare(coefficient(coefficients, 0));
+            if (((ExtensionField) field).getExtensionDegree() == 2) {
+                // x is a square iff its norm a0^2 - beta a1^2 is a square in the base field
+                FieldElement a0 = coefficient(coefficients, 0);
+                FieldElement a1 = coefficient(coefficients, 1);
+                FieldElement constant = ((ExtensionField) field).getConstant();
+                return baseFieldEngine.isSquare(a0.square().add(constant.mul(a1.square())));
+            }
+            if (primeFieldDegree > 0) {
+                // x is a square iff its norm over the prime field (the product of its conjugates) is a square
+                FieldElement conjugate = x;
+                FieldElement norm = x;
+                for (int i = 1; i < primeFieldDegree; i++) {
+                    conjugate = conjugate.applyFrobenius();
+                    norm = norm.mul(conjugate);
+                }
+                while (norm instanceof ExtensionFieldElement)
+                    norm = coefficient(((ExtensionFieldElement) norm).getCoefficients(), 0);
+                return of(norm.getStructure()).isSquare(norm);
+            }
+        }
+
+        // Euler's criterion
+        return pow(x, eulerExponent).isOne();
+    }
+
+    /**
+     * Computes a square root of the given element.
+     *
+     * @param x an element of this engine's field
+     * @return an element \(y\) with \(y^2 = x\)
+     * @throws ArithmeticException if x is not a square
+     */
+    public FieldElement sqrt(FieldElement x) throws ArithmeticException {
+        if (x.isZero())
+            return x;
+
+        FieldElement result;
+        switch (method) {
+            case CHARACTERISTIC_TWO:
+                return pow(x, sqrtExponent);
+            case THREE_MOD_FOUR:
+                result = pow(x, sqrtExponent);
+                break;
+            case FIVE_MOD_EIGHT:
+                // Atkin's algorithm (2 is a non-residue): t = (2x)^((q-5)/8), i = 2x t^2, sqrt(x) = xt(i-1)
+                FieldElement twoX = x.add(x);
+                FieldElement t = pow(twoX, sqrtExponent);
+                FieldElement i = twoX.mul(t.square());
+                result = x.mul(t).mul(i.sub(field.getOneElement()));
+                break;
+            case BASE_FIELD:
+                return ((ExtensionField) field).createElement(
+                        baseFieldEngine.sqrt(coefficient(((ExtensionFieldElement) x).getCoefficients(), 0)));
+            case COMPLEX:
+                return complexSqrt((ExtensionFieldElement) x);
+            default:
+                return tonelliShanks(x);
+        }
+
+        if (!result.square().equals(x))
+            throw new ArithmeticException(x + " is not a square");
+        return result;
+    }
+
+    /**
+     * Computes the square root of \(x = a_0 + a_1 X\) in a quadratic extension with \(X^2 = \beta\):
+     * if \(x = (x_0 + x_1 X)^2\), then \(x_0^2 = (a_0 \pm \sqrt{a_0^2 - \beta a_1^2}) / 2\) and
+     * \(x_1 = a_1 / (2 x_0)\).
+     */
+    private FieldElement complexSqrt(ExtensionFieldElement x) {
+        ExtensionField extensionField = (ExtensionField) field;
+        FieldElement[] coefficients = x.getCoefficients();
+        FieldElement a0 = coefficient(coefficients, 0);
+        FieldElement a1 = coefficient(coefficients, 1);
+
+        if (a1.isZero()) {
+            // a0 is either a square in the base field, or a0 / beta is (as beta is a non-residue)
+            if (baseFieldEngine.isSquare(a0))
+                return extensionField.createElement(baseFieldEngine.sqrt(a0));
+            return extensionField.createElement(extensionField.getBaseField().getZeroElement(),
+                    baseFieldEngine.sqrt(a0.mul(betaInv)));
+        }
+
+        FieldElement alpha;
+        try {
+            alpha = baseFieldEngine.sqrt(a0.square().sub(beta.mul(a1.square())));
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException(x + " is not a square");
+        }
+        // the product of both candidates for x0^2 is beta (a1/2)^2, so exactly one of them is a square
+        FieldElement delta = a0.add(alpha).mul(twoInv);
+        if (!baseFieldEngine.isSquare(delta))
+            delta = delta.sub(alpha);
+        FieldElement x0 = baseFieldEngine.sqrt(delta);
+        FieldElement x1 = a1.mul(x0.add(x0).inv());
+        return extensionField.createElement(x0, x1);
+    }
+
+    /**
+     * Tonelli-Shanks with \(q - 1 = 2^s t\) and the precomputed \(z^t\).
+     */
+    private FieldElement tonelliShanks(FieldElement x) {
+        // w = x^((t-1)/2), r = x^((t+1)/2), b = x^t
+        FieldElement w = pow(x, sqrtExponent);
+        FieldElement r = x.mul(w);
+        FieldElement b = r.mul(w);
+        FieldElement c = nonResidueToT;
+        int m = s;
+
+        // invariant: r^2 = x b, the order of b is at most 2^(m-1) and c has order 2^m
+        while (!b.isOne()) {
+            int i = 0;
+            FieldElement bSquared = b;
+            while (!bSquared.isOne()) {
+                bSquared = bSquared.square();
+                i++;
+                if (i == m)
+                    throw new ArithmeticException(x + " is not a square");
+            }
+            FieldElement d = c;
+            for (int j = 0; j < m - i - 1; j++)
+                d = d.square();
+            r = r.mul(d);
+            c = d.square();
+            b = b.mul(c);
+            m = i;
+        }
+        return r;
+    }
+
+    /**
+     * Returns a quadratic non-residue, trying small elements (or \(i + X\) for extension fields) first so that the
+     * result does not depend on randomness.
+     */
+    private FieldElement findNonResidue() {
+        for (int i = 0; i < MAX_NON_RESIDUE_CANDIDATES; i++) {
+            FieldElement candidate;
+            if (field instanceof ExtensionField && !((ExtensionField) field).isBaseField()) {
+                Field baseField = ((ExtensionField) field).getBaseField();
+                candidate = ((ExtensionField) field).createElement(baseField.getElement(i), baseField.getOneElement());
+            } else {
+                candidate = field.getElement(i);
+            }
+            if (!candidate.isZero() && !isSquare(candidate))
+                return candidate;
+        }
+
+        FieldElement z;
+        do {
+            z = field.getUniformlyRandomElement();
+        } while (z.isZero() || isSquare(z));
+        return z;
+    }
+
+    /**
+     * Computes \(x^e\) for the fixed exponent e.
+     */
+    private FieldElement pow(FieldElement x, FixedExponentChain exponent) {
+        // Zp elements are exponentiated using BigInteger.modPow (or word arithmetic),
+        // which is faster than evaluating the chain with element operations
+        return field instanceof Zp ? x.pow(exponent.getExponent()) : exponent.pow(x);
+    }
+
+    private FieldElement coefficient(FieldElement[] coefficients, int i) {
+        return i < coefficients.length ? coefficients[i] : ((ExtensionField) field).getBaseField().getZeroElement();
+    }
+
+    /**
+     * Computes the Jacobi symbol \((a / n)\) using the binary algorithm, which only needs shifts and subtractions.
+     *
+     * @param a any integer
+     * @param n an odd positive integer
+     * @return the Jacobi symbol, i.e. -1, 0, or 1 (for a prime n, the Legendre symbol)
+     */
+    public static int jacobiSymbol(BigInteger a, BigInteger n) {
+        if (n.signum() <= 0 || !n.testBit(0))
+            throw new IllegalArgumentException("n must be odd and positive");
+        if (n.bitLength() < Long.SIZE - 1)
+            return jacobiSymbol(a.mod(n).longValue(), n.longValue());
+
+        a = a.mod(n);
+        int result = 1;
+        while (a.signum() != 0) {
+            // both values shrink, finish with the long version once they fit
+            if (n.bitLength() < Long.SIZE - 1 && a.bitLength() < Long.SIZE - 1)
+                return result * jacobiSymbol(a.longValue(), n.longValue());
+            // (2/n) = -1 iff n = 3, 5 mod 8
+            int zeros = a.getLowestSetBit();
+            a = a.shiftRight(zeros);
+            int nMod8 = n.intValue() & 7;
+            if ((zeros & 1) == 1 && (nMod8 == 3 || nMod8 == 5))
+                result = -result;
+            // both odd now; by quadratic reciprocity, (a/n) = -(n/a) iff a = n = 3 mod 4
+            if (a.compareTo(n) < 0) {
+                BigInteger tmp = a;
+                a = n;
+                n = tmp;
+                if ((a.intValue() & 3) == 3 && (n.intValue() & 3) == 3)
+                    result = -result;
+            }
+            a = a.subtract(n);
+        }
+        return n.equals(BigInteger.ONE) ? result : 0;
+    }
+
+    /**
+     * Computes the Jacobi symbol \((a / n)\) using the binary algorithm, which only needs shifts and subtractions.
+     *
+     * @param a any integer
+     * @param n an odd positive integer
+     * @return the Jacobi symbol, i.e. -1, 0, or 1 (for a prime n, the Legendre symbol)
+     */
+    public static int jacobiSymbol(long a, long n) {
+        if (n <= 0 || (n & 1) == 0)
+            throw new IllegalArgumentException("n must be odd and positive");
+
+        a = Math.floorMod(a, n);
+        int result = 1;
+        while (a != 0) {
+            int zeros = Long.numberOfTrailingZeros(a);
+            a >>>= zeros;
+            long nMod8 = n & 7;
+            if ((zeros & 1) == 1 && (nMod8 == 3 || nMod8 == 5))
+                result = -result;
+            if (a < n) {
+                long tmp = a;
+                a = n;
+                n = tmp;
+                if ((a & 3) == 3 && (n & 3) == 3)
+                    result = -result;
+            }
+            a -= n;
+        }
+        return n == 1 ? result : 0;
+    }
+}
@@ -0,0 +1,161 @@
+package org.cryptimeleon.math.structures.rings.polynomial;
+
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache for Lagrange coefficients, keyed by the set of interpolation points \(S\) and the evaluation
+ * point \(x\).
+ * <p>
+ * Useful if the same sets of points are interpolated over and over again, e.g. if threshold decryption
+ * repeatedly combines the shares of the same quorum.
+ * Once the cache holds {@link #getCapacity()} entries, the least recently used entry is evicted.
+ * <p>
+ * The cache keeps track of the number of hits and misses. It is safe to use from multiple threads.
+ * The coefficients are computed outside of any lock, so concurrent misses for the same key may compute them
+ * more than once.
+ *
+ * @see LagrangeUtils#computeCoefficients(Set, ZpElement)
+ */
+public class LagrangeCoefficientCache {
+    private final int capacity;
+    private final LruMap entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Creates an empty cache holding the coefficients for at most {@code capacity} pairs \((S, x)\).
+     *
+     * @param capacity the maximum number of cached coefficient sets, must be positive
+     */
+    public LagrangeCoefficientCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive, but is " + capacity);
+        this.capacity = capacity;
+        this.entries = new LruMap(capacity);
+    }
+
+    /**
+     * Returns the cached coefficients for \((S, x)\) or, if there are none, computes them using
+     * {@code coefficients} and caches them.
+     *
+     * @param S the set of interpolation points
+     * @param x the evaluation point
+     * @param coefficients computes the coefficients on a cache miss
+     * @return an unmodifiable map from each \(i \in S\) to \(\ell_i(x)\)
+     */
+    public Map<ZpElement, ZpElement> get(Set<ZpElement> S, ZpElement x,
+                                        Supplier<Map<ZpElement, ZpElement>> coefficients) {
+        Key key = new Key(S, x);
+        synchronized (this) {
+            Map<ZpElement, ZpElement> result = entries.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+        Map<ZpElement, ZpElement> result = Collections.unmodifiableMap(coefficients.get());
+        synchronized (this) {
+            entries.put(new Key(Collections.unmodifiableSet(new HashSet<>(S)), x), result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all cached coefficients. Does not reset the statistics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the maximum number of cached coefficient sets.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of currently cached coefficient sets.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that were not answered from the cache.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LagrangeCoefficientCache{" +
+                "size=" + entries.size() +
+                ", capacity=" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+
+    /**
+     * A map in access order that evicts its least recently used entry once it holds more than {@code capacity}
+     * entries.
+     */
+    private static final class LruMap extends LinkedHashMap<Key, Map<ZpElement, ZpElement>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Map<ZpElement, ZpElement>> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Key {
+        private final Set<ZpElement> points;
+        private final ZpElement x;
+        private final int hashCode;
+
+        Key(Set<ZpElement> points, ZpElement x) {
+            this.points = points;
+            this.x = x;
+            this.hashCode = Objects.hash(points, x);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hashCode == other.hashCode && x.equals(other.x) && points.equals(other.points);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
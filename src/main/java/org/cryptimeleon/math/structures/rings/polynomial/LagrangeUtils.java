@@ -1,11 +1,18 @@
 package org.cryptimeleon.math.structures.rings.polynomial;
 
+import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.math.BigInteger;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,6 +24,19 @@ import java.util.stream.Collectors;
  * For interpolating a polynomial given a set of known evaluations, see {@link PolynomialRing#getPoly(Map)}.
  */
 public class LagrangeUtils {
+    /**
+     * The number of coefficient sets cached by default.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 128;
+
+    /**
+     * From this number of points on, the denominators of the Lagrange coefficients are computed via a
+     * subproduct tree instead of pairwise differences.
+     */
+    private static final int FAST_DENOMINATOR_THRESHOLD = 1024;
+
+    private static volatile LagrangeCoefficientCache coefficientCache =
+            new LagrangeCoefficientCache(DEFAULT_CACHE_CAPACITY);
 
     /**
      * Given a set of group elements with a common basis whose exponents implicitly define a polynomial,
@@ -41,24 +61,21 @@ public class LagrangeUtils {
             throw new IllegalArgumentException("Set of known evaluations is empty");
         }
         // Given g_1 = g^p(1), ..., g_m = g^p(m), interpolate g^p(x) by calculating
-        // g^p(x) = g_1^l_1(x) op g_2^l_2(x) op ... op g_m^l_m(x)
-
-        // Calculate g_1^l_1(x)
-        Set<BigInteger> xcoordinates = givenElems.keySet();
-        Iterator<Map.Entry<BigInteger, GroupElement>> iterator = givenElems.entrySet().iterator();
-        Map.Entry<BigInteger, GroupElement> firstEntry = iterator.next();
-        Zp zp = (Zp) firstEntry.getValue().getStructure().getZn();
-        GroupElement result = firstEntry.getValue().pow(
-                computeCoefficient(firstEntry.getKey(), xcoordinates, newCoord, zp)
+        // g^p(x) = g_1^l_1(x) op g_2^l_2(x) op ... op g_m^l_m(x) as a single multi-exponentiation
+        Group group = givenElems.values().iterator().next().getStructure();
+        Zp zp = (Zp) group.getZn();
+        Map<ZpElement, ZpElement> coefficients = computeCoefficients(
+                givenElems.keySet().stream().map(zp::createZnElement).collect(Collectors.toSet()),
+                zp.createZnElement(newCoord)
         );
-        // Now do interpolation for rest of elements
-        while (iterator.hasNext()) {
-            Map.Entry<BigInteger, GroupElement> nextEntry = iterator.next();
-            result = result.op(nextEntry.getValue().pow(
-                    computeCoefficient(nextEntry.getKey(), xcoordinates, newCoord, zp)
-            ));
+
+        List<GroupElement> bases = new ArrayList<>(givenElems.size());
+        List<BigInteger> exponents = new ArrayList<>(givenElems.size());
+        for (Map.Entry<BigInteger, GroupElement> entry : givenElems.entrySet()) {
+            bases.add(entry.getValue());
+            exponents.add(coefficients.get(zp.createZnElement(entry.getKey())).asInteger());
         }
-        return result;
+        return group.multiexp(bases, exponents);
     }
 
     /**
@@ -68,22 +85,156 @@ public class LagrangeUtils {
      * @param S set of x coordinates
      * @param x x coordinate to evaluate the lagrange basis polynomial at
      * @return the lagrange basis polynomial evaluated at coordinate {@code x}
+     * @see #computeCoefficients(Set, ZpElement)
      */
     public static ZpElement computeCoefficient(ZpElement i, Set<ZpElement> S,
                                                   ZpElement x) {
-        ZpElement result = i.getStructure().getOneElement();
+        if (S.contains(i)) {
+            // usually, the coefficients for all i in S are needed, so compute (or look up) all of them at once
+            return computeCoefficients(S, x).get(i);
+        }
+        ZpElement numerator = i.getStructure().getOneElement();
+        ZpElement denominator = i.getStructure().getOneElement();
         for (ZpElement j : S) {
             if (j.equals(i)) {
                 continue;
             }
-            ZpElement numerator = x.sub(j);
-            ZpElement denominator = i.sub(j);
+            numerator = numerator.mul(x.sub(j));
+            denominator = denominator.mul(i.sub(j));
+        }
+        return numerator.div(denominator);
+    }
+
+    /**
+     * Computes the Lagrange coefficients \(\ell_i(x)\) for all \(i \in S\).
+     * <p>
+     * Uses the barycentric form \(\ell_i(x) = w_i \prod_{j \neq i} (x - j)\) with weights
+     * \(w_i = 1 / \prod_{j \neq i} (i - j)\), where all weights are computed with a single inversion
+     * (Montgomery's trick). Hence this takes \(O(|S|^2)\) multiplications but only one inversion
+     * (for large sets, the products \(\prod_{j \neq i} (i - j)\) are computed via a subproduct tree instead).
+     * <p>
+     * The result is cached in the {@link #getCoefficientCache() coefficient cache} (if enabled),
+     * so repeatedly interpolating with the same set of points only computes the coefficients once.
+     *
+     * @param S set of x coordinates, must not be empty
+     * @param x x coordinate to evaluate the lagrange basis polynomials at
+     * @return an unmodifiable map from each \(i \in S\) to \(\ell_i(x)\)
+     */
+    public static Map<ZpElement, ZpElement> computeCoefficients(Set<ZpElement> S, ZpElement x) {
+        if (S.isEmpty()) {
+            throw new IllegalArgumentException("Set of x coordinates is empty");
+        }
+        LagrangeCoefficientCache cache = coefficientCache;
+        if (cache == null) {
+            return Collections.unmodifiableMap(computeCoefficientsUncached(S, x));
+        }
+        return cache.get(S, x, () -> computeCoefficientsUncached(S, x));
+    }
+
+    /**
+     * Computes the Lagrange coefficients \(\ell_i(x)\) for all \(i \in S\) over the specified field.
+     *
+     * @param S set of x coordinates, must not be empty
+     * @param x x coordinate to evaluate the lagrange basis polynomials at
+     * @param field the field to do the computation over
+     * @return a map from each \(i \in S\) to \(\ell_i(x)\)
+     * @see #computeCoefficients(Set, ZpElement)
+     */
+    public static Map<BigInteger, BigInteger> computeCoefficients(Set<BigInteger> S, BigInteger x, Zp field) {
+        Map<ZpElement, ZpElement> coefficients = computeCoefficients(
+                S.stream().map(field::createZnElement).collect(Collectors.toSet()),
+                field.createZnElement(x)
+        );
+        Map<BigInteger, BigInteger> result = new HashMap<>();
+        for (BigInteger i : S) {
+            result.put(i, coefficients.get(field.createZnElement(i)).asInteger());
+        }
+        return result;
+    }
+
+    private static Map<ZpElement, ZpElement> computeCoefficientsUncached(Set<ZpElement> S, ZpElement x) {
+        ZpElement[] points = S.toArray(new ZpElement[0]);
+        int n = points.length;
+        Zp zp = points[0].getStructure();
+        Map<ZpElement, ZpElement> result = new HashMap<>();
+
+        if (S.contains(x)) {
+            // l_i(i) = 1 and l_i(j) = 0 for j != i
+            for (ZpElement i : points) {
+                result.put(i, i.equals(x) ? zp.getOneElement() : zp.getZeroElement());
+            }
+            return result;
+        }
+
+        // prefix[i] * suffix[i] = prod_{j != i} (x - x_j)
+        ZpElement[] prefix = new ZpElement[n];
+        ZpElement[] suffix = new ZpElement[n];
+        prefix[0] = zp.getOneElement();
+        for (int i = 1; i < n; i++) {
+            prefix[i] = prefix[i - 1].mul(x.sub(points[i - 1]));
+        }
+        suffix[n - 1] = zp.getOneElement();
+        for (int i = n - 2; i >= 0; i--) {
+            suffix[i] = suffix[i + 1].mul(x.sub(points[i + 1]));
+        }
 
-            result = result.mul(numerator.div(denominator));
+        FieldElement[] weights = FiniteFieldTools.batchInvert(computeDenominators(zp, points));
+        for (int i = 0; i < n; i++) {
+            result.put(points[i], prefix[i].mul(suffix[i]).mul(weights[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Computes \(\prod_{j \neq i} (x_i - x_j)\) for all points \(x_i\).
+     */
+    private static FieldElement[] computeDenominators(Zp zp, ZpElement[] points) {
+        FieldElement[] result = new FieldElement[points.length];
+        if (points.length < FAST_DENOMINATOR_THRESHOLD) {
+            for (int i = 0; i < points.length; i++) {
+                ZpElement denominator = zp.getOneElement();
+                for (int j = 0; j < points.length; j++) {
+                    if (j != i) {
+                        denominator = denominator.mul(points[i].sub(points[j]));
+                    }
+                }
+                result[i] = denominator;
+            }
+            return result;
+        }
+        // the denominators are m'(x_i) for m = prod_j (X - x_j)
+        SubproductTree tree = new SubproductTree(zp, points, false);
+        RingElement[] root = tree.getRoot();
+        RingElement[] derivative = new RingElement[root.length - 1];
+        for (int i = 1; i < root.length; i++) {
+            derivative[i - 1] = root[i].mul(BigInteger.valueOf(i));
+        }
+        RingElement[] values = tree.evaluate(derivative);
+        for (int i = 0; i < points.length; i++) {
+            result[i] = (FieldElement) values[i];
         }
         return result;
     }
 
+    /**
+     * Returns the cache used by {@link #computeCoefficients(Set, ZpElement)}, or null if caching is disabled.
+     * <p>
+     * By default, the coefficients for the {@value #DEFAULT_CACHE_CAPACITY} most recently used pairs \((S, x)\)
+     * are cached.
+     */
+    public static LagrangeCoefficientCache getCoefficientCache() {
+        return coefficientCache;
+    }
+
+    /**
+     * Sets the cache used by {@link #computeCoefficients(Set, ZpElement)}.
+     *
+     * @param cache the new cache, or null to disable caching
+     */
+    public static void setCoefficientCache(LagrangeCoefficientCache cache) {
+        coefficientCache = cache;
+    }
+
     /**
      * Compute the Lagrange coefficient \(\ell_j(x)\) over the specified field.
      *
@@ -0,0 +1,518 @@
+package org.cryptimeleon.math.structures.rings.polynomial;
+
+import org.cryptimeleon.math.structures.rings.Ring;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multiplication and division with remainder of polynomials given as coefficient arrays
+ * (in order from lowest exponent to highest, without null entries).
+ * <p>
+ * The algorithm is chosen by the size of the operands:
+ * <ul>
+ *     <li>small operands are multiplied with the schoolbook method,</li>
+ *     <li>larger operands over {@link Zn} are multiplied using number theoretic transforms (NTTs) modulo several
+ *     word-sized primes, from which the integer product of the coefficients is recovered using the Chinese remainder
+ *     theorem and then reduced modulo \(n\),</li>
+ *     <li>larger operands over other rings are multiplied with Karatsuba's method,</li>
+ *     <li>division uses schoolbook long division for small quotients or divisors and otherwise computes the quotient
+ *     from a power series inverse of the reversed divisor, obtained with Newton iteration.</li>
+ * </ul>
+ */
+final class PolynomialArithmetic {
+    /**
+     * Operands with fewer coefficients than this are multiplied with the schoolbook method.
+     */
+    static final int KARATSUBA_THRESHOLD = 32;
+
+    /**
+     * Operands over {@link Zn} with at least this many coefficients (each) are multiplied with NTTs.
+     */
+    static final int NTT_THRESHOLD = 32;
+
+    /**
+     * Newton iteration is used for division if both quotient and divisor have at least this many coefficients.
+     */
+    static final int NEWTON_THRESHOLD = 128;
+
+    private PolynomialArithmetic() {
+    }
+
+    /**
+     * Computes the product of the polynomials a and b.
+     *
+     * @param ring the ring of the coefficients
+     * @return the coefficients of the product, an array of length {@code a.length + b.length - 1}
+     */
+    static RingElement[] multiply(Ring ring, RingElement[] a, RingElement[] b) {
+        if (Math.min(a.length, b.length) < KARATSUBA_THRESHOLD)
+            return schoolbook(ring, a, 0, a.length, b, 0, b.length);
+        if (ring instanceof Zn && Math.min(a.length, b.length) >= NTT_THRESHOLD) {
+            RingElement[] result = NttMultiplier.multiply((Zn) ring, a, b);
+            if (result != null)
+                return result;
+        }
+        return karatsuba(ring, a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * Computes the product of the polynomials a and b modulo \(x^k\).
+     *
+     * @return the coefficients of the product modulo \(x^k\), an array of length {@code k}
+     */
+    static RingElement[] multiplyLow(Ring ring, RingElement[] a, RingElement[] b, int k) {
+        return resize(ring, multiply(ring, truncate(a, k), truncate(b, k)), k);
+    }
+
+    /**
+     * Computes the quotient and remainder of the division of a by b.
+     * The leading coefficient of b must be invertible.
+     *
+     * @return the quotient (of length {@code max(1, a.length - b.length + 1)}) and remainder
+     * (of length {@code max(1, b.length - 1)})
+     * @throws UnsupportedOperationException if the leading coefficient of b cannot be inverted
+     */
+    static RingElement[][] divideWithRemainder(Ring ring, RingElement[] a, RingElement[] b) {
+        // note that we require invertibility of the leading coefficient here
+        RingElement leadingInverse = b[b.length - 1].inv();
+        if (a.length < b.length)
+            return new RingElement[][] {{ring.getZeroElement()}, resize(ring, a, Math.max(1, b.length - 1))};
+
+        int quotientLength = a.length - b.length + 1;
+        if (Math.min(quotientLength, b.length) < NEWTON_THRESHOLD)
+            return longDivision(ring, a, b, leadingInverse);
+
+        // rev(a) = rev(q) rev(b) mod x^quotientLength
+        RingElement[] reverseInverse = inverseSeries(ring, reverse(b), leadingInverse, quotientLength);
+        RingElement[] quotient = reverse(multiplyLow(ring, reverse(a), reverseInverse, quotientLength));
+
+        // the remainder is a - bq, which is determined by its lowest b.length - 1 coefficients
+        RingElement[] bq = multiplyLow(ring, b, quotient, b.length - 1);
+        RingElement[] remainder = new RingElement[b.length - 1];
+        for (int i = 0; i < remainder.length; i++)
+            remainder[i] = a[i].sub(bq[i]);
+        return new RingElement[][] {quotient, remainder};
+    }
+
+    /**
+     * Schoolbook long division.
+     */
+    private static RingElement[][] longDivision(Ring ring, RingElement[] a, RingElement[] b,
+                                                RingElement leadingInverse) {
+        RingElement[] remainder = a.clone();
+        RingElement[] quotient = new RingElement[a.length - b.length + 1];
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            // eliminate the coefficient of x^(i + b.length - 1)
+            RingElement t = remainder[i + b.length - 1].mul(leadingInverse);
+            quotient[i] = t;
+            if (t.isZero())
+                continue;
+            for (int j = 0; j < b.length - 1; j++)
+                remainder[i + j] = remainder[i + j].sub(t.mul(b[j]));
+        }
+        if (b.length == 1)
+            return new RingElement[][] {quotient, {ring.getZeroElement()}};
+        return new RingElement[][] {quotient, Arrays.copyOf(remainder, b.length - 1)};
+    }
+
+    /**
+     * Computes the power series inverse of f modulo \(x^k\) using Newton iteration, i.e. the polynomial h
+     * with \(fh \equiv 1 \mod x^k\).
+     *
+     * @param constantInverse the inverse of the constant coefficient of f
+     */
+    static RingElement[] inverseSeries(Ring ring, RingElement[] f, RingElement constantInverse, int k) {
+        RingElement[] h = {constantInverse};
+        int precision = 1;
+        while (precision < k) {
+            int nextPrecision = Math.min(2 * precision, k);
+            // fh = 1 + x^precision e mod x^nextPrecision, then h' = h - x^precision (he mod x^(nextPrecision-precision))
+            RingElement[] fh = multiplyLow(ring, f, h, nextPrecision);
+            RingElement[] e = Arrays.copyOfRange(fh, precision, nextPrecision);
+            RingElement[] he = multiplyLow(ring, h, e, nextPrecision - precision);
+            RingElement[] next = Arrays.copyOf(h, nextPrecision);
+            for (int i = precision; i < nextPrecision; i++)
+                next[i] = he[i - precision].neg();
+            h = next;
+            precision = nextPrecision;
+        }
+        return h;
+    }
+
+    /**
+     * Schoolbook multiplication of {@code a[aOffset, aOffset + aLength)} and {@code b[bOffset, bOffset + bLength)}.
+     */
+    private static RingElement[] schoolbook(Ring ring, RingElement[] a, int aOffset, int aLength,
+                                            RingElement[] b, int bOffset, int bLength) {
+        RingElement[] result = new RingElement[aLength + bLength - 1];
+        for (int i = 0; i < aLength; i++) {
+            RingElement ai = a[aOffset + i];
+            if (ai.isZero())
+                continue;
+            for (int j = 0; j < bLength; j++) {
+                RingElement product = ai.mul(b[bOffset + j]);
+                result[i + j] = result[i + j] == null ? product : result[i + j].add(product);
+            }
+        }
+        return fillZeros(ring, result);
+    }
+
+    /**
+     * Karatsuba multiplication of {@code a[aOffset, aOffset + aLength)} and {@code b[bOffset, bOffset + bLength)}.
+     */
+    private static RingElement[] karatsuba(Ring ring, RingElement[] a, int aOffset, int aLength,
+                                           RingElement[] b, int bOffset, int bLength) {
+        if (aLength < bLength)
+            return karatsuba(ring, b, bOffset, bLength, a, aOffset, aLength);
+        if (bLength < KARATSUBA_THRESHOLD)
+            return schoolbook(ring, a, aOffset, aLength, b, bOffset, bLength);
+
+        int m = (aLength + 1) / 2;
+        RingElement[] result = new RingElement[aLength + bLength - 1];
+        if (bLength <= m) {
+            // unbalanced, multiply blocks of a with b
+            for (int i = 0; i < aLength; i += bLength) {
+                int blockLength = Math.min(bLength, aLength - i);
+                addInto(result, i, karatsuba(ring, a, aOffset + i, blockLength, b, bOffset, bLength));
+            }
+            return result;
+        }
+
+        // a = a0 + x^m a1, b = b0 + x^m b1, ab = z0 + x^m ((a0 + a1)(b0 + b1) - z0 - z2) + x^(2m) z2
+        RingElement[] z0 = karatsuba(ring, a, aOffset, m, b, bOffset, m);
+        RingElement[] z2 = karatsuba(ring, a, aOffset + m, aLength - m, b, bOffset + m, bLength - m);
+        RingElement[] z1 = karatsuba(ring, addHalves(a, aOffset, m, aLength), 0, m,
+                addHalves(b, bOffset, m, bLength), 0, m);
+        for (int i = 0; i < z0.length; i++)
+            z1[i] = z1[i].sub(z0[i]);
+        for (int i = 0; i < z2.length; i++)
+            z1[i] = z1[i].sub(z2[i]);
+
+        System.arraycopy(z0, 0, result, 0, z0.length);
+        addInto(result, 2 * m, z2);
+        addInto(result, m, z1);
+        return fillZeros(ring, result);
+    }
+
+    /**
+     * Returns the m coefficients of {@code a0 + a1}, where a0 are the first m coefficients
+     * and a1 the remaining ones of {@code x[offset, offset + length)}.
+     */
+    private static RingElement[] addHalves(RingElement[] x, int offset, int m, int length) {
+        RingElement[] result = Arrays.copyOfRange(x, offset, offset + m);
+        for (int i = m; i < length; i++)
+            result[i - m] = result[i - m].add(x[offset + i]);
+        return result;
+    }
+
+    /**
+     * Adds {@code summand} to {@code target} starting at position {@code offset}, where null entries of target are
+     * treated as zero.
+     */
+    private static void addInto(RingElement[] target, int offset, RingElement[] summand) {
+        for (int i = 0; i < summand.length; i++)
+            target[offset + i] = target[offset + i] == null ? summand[i] : target[offset + i].add(summand[i]);
+    }
+
+    private static RingElement[] fillZeros(Ring ring, RingElement[] x) {
+        for (int i = 0; i < x.length; i++)
+            if (x[i] == null)
+                x[i] = ring.getZeroElement();
+        return x;
+    }
+
+    private static RingElement[] truncate(RingElement[] x, int k) {
+        return x.length <= k ? x : Arrays.copyOf(x, k);
+    }
+
+    /**
+     * Truncates x to length k or pads it with zeros.
+     */
+    private static RingElement[] resize(Ring ring, RingElement[] x, int k) {
+        if (x.length == k)
+            return x;
+        RingElement[] result = Arrays.copyOf(x, k);
+        for (int i = x.length; i < k; i++)
+            result[i] = ring.getZeroElement();
+        return result;
+    }
+
+    private static RingElement[] reverse(RingElement[] x) {
+        RingElement[] result = new RingElement[x.length];
+        for (int i = 0; i < x.length; i++)
+            result[i] = x[x.length - 1 - i];
+        return result;
+    }
+
+    /**
+     * Multiplication over {@link Zn} using NTTs modulo primes of the form \(c \cdot 2^{20} + 1 < 2^{31}\).
+     * <p>
+     * The coefficients are lifted to integers in \([0, n)\). The coefficients of the integer product are smaller than
+     * \(\ell (n-1)^2\), where \(\ell\) is the length of the shorter operand, so they are determined by their residues
+     * modulo sufficiently many of these primes. Working modulo primes below \(2^{31}\) allows all transforms to use
+     * {@code long} arithmetic.
+     */
+    static final class NttMultiplier {
+        /**
+         * The largest supported transform length is \(2^{20}\).
+         */
+        private static final int MAX_LOG_LENGTH = 20;
+
+        private static final long[] PRIMES;
+        /**
+         * {@code ROOTS[i]} is a primitive \(2^{20}\)-th root of unity modulo {@code PRIMES[i]}.
+         */
+        private static final long[] ROOTS;
+
+        static {
+            List<Long> primes = new ArrayList<>();
+            for (long c = (1L << (31 - MAX_LOG_LENGTH)) - 1; c > 0; c--) {
+                long q = (c << MAX_LOG_LENGTH) + 1;
+                if (BigInteger.valueOf(q).isProbablePrime(64))
+                    primes.add(q);
+            }
+            PRIMES = new long[primes.size()];
+            ROOTS = new long[primes.size()];
+            for (int i = 0; i < PRIMES.length; i++) {
+                long q = primes.get(i);
+                PRIMES[i] = q;
+                // x^((q-1) / 2^20) has order 2^20 iff its 2^19-th power is -1
+                for (long x = 2; ; x++) {
+                    long root = pow(x, (q - 1) >>> MAX_LOG_LENGTH, q);
+                    if (pow(root, 1L << (MAX_LOG_LENGTH - 1), q) == q - 1) {
+                        ROOTS[i] = root;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private NttMultiplier() {
+        }
+
+        /**
+         * Multiplies a and b, or returns null if the operands are too large for the available primes.
+         */
+        static RingElement[] multiply(Zn ring, RingElement[] a, RingElement[] b) {
+            int resultLength = a.length + b.length - 1;
+            int logLength = 32 - Integer.numberOfLeadingZeros(resultLength - 1);
+            if (logLength > MAX_LOG_LENGTH)
+                return null;
+
+            // choose enough primes such that their product exceeds min(a.length, b.length) * (n-1)^2
+            BigInteger nMinusOne = ring.size().subtract(BigInteger.ONE);
+            BigInteger bound = nMinusOne.multiply(nMinusOne).multiply(BigInteger.valueOf(Math.min(a.length, b.length)));
+            BigInteger product = BigInteger.ONE;
+            int primeCount = 0;
+            while (product.compareTo(bound) <= 0) {
+                if (primeCount == PRIMES.length)
+                    return null;
+                product = product.multiply(BigInteger.valueOf(PRIMES[primeCount++]));
+            }
+
+            int[][] aLimbs = toLimbs(a);
+            int[][] bLimbs = toLimbs(b);
+            int length = 1 << logLength;
+            long[][] residues = new long[primeCount][];
+            for (int i = 0; i < primeCount; i++) {
+                long q = PRIMES[i];
+                // powers root^j for j < length / 2 and their precomputed quotients for mulMod
+                long root = pow(ROOTS[i], 1L << (MAX_LOG_LENGTH - logLength), q);
+                long[] twiddles = new long[Math.max(1, length / 2)];
+                long[] twiddleQuotients = new long[twiddles.length];
+                twiddles[0] = 1;
+                for (int j = 1; j < twiddles.length; j++)
+                    twiddles[j] = twiddles[j - 1] * root % q;
+                for (int j = 0; j < twiddles.length; j++)
+                    twiddleQuotients[j] = quotient(twiddles[j], q);
+
+                long[] x = reduce(aLimbs, q, length);
+                long[] y = reduce(bLimbs, q, length);
+                transform(x, twiddles, twiddleQuotients, q);
+                transform(y, twiddles, twiddleQuotients, q);
+                for (int j = 0; j < length; j++)
+                    x[j] = x[j] * y[j] % q;
+                // the inverse transform is the transform followed by reversing x[1], ..., x[length-1]
+                transform(x, twiddles, twiddleQuotients, q);
+                long lengthInverse = pow(length, q - 2, q);
+                long lengthInverseQuotient = quotient(lengthInverse, q);
+                long[] coefficients = new long[resultLength];
+                coefficients[0] = mulMod(x[0], lengthInverse, lengthInverseQuotient, q);
+                for (int j = 1; j < resultLength; j++)
+                    coefficients[j] = mulMod(x[length - j], lengthInverse, lengthInverseQuotient, q);
+                residues[i] = coefficients;
+            }
+
+            return reconstruct(ring, residues, primeCount, resultLength);
+        }
+
+        /**
+         * Recovers the integer coefficients from their residues using Garner's algorithm and reduces them modulo n.
+         */
+        private static RingElement[] reconstruct(Zn ring, long[][] residues, int primeCount, int resultLength) {
+            // inverses[i] = (q_0 ... q_(i-1))^(-1) mod q_i, factors[i][j] = q_j mod q_i
+            long[] inverses = new long[primeCount];
+            long[] inverseQuotients = new long[primeCount];
+            long[][] factors = new long[primeCount][];
+            long[][] factorQuotients = new long[primeCount][];
+            for (int i = 0; i < primeCount; i++) {
+                long q = PRIMES[i];
+                factors[i] = new long[i];
+                factorQuotients[i] = new long[i];
+                long prefix = 1;
+                for (int j = 0; j < i; j++) {
+                    factors[i][j] = PRIMES[j] % q;
+                    factorQuotients[i][j] = quotient(factors[i][j], q);
+                    prefix = prefix * factors[i][j] % q;
+                }
+                inverses[i] = pow(prefix, q - 2, q);
+                inverseQuotients[i] = quotient(inverses[i], q);
+            }
+
+            RingElement[] result = new RingElement[resultLength];
+            long[] digits = new long[primeCount];
+            int[] value = new int[primeCount + 1];
+            for (int k = 0; k < resultLength; k++) {
+                // mixed radix digits: coefficient = d_0 + d_1 q_0 + d_2 q_0 q_1 + ...
+                for (int i = 0; i < primeCount; i++) {
+                    long q = PRIMES[i];
+                    long[] factor = factors[i], factorQuotient = factorQuotients[i];
+                    long sum = 0;
+                    for (int j = i - 1; j >= 0; j--) {
+                        sum = mulMod(sum, factor[j], factorQuotient[j], q) + digits[j];
+                        while (sum >= q)
+                            sum -= q;
+                    }
+                    long d = residues[i][k] - sum;
+                    digits[i] = mulMod(d < 0 ? d + q : d, inverses[i], inverseQuotients[i], q);
+                }
+                // evaluate the mixed radix representation with Horner's method
+                Arrays.fill(value, 0);
+                for (int i = primeCount - 1; i >= 0; i--)
+                    mulAdd(value, PRIMES[i], digits[i]);
+                result[k] = ring.createZnElement(fromLimbs(value));
+            }
+            return result;
+        }
+
+        /**
+         * In-place iterative radix-2 NTT of x (whose length is a power of two), where {@code twiddles} contains the
+         * first {@code x.length / 2} powers of a root of unity of order {@code x.length}.
+         */
+        private static void transform(long[] x, long[] twiddles, long[] twiddleQuotients, long q) {
+            int length = x.length;
+            for (int i = 1, j = 0; i < length; i++) {
+                int bit = length >> 1;
+                for (; (j & bit) != 0; bit >>= 1)
+                    j ^= bit;
+                j ^= bit;
+                if (i < j) {
+                    long t = x[i];
+                    x[i] = x[j];
+                    x[j] = t;
+                }
+            }
+            for (int half = 1; half < length; half <<= 1) {
+                int stride = length / (2 * half);
+                for (int i = 0; i < length; i += 2 * half) {
+                    for (int j = 0; j < half; j++) {
+                        long u = x[i + j];
+                        long v = mulMod(x[i + j + half], twiddles[j * stride], twiddleQuotients[j * stride], q);
+                        long sum = u + v;
+                        x[i + j] = sum >= q ? sum - q : sum;
+                        long difference = u - v;
+                        x[i + j + half] = difference < 0 ? difference + q : difference;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns \(\lfloor w 2^{32} / q \rfloor\), which allows multiplying by w modulo q without divisions
+         * (Shoup's method), see {@link #mulMod(long, long, long, long)}.
+         */
+        private static long quotient(long w, long q) {
+            return (w << 32) / q;
+        }
+
+        /**
+         * Computes \(x w \bmod q\) for \(x, w < q < 2^{31}\), given {@code wQuotient = quotient(w, q)}.
+         */
+        private static long mulMod(long x, long w, long wQuotient, long q) {
+            // x * wQuotient < 2^63, and the estimated quotient is off by at most one
+            long r = x * w - ((x * wQuotient) >>> 32) * q;
+            return r >= q ? r - q : r;
+        }
+
+        /**
+         * Reduces the given integers modulo q, padding with zeros to the given length.
+         */
+        private static long[] reduce(int[][] limbs, long q, int length) {
+            long[] result = new long[length];
+            for (int i = 0; i < limbs.length; i++) {
+                int[] value = limbs[i];
+                long r = 0;
+                for (int j = value.length - 1; j >= 0; j--)
+                    r = ((r << 32) | (value[j] & 0xffffffffL)) % q;
+                result[i] = r;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the little endian 32 bit limbs of the representatives of the given elements.
+         */
+        private static int[][] toLimbs(RingElement[] x) {
+            int[][] result = new int[x.length][];
+            for (int i = 0; i < x.length; i++) {
+                byte[] bytes = x[i].asInteger().toByteArray();
+                int[] limbs = new int[(bytes.length + 3) / 4];
+                for (int j = 0; j < bytes.length; j++)
+                    limbs[j / 4] |= (bytes[bytes.length - 1 - j] & 0xff) << (8 * (j % 4));
+                result[i] = limbs;
+            }
+            return result;
+        }
+
+        private static BigInteger fromLimbs(int[] limbs) {
+            byte[] bytes = new byte[4 * limbs.length + 1];
+            for (int i = 0; i < limbs.length; i++) {
+                int offset = bytes.length - 4 * i;
+                bytes[offset - 1] = (byte) limbs[i];
+                bytes[offset - 2] = (byte) (limbs[i] >>> 8);
+                bytes[offset - 3] = (byte) (limbs[i] >>> 16);
+                bytes[offset - 4] = (byte) (limbs[i] >>> 24);
+            }
+            return new BigInteger(bytes);
+        }
+
+        /**
+         * Sets {@code value = value * factor + summand} for factor and summand below \(2^{31}\).
+         */
+        private static void mulAdd(int[] value, long factor, long summand) {
+            long carry = summand;
+            for (int i = 0; i < value.length; i++) {
+                long v = (value[i] & 0xffffffffL) * factor + carry;
+                value[i] = (int) v;
+                carry = v >>> 32;
+            }
+        }
+
+        private static long pow(long base, long exponent, long q) {
+            long result = 1;
+            base %= q;
+            while (exponent > 0) {
+                if ((exponent & 1) != 0)
+                    result = result * base % q;
+                base = base * base % q;
+                exponent >>= 1;
+            }
+            return result;
+        }
+    }
+}
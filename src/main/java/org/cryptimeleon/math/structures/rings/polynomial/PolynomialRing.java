@@ -13,11 +13,23 @@ import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A polynomial ring over a given base commutative {@link Ring}.
  */
 public class PolynomialRing implements Ring {
+    /**
+     * Batch evaluation uses a subproduct tree if both the degree and the number of points are at least this large.
+     */
+    private static final int FAST_EVALUATION_THRESHOLD = 1024;
+
+    /**
+     * {@link #getPoly(Map, int)} uses {@link #interpolate(List, List)} from this number of data points on.
+     */
+    private static final int FAST_INTERPOLATION_THRESHOLD = 16;
+
     /**
      * The ring over which the polynomials are defined.
      */
@@ -290,6 +302,43 @@ public class PolynomialRing implements Ring {
             return result;
         }
 
+        /**
+         * Evaluates the polynomial at all given points.
+         * <p>
+         * For large degrees and many points, this uses fast multipoint evaluation along a subproduct tree,
+         * which takes \(O(n \log^2 n)\) ring operations over {@code Zn}
+         * instead of \(O(n^2)\) for evaluating each point separately.
+         *
+         * @param points positions to evaluate, elements of the base ring
+         * @return the results of the evaluations, in the order of the points
+         */
+        public List<RingElement> evaluate(List<? extends RingElement> points) {
+            return evaluate(points, false);
+        }
+
+        /**
+         * Evaluates the polynomial at all given points, optionally computing the levels of the subproduct tree
+         * in parallel.
+         *
+         * @param points positions to evaluate, elements of the base ring
+         * @param parallel whether to use multiple threads
+         * @return the results of the evaluations, in the order of the points
+         * @see #evaluate(List)
+         */
+        public List<RingElement> evaluate(List<? extends RingElement> points, boolean parallel) {
+            for (RingElement x : points)
+                if (!x.getStructure().equals(baseRing))
+                    throw new UnsupportedOperationException(
+                            "Evaluate only supports elements from the base ring as argument");
+            if (Math.min(points.size(), degree) < FAST_EVALUATION_THRESHOLD) {
+                Stream<? extends RingElement> stream = parallel ? points.parallelStream() : points.stream();
+                return stream.map(this::evaluate).collect(Collectors.toList());
+            }
+
+            SubproductTree tree = new SubproductTree(baseRing, points.toArray(new RingElement[0]), parallel);
+            return Arrays.asList(tree.evaluate(Arrays.copyOf(coefficients, degree + 1)));
+        }
+
         /**
          * Creates a new polynomial by adding the given polynomial to this.
          * <p>
@@ -377,7 +426,10 @@ public class PolynomialRing implements Ring {
         }
 
         /**
-         * Multiplies the given polynomial with this using standard polynomial multiplication.
+         * Multiplies the given polynomial with this.
+         * <p>
+         * Depending on the degrees, this uses schoolbook multiplication, Karatsuba's method or (over {@code Zn})
+         * number theoretic transforms, see {@link PolynomialArithmetic}.
          *
          * @param e the factor
          * @return the result of the multiplication
@@ -388,20 +440,8 @@ public class PolynomialRing implements Ring {
                 return scalarMul(e);
 
             Polynomial a = (Polynomial) e, b = this;
-
-            // At this point, polys[0] is the polynomial with smaller degree.
-            // Initialize result coefficients
-            RingElement[] result = new RingElement[a.degree + b.degree + 1];
-            RingElement zero = baseRing.getZeroElement();
-            for (int i = 0; i < result.length; i++)
-                result[i] = zero;
-
-            // Multiply a and b
-            for (int i = 0; i <= a.degree; i++)
-                for (int j = 0; j <= b.degree; j++) {
-                    result[i + j] = result[i + j].add(a.coefficients[i].mul(b.coefficients[j]));
-                }
-            return createPolyInternal(result);
+            return createPolyInternal(PolynomialArithmetic.multiply(baseRing,
+                    Arrays.copyOf(a.coefficients, a.degree + 1), Arrays.copyOf(b.coefficients, b.degree + 1)));
         }
 
         /**
@@ -472,6 +512,9 @@ public class PolynomialRing implements Ring {
 
         /**
          * Performs polynomial division with remainder.
+         * <p>
+         * For large degrees, the quotient is computed via Newton iteration and fast multiplication,
+         * see {@link PolynomialArithmetic}.
          *
          * @param e the divisor
          * @return a {@code Polynomial} array containing the quotient and remainder, in that order
@@ -479,28 +522,10 @@ public class PolynomialRing implements Ring {
          */
         @Override
         public Polynomial[] divideWithRemainder(RingElement e) throws UnsupportedOperationException{
-            Polynomial divisor = (Polynomial) e, dividend = this;
-            Polynomial quotient = getZeroElement(), remainder;
-
-            // note that we require invertibility of coefficients here
-            RingElement invOfLeadingCoeff = divisor.coefficients[divisor.degree].inv();
-
-            while (!dividend.isZero() && (dividend.getDegree() >= divisor.getDegree())) {
-                // want to find polynomial temp = t*x^k that eliminates the leading
-                // coefficient of dividend
-                int k = dividend.getDegree() - divisor.getDegree();
-                RingElement t = dividend.coefficients[dividend.degree].mul(invOfLeadingCoeff);
-                Polynomial temp = dividend.getStructure().new Polynomial(k, t);
-
-                /* add the element to the quotient */
-                quotient = quotient.add(temp);
-
-                /* modify the dividend */
-                dividend = dividend.sub(divisor.mul(temp));
-            }
-            remainder = dividend;
-
-            return new Polynomial[]{quotient, remainder};
+            Polynomial divisor = (Polynomial) e;
+            RingElement[][] result = PolynomialArithmetic.divideWithRemainder(baseRing,
+                    Arrays.copyOf(coefficients, degree + 1), Arrays.copyOf(divisor.coefficients, divisor.degree + 1));
+            return new Polynomial[]{createPolyInternal(result[0]), createPolyInternal(result[1])};
         }
 
         @Override
@@ -601,9 +626,10 @@ public class PolynomialRing implements Ring {
      * Creates a new polynomial using interpolation. One must provide at least d+1 data points to interpolate
      * a polynomial of degree d.
      * <p>
-     * The interpolation implements Neville's Algorithm (see http://mathworld.wolfram.com/NevillesAlgorithm.html).
-     * Beware that this operation has complexity \(O(n^2)\), where \(n\) is the number of dataPoints needed to interpolate
-     * the polynomial (degree + 1).
+     * For few data points, the interpolation implements Neville's Algorithm
+     * (see http://mathworld.wolfram.com/NevillesAlgorithm.html), which has complexity \(O(n^2)\), where \(n\) is
+     * the number of dataPoints needed to interpolate the polynomial (degree + 1).
+     * For more data points, {@link #interpolate(List, List)} is used.
      * Only to be used if the actual coefficients of the polynomial are unknown.
      * <p>
      * Note: This implementation is based on Apache's commons math library
@@ -634,6 +660,11 @@ public class PolynomialRing implements Ring {
         //Create arrays of x_i to simplify access during iterations
         RingElement[] xValues = dataPoints.keySet().toArray(new RingElement[dataPoints.size()]);
 
+        if (numberOfCoefficients >= FAST_INTERPOLATION_THRESHOLD) {
+            List<RingElement> points = Arrays.asList(xValues).subList(0, numberOfCoefficients);
+            return interpolate(points, points.stream().map(dataPoints::get).collect(Collectors.toList()));
+        }
+
         //Start with zero for all coefficients
         ZpElement[] coefficients = new ZpElement[numberOfCoefficients];
         Arrays.fill(coefficients, ring.getZeroElement());
@@ -685,9 +716,10 @@ public class PolynomialRing implements Ring {
      * Creates a new polynomial using interpolation. The resulting polynomial will have the largest possible
      * degree (number of supplied data points - 1).
      * <p>
-     * The interpolation implements Neville's Algorithm (see http://mathworld.wolfram.com/NevillesAlgorithm.html).
-     * Beware that this operation has complexity \(O(n^2)\), where \(n\) is the number of dataPoints needed to
-     * interpolate the polynomial (degree + 1).
+     * For few data points, the interpolation implements Neville's Algorithm
+     * (see http://mathworld.wolfram.com/NevillesAlgorithm.html), which has complexity \(O(n^2)\), where \(n\) is
+     * the number of dataPoints needed to interpolate the polynomial (degree + 1).
+     * For more data points, {@link #interpolate(List, List)} is used.
      * Only to be used if the actual coefficients of the polynomial are unknown.
      * <p>
      * Note: This implementation is based on Apache's commons math library
@@ -700,6 +732,49 @@ public class PolynomialRing implements Ring {
         return getPoly(dataPoints, dataPoints.size() - 1);
     }
 
+    /**
+     * Computes the polynomial \(P\) of degree at most \(n-1\) with \(P(x_i) = y_i\) for the given
+     * \(n\) distinct points \(x_i\) and values \(y_i\).
+     * <p>
+     * The polynomial is computed from a subproduct tree of the points using fast multiplication, which takes
+     * \(O(n \log^2 n)\) ring operations over {@code Zn}, compared to \(O(n^2)\) for
+     * {@link #getPoly(Map, int)}.
+     *
+     * @param points the x-coordinates \(x_i\), which must be pairwise distinct
+     * @param values the y-coordinates \(y_i\), in the order of the points
+     * @return interpolated polynomial \(P\) where \(P(x_i) = y_i\) for every given point
+     * @throws IllegalArgumentException if no points are given, the number of points and values differ
+     *                                  or the points are not distinct
+     */
+    public static Polynomial interpolate(List<? extends RingElement> points, List<? extends RingElement> values) {
+        return interpolate(points, values, false);
+    }
+
+    /**
+     * Computes the polynomial \(P\) of degree at most \(n-1\) with \(P(x_i) = y_i\), optionally computing
+     * the levels of the subproduct tree in parallel.
+     *
+     * @param points the x-coordinates \(x_i\), which must be pairwise distinct
+     * @param values the y-coordinates \(y_i\), in the order of the points
+     * @param parallel whether to use multiple threads
+     * @return interpolated polynomial \(P\) where \(P(x_i) = y_i\) for every given point
+     * @throws IllegalArgumentException if no points are given, the number of points and values differ
+     *                                  or the points are not distinct
+     * @see #interpolate(List, List)
+     */
+    public static Polynomial interpolate(List<? extends RingElement> points, List<? extends RingElement> values,
+                                         boolean parallel) {
+        if (points == null || points.isEmpty())
+            throw new IllegalArgumentException("No data points provided for interpolation");
+        if (points.size() != values.size())
+            throw new IllegalArgumentException("Number of points and values differ: "
+                    + points.size() + " and " + values.size());
+
+        Ring ring = points.get(0).getStructure();
+        SubproductTree tree = new SubproductTree(ring, points.toArray(new RingElement[0]), parallel);
+        return new PolynomialRing(ring).new Polynomial(tree.interpolate(values.toArray(new RingElement[0])));
+    }
+
     @Override
     public Optional<Integer> getUniqueByteLength() {
         return Optional.empty();
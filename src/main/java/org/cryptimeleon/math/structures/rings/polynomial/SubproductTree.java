@@ -0,0 +1,192 @@
+package org.cryptimeleon.math.structures.rings.polynomial;
+
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.Ring;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+
+import java.math.BigInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The subproduct tree of points \(x_0, \ldots, x_{n-1}\), used for evaluating a polynomial at all points and
+ * for interpolating a polynomial from its values at the points in \(O(M(n) \log n)\) ring operations,
+ * where \(M(n)\) is the cost of multiplying polynomials of degree \(n\)
+ * (see von zur Gathen and Gerhard, "Modern Computer Algebra", Chapter 10).
+ * <p>
+ * Level 0 of the tree consists of the polynomials \(X - x_i\); every node of level \(k+1\) is the product of
+ * (at most) two neighbouring nodes of level \(k\), so node j of level k is \(\prod_{i \in I} (X - x_i)\)
+ * for \(I = [j 2^k, (j+1) 2^k) \cap [0, n)\).
+ * <p>
+ * In parallel mode, the nodes of each level are processed concurrently.
+ */
+final class SubproductTree {
+    /**
+     * Nodes covering at most this many points evaluate their remainder directly using Horner's method.
+     */
+    private static final int DIRECT_EVALUATION_SIZE = 64;
+
+    private final Ring ring;
+    private final RingElement[] points;
+    private final boolean parallel;
+    /**
+     * {@code levels[k][j]} contains the coefficients of node j of level k.
+     */
+    private final RingElement[][][] levels;
+
+    /**
+     * Builds the subproduct tree for the given points.
+     *
+     * @param ring the ring containing the points
+     * @param points the points, at least one
+     * @param parallel whether to compute the nodes of each level in parallel
+     */
+    SubproductTree(Ring ring, RingElement[] points, boolean parallel) {
+        this.ring = ring;
+        this.points = points;
+        this.parallel = parallel;
+
+        int height = 1;
+        while ((1 << (height - 1)) < points.length)
+            height++;
+        levels = new RingElement[height][][];
+        levels[0] = new RingElement[points.length][];
+        for (int i = 0; i < points.length; i++)
+            levels[0][i] = new RingElement[] {points[i].neg(), ring.getOneElement()};
+        for (int k = 1; k < height; k++) {
+            RingElement[][] children = levels[k - 1];
+            RingElement[][] level = new RingElement[(children.length + 1) / 2][];
+            forEachNode(level.length, j -> level[j] = 2 * j + 1 < children.length
+                    ? PolynomialArithmetic.multiply(ring, children[2 * j], children[2 * j + 1])
+                    : children[2 * j]);
+            levels[k] = level;
+        }
+    }
+
+    /**
+     * Returns the coefficients of \(\prod_i (X - x_i)\).
+     */
+    RingElement[] getRoot() {
+        return levels[levels.length - 1][0];
+    }
+
+    /**
+     * Evaluates the polynomial f at all points by reducing it modulo the nodes of the tree, top-down.
+     *
+     * @param f the coefficients of the polynomial to evaluate
+     * @return the values \(f(x_0), \ldots, f(x_{n-1})\)
+     */
+    RingElement[] evaluate(RingElement[] f) {
+        // below this level, every node covers at most DIRECT_EVALUATION_SIZE points
+        int lowestLevel = Math.min(levels.length - 1, Integer.numberOfTrailingZeros(DIRECT_EVALUATION_SIZE));
+
+        RingElement[][] remainders = {remainder(f, getRoot())};
+        for (int k = levels.length - 2; k >= lowestLevel; k--) {
+            RingElement[][] parents = remainders;
+            RingElement[][] level = levels[k];
+            RingElement[][] next = new RingElement[level.length][];
+            forEachNode(level.length, j -> next[j] = remainder(parents[j / 2], level[j]));
+            remainders = next;
+        }
+
+        RingElement[][] lowestRemainders = remainders;
+        RingElement[] result = new RingElement[points.length];
+        int nodeSize = 1 << lowestLevel;
+        forEachNode(lowestRemainders.length, j -> {
+            for (int i = j * nodeSize; i < Math.min((j + 1) * nodeSize, points.length); i++)
+                result[i] = evaluateHorner(lowestRemainders[j], points[i]);
+        });
+        return result;
+    }
+
+    /**
+     * Computes the polynomial of degree less than n with \(f(x_i) = y_i\) for all i.
+     * <p>
+     * With \(m = \prod_i (X - x_i)\), this is \(f = \sum_i y_i / m'(x_i) \cdot m / (X - x_i)\),
+     * which is computed bottom-up along the tree.
+     *
+     * @param values the values \(y_0, \ldots, y_{n-1}\)
+     * @return the coefficients of f
+     * @throws IllegalArgumentException if the points are not distinct
+     */
+    RingElement[] interpolate(RingElement[] values) {
+        RingElement[] root = getRoot();
+        RingElement[] derivative = new RingElement[root.length - 1];
+        for (int i = 1; i < root.length; i++)
+            derivative[i - 1] = root[i].mul(BigInteger.valueOf(i));
+        RingElement[] weights = invert(evaluate(derivative));
+
+        RingElement[][] sums = new RingElement[points.length][];
+        for (int i = 0; i < points.length; i++)
+            sums[i] = new RingElement[] {values[i].mul(weights[i])};
+        for (int k = 1; k < levels.length; k++) {
+            RingElement[][] children = levels[k - 1];
+            RingElement[][] childSums = sums;
+            RingElement[][] next = new RingElement[levels[k].length][];
+            forEachNode(next.length, j -> next[j] = 2 * j + 1 < children.length
+                    ? add(PolynomialArithmetic.multiply(ring, childSums[2 * j], children[2 * j + 1]),
+                    PolynomialArithmetic.multiply(ring, childSums[2 * j + 1], children[2 * j]))
+                    : childSums[2 * j]);
+            sums = next;
+        }
+        return sums[0];
+    }
+
+    /**
+     * Inverts the given elements, using a single inversion if the ring is a field.
+     *
+     * @throws IllegalArgumentException if some element is zero (i.e. the points are not distinct)
+     */
+    private RingElement[] invert(RingElement[] elements) {
+        for (RingElement element : elements)
+            if (element.isZero())
+                throw new IllegalArgumentException("Interpolation points must be distinct");
+        if (ring instanceof Field) {
+            FieldElement[] fieldElements = new FieldElement[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                fieldElements[i] = (FieldElement) elements[i];
+            return FiniteFieldTools.batchInvert(fieldElements);
+        }
+        RingElement[] result = new RingElement[elements.length];
+        for (int i = 0; i < elements.length; i++)
+            result[i] = elements[i].inv();
+        return result;
+    }
+
+    /**
+     * Returns f mod m (or f itself if its degree is smaller than that of m).
+     */
+    private RingElement[] remainder(RingElement[] f, RingElement[] m) {
+        if (f.length < m.length)
+            return f;
+        return PolynomialArithmetic.divideWithRemainder(ring, f, m)[1];
+    }
+
+    private RingElement evaluateHorner(RingElement[] f, RingElement x) {
+        RingElement result = f[f.length - 1];
+        for (int i = f.length - 2; i >= 0; i--)
+            result = result.mul(x).add(f[i]);
+        return result;
+    }
+
+    private static RingElement[] add(RingElement[] a, RingElement[] b) {
+        if (a.length < b.length)
+            return add(b, a);
+        RingElement[] result = a.clone();
+        for (int i = 0; i < b.length; i++)
+            result[i] = result[i].add(b[i]);
+        return result;
+    }
+
+    /**
+     * Runs the given action for all nodes {@code 0, ..., count - 1} of a level, in parallel if enabled.
+     */
+    private void forEachNode(int count, IntConsumer action) {
+        IntStream nodes = IntStream.range(0, count);
+        if (parallel)
+            nodes = nodes.parallel();
+        nodes.forEach(action);
+    }
+}
@@ -39,11 +39,11 @@ public class HashIntoZn implements HashIntoStructure {
     }
 
     public HashIntoZn(HashFunction hashFunction, BigInteger n) {
-        this(hashFunction, new Zn(n));
+        this(hashFunction, Zn.of(n));
     }
 
     public HashIntoZn(BigInteger n) {
-        this(new Zn(n));
+        this(Zn.of(n));
     }
 
     public HashIntoZn(Zn zn) {
@@ -0,0 +1,183 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.zn.Zn.ZnElement;
+
+import java.math.BigInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Arithmetic modulo an n of at most {@value #MAX_BIT_LENGTH} bits on {@code long} representatives
+ * \(0 \leq a < n\), used by {@link WordZn} and {@link WordZp}.
+ * <p>
+ * Sums of two representatives always fit into a {@code long}. Products are reduced using {@code %} if they fit into
+ * a {@code long} (i.e. for moduli of at most 31 bits), and using Barrett reduction on the 128 bit product otherwise.
+ */
+final class WordArithmetic {
+    /**
+     * The maximum bit length of supported moduli.
+     */
+    static final int MAX_BIT_LENGTH = 62;
+
+    /**
+     * Moduli of at most this bit length are reduced using {@code %}.
+     */
+    private static final int MAX_DIRECT_BIT_LENGTH = 31;
+
+    final long n;
+    private final int k;
+    /**
+     * The Barrett factor \(\lfloor 4^k / n \rfloor\) for the bit length k of n, as an unsigned value.
+     */
+    private final long mu;
+
+    WordArithmetic(BigInteger n) {
+        if (n.signum() <= 0 || n.bitLength() > MAX_BIT_LENGTH)
+            throw new IllegalArgumentException("Modulus must be positive and have at most " + MAX_BIT_LENGTH
+                    + " bits");
+        this.n = n.longValue();
+        this.k = n.bitLength();
+        this.mu = BigInteger.ONE.shiftLeft(2 * k).divide(n).longValue();
+    }
+
+    long add(long a, long b) {
+        long sum = a + b;
+        return sum >= n ? sum - n : sum;
+    }
+
+    long sub(long a, long b) {
+        long difference = a - b;
+        return difference < 0 ? difference + n : difference;
+    }
+
+    long neg(long a) {
+        return a == 0 ? 0 : n - a;
+    }
+
+    long mul(long a, long b) {
+        if (k <= MAX_DIRECT_BIT_LENGTH)
+            return a * b % n;
+        // x = a * b < 4^k
+        long xHigh = unsignedMultiplyHigh(a, b);
+        long xLow = a * b;
+        // q = floor(floor(x / 2^(k-1)) * mu / 2^(k+1)), which is at most two less than floor(x / n)
+        long x1 = (xHigh << (65 - k)) | (xLow >>> (k - 1));
+        long qHigh = unsignedMultiplyHigh(x1, mu);
+        long qLow = x1 * mu;
+        long q = (qHigh << (63 - k)) | (qLow >>> (k + 1));
+        // r = x - q * n < 3n fits into 64 bits (as unsigned value), so computing it mod 2^64 is fine
+        long r = xLow - q * n;
+        while (Long.compareUnsigned(r, n) >= 0)
+            r -= n;
+        return r;
+    }
+
+    long square(long a) {
+        return mul(a, a);
+    }
+
+    /**
+     * Computes \(a^e\) using square and multiply.
+     *
+     * @throws ArithmeticException if e is negative and a is not invertible
+     */
+    long pow(long a, BigInteger e) {
+        if (e.signum() < 0)
+            return pow(inv(a), e.negate());
+        long result = n == 1 ? 0 : 1;
+        for (int i = e.bitLength() - 1; i >= 0; i--) {
+            result = square(result);
+            if (e.testBit(i))
+                result = mul(result, a);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the inverse of a using the extended Euclidean algorithm.
+     *
+     * @throws ArithmeticException if a is not invertible
+     */
+    long inv(long a) {
+        long r0 = n, r1 = a;
+        long t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long quotient = r0 / r1;
+            long r = r0 - quotient * r1;
+            r0 = r1;
+            r1 = r;
+            // |t_i| <= n, so this does not overflow
+            long t = t0 - quotient * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        if (r0 != 1)
+            throw new ArithmeticException("Not invertible");
+        return t0 < 0 ? t0 + n : t0;
+    }
+
+    /**
+     * Returns the representative of x mod n.
+     */
+    long reduce(long x) {
+        return Math.floorMod(x, n);
+    }
+
+    /**
+     * Returns the representative of x mod n.
+     */
+    long reduce(BigInteger x) {
+        return x.bitLength() < Long.SIZE ? Math.floorMod(x.longValue(), n) : x.mod(BigInteger.valueOf(n)).longValue();
+    }
+
+    /**
+     * Returns the arithmetic of the given ring if it is a {@link WordZn} or {@link WordZp}, and null otherwise.
+     */
+    static WordArithmetic of(Zn zn) {
+        if (zn instanceof WordZn)
+            return ((WordZn) zn).arithmetic;
+        if (zn instanceof WordZp)
+            return ((WordZp) zn).arithmetic;
+        return null;
+    }
+
+    /**
+     * Returns a function creating elements of the given {@link WordZn} or {@link WordZp} from their representatives.
+     */
+    static LongFunction<ZnElement> elementFactory(Zn zn) {
+        if (zn instanceof WordZn)
+            return ((WordZn) zn)::createElement;
+        return ((WordZp) zn)::createElement;
+    }
+
+    /**
+     * Returns the representative of the given element of a {@code Zn} with at most {@value #MAX_BIT_LENGTH} bits.
+     */
+    static long representative(Element e) {
+        if (e instanceof WordZn.WordZnElement)
+            return ((WordZn.WordZnElement) e).value;
+        if (e instanceof WordZp.WordZpElement)
+            return ((WordZp.WordZpElement) e).value;
+        return ((ZnElement) e).v.longValue();
+    }
+
+    /**
+     * Returns the upper 64 bits of the unsigned 128 bit product of x and y
+     * (which is {@code Math.unsignedMultiplyHigh} in newer Java versions).
+     */
+    static long unsignedMultiplyHigh(long x, long y) {
+        // signed multiplyHigh, see Hacker's Delight, Section 8-2
+        long x1 = x >> 32;
+        long x2 = x & 0xffffffffL;
+        long y1 = y >> 32;
+        long y2 = y & 0xffffffffL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xffffffffL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        long signedHigh = x1 * y1 + z0 + (z1 >> 32);
+        // correct for the signs
+        return signedHigh + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
@@ -0,0 +1,39 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.structures.rings.zn.Zn.ZnElement;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.LongFunction;
+
+/**
+ * An immutable list of elements of a {@link WordZn} or {@link WordZp}, stored densely as {@code long} representatives.
+ * Element objects are only created when entries are accessed.
+ */
+final class WordElementList extends AbstractList<ZnElement> implements RandomAccess {
+    final Zn zn;
+    final long[] values;
+    private final LongFunction<ZnElement> elementFactory;
+
+    /**
+     * Creates the list. The given array is not copied and must not be changed afterwards.
+     *
+     * @param zn     a {@link WordZn} or {@link WordZp}
+     * @param values the representatives of the entries, each between 0 (inclusive) and n (exclusive)
+     */
+    WordElementList(Zn zn, long[] values) {
+        this.zn = zn;
+        this.values = values;
+        this.elementFactory = WordArithmetic.elementFactory(zn);
+    }
+
+    @Override
+    public ZnElement get(int index) {
+        return elementFactory.apply(values[index]);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
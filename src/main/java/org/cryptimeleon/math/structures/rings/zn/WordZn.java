@@ -0,0 +1,143 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+
+import java.math.BigInteger;
+
+/**
+ * A version of {@link Zn} for moduli of at most 62 bits, computing on {@code long} representatives instead of
+ * {@link BigInteger}s.
+ * <p>
+ * Elements and the ring itself are interchangeable with the ones of a {@link Zn} of the same size, i.e. they are
+ * equal and can be combined. {@link Zn#of(BigInteger)} automatically chooses this class for small moduli.
+ */
+public class WordZn extends Zn {
+    final WordArithmetic arithmetic;
+
+    /**
+     * Constructs the ring.
+     *
+     * @param n number of elements in the ring, at most 62 bits long
+     */
+    public WordZn(BigInteger n) {
+        super(n);
+        arithmetic = new WordArithmetic(n);
+    }
+
+    public WordZn(Representation repr) {
+        this(((BigIntegerRepresentation) repr).get());
+    }
+
+    /**
+     * Returns the element with the given representative.
+     *
+     * @param value the representative, must be between 0 (inclusive) and n (exclusive)
+     */
+    WordZnElement createElement(long value) {
+        return new WordZnElement(value);
+    }
+
+    @Override
+    protected ZnElement createZnElementUnsafe(BigInteger vBetween0andN) {
+        return new WordZnElement(vBetween0andN.longValue());
+    }
+
+    @Override
+    public ZnElement valueOf(long representative) {
+        return createElement(arithmetic.reduce(representative));
+    }
+
+    /**
+     * Returns a vector of uniformly random elements, which stores its entries densely as {@code long}s.
+     */
+    @Override
+    public RingElementVector getUniformlyRandomElements(int n) throws UnsupportedOperationException {
+        BigInteger[] values = RandomGenerator.getRandomNumbers(this.n, n);
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++)
+            result[i] = values[i].longValue();
+        return RingElementVector.fromLongs(this, result);
+    }
+
+    /**
+     * The elements of {@code WordZn}.
+     */
+    public class WordZnElement extends ZnElement {
+        final long value;
+
+        protected WordZnElement(long value) {
+            super(BigInteger.valueOf(value));
+            this.value = value;
+        }
+
+        /**
+         * Returns the representative of this element, which is between 0 (inclusive) and n (exclusive).
+         */
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        public ZnElement add(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.add(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZnElement neg() {
+            return value == 0 ? this : createElement(arithmetic.neg(value));
+        }
+
+        @Override
+        public ZnElement sub(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.sub(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZnElement mul(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.mul(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZnElement mul(BigInteger k) {
+            return createElement(arithmetic.mul(value, arithmetic.reduce(k)));
+        }
+
+        @Override
+        public ZnElement mul(long k) {
+            return createElement(arithmetic.mul(value, arithmetic.reduce(k)));
+        }
+
+        @Override
+        public ZnElement square() {
+            return createElement(arithmetic.square(value));
+        }
+
+        @Override
+        public ZnElement pow(BigInteger k) {
+            if (k.signum() < 0)
+                return inv().pow(k.negate());
+            return createElement(arithmetic.pow(value, k));
+        }
+
+        @Override
+        public ZnElement pow(long k) {
+            return pow(BigInteger.valueOf(k));
+        }
+
+        @Override
+        public ZnElement inv() throws UnsupportedOperationException {
+            try {
+                return createElement(arithmetic.inv(value));
+            } catch (ArithmeticException e) {
+                throw new UnsupportedOperationException("This element (" + value + ") is not invertible modulo " + n);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+
+import java.math.BigInteger;
+
+/**
+ * A version of {@link Zp} for primes of at most 62 bits, computing on {@code long} representatives instead of
+ * {@link BigInteger}s.
+ * <p>
+ * Elements and the field itself are interchangeable with the ones of a {@link Zp} of the same size, i.e. they are
+ * equal and can be combined. {@link Zp#of(BigInteger)} automatically chooses this class for small primes.
+ *
+ * @see WordZn
+ */
+public class WordZp extends Zp {
+    final WordArithmetic arithmetic;
+
+    /**
+     * Construct the field using a given prime {@code p}.
+     *
+     * @param p a prime number of at most 62 bits (is checked probabilistically)
+     * @throws IllegalArgumentException if p is not prime
+     */
+    public WordZp(BigInteger p) {
+        super(p);
+        arithmetic = new WordArithmetic(p);
+    }
+
+    public WordZp(Representation repr) {
+        this(((BigIntegerRepresentation) repr).get());
+    }
+
+    /**
+     * Returns the element with the given representative.
+     *
+     * @param value the representative, must be between 0 (inclusive) and p (exclusive)
+     */
+    WordZpElement createElement(long value) {
+        return new WordZpElement(value);
+    }
+
+    @Override
+    protected ZpElement createZnElementUnsafe(BigInteger vBetween0andN) {
+        return new WordZpElement(vBetween0andN.longValue());
+    }
+
+    @Override
+    public ZpElement valueOf(long representative) {
+        return createElement(arithmetic.reduce(representative));
+    }
+
+    /**
+     * Returns a vector of uniformly random elements, which stores its entries densely as {@code long}s.
+     */
+    @Override
+    public RingElementVector getUniformlyRandomElements(int n) throws UnsupportedOperationException {
+        BigInteger[] values = RandomGenerator.getRandomNumbers(this.n, n);
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++)
+            result[i] = values[i].longValue();
+        return RingElementVector.fromLongs(this, result);
+    }
+
+    /**
+     * The elements of {@code WordZp}.
+     */
+    public class WordZpElement extends ZpElement {
+        final long value;
+
+        protected WordZpElement(long value) {
+            super(BigInteger.valueOf(value));
+            this.value = value;
+        }
+
+        /**
+         * Returns the representative of this element, which is between 0 (inclusive) and p (exclusive).
+         */
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        public ZpElement add(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.add(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZpElement neg() {
+            return value == 0 ? this : createElement(arithmetic.neg(value));
+        }
+
+        @Override
+        public ZpElement sub(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.sub(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZpElement mul(Element e) {
+            checkSameModulus(e);
+            return createElement(arithmetic.mul(value, WordArithmetic.representative(e)));
+        }
+
+        @Override
+        public ZpElement mul(BigInteger k) {
+            return createElement(arithmetic.mul(value, arithmetic.reduce(k)));
+        }
+
+        @Override
+        public ZpElement mul(long k) {
+            return createElement(arithmetic.mul(value, arithmetic.reduce(k)));
+        }
+
+        @Override
+        public ZpElement square() {
+            return createElement(arithmetic.square(value));
+        }
+
+        @Override
+        public ZpElement pow(BigInteger k) {
+            if (k.signum() < 0)
+                return inv().pow(k.negate());
+            return createElement(arithmetic.pow(value, k));
+        }
+
+        @Override
+        public ZpElement pow(long k) {
+            return pow(BigInteger.valueOf(k));
+        }
+
+        @Override
+        public ZpElement inv() throws UnsupportedOperationException {
+            try {
+                return createElement(arithmetic.inv(value));
+            } catch (ArithmeticException e) {
+                throw new UnsupportedOperationException("This element (" + value + ") is not invertible modulo " + n);
+            }
+        }
+    }
+}
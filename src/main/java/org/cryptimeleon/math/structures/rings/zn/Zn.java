@@ -12,8 +12,10 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.Element;
 import org.cryptimeleon.math.structures.rings.Ring;
 import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
@@ -103,6 +105,15 @@ public class Zn implements Ring {
         return createZnElement(RandomGenerator.getRandomNumber(n));
     }
 
+    @Override
+    public RingElementVector getUniformlyRandomElements(int n) throws UnsupportedOperationException {
+        BigInteger[] values = RandomGenerator.getRandomNumbers(this.n, n);
+        ZnElement[] result = new ZnElement[n];
+        for (int i = 0; i < n; i++)
+            result[i] = createZnElementUnsafe(values[i]);
+        return new RingElementVector(result);
+    }
+
     @Override
     public ZnElement getUniformlyRandomUnit() throws UnsupportedOperationException {
         return (ZnElement) Ring.super.getUniformlyRandomUnit();
@@ -299,6 +310,22 @@ public class Zn implements Ring {
             return v.toString();
         }
 
+        /**
+         * Writes the integer {@code v} as a big-endian byte array of fixed length {@link #getUniqueByteLength()}.
+         */
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            byte[] bytes = v.toByteArray();
+            for (int i = bytes.length; i < maxByteLength; i++)
+                buffer.put((byte) 0);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public int getEncodedLength() {
+            return maxByteLength;
+        }
+
         @Override
         public ByteAccumulator updateAccumulator(ByteAccumulator accumulator) {
             BigInteger reduced = this.v.mod(Zn.this.n);
@@ -370,6 +397,16 @@ public class Zn implements Ring {
         return createZnElement(((BigIntegerRepresentation) repr).get());
     }
 
+    /**
+     * Returns the ring \(\mathbb{Z}_n\), using a {@link WordZn} (which computes on {@code long}s instead of
+     * {@code BigInteger}s) if n has at most 62 bits.
+     *
+     * @param n number of elements in the ring
+     */
+    public static Zn of(BigInteger n) {
+        return n.signum() > 0 && n.bitLength() <= WordArithmetic.MAX_BIT_LENGTH ? new WordZn(n) : new Zn(n);
+    }
+
     /**
      * Create the Zn element "representative mod modulus" (convenience method)
      *
@@ -377,7 +414,7 @@ public class Zn implements Ring {
      * @param modulus        the ring size
      */
     public static ZnElement valueOf(BigInteger representative, BigInteger modulus) {
-        return new Zn(modulus).valueOf(representative);
+        return of(modulus).valueOf(representative);
     }
 
     /**
@@ -496,6 +533,16 @@ public class Zn implements Ring {
         return Optional.of(maxByteLength);
     }
 
+    @Override
+    public ZnElement readElement(ByteBuffer buffer) {
+        byte[] bytes = new byte[maxByteLength];
+        buffer.get(bytes);
+        BigInteger v = new BigInteger(1, bytes);
+        if (v.compareTo(n) >= 0)
+            throw new IllegalArgumentException("The encoded integer is not in Zn");
+        return createZnElementUnsafe(v);
+    }
+
     @Override
     public ZnElement getElement(BigInteger i) {
         return createZnElement(i);
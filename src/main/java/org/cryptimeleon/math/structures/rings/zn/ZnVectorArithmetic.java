@@ -0,0 +1,314 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn.ZnElement;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Element-wise operations and inner products for vectors (given as lists of their entries) whose entries all belong
+ * to the same {@link Zn}.
+ * <p>
+ * These work directly on the representatives of the entries instead of going through {@link ZnElement}'s
+ * arithmetic: inner products accumulate the unreduced products in a wide accumulator and reduce only once
+ * at the end (instead of once per product and once per sum), element-wise products are reduced using Barrett
+ * reduction instead of division, and for moduli of at most {@value #MAX_WORD_BITS} bits, products are computed
+ * and accumulated in {@code long}s.
+ * <p>
+ * For a {@link WordZn} or {@link WordZp}, all computations are done on {@code long} representatives, and results
+ * are stored densely in a {@code long[]} (see {@link #valueOf(Zn, long...)}).
+ * <p>
+ * Vectors with at least {@value #PARALLEL_THRESHOLD} entries are split into chunks that are processed in parallel.
+ */
+public final class ZnVectorArithmetic {
+    /**
+     * Vectors of at least this length are processed in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Number of entries of an inner product summed up per parallel task.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Moduli of at most this bit length are handled with {@code long} arithmetic,
+     * i.e. products of two representatives fit into 62 bits.
+     */
+    private static final int MAX_WORD_BITS = 31;
+
+    /**
+     * Word-sized accumulators are reduced once they exceed this bound, so adding a product never overflows.
+     */
+    private static final long WORD_ACCUMULATOR_BOUND = 1L << 62;
+
+    /**
+     * Element-wise products of vectors of at least this length are reduced using Barrett reduction
+     * (for shorter vectors, precomputing the Barrett factor does not pay off).
+     */
+    private static final int MIN_BARRETT_LENGTH = 8;
+
+    private ZnVectorArithmetic() {
+    }
+
+    /**
+     * Returns the {@code Zn} that all entries of the given lists are elements of, or null if there is none
+     * (e.g. if some entries are no {@link ZnElement}s or belong to different rings) or the lists are empty.
+     *
+     * @param lists the lists to check
+     * @return the common {@code Zn} of all entries, or null
+     */
+    @SafeVarargs
+    public static Zn getCommonRing(List<? extends RingElement>... lists) {
+        Zn result = null;
+        for (List<? extends RingElement> list : lists) {
+            // all entries of a dense list belong to the same ring, so we do not need to look at them
+            Iterable<? extends RingElement> entries = list instanceof WordElementList
+                    ? list.subList(0, Math.min(1, list.size())) : list;
+            for (RingElement element : entries) {
+                if (!(element instanceof ZnElement))
+                    return null;
+                Zn zn = ((ZnElement) element).getStructure();
+                if (result == null)
+                    result = zn;
+                else if (zn != result && !zn.equals(result))
+                    return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of {@code zn} with the given representatives (which are reduced mod n).
+     * <p>
+     * For a {@link WordZn} or {@link WordZp}, the result stores the representatives in a dense {@code long[]}
+     * and only creates element objects on access. The operations of this class work on that array directly.
+     *
+     * @param zn the ring
+     * @param representatives the integer representatives of the elements
+     * @return an immutable list of the elements
+     */
+    public static List<ZnElement> valueOf(Zn zn, long... representatives) {
+        WordArithmetic arithmetic = WordArithmetic.of(zn);
+        if (arithmetic == null) {
+            ZnElement[] result = new ZnElement[representatives.length];
+            for (int i = 0; i < result.length; i++)
+                result[i] = zn.valueOf(representatives[i]);
+            return Collections.unmodifiableList(Arrays.asList(result));
+        }
+        long[] result = new long[representatives.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = arithmetic.reduce(representatives[i]);
+        return new WordElementList(zn, result);
+    }
+
+    /**
+     * Computes the inner product \(\sum_i a_i b_i\) of two lists of elements of {@code zn}, reducing only once.
+     *
+     * @param zn the ring containing all entries of both lists (see {@link #getCommonRing(List[])})
+     * @param a the first list
+     * @param b the second list, of the same length
+     * @return the inner product, zero for empty lists
+     */
+    public static ZnElement innerProduct(Zn zn, List<? extends RingElement> a, List<? extends RingElement> b) {
+        checkLengths(a, b);
+        int length = a.size();
+        WordArithmetic arithmetic = WordArithmetic.of(zn);
+        if (arithmetic != null) {
+            long[] x = words(a);
+            long[] y = words(b);
+            if (length < PARALLEL_THRESHOLD)
+                return WordArithmetic.elementFactory(zn).apply(sumOfProducts(arithmetic, x, y, 0, length));
+            long sum = IntStream.range(0, (length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                    .parallel()
+                    .mapToLong(chunk -> sumOfProducts(arithmetic, x, y, chunk * CHUNK_SIZE,
+                            Math.min(length, (chunk + 1) * CHUNK_SIZE)))
+                    .reduce(0, arithmetic::add);
+            return WordArithmetic.elementFactory(zn).apply(sum);
+        }
+
+        if (length < PARALLEL_THRESHOLD)
+            return zn.createZnElementUnsafe(sumOfProducts(zn, a, b, 0, length).mod(zn.n));
+
+        BigInteger sum = IntStream.range(0, (length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .parallel()
+                .mapToObj(chunk -> sumOfProducts(zn, a, b, chunk * CHUNK_SIZE,
+                        Math.min(length, (chunk + 1) * CHUNK_SIZE)))
+                .reduce(BigInteger.ZERO, BigInteger::add);
+        return zn.createZnElementUnsafe(sum.mod(zn.n));
+    }
+
+    /**
+     * Computes the element-wise sum of two lists of elements of {@code zn}.
+     *
+     * @param zn the ring containing all entries of both lists (see {@link #getCommonRing(List[])})
+     * @param a the first list
+     * @param b the second list, of the same length
+     * @return an immutable list of the entries \(a_i + b_i\)
+     */
+    public static List<ZnElement> add(Zn zn, List<? extends RingElement> a, List<? extends RingElement> b) {
+        checkLengths(a, b);
+        WordArithmetic arithmetic = WordArithmetic.of(zn);
+        if (arithmetic != null) {
+            long[] x = words(a);
+            long[] y = words(b);
+            long[] result = new long[x.length];
+            forEachIndex(result.length, i -> result[i] = arithmetic.add(x[i], y[i]));
+            return new WordElementList(zn, result);
+        }
+
+        ZnElement[] result = new ZnElement[a.size()];
+        if (zn.n.bitLength() <= MAX_WORD_BITS) {
+            long n = zn.n.longValue();
+            forEachIndex(result.length, i -> {
+                long sum = value(a, i).longValue() + value(b, i).longValue();
+                result[i] = zn.createZnElementUnsafe(BigInteger.valueOf(sum >= n ? sum - n : sum));
+            });
+        } else {
+            forEachIndex(result.length, i -> {
+                BigInteger sum = value(a, i).add(value(b, i));
+                result[i] = zn.createZnElementUnsafe(sum.compareTo(zn.n) >= 0 ? sum.subtract(zn.n) : sum);
+            });
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * Computes the element-wise product of two lists of elements of {@code zn}.
+     *
+     * @param zn the ring containing all entries of both lists (see {@link #getCommonRing(List[])})
+     * @param a the first list
+     * @param b the second list, of the same length
+     * @return an immutable list of the entries \(a_i \cdot b_i\)
+     */
+    public static List<ZnElement> mul(Zn zn, List<? extends RingElement> a, List<? extends RingElement> b) {
+        checkLengths(a, b);
+        WordArithmetic arithmetic = WordArithmetic.of(zn);
+        if (arithmetic != null) {
+            long[] x = words(a);
+            long[] y = words(b);
+            long[] result = new long[x.length];
+            forEachIndex(result.length, i -> result[i] = arithmetic.mul(x[i], y[i]));
+            return new WordElementList(zn, result);
+        }
+
+        ZnElement[] result = new ZnElement[a.size()];
+        if (zn.n.bitLength() <= MAX_WORD_BITS) {
+            long n = zn.n.longValue();
+            forEachIndex(result.length, i -> result[i] = zn.createZnElementUnsafe(
+                    BigInteger.valueOf(value(a, i).longValue() * value(b, i).longValue() % n)));
+        } else if (result.length < MIN_BARRETT_LENGTH) {
+            forEachIndex(result.length, i -> result[i] = zn.createZnElementUnsafe(
+                    value(a, i).multiply(value(b, i)).mod(zn.n)));
+        } else {
+            BarrettReduction reduction = new BarrettReduction(zn.n);
+            forEachIndex(result.length, i -> result[i] = zn.createZnElementUnsafe(
+                    reduction.reduce(value(a, i).multiply(value(b, i)))));
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * Returns the unreduced sum \(\sum_{i = from}^{to - 1} a_i b_i\) (or some value congruent to it).
+     */
+    private static BigInteger sumOfProducts(Zn zn, List<? extends RingElement> a, List<? extends RingElement> b,
+                                            int from, int to) {
+        if (zn.n.bitLength() <= MAX_WORD_BITS) {
+            long n = zn.n.longValue();
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += value(a, i).longValue() * value(b, i).longValue();
+                if (sum >= WORD_ACCUMULATOR_BOUND)
+                    sum %= n;
+            }
+            return BigInteger.valueOf(sum);
+        }
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = from; i < to; i++)
+            sum = sum.add(value(a, i).multiply(value(b, i)));
+        return sum;
+    }
+
+    /**
+     * Returns the reduced sum \(\sum_{i = from}^{to - 1} a_i b_i\) of word-sized representatives.
+     */
+    private static long sumOfProducts(WordArithmetic arithmetic, long[] a, long[] b, int from, int to) {
+        if (arithmetic.n < 1L << MAX_WORD_BITS) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += a[i] * b[i];
+                if (sum >= WORD_ACCUMULATOR_BOUND)
+                    sum %= arithmetic.n;
+            }
+            return sum % arithmetic.n;
+        }
+        long sum = 0;
+        for (int i = from; i < to; i++)
+            sum = arithmetic.add(sum, arithmetic.mul(a[i], b[i]));
+        return sum;
+    }
+
+    /**
+     * Reduces products of two representatives modulo n using Barrett's method, i.e. using two multiplications
+     * instead of a (much slower) long division.
+     */
+    private static final class BarrettReduction {
+        private final BigInteger n;
+        private final int k;
+        /**
+         * \(\lfloor 4^k / n \rfloor\) for the bit length k of n.
+         */
+        private final BigInteger mu;
+
+        BarrettReduction(BigInteger n) {
+            this.n = n;
+            this.k = n.bitLength();
+            this.mu = BigInteger.ONE.shiftLeft(2 * k).divide(n);
+        }
+
+        /**
+         * Returns x mod n for \(0 \leq x < n^2\).
+         */
+        BigInteger reduce(BigInteger x) {
+            // the estimate q is at most two less than floor(x / n)
+            BigInteger q = x.shiftRight(k - 1).multiply(mu).shiftRight(k + 1);
+            BigInteger r = x.subtract(q.multiply(n));
+            while (r.compareTo(n) >= 0)
+                r = r.subtract(n);
+            return r;
+        }
+    }
+
+    private static BigInteger value(List<? extends RingElement> list, int i) {
+        return ((ZnElement) list.get(i)).v;
+    }
+
+    /**
+     * Returns the representatives of the given elements of a {@link WordZn} or {@link WordZp}.
+     */
+    private static long[] words(List<? extends RingElement> list) {
+        if (list instanceof WordElementList)
+            return ((WordElementList) list).values;
+        long[] result = new long[list.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = WordArithmetic.representative(list.get(i));
+        return result;
+    }
+
+    private static void forEachIndex(int length, IntConsumer action) {
+        IntStream indices = IntStream.range(0, length);
+        if (length >= PARALLEL_THRESHOLD)
+            indices = indices.parallel();
+        indices.forEach(action);
+    }
+
+    private static void checkLengths(List<?> a, List<?> b) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Vectors must have the same length");
+    }
+}
@@ -5,9 +5,10 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.Element;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
-import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+import org.cryptimeleon.math.structures.rings.helpers.SquareRootEngine;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * A version of {@link Zn} where n is prime (making the ring a field).
@@ -15,6 +16,10 @@ import java.math.BigInteger;
  * This completely reuses the {@link Zn} implementation.
  */
 public class Zp extends Zn implements Field {
+    /**
+     * Square roots and quadratic residuosity in this field, created on first use.
+     */
+    private volatile SquareRootEngine squareRootEngine;
 
     /**
      * Construct the field {@code Zp} using a given prime {@code p}.
@@ -34,6 +39,16 @@ public class Zp extends Zn implements Field {
             throw new IllegalArgumentException(n + " is not prime");
     }
 
+    /**
+     * Returns the engine for computing square roots in this field, which caches the constants the algorithms need.
+     */
+    public SquareRootEngine getSquareRootEngine() {
+        SquareRootEngine engine = squareRootEngine;
+        if (engine == null)
+            squareRootEngine = engine = new SquareRootEngine(this);
+        return engine;
+    }
+
     @Override
     public BigInteger sizeUnitGroup() {
         return n.subtract(BigInteger.ONE);
@@ -79,6 +94,11 @@ public class Zp extends Zn implements Field {
         return (ZpElement) super.restoreElement(repr);
     }
 
+    @Override
+    public ZpElement readElement(ByteBuffer buffer) {
+        return (ZpElement) super.readElement(buffer);
+    }
+
     @Override
     public ZpElement getElement(long i) {
         return (ZpElement) super.getElement(i);
@@ -158,72 +178,20 @@ public class Zp extends Zn implements Field {
          * Returns true if there is a \(y \in \mathbb{Z}_p\) such that \(y^2 = \text{this}\)
          */
         public boolean isSquare() {
-            return FiniteFieldTools.isSquare(this);
+            return getSquareRootEngine().isSquare(this);
         }
 
         /**
          * Computes a square root of this element if it exists.
+         * <p>
+         * The result is deterministic, i.e. the same root is returned for the same element.
          *
          * @return an element \(x\) with \(x^2 = \text{this}\)
          * @throws ArithmeticException if element is not a quadratic residue
+         * @see SquareRootEngine
          */
         public ZpElement sqrt() throws ArithmeticException {
-            if (this.isZero())
-                return this;
-
-            //see Lemma 11.22 of "Elliptic and Hyperelliptic Curve Cryptography"
-            BigInteger p = n;
-            ZpElement result;
-            int pMod8 = p.mod(BigInteger.valueOf(8)).intValue();
-            if (1 != pMod8) { //for p!=1 mod 8 a deterministic algorithm exists
-                if (3 == (pMod8 % 4)) {
-                    //for p=3 mod 4, a^((p+1)/4) is root of a
-                    result = this.pow(p.add(BigInteger.ONE).divide(BigInteger.valueOf(4)));
-                } else {
-                    //for p=5 mod 8, and a^((p-1)/4)= 1, a^((p+3)/8) is root of a
-                    //for p=5 mod 8, and a^((p-1)/4)=-1, 2a (4a)^((p-5)/8) is root of a
-                    if (5 == pMod8) {
-                        ZpElement t;
-                        //a^((p+3)/8)
-                        result = this.pow(p.add(BigInteger.valueOf(3)).divide(BigInteger.valueOf(8)));
-
-                        //a^((p-5)/8)
-                        t = this.pow(p.subtract(BigInteger.valueOf(5)).divide(BigInteger.valueOf(8)));
-
-                        //(p-1)/4 = (p+3)/8 + (p-5)/8
-                        if (result.mul(t).neg().isOne()) {
-                            //4^((p-5)/8)
-                            result = createZnElement(BigInteger.valueOf(4))
-                                    .pow(p.subtract(BigInteger.valueOf(5)).divide(BigInteger.valueOf(8)));
-
-                            //(4a)^((p-5)/8)
-                            result = result.mul(t);
-
-                            //a(4a)^((p-5)/8)
-                            result = result.mul(this);
-
-                            //2a(4a)^((p-5)/8)
-                            result = result.add(result);
-
-                        }
-                    } else { //p = 7 mod 8
-                        result = getOneElement(); //TODO this doesn't seem right.
-                    }
-                }
-            } else {
-                //if p=1 mod 8 , we need probabilistic algorithm
-                if (isSquare())
-                    result = (ZpElement) FiniteFieldTools.sqrt(this);
-                else
-                    result = getZeroElement(); //just to ensure we fail in the next step.
-            }
-
-            //check if result is correct.
-            if (result.square().equals(this)) {
-                return result;
-            } else {
-                throw new ArithmeticException("Input has to be quadratic residue.");
-            }
+            return (ZpElement) getSquareRootEngine().sqrt(this);
         }
 
         @Override
@@ -252,6 +220,17 @@ public class Zp extends Zn implements Field {
         return (ZpElement) super.injectiveValueOf(bytes);
     }
 
+    /**
+     * Returns the field \(\mathbb{Z}_p\), using a {@link WordZp} (which computes on {@code long}s instead of
+     * {@code BigInteger}s) if p has at most 62 bits.
+     *
+     * @param p a prime number (is checked probabilistically)
+     * @throws IllegalArgumentException if p is not prime
+     */
+    public static Zp of(BigInteger p) {
+        return p.signum() > 0 && p.bitLength() <= WordArithmetic.MAX_BIT_LENGTH ? new WordZp(p) : new Zp(p);
+    }
+
     /**
      * Create the element "representative mod modulus"
      *
@@ -259,7 +238,7 @@ public class Zp extends Zn implements Field {
      * @param modulus      the ring size
      */
     public static ZpElement valueOf(BigInteger representative, BigInteger modulus) {
-        return new Zp(modulus).new ZpElement(representative);
+        return of(modulus).valueOf(representative);
     }
 
     /**
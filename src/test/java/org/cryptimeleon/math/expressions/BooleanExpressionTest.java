@@ -0,0 +1,142 @@
+package org.cryptimeleon.math.expressions;
+
+import org.cryptimeleon.math.expressions.bool.BasicNamedBoolVariableExpr;
+import org.cryptimeleon.math.expressions.bool.BoolAndExpr;
+import org.cryptimeleon.math.expressions.bool.BoolOrExpr;
+import org.cryptimeleon.math.expressions.bool.BooleanExpression;
+import org.cryptimeleon.math.expressions.bool.GroupEqualityExpr;
+import org.cryptimeleon.math.expressions.exponent.BasicNamedExponentVariableExpr;
+import org.cryptimeleon.math.expressions.group.GroupElementExpression;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BooleanExpressionTest {
+    private final Group group = new DebugGroup("bool", BigInteger.valueOf(1000003));
+    private final Zn zn = group.getZn();
+    private final GroupElement g = group.getUniformlyRandomNonNeutral();
+    private final BasicNamedExponentVariableExpr x = new BasicNamedExponentVariableExpr("x");
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    /**
+     * A group equality that counts how often it is evaluated and, if {@code release} is not null,
+     * blocks until {@code release} is opened.
+     */
+    private class CountingGroupEqualityExpr extends GroupEqualityExpr {
+        private final CountDownLatch release;
+
+        CountingGroupEqualityExpr(GroupElementExpression lhs, GroupElementExpression rhs, CountDownLatch release) {
+            super(lhs, rhs);
+            this.release = release;
+        }
+
+        @Override
+        public Boolean evaluate(Substitution substitutions) {
+            evaluations.incrementAndGet();
+            try {
+                if (release != null && !release.await(30, TimeUnit.SECONDS))
+                    throw new IllegalStateException("Operand was not released");
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return super.evaluate(substitutions);
+        }
+    }
+
+    private BooleanExpression groupEquality(boolean holds) {
+        return groupEquality(holds, null);
+    }
+
+    private BooleanExpression groupEquality(boolean holds, CountDownLatch release) {
+        return new CountingGroupEqualityExpr(g.expr().pow(x), g.pow(holds ? 5 : 6).expr(), release);
+    }
+
+    private BooleanExpression conjunction(int numOperands, BooleanExpression extraOperand) {
+        return conjunction(numOperands, extraOperand, null);
+    }
+
+    private BooleanExpression conjunction(int numOperands, BooleanExpression extraOperand, CountDownLatch release) {
+        BooleanExpression result = extraOperand;
+        for (int i = 0; i < numOperands; i++)
+            result = groupEquality(true, release).and(result);
+        return result;
+    }
+
+    @Test
+    public void testResults() {
+        Substitution x5 = variable -> x.equals(variable) ? zn.valueOf(5).asExponentExpression() : null;
+        BooleanExpression t = groupEquality(true);
+        BooleanExpression f = groupEquality(false);
+        BooleanExpression[] exprs = {t.and(f), t.and(t), f.or(t), f.or(f), t.and(f.or(t)).and(x.isEqualTo(BigInteger.valueOf(5))),
+                f.or(t.and(f)).or(x.isEqualTo(BigInteger.valueOf(4))), t.and(f).not()};
+        boolean[] expected = {false, true, true, false, true, false, true};
+        for (int i = 0; i < exprs.length; i++) {
+            assertEquals(expected[i], exprs[i].evaluate(x5), "expression " + i);
+            assertEquals(expected[i], exprs[i].evaluateLazy(x5).getResult(), "expression " + i);
+        }
+    }
+
+    @Test
+    public void testCheapOperandsFirst() {
+        Substitution x5 = variable -> x.equals(variable) ? zn.valueOf(5).asExponentExpression() : null;
+        BooleanExpression expr = conjunction(20, x.isEqualTo(BigInteger.valueOf(4)));
+        assertEquals(21, ((BoolAndExpr) expr).getOperands().size());
+
+        assertFalse(expr.evaluate(x5));
+        assertFalse(expr.evaluateLazy(x5).getResult());
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    public void testCostOfSubstitutedVariables() {
+        // b stands for an expensive group equality, so the cheap exponent equality is evaluated first
+        BasicNamedBoolVariableExpr b = new BasicNamedBoolVariableExpr("b");
+        BooleanExpression bSubstitution = new CountingGroupEqualityExpr(g.pow(5).expr(), g.pow(5).expr(), null);
+        Substitution substitution = variable -> x.equals(variable) ? zn.valueOf(5).asExponentExpression()
+                : b.equals(variable) ? bSubstitution : null;
+        BooleanExpression expr = b.and(x.isEqualTo(BigInteger.valueOf(4)));
+
+        assertFalse(expr.evaluate(substitution));
+        assertFalse(expr.evaluateLazy(substitution).getResult());
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    public void testShortCircuit() {
+        Substitution x5 = variable -> x.equals(variable) ? zn.valueOf(5).asExponentExpression() : null;
+        int numOperands = 200;
+
+        assertTrue(conjunction(numOperands, groupEquality(true)).evaluateLazy(x5).getResult());
+        assertEquals(numOperands + 1, evaluations.getAndSet(0));
+
+        // the false operand is submitted first, since operands of the same cost keep their order.
+        // The true operands block until the result is known, so each thread of the pool starts at most one of them
+        // before the result is known, and all others must be skipped afterwards.
+        CountDownLatch release = new CountDownLatch(1);
+        BooleanExpression rejected = groupEquality(false).and(conjunction(numOperands, groupEquality(true), release));
+        assertFalse(rejected.evaluateLazy(x5).getResult());
+        release.countDown();
+        assertTrue(ForkJoinPool.commonPool().awaitQuiescence(30, TimeUnit.SECONDS));
+
+        int maxEvaluations = 1 + ForkJoinPool.getCommonPoolParallelism();
+        assertTrue(evaluations.get() <= maxEvaluations, "evaluated " + evaluations.get() + " operands");
+        assertTrue(maxEvaluations < numOperands);
+    }
+
+    @Test
+    public void testContainsExprMatchingPredicate() {
+        BooleanExpression expr = conjunction(5, x.isEqualTo(BigInteger.ONE));
+        assertTrue(expr.containsExprMatchingPredicate(e -> e == x));
+        assertFalse(expr.containsExprMatchingPredicate(e -> e instanceof BoolOrExpr));
+    }
+}
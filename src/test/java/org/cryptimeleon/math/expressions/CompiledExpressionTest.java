@@ -0,0 +1,131 @@
+package org.cryptimeleon.math.expressions;
+
+import org.cryptimeleon.math.expressions.exponent.BasicNamedExponentVariableExpr;
+import org.cryptimeleon.math.expressions.exponent.CompiledExponentExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentConstantExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentExpr;
+import org.cryptimeleon.math.expressions.group.BasicNamedGroupVariableExpr;
+import org.cryptimeleon.math.expressions.group.CompiledGroupElementExpression;
+import org.cryptimeleon.math.expressions.group.GroupElementExpression;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledExpressionTest {
+    private final BilinearGroup bilinearGroup = new DebugBilinearGroup(BigInteger.valueOf(1000003), BilinearGroup.Type.TYPE_3);
+    private final Group g1 = bilinearGroup.getG1();
+    private final Zn zn = g1.getZn();
+
+    private final BasicNamedExponentVariableExpr x = new BasicNamedExponentVariableExpr("x");
+    private final BasicNamedExponentVariableExpr y = new BasicNamedExponentVariableExpr("y");
+    private final BasicNamedGroupVariableExpr h = new BasicNamedGroupVariableExpr("h");
+
+    private ValueBundle randomValues() {
+        ValueBundle values = new ValueBundle();
+        values.put(x, zn.getUniformlyRandomElement());
+        values.put(y, zn.getUniformlyRandomElement());
+        values.put(h, g1.getUniformlyRandomElement());
+        return values;
+    }
+
+    @Test
+    public void testExponentExpressions() {
+        ExponentExpr[] exprs = {
+                x.add(y).mul(x),
+                x.mul(3).add(new ExponentConstantExpr(5).mul(7)).negate(),
+                x.pow(y.mul(0).add(3)).sub(y),
+                new ExponentConstantExpr(5).invert().mul(x),
+                x.invert().add(y.invert())
+        };
+        for (ExponentExpr expr : exprs) {
+            CompiledExponentExpr compiled = expr.compile();
+            for (int i = 0; i < 5; i++) {
+                ValueBundle values = randomValues();
+                assertEquals(expr.evaluate(zn, values), compiled.evaluate(zn, values));
+                // also without the ValueBundle fast path
+                Substitution substitution = values::getSubstitution;
+                assertEquals(expr.evaluate(zn, substitution), compiled.evaluate(zn, substitution));
+            }
+        }
+
+        ValueBundle values = randomValues();
+        assertEquals(exprs[0].evaluate(values), exprs[0].compile().evaluate(values));
+        assertThrows(IllegalArgumentException.class, () -> exprs[3].compile().evaluate(values));
+        assertTrue(new ExponentConstantExpr(5).invert().compile().isConstant());
+    }
+
+    @Test
+    public void testGroupExpressions() {
+        GroupElement g = g1.getUniformlyRandomElement();
+        GroupElement k = g1.getUniformlyRandomElement();
+        GroupElementExpression[] exprs = {
+                g.expr(),
+                g.expr().pow(x),
+                g.expr().pow(x).op(k.expr().pow(y.add(1))).op(g.expr().pow(BigInteger.valueOf(3))),
+                h.pow(x).op(g.expr().inv().pow(y)).op(k),
+                h.op(g.expr().pow(x)).pow(y.negate()),
+                h.inv().op(h.pow(x.mul(2)))
+        };
+        for (GroupElementExpression expr : exprs) {
+            CompiledGroupElementExpression compiled = expr.compile();
+            for (int i = 0; i < 3; i++) {
+                ValueBundle values = randomValues();
+                assertEquals(expr.evaluate(values), compiled.evaluate(values));
+                Substitution substitution = values::getSubstitution;
+                assertEquals(expr.evaluate(substitution), compiled.evaluate(substitution));
+            }
+        }
+        // the constant factors are combined into one precomputed element
+        assertEquals(2, exprs[2].compile().getNumberOfTerms());
+        assertEquals(g1.getNeutralElement(), g.expr().pow(x).pow(BigInteger.ZERO).compile().evaluate(randomValues()));
+
+        // exponents of variable bases are evaluated in the group's Zn once the base is known
+        ValueBundle values = randomValues();
+        assertEquals(values.getGroupElement(h).pow(values.getZnElement(x).inv()),
+                h.pow(x.invert()).compile().evaluate(values));
+    }
+
+    @Test
+    public void testPairingExpressions() {
+        BilinearMap e = bilinearGroup.getBilinearMap();
+        GroupElement g = g1.getUniformlyRandomElement();
+        GroupElement g2 = bilinearGroup.getG2().getUniformlyRandomElement();
+
+        GroupElementExpression expr = e.applyExpr(g.expr().pow(x).op(h), g2.expr())
+                .op(e.applyExpr(g.expr(), g2.expr()).pow(y))
+                .op(e.applyExpr(g.expr(), g2.expr()).pow(x.mul(y)).inv());
+        CompiledGroupElementExpression compiled = expr.compile();
+        for (int i = 0; i < 3; i++) {
+            ValueBundle values = randomValues();
+            assertEquals(expr.evaluate(values), compiled.evaluate(values));
+        }
+
+        // constant pairing with variable exponent, flattened
+        GroupElementExpression flattened = e.applyExpr(g.expr().pow(x), g2.expr()).pow(y).flatten();
+        ValueBundle values = randomValues();
+        assertEquals(e.apply(g, g2).pow(values.getZnElement(x).mul(values.getZnElement(y))), flattened.evaluate(values));
+    }
+
+    @Test
+    public void testConcurrentEvaluation() {
+        GroupElement g = g1.getUniformlyRandomElement();
+        GroupElementExpression expr = g.expr().pow(x.mul(y)).op(h.pow(x.add(y)));
+        CompiledGroupElementExpression compiled = expr.compile();
+
+        IntStream.range(0, 200).parallel().forEach(i -> {
+            ValueBundle values = randomValues();
+            assertEquals(expr.evaluate(values), compiled.evaluate(values));
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package org.cryptimeleon.math.expressions;
+
+import org.cryptimeleon.math.expressions.exponent.BasicNamedExponentVariableExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentConstantExpr;
+import org.cryptimeleon.math.expressions.exponent.ExponentExpr;
+import org.cryptimeleon.math.expressions.group.GroupElementExpression;
+import org.cryptimeleon.math.expressions.group.GroupOpExpr;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExponentNormalizationTest {
+    private final Group group = new DebugGroup("normalization", BigInteger.valueOf(1000003));
+    private final Zn zn = group.getZn();
+
+    private final BasicNamedExponentVariableExpr x = new BasicNamedExponentVariableExpr("x");
+    private final BasicNamedExponentVariableExpr y = new BasicNamedExponentVariableExpr("y");
+    private final BasicNamedExponentVariableExpr z = new BasicNamedExponentVariableExpr("z");
+
+    private ValueBundle randomValues() {
+        ValueBundle values = new ValueBundle();
+        values.put(x, zn.getUniformlyRandomElement());
+        values.put(y, zn.getUniformlyRandomElement());
+        values.put(z, zn.getUniformlyRandomElement());
+        return values;
+    }
+
+    private static int size(Expression expr) {
+        AtomicInteger size = new AtomicInteger();
+        expr.treeWalk(e -> size.incrementAndGet());
+        return size.get();
+    }
+
+    @Test
+    public void testNormalizationIsEquivalent() {
+        ExponentExpr[] exprs = {
+                x.mul(y).add(y.mul(x).mul(2)),
+                x.add(1).mul(x.sub(1)).sub(x.pow(2)),
+                x.add(y).pow(3).add(z.negate().mul(new ExponentConstantExpr(5).add(7))),
+                x.invert().add(x.invert()).mul(y),
+                x.pow(y).mul(x.pow(y)).add(new ExponentConstantExpr(3).invert()),
+                new ExponentConstantExpr(2).pow(100).mul(x).sub(z.mul(0)),
+                // powers of atoms that do not fit into an int
+                x.pow(1 << 30).mul(x.pow(1 << 30)).add(y),
+                x.pow(1 << 20).pow(1 << 20).mul(y)
+        };
+        for (ExponentExpr expr : exprs) {
+            ExponentExpr normalized = expr.normalize(zn);
+            for (int i = 0; i < 5; i++) {
+                ValueBundle values = randomValues();
+                assertEquals(expr.evaluate(zn, values), normalized.evaluate(zn, values));
+            }
+        }
+
+        // over the integers, without inverses
+        ValueBundle values = randomValues();
+        for (int i : new int[] {0, 1, 2, 5}) {
+            assertEquals(exprs[i].evaluate(values), exprs[i].normalize().evaluate(values));
+        }
+    }
+
+    @Test
+    public void testFolding() {
+        assertFalse(x.mul(y).sub(y.mul(x)).normalize().containsVariables());
+        assertEquals(BigInteger.ZERO, x.mul(y).sub(y.mul(x)).normalize().evaluate());
+        assertEquals(BigInteger.valueOf(12), new ExponentConstantExpr(5).add(7).mul(x.sub(x).add(1)).normalize().evaluate());
+
+        // 3*x*y, i.e. a product of three factors
+        assertEquals(5, size(x.mul(y).add(y.mul(x).mul(2)).normalize()));
+        // modulo 1000003, 1000002 * x = -x
+        assertEquals(2, size(x.mul(1000002).normalize(zn)));
+        // the inverse of 2 is computed, equal inverses of variables are collected
+        assertEquals(zn.valueOf(2).inv(), new ExponentConstantExpr(2).invert().normalize(zn).evaluate(zn));
+        assertEquals(4, size(y.invert().add(y.invert()).normalize(zn)));
+        // normalizing is idempotent
+        ExponentExpr normalized = x.add(y).pow(2).sub(y.invert()).normalize(zn);
+        assertEquals(size(normalized), size(normalized.normalize(zn)));
+
+        // over the integers, inverses (even of constants) cannot be evaluated
+        assertThrows(IllegalArgumentException.class, () -> new ExponentConstantExpr(2).invert().normalize().evaluate());
+    }
+
+    @Test
+    public void testLinearizeUsesNormalization() {
+        GroupElement g = group.getUniformlyRandomElement();
+
+        // nonlinear as written, but x*y cancels
+        GroupElementExpression expr = g.expr().pow(x.mul(y).add(z).sub(y.mul(x)).add(3));
+        GroupOpExpr linearized = expr.linearize();
+        assertFalse(linearized.getLhs().containsVariables());
+        ValueBundle values = randomValues();
+        assertEquals(expr.evaluate(values), linearized.evaluate(values));
+        assertEquals(g.pow(values.getZnElement(z)), linearized.getRhs().evaluate(values));
+    }
+
+    @Test
+    public void testCompiledTermsAreCombined() {
+        GroupElement g = group.getUniformlyRandomElement();
+        GroupElement h = group.getUniformlyRandomElement();
+
+        GroupElementExpression expr = g.expr().pow(x).op(h.expr().pow(y)).op(g.expr().pow(y)).op(h.expr().pow(y).inv());
+        assertEquals(1, expr.compile().getNumberOfTerms());
+        ValueBundle values = randomValues();
+        assertEquals(expr.evaluate(values), expr.compile().evaluate(values));
+    }
+}
@@ -6,6 +6,7 @@ import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularBasicBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bls12.Bls12BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.junit.Test;
@@ -101,12 +102,16 @@ public class PairingTests {
         BilinearGroup bnGroup = new BarretoNaehrigBilinearGroup(80);
         BilinearGroup sfcBn = new BarretoNaehrigBilinearGroup("SFC-256");
 
+        // BLS12-381
+        BilinearGroup bls12Group = new Bls12BilinearGroup();
+
         // Collect parameters
         BilinearMap[][] params = new BilinearMap[][] {
                 {countingGroup1.getBilinearMap()}, {countingGroup2.getBilinearMap()}, {countingGroup3.getBilinearMap()},
                 {supsingGroup.getBilinearMap()},
                 {bnGroup.getBilinearMap()},
-                { sfcBn.getBilinearMap()}
+                { sfcBn.getBilinearMap()},
+                {bls12Group.getBilinearMap()}
         };
         return Arrays.asList(params);
     }
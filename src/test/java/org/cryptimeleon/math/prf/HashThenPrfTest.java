@@ -6,6 +6,7 @@ import org.cryptimeleon.math.hash.impl.SHA256HashFunction;
 import org.cryptimeleon.math.hash.impl.SHA512HashFunction;
 import org.cryptimeleon.math.misc.ByteArrayImpl;
 import org.cryptimeleon.math.prf.zn.HashThenPrfToZn;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -62,6 +63,24 @@ public class HashThenPrfTest {
         );
     }
 
+    @org.junit.Test
+    public void testStreamingVector() {
+        PrfKey k = hashThenPrfToZn.generateKey();
+        UniqueByteRepresentable preimage = hashPreimageSupplier.get();
+
+        // longer than one keystream range
+        RingElementVector vector = hashThenPrfToZn.hashThenPrfToZnVectorStreaming(k, preimage, 2500, "preimage1");
+        assertEquals(2500, vector.length());
+        assertEquals(vector, hashThenPrfToZn.hashThenPrfToZnVectorStreaming(k, preimage, 2500, "preimage1", true));
+        assertNotEquals(vector, hashThenPrfToZn.hashThenPrfToZnVectorStreaming(k, preimage, 2500, "preimage2"));
+        assertNotEquals(
+                hashThenPrfToZn.hashThenPrfToZnVectorStreaming(k, preimage, 7, "preimage1"),
+                vector.truncate(7)
+        ); // Different size vectors should have different elements
+        assertNotEquals(vector, hashThenPrfToZn.hashThenPrfToZnVectorStreaming(hashThenPrfToZn.generateKey(),
+                preimage, 2500, "preimage1"));
+    }
+
     // Some test configurations
     @Parameterized.Parameters(name = "Test: {0}") // add (name="Test: {0}") for jUnit 4.12+ to print ring's name to test
     public static Collection<TestParams[]> data() {
@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 
 /**
@@ -34,6 +35,22 @@ public class PrfTest {
         assertNotNull(prf.evaluate(k, preimageSupplier.get()));
     }
 
+    @Test
+    public void testWithKey() {
+        PrfKey k = prf.generateKey();
+        KeyedPseudorandomFunction keyedPrf = prf.withKey(k);
+        assertEquals(k, keyedPrf.getKey());
+        for (int i = 0; i < 3; i++) {
+            PrfPreimage x = preimageSupplier.get();
+            assertEquals(prf.evaluate(k, x), keyedPrf.evaluate(x));
+        }
+
+        PrfKey otherKey = prf.generateKey();
+        PrfPreimage x = preimageSupplier.get();
+        assertEquals(prf.withKey(otherKey).evaluate(x), prf.evaluate(otherKey, x));
+        assertNotEquals(prf.evaluate(k, x), prf.evaluate(otherKey, x));
+    }
+
     @Test
     public void testSerialization() {
         PrfKey k = prf.generateKey();
@@ -5,13 +5,21 @@ import org.junit.Test;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 public class RNGTest {
 
 
     @Test
     public void testBigInteger() {
-        RandomGeneratorImpl rng = new SecureRandomGeneratorImpl();
+        testBigInteger(new SecureRandomGeneratorImpl());
+        testBigInteger(new AesCtrRandomGeneratorImpl());
+    }
+
+    private void testBigInteger(RandomGeneratorImpl rng) {
         System.out.println("Test RNG for integers.");
 
         for (int size = 1; size <= 16; size++) {
@@ -30,8 +38,11 @@ public class RNGTest {
 
     @Test
     public void testDistribution() {
-        RandomGeneratorImpl rng = new SecureRandomGeneratorImpl();
+        testDistribution(new SecureRandomGeneratorImpl());
+        testDistribution(new AesCtrRandomGeneratorImpl());
+    }
 
+    private void testDistribution(RandomGeneratorImpl rng) {
         System.out.println("Test distribution of generated numbers");
         int[] ranges = {255, 256, 257};
         int k = 100000;
@@ -49,4 +60,40 @@ public class RNGTest {
             Assert.assertTrue(buckets[buckets.length - 1] < k / n + 200);
         }
     }
+
+    @Test
+    public void testGetRandomNumbers() {
+        for (RandomGeneratorImpl rng : new RandomGeneratorImpl[] {new SecureRandomGeneratorImpl(), new AesCtrRandomGeneratorImpl()}) {
+            for (BigInteger range : new BigInteger[] {BigInteger.ONE, BigInteger.valueOf(257), BigInteger.ONE.shiftLeft(100).add(BigInteger.ONE)}) {
+                BigInteger[] numbers = rng.getRandomNumbers(range, 1000);
+                Assert.assertEquals(1000, numbers.length);
+                for (BigInteger r : numbers) {
+                    Assert.assertTrue(range.compareTo(r) > 0);
+                    Assert.assertTrue(r.signum() >= 0);
+                }
+            }
+            Assert.assertEquals(0, rng.getRandomNumbers(BigInteger.TEN, 0).length);
+
+            // all values of a small range are hit
+            Set<BigInteger> values = new HashSet<>(Arrays.asList(rng.getRandomNumbers(BigInteger.valueOf(5), 500)));
+            Assert.assertEquals(5, values.size());
+        }
+    }
+
+    @Test
+    public void testAesCtrGeneratorAcrossThreads() {
+        AesCtrRandomGeneratorImpl rng = new AesCtrRandomGeneratorImpl();
+        Set<BigInteger> values = ConcurrentHashMap.newKeySet();
+        // more bytes per thread than generated per key
+        IntStream.range(0, 8).parallel().forEach(i -> {
+            for (int j = 0; j < 1000; j++)
+                values.add(new BigInteger(1, rng.getRandomBytes(16)));
+        });
+        Assert.assertEquals(8000, values.size());
+
+        // requests spanning several refills
+        byte[] large = new byte[20000];
+        rng.getRandomBytes(large);
+        Assert.assertNotEquals(0, new BigInteger(1, Arrays.copyOfRange(large, 19000, 20000)).signum());
+    }
 }
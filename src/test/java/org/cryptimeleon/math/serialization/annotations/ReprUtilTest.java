@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 
@@ -106,6 +107,20 @@ public class ReprUtilTest {
         assertEquals(deserialized, this);
     }
 
+    @Test
+    public void testConcurrentRestoration() {
+        populate();
+        Ring ring  = new Zn(BigInteger.TEN);
+        Representation repr = ReprUtil.serialize(this);
+
+        IntStream.range(0, 100).parallel().forEach(i -> {
+            assertEquals(repr, ReprUtil.serialize(this));
+            ReprUtilTest deserialized = new ReprUtilTest();
+            new ReprUtil(deserialized).register(ring, "R").deserialize(repr);
+            assertEquals(this, deserialized);
+        });
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -13,9 +13,14 @@ import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularBasicBilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bls12.Bls12BasicBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bls12.Bls12BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBasicBilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
 import org.cryptimeleon.math.structures.groups.lazy.LazyBilinearGroup;
+import org.cryptimeleon.math.structures.groups.mappings.impl.CachedHashIntoGroupImpl;
+import org.cryptimeleon.math.structures.groups.metrics.InstrumentedBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.metrics.InstrumentedGroupImpl;
 import org.cryptimeleon.math.structures.groups.sn.Sn;
 import org.cryptimeleon.math.structures.rings.cartesian.ProductRing;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
@@ -71,6 +76,11 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
         testBilinearGroup(new BarretoNaehrigBilinearGroup(80));
     }
 
+    public void testBls12() {
+        testBilinearGroup(new Bls12BasicBilinearGroup());
+        testBilinearGroup(new Bls12BilinearGroup());
+    }
+
     public void testSupersingular() {
         testBilinearGroup(new SupersingularBasicBilinearGroup(80));
         testBilinearGroup(new SupersingularBilinearGroup(80));
@@ -82,6 +92,7 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
 
         testBilinearGroup(new LazyBilinearGroup(bilGroupImpl));
         testBilinearGroup(new BasicBilinearGroup(bilGroupImpl));
+        test(new CachedHashIntoGroupImpl(bilGroupImpl.getHashIntoG1(), 10));
     }
 
     public void testDebugGroup() {
@@ -94,6 +105,16 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
         test(new DebugGroupImplNoExpMultiExp("DGINEME", RandomGenerator.getRandomPrime(128)));
     }
 
+    public void testInstrumentedGroup() {
+        testBilinearGroupImpl(new InstrumentedBilinearGroupImpl(new DebugBilinearGroupImpl(
+                RandomGenerator.getRandomPrime(128), BilinearGroup.Type.TYPE_2, false)));
+        testBilinearGroupImpl(new InstrumentedBilinearGroupImpl("debug", new DebugBilinearGroupImpl(
+                RandomGenerator.getRandomPrime(128), BilinearGroup.Type.TYPE_1, false)));
+        testBilinearGroup(new LazyBilinearGroup(new InstrumentedBilinearGroupImpl(new DebugBilinearGroupImpl(
+                RandomGenerator.getRandomPrime(128), BilinearGroup.Type.TYPE_3, false))));
+        test(new InstrumentedGroupImpl("DGIT", new DebugGroupImplTotal("DGIT", RandomGenerator.getRandomPrime(128))));
+    }
+
     public void testExtensionField() {
         test(new ExtensionField(BigInteger.valueOf(17)));
     }
@@ -119,6 +140,8 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
     public void testRings() {
         test(zp);
         test(zn);
+        test(new WordZn(BigInteger.valueOf(100000)));
+        test(new WordZp(BigInteger.valueOf(100003)));
 
         test(new HashIntoZn(zp));
         test(new HashIntoZp(zp));
@@ -0,0 +1,169 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.serialization.BinaryEncodable;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.converter.BinaryFormatConverter;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
+import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularBasicBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
+import org.cryptimeleon.math.structures.rings.Ring;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryEncodingTest {
+
+    @Test
+    public void testZnEncoding() {
+        Zn zn = new Zn(BigInteger.valueOf(1000));
+        Zp zp = new Zp(BigInteger.valueOf(1000003));
+
+        // fixed length, independent of the value
+        assertEquals(zn.getZeroElement().getEncodedLength(), zn.getElement(999).getEncodedLength());
+        assertEquals(2, zn.getElement(999).getEncodedLength());
+
+        checkElements(zn, zn.getZeroElement(), zn.getOneElement(), zn.getElement(999), zn.getUniformlyRandomElement());
+        checkElements(zp, zp.getZeroElement(), zp.getUniformlyRandomElement());
+        checkVector(zp, RingElementVector.generate(zp::getUniformlyRandomElement, 5));
+        checkVector(zp, new RingElementVector());
+
+        // values not less than the modulus are rejected
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        buffer.putShort((short) 1000);
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> zn.readElement(buffer));
+    }
+
+    @Test
+    public void testPairingGroupEncoding() {
+        List<BilinearGroup> bilinearGroups = new ArrayList<>();
+        bilinearGroups.add(new BarretoNaehrigBilinearGroup(128));
+        bilinearGroups.add(new SupersingularBasicBilinearGroup(80));
+        for (BilinearGroup bilGroup : bilinearGroups) {
+            for (Group group : new Group[] {bilGroup.getG1(), bilGroup.getG2(), bilGroup.getGT()}) {
+                checkElements(group, group.getNeutralElement(), group.getGenerator(),
+                        group.getUniformlyRandomElement(), group.getUniformlyRandomNonNeutral().op(group.getGenerator()));
+                checkVector(group, GroupElementVector.generate(group::getUniformlyRandomElement, 3));
+            }
+            checkElements(bilGroup.getZn(), bilGroup.getZn().getUniformlyRandomElement());
+        }
+
+        Secp256k1 secp = new Secp256k1();
+        checkElements(secp, secp.getNeutralElement(), secp.getGenerator(), secp.getUniformlyRandomElement());
+    }
+
+    @Test
+    public void testFallbackEncoding() {
+        // DebugGroup elements have no dedicated encoding and fall back to their representation
+        DebugGroup group = new DebugGroup("binary", 1000003);
+        checkElements(group, group.getNeutralElement(), group.getUniformlyRandomElement());
+        checkVector(group, GroupElementVector.generate(group::getUniformlyRandomElement, 3));
+    }
+
+    @Test
+    public void testPackedVectorRepresentation() {
+        Zp zp = new Zp(BigInteger.valueOf(1000003));
+        RingElementVector ringVector = RingElementVector.generate(zp::getUniformlyRandomElement, 100);
+        checkPackedVector(zp, ringVector);
+        checkPackedVector(zp, new RingElementVector());
+
+        BilinearGroup bilGroup = new BarretoNaehrigBilinearGroup(128);
+        for (Group group : new Group[] {bilGroup.getG1(), bilGroup.getG2(), bilGroup.getGT()}) {
+            GroupElementVector vector = GroupElementVector.generate(group::getUniformlyRandomElement, 10)
+                    .replace(3, group.getNeutralElement());
+            checkPackedVector(group, vector);
+        }
+
+        // encodings of different lengths are padded
+        DebugGroup debugGroup = new DebugGroup("packed", BigInteger.ONE.shiftLeft(100).nextProbablePrime());
+        checkPackedVector(debugGroup, new GroupElementVector(debugGroup.getNeutralElement(),
+                debugGroup.getUniformlyRandomElement(), debugGroup.wrap(debugGroup.getZn().valueOf(17))));
+
+        // packed representation is much more compact than one representation per entry
+        BinaryFormatConverter converter = new BinaryFormatConverter();
+        assertTrue(converter.serialize(ringVector.getPackedRepresentation()).length
+                < converter.serialize(ringVector.getRepresentation()).length / 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> zp.restoreVector(new ByteArrayRepresentation(new byte[] {0, 0, 0, 2, 0, 0, 0, 3, 1, 2, 3})));
+    }
+
+    private static void checkPackedVector(Ring ring, RingElementVector vector) {
+        RingElementVector restored = ring.restoreVector(serializeAndDeserialize(vector.getPackedRepresentation()));
+        // entries are decoded on demand, in any order
+        for (int i = vector.length() - 1; i >= 0; i--)
+            assertEquals(vector.get(i), restored.get(i));
+        assertEquals(vector, restored);
+        assertEquals(vector, ring.restoreVector(vector.getRepresentation()));
+    }
+
+    private static void checkPackedVector(Group group, GroupElementVector vector) {
+        GroupElementVector restored = group.restoreVector(serializeAndDeserialize(vector.getPackedRepresentation()));
+        for (int i = vector.length() - 1; i >= 0; i--)
+            assertEquals(vector.get(i), restored.get(i));
+        assertEquals(vector, restored);
+        assertEquals(vector, restored.pow(BigInteger.ONE));
+    }
+
+    private static Representation serializeAndDeserialize(Representation repr) {
+        BinaryFormatConverter converter = new BinaryFormatConverter();
+        return converter.deserialize(converter.serialize(repr));
+    }
+
+    private static void checkElements(Structure structure, Element... elements) {
+        int totalLength = 0;
+        for (Element element : elements)
+            totalLength += element.getEncodedLength();
+
+        // write all elements to the same buffer, then read them back in order
+        ByteBuffer buffer = ByteBuffer.allocate(totalLength);
+        for (Element element : elements) {
+            int positionBefore = buffer.position();
+            element.writeTo(buffer);
+            assertEquals(element.getEncodedLength(), buffer.position() - positionBefore);
+        }
+        assertEquals(0, buffer.remaining());
+
+        buffer.flip();
+        for (Element element : elements)
+            assertEquals(element, structure.readElement(buffer));
+        assertEquals(0, buffer.remaining());
+
+        for (Element element : elements)
+            assertEquals(element, structure.readElement(ByteBuffer.wrap(element.toBytes())));
+    }
+
+    private static void checkVector(Ring ring, RingElementVector vector) {
+        ByteBuffer buffer = ByteBuffer.wrap(toBytes(vector));
+        assertEquals(vector, ring.readVector(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    private static void checkVector(Group group, GroupElementVector vector) {
+        ByteBuffer buffer = ByteBuffer.wrap(toBytes(vector));
+        assertEquals(vector, group.readVector(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    private static byte[] toBytes(BinaryEncodable encodable) {
+        byte[] bytes = encodable.toBytes();
+        assertEquals(encodable.getEncodedLength(), bytes.length);
+        return bytes;
+    }
+}
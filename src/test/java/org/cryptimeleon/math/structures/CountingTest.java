@@ -1,14 +1,19 @@
 package org.cryptimeleon.math.structures;
 
 import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.serialization.converter.JSONConverter;
 import org.cryptimeleon.math.structures.groups.GroupElement;
-import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;;
+import org.cryptimeleon.math.structures.groups.debug.BilinearCountingSnapshot;
+import org.cryptimeleon.math.structures.groups.debug.CountingSnapshot;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
 import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -337,4 +342,76 @@ public class CountingTest {
         assertEquals(1, bilGroup.getNumPairings(bucketName1));
         assertEquals(1, bilGroup.getNumPairings(bucketName2));
     }
+
+    @Test
+    public void testThreadBuckets() throws InterruptedException {
+        String bucketName = getClass().getName() + "#testThreadBuckets";
+        DebugGroup groupG1 = (DebugGroup) bilGroup.getG1();
+        DebugGroup groupG2 = (DebugGroup) bilGroup.getG2();
+        GroupElement elemG1 = groupG1.getUniformlyRandomNonNeutral();
+        GroupElement elemG2 = groupG2.getUniformlyRandomNonNeutral();
+        bilGroup.setBucket(bucketName);
+
+        int numThreads = 4;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            String threadBucketName = bucketName + "(" + i + ")";
+            int numSquarings = i + 1;
+            threads.add(new Thread(() -> {
+                bilGroup.setThreadBucket(threadBucketName);
+                for (int j = 0; j < numSquarings; j++) {
+                    elemG1.op(elemG1).computeSync();
+                }
+                bilGroup.getBilinearMap().apply(elemG1, elemG2).computeSync();
+                bilGroup.clearThreadBucket();
+                elemG1.op(elemG1).computeSync();
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < numThreads; i++) {
+            BilinearCountingSnapshot snapshot = bilGroup.getCounterSnapshot(bucketName + "(" + i + ")");
+            assertEquals(i + 1, snapshot.getG1().getNumSquaringsTotal());
+            assertEquals(1, snapshot.getNumPairings());
+        }
+        // after clearing the thread bucket, operations are counted in the globally set bucket
+        assertEquals(numThreads, groupG1.getNumSquaringsTotal(bucketName));
+        assertEquals(0, bilGroup.getNumPairings(bucketName));
+    }
+
+    @Test
+    public void testSnapshot() {
+        String bucketName = getClass().getName() + "#testSnapshot";
+        DebugGroup debugGroup = (DebugGroup) bilGroup.getG1();
+        bilGroup.setBucket(bucketName);
+        GroupElement elem1 = debugGroup.getUniformlyRandomNonNeutral();
+        GroupElement elem2 = debugGroup.getUniformlyRandomNonNeutral();
+        elem1.pow(10).computeSync();
+        elem1.op(elem2).inv().computeSync();
+        elem1.getRepresentation();
+
+        CountingSnapshot snapshot = debugGroup.getCounterSnapshot(bucketName);
+        assertEquals(debugGroup.getNumOpsTotal(bucketName), snapshot.getNumOpsTotal());
+        assertEquals(debugGroup.getNumSquaringsTotal(bucketName), snapshot.getNumSquaringsTotal());
+        assertEquals(1, snapshot.getNumInversionsTotal());
+        assertEquals(1, snapshot.getNumOpsNoExpMultiExp());
+        assertEquals(1, snapshot.getNumExps());
+        assertEquals(1, snapshot.getNumRetrievedRepresentations());
+
+        // the snapshot does not change anymore
+        elem1.op(elem2).computeSync();
+        assertEquals(2, debugGroup.getNumOpsNoExpMultiExp(bucketName));
+        assertEquals(1, snapshot.getNumOpsNoExpMultiExp());
+
+        // export as structured data
+        JSONConverter converter = new JSONConverter();
+        BilinearCountingSnapshot bilSnapshot = bilGroup.getCounterSnapshot(bucketName);
+        assertEquals(bilSnapshot, new BilinearCountingSnapshot(converter.deserialize(
+                converter.serialize(bilSnapshot.getRepresentation()))));
+    }
 }
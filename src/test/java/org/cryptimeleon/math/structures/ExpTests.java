@@ -1,20 +1,35 @@
 package org.cryptimeleon.math.structures;
 
 import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.serialization.converter.JSONConverter;
+import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplNoExpMultiExp;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplTotal;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.WeierstrassCurve;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
+import org.cryptimeleon.math.structures.groups.exp.ExpAlgorithm;
 import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationPlan;
+import org.cryptimeleon.math.structures.groups.exp.FixedExponentChain;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
 import org.cryptimeleon.math.structures.groups.exp.MultiExpTerm;
 import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.lazy.LazyGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.Test;
 
 import java.math.BigInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ExpTests {
 
@@ -35,6 +50,111 @@ public class ExpTests {
         }
     }
 
+    @Test
+    public void testPippengerMultiExp() {
+        BilinearGroupImpl bilGroup = new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(60),
+                BilinearGroup.Type.TYPE_3, false);
+        for (int numTerms : new int[] {1, 3, 20}) {
+            Multiexponentiation multiexponentiation = genMultiExp(bilGroup.getG1(), numTerms);
+            multiexponentiation.put(new MultiExpTerm(bilGroup.getG1().getUniformlyRandomNonNeutral(),
+                    BigInteger.valueOf(-12345)));
+            GroupElementImpl naiveResult = naiveEval(multiexponentiation);
+            for (int windowSize = 1; windowSize <= 6; windowSize++) {
+                assertEquals(naiveResult,
+                        ExponentiationAlgorithms.pippengerMultiExp(multiexponentiation, windowSize));
+            }
+        }
+    }
+
+    @Test
+    public void testExponentiationPlan() {
+        // cheap inversions should lead to wNAF, expensive ones to sliding window
+        ExponentiationPlan cheapInv = ExponentiationPlan.fromOperationCosts(100, 80, 10, 256);
+        ExponentiationPlan expensiveInv = ExponentiationPlan.fromOperationCosts(100, 80, 5000, 256);
+        assertEquals(ExpAlgorithm.WNAF, cheapInv.getExpAlgorithm());
+        assertEquals(ExpAlgorithm.SLIDING, expensiveInv.getExpAlgorithm());
+        assertTrue(cheapInv.getPrecomputationWindowSize() >= cheapInv.getExponentiationWindowSize());
+
+        // calibration results can be persisted
+        ExponentiationPlan restored = new ExponentiationPlan(
+                new JSONConverter().deserialize(new JSONConverter().serialize(cheapInv.getRepresentation()))
+        );
+        assertEquals(cheapInv, restored);
+        assertEquals(Long.valueOf(10), restored.getInvCostNanos());
+    }
+
+    @Test
+    public void testCalibratedLazyGroup() {
+        GroupImpl impl = new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(128),
+                BilinearGroup.Type.TYPE_3, false).getG1();
+        ExponentiationPlan plan = ExponentiationPlan.calibrate(impl, 20);
+        assertTrue(plan.isCalibrated());
+        LazyGroup calibratedGroup = new LazyGroup(impl, plan);
+        LazyGroup defaultGroup = new LazyGroup(impl);
+        assertEquals(plan, calibratedGroup.getExponentiationPlan());
+
+        for (int i = 0; i < 4; ++i) {
+            GroupElementImpl base = impl.getUniformlyRandomNonNeutral();
+            GroupElementImpl base2 = impl.getUniformlyRandomNonNeutral();
+            BigInteger exponent = RandomGenerator.getRandomNumber(impl.size());
+            BigInteger exponent2 = RandomGenerator.getRandomNumber(impl.size());
+            GroupElement[] results = new GroupElement[2];
+            GroupElement[] multiExpResults = new GroupElement[2];
+            LazyGroup[] groups = {calibratedGroup, defaultGroup};
+            for (int j = 0; j < groups.length; j++) {
+                results[j] = groups[j].wrap(base).pow(exponent);
+                multiExpResults[j] = groups[j].wrap(base).pow(exponent)
+                        .op(groups[j].wrap(base2).precomputePow().pow(exponent2));
+            }
+            assertEquals(results[1].getRepresentation(), results[0].getRepresentation());
+            assertEquals(multiExpResults[1].getRepresentation(), multiExpResults[0].getRepresentation());
+            assertEquals(base.pow(exponent).op(base2.pow(exponent2)).getRepresentation(),
+                    multiExpResults[0].getRepresentation());
+        }
+    }
+
+    @Test
+    public void testExponentiationPlanIsUsed() {
+        // all ones, so that the number of operations only depends on the window size
+        BigInteger exponent = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+        long[] numOps = new long[2];
+        int[] windowSizes = {1, 5};
+        for (int i = 0; i < windowSizes.length; i++) {
+            ExponentiationPlan plan = new ExponentiationPlan(ExpAlgorithm.SLIDING, MultiExpAlgorithm.SLIDING,
+                    windowSizes[i], windowSizes[i], ExponentiationPlan.PIPPENGER_DISABLED);
+            BigInteger size = RandomGenerator.getRandomPrime(160);
+            LazyGroup groupTotal = new LazyGroup(new DebugGroupImplTotal("testPlan", size), plan);
+            assertEquals(plan, groupTotal.getExponentiationPlan());
+            DebugGroup debugGroup = new DebugGroup(groupTotal,
+                    new LazyGroup(new DebugGroupImplNoExpMultiExp("testPlan", size), plan));
+            String bucketName = getClass().getName() + "#testExponentiationPlanIsUsed" + windowSizes[i];
+            debugGroup.setBucket(bucketName);
+            debugGroup.getUniformlyRandomNonNeutral().pow(exponent).computeSync();
+            numOps[i] = debugGroup.getNumOpsTotal(bucketName);
+        }
+        // with window size 1, the sliding window method is square and multiply, i.e. one operation per bit
+        assertEquals(exponent.bitLength(), numOps[0]);
+        assertTrue(numOps[1] < numOps[0]);
+    }
+
+    @Test
+    public void testLazyGroupPlanRepresentation() {
+        GroupImpl impl = new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(128),
+                BilinearGroup.Type.TYPE_3, false).getG1();
+        ExponentiationPlan plan = new ExponentiationPlan(ExpAlgorithm.SLIDING, MultiExpAlgorithm.WNAF, 3, 6, 2);
+        assertNotEquals(plan, new LazyGroup(impl).getExponentiationPlan());
+        LazyGroup group = new LazyGroup(impl, plan);
+
+        // the plan is not part of the group's representation, it needs to be persisted and passed separately
+        assertEquals(new LazyGroup(impl).getExponentiationPlan(),
+                new LazyGroup(group.getRepresentation()).getExponentiationPlan());
+        ExponentiationPlan restoredPlan = new ExponentiationPlan(plan.getRepresentation());
+        assertEquals(plan, restoredPlan);
+        LazyGroup restored = new LazyGroup(group.getRepresentation(), restoredPlan);
+        assertEquals(group, restored);
+        assertEquals(plan, restored.getExponentiationPlan());
+    }
+
     private static Multiexponentiation genMultiExp(GroupImpl group, int numTerms) {
         Multiexponentiation multiexponentiation = new Multiexponentiation();
         for (int i = 0; i < numTerms; ++i) {
@@ -76,4 +196,56 @@ public class ExpTests {
             assertEquals(naiveResult, wNafResult);
         }
     }
+
+    @Test
+    public void testSecp256k1Exp() {
+        WeierstrassCurve secp = (WeierstrassCurve) new Secp256k1().getImpl();
+        Zp zp = (Zp) secp.getFieldOfDefinition();
+        GroupElementImpl generator = secp.getGenerator();
+        // 3G from the secp256k1 test vectors
+        assertEquals(secp.getElement(
+                zp.valueOf(new BigInteger("F9308A019258C31049344F85F89D5229B531C845836F99B08601F113BCE036F9", 16)),
+                zp.valueOf(new BigInteger("388F7B0F632DE8140FE337E62A37F3566500A99934C2231B6CB9FD7584B8E672", 16))
+        ), generator.pow(BigInteger.valueOf(3)));
+        assertTrue(generator.pow(secp.size()).isNeutralElement());
+
+        GroupElementImpl elem = secp.getUniformlyRandomNonNeutral();
+        for (int i = 0; i < 4; ++i) {
+            BigInteger exponent = RandomGenerator.getRandomNumber(secp.size());
+            // generator uses precomputed table, elem uses wNAF
+            assertEquals(ExponentiationAlgorithms.binSquareMultiplyExp(generator, exponent), generator.pow(exponent));
+            assertEquals(ExponentiationAlgorithms.binSquareMultiplyExp(elem, exponent), elem.pow(exponent));
+            assertEquals(elem.pow(exponent.negate()), elem.pow(exponent).inv());
+
+            Multiexponentiation multiexp = new Multiexponentiation();
+            multiexp.put(new MultiExpTerm(generator, exponent));
+            multiexp.put(new MultiExpTerm(elem, exponent.add(BigInteger.ONE)));
+            multiexp.put(new MultiExpTerm(generator, BigInteger.TEN));
+            assertEquals(naiveEval(multiexp), secp.multiexp(multiexp));
+        }
+    }
+
+    @Test
+    public void testFixedExponentChain() {
+        GroupImpl debugGroup = new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(128),
+                BilinearGroup.Type.TYPE_3, false).getG1();
+        GroupImpl secp = new Secp256k1().getImpl();
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+        BigInteger[] exponents = {BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(2), BigInteger.valueOf(-5),
+                BigInteger.ONE.shiftLeft(100), BigInteger.ONE.shiftLeft(100).subtract(BigInteger.ONE),
+                RandomGenerator.getRandomNumberOfBitlength(200), RandomGenerator.getRandomNumberOfBitlength(300).negate()};
+        for (BigInteger exponent : exponents) {
+            FixedExponentChain chain = new FixedExponentChain(exponent);
+            for (GroupImpl group : new GroupImpl[] {debugGroup, secp}) {
+                GroupElementImpl elem = group.getUniformlyRandomNonNeutral();
+                assertEquals(ExponentiationAlgorithms.binSquareMultiplyExp(elem, exponent), chain.pow(elem));
+            }
+            Zp.ZpElement elem = zp.getUniformlyRandomNonzeroElement();
+            assertEquals(elem.pow(exponent), chain.pow(elem));
+
+            // at most one operation per bit plus a few for the precomputation
+            assertTrue(chain.getLength(false) <= exponent.bitLength() * 5 / 4 + 10);
+            assertTrue(chain.getLength(true) <= chain.getLength(false));
+        }
+    }
 }
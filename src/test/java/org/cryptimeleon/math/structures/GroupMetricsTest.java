@@ -0,0 +1,110 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.basic.BasicGroup;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplTotal;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.lazy.LazyBilinearGroup;
+import org.cryptimeleon.math.structures.groups.metrics.CollectingMetricsRecorder;
+import org.cryptimeleon.math.structures.groups.metrics.GroupMetrics;
+import org.cryptimeleon.math.structures.groups.metrics.Histogram;
+import org.cryptimeleon.math.structures.groups.metrics.InstrumentedBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.metrics.InstrumentedGroupImpl;
+import org.cryptimeleon.math.structures.groups.metrics.Operation;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupMetricsTest {
+
+    @Test
+    public void testLazyBilinearGroup() {
+        BilinearGroup bilGroup = new LazyBilinearGroup(new InstrumentedBilinearGroupImpl("metricsTest",
+                new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(128), BilinearGroup.Type.TYPE_3, false)));
+        Zn zn = bilGroup.getZn();
+        GroupElement g = bilGroup.getG1().getUniformlyRandomNonNeutral().computeSync();
+        GroupElement h = bilGroup.getG1().getUniformlyRandomNonNeutral().computeSync();
+        GroupElement g2 = bilGroup.getG2().getUniformlyRandomNonNeutral().computeSync();
+
+        CollectingMetricsRecorder metrics = new CollectingMetricsRecorder();
+        GroupMetrics.setRecorder(metrics);
+        try {
+            GroupElement multiexp = g.pow(zn.getUniformlyRandomElement())
+                    .op(h.pow(zn.getUniformlyRandomElement()))
+                    .computeSync();
+            bilGroup.getBilinearMap().apply(multiexp, g2).computeSync();
+            bilGroup.getHashIntoG1().hash(new byte[] {1, 2, 3}).computeSync();
+        } finally {
+            GroupMetrics.setRecorder(null);
+        }
+
+        assertEquals(1, metrics.getCount("metricsTest.G1", Operation.MULTIEXP));
+        assertArrayEquals(new long[] {0, 0, 1},
+                metrics.getMetrics("metricsTest.G1").getMultiExpTermNumbers().getBucketCounts());
+        assertTrue(metrics.getCount("metricsTest.G1", Operation.OP) > 0);
+        assertEquals(2, metrics.getMetrics("metricsTest.G1").getNumPrecomputationMisses());
+        assertEquals(1, metrics.getCount("metricsTest.e", Operation.PAIRING));
+        assertEquals(1, metrics.getCount("metricsTest.G1", Operation.HASH));
+        assertEquals(0, metrics.getCount("metricsTest.G2", Operation.OP));
+    }
+
+    @Test
+    public void testBasicGroupPrecomputation() {
+        Group group = new BasicGroup(new InstrumentedGroupImpl("metricsTestBasic",
+                new DebugGroupImplTotal("metricsTestBasic", RandomGenerator.getRandomPrime(128))));
+        GroupElement g = group.getUniformlyRandomNonNeutral();
+        g.pow(group.getZn().getUniformlyRandomElement());
+        g.precomputePow();
+
+        CollectingMetricsRecorder metrics = new CollectingMetricsRecorder();
+        GroupMetrics.setRecorder(metrics);
+        try {
+            g.pow(group.getZn().getUniformlyRandomElement());
+        } finally {
+            GroupMetrics.setRecorder(null);
+        }
+
+        assertEquals(1, metrics.getCount("metricsTestBasic", Operation.EXP));
+        assertEquals(1, metrics.getMetrics("metricsTestBasic").getNumPrecomputationHits());
+        assertEquals(0, metrics.getMetrics("metricsTestBasic").getNumPrecomputationMisses());
+    }
+
+    @Test
+    public void testNothingRecordedWhenDisabled() {
+        Group group = new BasicGroup(new InstrumentedGroupImpl("metricsTestDisabled",
+                new DebugGroupImplTotal("metricsTestDisabled", RandomGenerator.getRandomPrime(128))));
+        CollectingMetricsRecorder metrics = new CollectingMetricsRecorder();
+        GroupMetrics.setRecorder(metrics);
+        GroupMetrics.setRecorder(null);
+
+        group.getUniformlyRandomNonNeutral().pow(group.getZn().getUniformlyRandomElement());
+        assertTrue(metrics.getStructureNames().isEmpty());
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(5);
+        histogram.record(6);
+        histogram.record(100);
+
+        assertEquals(5, histogram.getCount());
+        assertEquals(112, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        assertArrayEquals(new long[] {1, 1, 0, 2, 0, 0, 0, 1}, histogram.getBucketCounts());
+        assertEquals(7, histogram.getQuantileUpperBound(0.8));
+        assertEquals(100, histogram.getQuantileUpperBound(1));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+}
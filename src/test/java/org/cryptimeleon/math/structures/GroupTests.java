@@ -8,6 +8,8 @@ import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.basic.BasicGroup;
 import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplNoExpMultiExp;
 import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplTotal;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1Basic;
 import org.cryptimeleon.math.structures.groups.lazy.LazyGroup;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.junit.Test;
@@ -230,7 +232,8 @@ public class GroupTests {
         // Collect parameters
         TestParams[][] params = new TestParams[][]{
                 {new TestParams(basicGroupNEME)}, {new TestParams(basicGroupTotal)},
-                {new TestParams(lazyGroupNEME)}, {new TestParams(lazyGroupTotal)}
+                {new TestParams(lazyGroupNEME)}, {new TestParams(lazyGroupTotal)},
+                {new TestParams(new Secp256k1())}, {new TestParams(new Secp256k1Basic())}
         };
         return Arrays.asList(params);
     }
@@ -0,0 +1,111 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.HashIntoGroup;
+import org.cryptimeleon.math.structures.groups.HashIntoGroupCache;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBasicBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigHashMapping;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigParameterSpec;
+import org.cryptimeleon.math.structures.groups.lazy.HashIntoLazyGroup;
+import org.cryptimeleon.math.structures.groups.mappings.impl.CachedHashIntoGroupImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashIntoGroupTest {
+
+    @Test
+    public void testBatchHashingMatchesSingleHashing() {
+        // more inputs than hashed per parallel task
+        List<byte[]> inputs = generateInputs(40);
+        for (BarretoNaehrigHashMapping mapping : BarretoNaehrigHashMapping.values()) {
+            BilinearGroup lazyGroup = new BarretoNaehrigBilinearGroup(BarretoNaehrigParameterSpec.sfc256(), mapping);
+            BilinearGroup basicGroup = new BarretoNaehrigBasicBilinearGroup(BarretoNaehrigParameterSpec.sfc256(),
+                    mapping);
+            checkBatchHashing(lazyGroup.getHashIntoG1(), inputs);
+            checkBatchHashing(basicGroup.getHashIntoG1(), inputs);
+            // square roots in G2's field are deterministic, so hashing into G2 is as well
+            checkBatchHashing(lazyGroup.getHashIntoG2(), inputs);
+            checkBatchHashing(basicGroup.getHashIntoG2(), inputs);
+        }
+    }
+
+    @Test
+    public void testSvdWHashIntoG2() {
+        BilinearGroup group = new BarretoNaehrigBasicBilinearGroup(BarretoNaehrigParameterSpec.sfc256(),
+                BarretoNaehrigHashMapping.SVDW);
+        List<byte[]> inputs = generateInputs(3);
+        List<GroupElement> hashes = group.getHashIntoG2().hash(inputs);
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(group.getHashIntoG2().hash(inputs.get(i)), hashes.get(i));
+            assertTrue(hashes.get(i).pow(group.getG2().size()).isNeutralElement());
+        }
+    }
+
+    @Test
+    public void testCachedHashIntoGroupImpl() {
+        HashIntoGroupImpl hash = new DebugBilinearGroupImpl(RandomGenerator.getRandomPrime(128),
+                BilinearGroup.Type.TYPE_3, false).getHashIntoG1();
+        CachedHashIntoGroupImpl cachedHash = new CachedHashIntoGroupImpl(hash, 2);
+        List<byte[]> inputs = generateInputs(3);
+
+        assertEquals(hash.hashIntoGroupImpl(inputs.get(0)), cachedHash.hashIntoGroupImpl(inputs.get(0)));
+        assertSame(cachedHash.hashIntoGroupImpl(inputs.get(0)), cachedHash.hashIntoGroupImpl(inputs.get(0)));
+        assertEquals(hash.hashIntoGroupImpl(inputs), cachedHash.hashIntoGroupImpl(inputs));
+
+        HashIntoGroupCache<?> cache = cachedHash.getCache();
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testHashIntoLazyGroupCache() {
+        HashIntoLazyGroup hash = (HashIntoLazyGroup) new BarretoNaehrigBilinearGroup(80).getHashIntoG1();
+        List<byte[]> inputs = generateInputs(4);
+        List<GroupElement> expected = hash.hash(inputs);
+
+        hash.enableCache(3);
+        GroupElement first = hash.hash(inputs.get(0));
+        assertSame(first, hash.hash(inputs.get(0)));
+        assertEquals(expected.get(0), first);
+        assertEquals(expected.subList(0, 3), hash.hash(inputs.subList(0, 3)));
+        assertSame(first, hash.hash(inputs.get(0)));
+        assertEquals(expected.get(3), hash.hash(inputs.get(3)));
+        assertEquals(3, hash.getCache().size());
+        assertEquals(1, hash.getCache().getEvictionCount());
+
+        hash.disableCache();
+        assertEquals(expected.get(0), hash.hash(inputs.get(0)));
+    }
+
+    private static void checkBatchHashing(HashIntoGroup hash, List<byte[]> inputs) {
+        List<GroupElement> batchResult = hash.hash(inputs);
+        assertEquals(inputs.size(), batchResult.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(hash.hash(inputs.get(i)), batchResult.get(i));
+        }
+        assertNotEquals(batchResult.get(0), batchResult.get(1));
+    }
+
+    private static List<byte[]> generateInputs(int n) {
+        List<byte[]> inputs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            inputs.add(("attribute " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return inputs;
+    }
+}
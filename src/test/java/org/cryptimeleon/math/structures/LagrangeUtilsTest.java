@@ -0,0 +1,151 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.basic.BasicGroup;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroupImplNoExpMultiExp;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1Basic;
+import org.cryptimeleon.math.structures.rings.polynomial.LagrangeCoefficientCache;
+import org.cryptimeleon.math.structures.rings.polynomial.LagrangeUtils;
+import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class LagrangeUtilsTest {
+
+    @Test
+    public void testCoefficients() {
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+        Set<ZpElement> S = getRandomPoints(zp, 10);
+        ZpElement x = zp.getUniformlyRandomElement();
+
+        Map<ZpElement, ZpElement> coefficients = LagrangeUtils.computeCoefficients(S, x);
+        assertEquals(S, coefficients.keySet());
+        for (ZpElement i : S) {
+            ZpElement expected = zp.getOneElement();
+            for (ZpElement j : S)
+                if (!j.equals(i))
+                    expected = expected.mul(x.sub(j).div(i.sub(j)));
+            assertEquals(expected, coefficients.get(i));
+            assertEquals(expected, LagrangeUtils.computeCoefficient(i, S, x));
+        }
+
+        // x is one of the points
+        ZpElement point = S.iterator().next();
+        coefficients = LagrangeUtils.computeCoefficients(S, point);
+        for (ZpElement i : S)
+            assertEquals(i.equals(point) ? zp.getOneElement() : zp.getZeroElement(), coefficients.get(i));
+    }
+
+    @Test
+    public void testManyCoefficients() {
+        // uses a subproduct tree for the denominators
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+        Set<ZpElement> S = getRandomPoints(zp, 1100);
+        ZpElement x = zp.getUniformlyRandomElement();
+
+        // interpolating the polynomials 1 and X at x yields 1 and x, respectively
+        Map<ZpElement, ZpElement> coefficients = LagrangeUtils.computeCoefficients(S, x);
+        ZpElement sum = zp.getZeroElement();
+        ZpElement weightedSum = zp.getZeroElement();
+        for (ZpElement i : S) {
+            sum = sum.add(coefficients.get(i));
+            weightedSum = weightedSum.add(coefficients.get(i).mul(i));
+        }
+        assertEquals(zp.getOneElement(), sum);
+        assertEquals(x, weightedSum);
+    }
+
+    @Test
+    public void testCoefficientCache() {
+        LagrangeCoefficientCache previous = LagrangeUtils.getCoefficientCache();
+        LagrangeCoefficientCache cache = new LagrangeCoefficientCache(2);
+        LagrangeUtils.setCoefficientCache(cache);
+        try {
+            Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+            Set<ZpElement> S = getRandomPoints(zp, 5);
+            ZpElement x = zp.getZeroElement();
+
+            Map<ZpElement, ZpElement> coefficients = LagrangeUtils.computeCoefficients(S, x);
+            for (ZpElement i : S)
+                assertEquals(coefficients.get(i), LagrangeUtils.computeCoefficient(i, new HashSet<>(S), x));
+            assertEquals(1, cache.getMissCount());
+            assertEquals(S.size(), cache.getHitCount());
+
+            LagrangeUtils.computeCoefficients(S, zp.getOneElement());
+            LagrangeUtils.computeCoefficients(getRandomPoints(zp, 5), x);
+            assertEquals(2, cache.size());
+            assertEquals(3, cache.getMissCount());
+        } finally {
+            LagrangeUtils.setCoefficientCache(previous);
+        }
+    }
+
+    @Test
+    public void testInterpolateInTheExponent() {
+        testInterpolateInTheExponent(new Secp256k1Basic());
+        testInterpolateInTheExponent(new Secp256k1());
+        testInterpolateInTheExponent(new BasicGroup(
+                new DebugGroupImplNoExpMultiExp("lagrangeTest", RandomGenerator.getRandomPrime(128))
+        ));
+    }
+
+    @Test
+    public void testMultiexp() {
+        Group group = new BasicGroup(
+                new DebugGroupImplNoExpMultiExp("multiexpTest", RandomGenerator.getRandomPrime(128))
+        );
+        List<GroupElement> bases = new ArrayList<>();
+        List<BigInteger> exponents = new ArrayList<>();
+        GroupElement expected = group.getNeutralElement();
+        for (int i = 0; i < 10; i++) {
+            GroupElement base = group.getUniformlyRandomElement();
+            BigInteger exponent = group.getUniformlyRandomExponent().asInteger();
+            if (i % 3 == 0)
+                exponent = exponent.negate();
+            bases.add(base);
+            exponents.add(exponent);
+            expected = expected.op(base.pow(exponent));
+        }
+        assertEquals(expected, group.multiexp(bases, exponents));
+        assertEquals(group.getNeutralElement(), group.multiexp(new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private void testInterpolateInTheExponent(Group group) {
+        Zp zp = (Zp) group.getZn();
+        PolynomialRing.Polynomial polynomial = new PolynomialRing(zp).new Polynomial(
+                zp.getUniformlyRandomElements(5).toList());
+        GroupElement generator = group.getGenerator();
+
+        Map<BigInteger, GroupElement> shares = new HashMap<>();
+        for (int i = 1; i <= 5; i++)
+            shares.put(BigInteger.valueOf(i),
+                    generator.pow(polynomial.evaluate(zp.valueOf(i))).compute());
+
+        BigInteger x = zp.getUniformlyRandomElement().asInteger();
+        assertEquals(generator.pow(polynomial.evaluate(zp.valueOf(x))),
+                LagrangeUtils.interpolateInTheExponent(shares, x));
+        assertEquals(generator.pow(polynomial.evaluate(zp.getZeroElement())),
+                LagrangeUtils.interpolateInTheExponent(shares, BigInteger.ZERO));
+    }
+
+    private Set<ZpElement> getRandomPoints(Zp zp, int n) {
+        Set<ZpElement> result = new HashSet<>();
+        while (result.size() < n)
+            result.add(zp.getUniformlyRandomElement());
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.rings.Ring;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.integers.IntegerRing;
+import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares multiplication and division of polynomials of various degrees (which use different algorithms depending
+ * on the degree) with the schoolbook results.
+ */
+public class PolynomialArithmeticTest {
+    /**
+     * Pairs of degrees of a quotient and a divisor; the last pairs have at least 128 coefficients in both, such that
+     * division uses Newton iteration.
+     */
+    private static final int[][] DEGREES = {{0, 0}, {5, 90}, {31, 31}, {40, 45}, {100, 33}, {150, 140}, {300, 200},
+            {400, 200}};
+
+    @Test
+    public void testZp() {
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(256));
+        testMultiplicationAndDivision(zp);
+    }
+
+    @Test
+    public void testSmallZp() {
+        testMultiplicationAndDivision(new Zp(BigInteger.valueOf(13)));
+    }
+
+    @Test
+    public void testZn() {
+        testMultiplicationAndDivision(new Zn(BigInteger.valueOf(2).pow(100).subtract(BigInteger.ONE)));
+    }
+
+    @Test
+    public void testIntegers() {
+        testMultiplicationAndDivision(new IntegerRing());
+    }
+
+    private void testMultiplicationAndDivision(Ring ring) {
+        PolynomialRing polynomialRing = new PolynomialRing(ring);
+        for (int[] degrees : DEGREES) {
+            RingElement[] a = getRandomCoefficients(ring, degrees[0]);
+            RingElement[] b = getRandomCoefficients(ring, degrees[1]);
+            RingElement[] expectedProduct = schoolbookMul(ring, a, b);
+            PolynomialRing.Polynomial p = polynomialRing.new Polynomial(a);
+            PolynomialRing.Polynomial q = polynomialRing.new Polynomial(b);
+            assertEquals(polynomialRing.new Polynomial(expectedProduct), p.mul(q));
+
+            // (p * q + r) / q = p with remainder r
+            PolynomialRing.Polynomial r = polynomialRing.new Polynomial(
+                    getRandomCoefficients(ring, degrees[1] - 1));
+            if (degrees[1] == 0)
+                r = polynomialRing.getZeroElement();
+            PolynomialRing.Polynomial[] quotientAndRemainder = p.mul(q).add(r).divideWithRemainder(q);
+            assertEquals(p, quotientAndRemainder[0]);
+            assertEquals(r, quotientAndRemainder[1]);
+
+            // division of an arbitrary polynomial of the same degree as p * q
+            RingElement[] c = getRandomCoefficients(ring, degrees[0] + degrees[1]);
+            RingElement[][] expectedQuotientAndRemainder = schoolbookDivide(ring, c, b);
+            quotientAndRemainder = polynomialRing.new Polynomial(c).divideWithRemainder(q);
+            assertEquals(polynomialRing.new Polynomial(expectedQuotientAndRemainder[0]), quotientAndRemainder[0]);
+            assertEquals(polynomialRing.new Polynomial(expectedQuotientAndRemainder[1]), quotientAndRemainder[1]);
+        }
+    }
+
+    /**
+     * Returns random coefficients for a polynomial of the given degree with leading coefficient one
+     * (such that it can be used as divisor over any ring).
+     */
+    private RingElement[] getRandomCoefficients(Ring ring, int degree) {
+        RingElement[] result = new RingElement[Math.max(1, degree + 1)];
+        for (int i = 0; i < result.length - 1; i++)
+            result[i] = ring instanceof IntegerRing
+                    ? ring.getElement(BigInteger.valueOf(RandomGenerator.getRandomNumber(-1000, 1000)))
+                    : ring.getUniformlyRandomElement();
+        result[result.length - 1] = ring.getOneElement();
+        return result;
+    }
+
+    private RingElement[] schoolbookMul(Ring ring, RingElement[] a, RingElement[] b) {
+        RingElement[] result = new RingElement[a.length + b.length - 1];
+        Arrays.fill(result, ring.getZeroElement());
+        for (int i = 0; i < a.length; i++)
+            for (int j = 0; j < b.length; j++)
+                result[i + j] = result[i + j].add(a[i].mul(b[j]));
+        return result;
+    }
+
+    /**
+     * Long division by b, which has leading coefficient one.
+     */
+    private RingElement[][] schoolbookDivide(Ring ring, RingElement[] a, RingElement[] b) {
+        RingElement[] remainder = a.clone();
+        RingElement[] quotient = new RingElement[a.length - b.length + 1];
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            quotient[i] = remainder[i + b.length - 1];
+            for (int j = 0; j < b.length; j++)
+                remainder[i + j] = remainder[i + j].sub(quotient[i].mul(b[j]));
+        }
+        return new RingElement[][] {quotient, Arrays.copyOf(remainder, Math.max(1, b.length - 1))};
+    }
+}
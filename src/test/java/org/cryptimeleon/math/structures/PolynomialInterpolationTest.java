@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -66,6 +67,37 @@ public class PolynomialInterpolationTest {
         assertEquals(polynomial, interpolatedPoly);
     }
 
+    @Test
+    public void testFastInterpolation() {
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+        for (int numberOfPoints : new int[] {1, 2, 17, 150}) {
+            PolynomialRing.Polynomial polynomial = new PolynomialRing(zp).new Polynomial(
+                    zp.getUniformlyRandomElements(numberOfPoints).toList());
+            List<RingElement> points = Stream.generate(zp::getUniformlyRandomElement)
+                    .distinct()
+                    .limit(numberOfPoints)
+                    .collect(Collectors.toList());
+            List<RingElement> values = points.stream().map(polynomial::evaluate).collect(Collectors.toList());
+
+            assertEquals(polynomial, PolynomialRing.interpolate(points, values));
+            assertEquals(polynomial, PolynomialRing.interpolate(points, values, true));
+        }
+    }
+
+    @Test
+    public void testBatchEvaluation() {
+        Zp zp = new Zp(RandomGenerator.getRandomPrime(128));
+        for (int degree : new int[] {0, 10, 1500}) {
+            PolynomialRing.Polynomial polynomial = new PolynomialRing(zp).new Polynomial(
+                    zp.getUniformlyRandomElements(degree + 1).toList());
+            List<RingElement> points = zp.getUniformlyRandomElements(1100).toList();
+            List<RingElement> expected = points.stream().map(polynomial::evaluate).collect(Collectors.toList());
+
+            assertEquals(expected, polynomial.evaluate(points));
+            assertEquals(expected, polynomial.evaluate(points, true));
+        }
+    }
+
     /**
      * Invalid parameters for the polynomial creation should always throw an IllegalArgumentException.
      * Test cases:
@@ -0,0 +1,117 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.RandomnessPool;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RandomnessPoolTest {
+
+    @Test
+    public void testSamplesAreCorrect() {
+        Group group = new BarretoNaehrigBilinearGroup(128).getG1();
+        GroupElement g = group.getUniformlyRandomNonNeutral();
+        GroupElement h = group.getUniformlyRandomNonNeutral();
+
+        // executor that never runs anything, so the pool only changes when we say so
+        RandomnessPool pool = new RandomnessPool(group, 5, task -> {}, g, h);
+        assertEquals(0, pool.getPoolDepth());
+        pool.fill();
+        assertEquals(5, pool.getPoolDepth());
+
+        for (int i = 0; i < 7; i++) {
+            RandomnessPool.Sample sample = pool.take();
+            Zn.ZnElement r = sample.getExponent();
+            assertEquals(2, sample.getPowers().length());
+            assertEquals(g.pow(r), sample.getPower(0));
+            assertEquals(h.pow(r), sample.getPower(1));
+        }
+        assertEquals(5, pool.getNumTakenFromPool());
+        assertEquals(2, pool.getNumComputedOnDemand());
+        assertEquals(0, pool.getPoolDepth());
+    }
+
+    @Test
+    public void testBackgroundRefill() {
+        Group group = new DebugGroup("pool", BigInteger.ONE.shiftLeft(128).nextProbablePrime());
+        GroupElement g = group.getUniformlyRandomNonNeutral();
+
+        // run refill tasks synchronously
+        RandomnessPool pool = new RandomnessPool(group, 40, Runnable::run, g);
+        assertEquals(40, pool.getPoolDepth());
+        assertEquals(40, pool.getNumComputedInBackground());
+
+        pool.take();
+        assertEquals(40, pool.getPoolDepth());
+        assertEquals(1, pool.getNumTakenFromPool());
+        assertEquals(0, pool.getNumComputedOnDemand());
+        assertTrue(pool.getRefillRate() > 0);
+
+        pool.close();
+        pool.take();
+        assertEquals(39, pool.getPoolDepth());
+    }
+
+    @Test
+    public void testConcurrentTakes() throws InterruptedException {
+        Group group = new DebugGroup("pool", BigInteger.ONE.shiftLeft(128).nextProbablePrime());
+        GroupElement g = group.getUniformlyRandomNonNeutral();
+
+        // refill in the common pool, signaling once a refill task leaves the pool full after all takes are done
+        CountDownLatch full = new CountDownLatch(1);
+        AtomicReference<RandomnessPool> poolAfterTakes = new AtomicReference<>();
+        Executor executor = task -> ForkJoinPool.commonPool().execute(() -> {
+            task.run();
+            signalIfFull(poolAfterTakes.get(), full);
+        });
+        RandomnessPool pool = new RandomnessPool(group, 16, executor, g);
+
+        Set<Zn.ZnElement> exponents = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 400).parallel().forEach(i -> {
+            RandomnessPool.Sample sample = pool.take();
+            assertEquals(g.pow(sample.getExponent()), sample.getPower(0));
+            exponents.add(sample.getExponent());
+        });
+        // every sample is handed out only once
+        assertEquals(400, exponents.size());
+        assertEquals(400, pool.getNumTakenFromPool() + pool.getNumComputedOnDemand());
+
+        // the pool is eventually refilled completely
+        poolAfterTakes.set(pool);
+        signalIfFull(pool, full);
+        assertTrue(full.await(30, TimeUnit.SECONDS));
+        assertEquals(16, pool.getPoolDepth());
+        pool.close();
+    }
+
+    private static void signalIfFull(RandomnessPool pool, CountDownLatch full) {
+        if (pool != null && pool.getPoolDepth() == pool.getCapacity())
+            full.countDown();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Group group = new DebugGroup("pool", 1000003);
+        Group otherGroup = new DebugGroup("other", 1000033);
+        assertThrows(IllegalArgumentException.class, () -> group.createRandomnessPool(0, group.getGenerator()));
+        assertThrows(IllegalArgumentException.class, () -> group.createRandomnessPool(10));
+        assertThrows(IllegalArgumentException.class, () -> group.createRandomnessPool(10, otherGroup.getGenerator()));
+    }
+}
@@ -7,6 +7,8 @@ import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.integers.IntegerElement;
 import org.cryptimeleon.math.structures.rings.integers.IntegerRing;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
+import org.cryptimeleon.math.structures.rings.zn.WordZn;
+import org.cryptimeleon.math.structures.rings.zn.WordZp;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.Test;
@@ -239,6 +241,10 @@ public class RingTests extends StructureTests {
         // Zn
         Zn z4 = new Zn(BigInteger.valueOf(4));
 
+        // Zp and Zn using long arithmetic
+        Zp wordZp = new WordZp(BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE));
+        Zn wordZn = new WordZn(BigInteger.ONE.shiftLeft(62).subtract(BigInteger.ONE));
+
         // Polynomial ring over z13
         PolynomialRing polyRing = new PolynomialRing(z13);
 
@@ -251,6 +257,8 @@ public class RingTests extends StructureTests {
                 {new TestParams(z13)},
                 {new TestParams(z4, () -> z4.createZnElement(BigInteger.valueOf(2)),
                         () -> z4.createZnElement(BigInteger.valueOf(3)))},
+                {new TestParams(wordZp)},
+                {new TestParams(wordZn)},
                 {new TestParams(polyRing,
                         () -> polyRing.new Polynomial(new Random().nextBoolean() ? z13.getUniformlyRandomElement() :
                                 z13.getZeroElement(),
@@ -0,0 +1,135 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.helpers.SquareRootEngine;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SquareRootEngine} for fields covering its different algorithms.
+ */
+public class SquareRootEngineTest {
+
+    @Test
+    public void testJacobiSymbol() {
+        // examples from Cohen, "A Course in Computational Algebraic Number Theory", and composite moduli
+        assertEquals(-1, SquareRootEngine.jacobiSymbol(1001, 9907));
+        assertEquals(-1, SquareRootEngine.jacobiSymbol(BigInteger.valueOf(1001), BigInteger.valueOf(9907)));
+        assertEquals(1, SquareRootEngine.jacobiSymbol(2, 15));
+        assertEquals(0, SquareRootEngine.jacobiSymbol(6, 15));
+        assertEquals(1, SquareRootEngine.jacobiSymbol(0, 1));
+        assertEquals(SquareRootEngine.jacobiSymbol(-5, 21), SquareRootEngine.jacobiSymbol(16, 21));
+
+        // Legendre symbols for primes above and below the long fast path
+        BigInteger[] primes = {
+                BigInteger.valueOf(1000003),
+                BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE),
+                new BigInteger("21888242871839275222246405745257275088696311157297823662689037894645226208583")
+        };
+        for (BigInteger p : primes) {
+            Zp zp = new Zp(p);
+            for (int i = 0; i < 50; i++) {
+                BigInteger a = zp.getUniformlyRandomElement().asInteger();
+                BigInteger euler = a.modPow(p.shiftRight(1), p);
+                int expected = euler.equals(BigInteger.ONE) ? 1 : euler.signum() == 0 ? 0 : -1;
+                assertEquals(expected, SquareRootEngine.jacobiSymbol(a, p));
+                assertEquals(expected, SquareRootEngine.jacobiSymbol(a.subtract(p.shiftLeft(3)), p));
+            }
+        }
+    }
+
+    @Test
+    public void testPrimeFields() {
+        BigInteger[] primes = {
+                BigInteger.valueOf(2),
+                BigInteger.valueOf(1000003), // 3 mod 4
+                BigInteger.valueOf(1000037), // 5 mod 8
+                BigInteger.valueOf(7340033), // 1 mod 8, 2^20 * 7 + 1
+                BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE.shiftLeft(32)).add(BigInteger.ONE), // 2^32 | p-1
+                BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE), // 3 mod 4
+                BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19)) // 5 mod 8
+        };
+        for (BigInteger p : primes) {
+            checkField(new Zp(p));
+            checkField(Zp.of(p));
+        }
+    }
+
+    @Test
+    public void testExtensionFields() {
+        for (BigInteger p : new BigInteger[] {BigInteger.valueOf(1000003), BigInteger.valueOf(7340033)}) {
+            Zp zp = new Zp(p);
+            Zp.ZpElement nonResidue = zp.valueOf(2);
+            while (nonResidue.isSquare())
+                nonResidue = nonResidue.add(zp.getOneElement());
+
+            // Fp2 = Fp[X] / (X^2 - nonResidue), complex method
+            ExtensionField fp2 = new ExtensionField(nonResidue.neg(), 2);
+            checkField(fp2);
+
+            // Fp4 = Fp2[Y] / (Y^2 - c) for a non-residue c = X + i, complex method over the complex method
+            FieldElement c = fp2.createElement(zp.getZeroElement(), zp.getOneElement());
+            while (c.pow(fp2.sizeUnitGroup().shiftRight(1)).isOne())
+                c = c.add(fp2.getOneElement());
+            checkField(new ExtensionField(c.neg(), 2));
+        }
+
+        // Fp3 = Fp[X] / (X^3 - c) with p = 1 mod 8 and p = 1 mod 3 (so that non-cubes exist), Tonelli-Shanks
+        Zp zp = new Zp(BigInteger.valueOf(2013265921));
+        FieldElement nonCube = zp.valueOf(2);
+        while (nonCube.pow(zp.size().divide(BigInteger.valueOf(3))).isOne())
+            nonCube = nonCube.add(zp.getOneElement());
+        checkField(new ExtensionField(nonCube.neg(), 3));
+
+        // degree 1 extension
+        checkField(new ExtensionField(BigInteger.valueOf(7340033)));
+    }
+
+    /**
+     * Compares the results to Euler's criterion, and checks that square roots are correct and deterministic.
+     */
+    private void checkField(Field field) {
+        BigInteger eulerExponent = field.sizeUnitGroup().shiftRight(1);
+        boolean isCharacteristicTwo = !field.size().testBit(0);
+        SquareRootEngine engine = SquareRootEngine.of(field);
+        assertSame(engine, SquareRootEngine.of(field));
+
+        List<FieldElement> elements = new ArrayList<>();
+        elements.add(field.getZeroElement());
+        elements.add(field.getOneElement());
+        elements.add(field.getOneElement().neg());
+        for (int i = 0; i < 30; i++)
+            elements.add(field.getUniformlyRandomElement());
+
+        for (FieldElement x : elements) {
+            boolean isSquare = x.isZero() || isCharacteristicTwo || x.pow(eulerExponent).isOne();
+            assertEquals(field + ": " + x, isSquare, engine.isSquare(x));
+            if (isSquare) {
+                FieldElement root = engine.sqrt(x);
+                assertEquals(x, root.square());
+                assertEquals(root, engine.sqrt(x));
+                assertEquals(root, new SquareRootEngine(field).sqrt(x));
+            } else {
+                try {
+                    engine.sqrt(x);
+                    fail("Square root of non-residue " + x + " in " + field);
+                } catch (ArithmeticException expected) {
+                    // expected
+                }
+            }
+
+            FieldElement square = x.square();
+            assertTrue(engine.isSquare(square));
+            assertEquals(square, engine.sqrt(square).square());
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package org.cryptimeleon.math.structures;
 
+import org.cryptimeleon.math.random.RandomGenerator;
 import org.cryptimeleon.math.structures.cartesian.Vector;
+import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+import org.cryptimeleon.math.structures.rings.integers.IntegerElement;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.ZnVectorArithmetic;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class VectorTests {
 
@@ -20,4 +30,40 @@ public class VectorTests {
         for (int i = 0; i < concatenation.length(); i++)
             assertEquals(concatenation.get(i), i);
     }
+
+    /**
+     * Test that the specialized operations for vectors over Zn (for small and large moduli, and long vectors that
+     * are processed in parallel) agree with the generic element-wise computation.
+     */
+    @Test
+    void testZnVectorArithmetic() {
+        Zn[] rings = {
+                new Zp(RandomGenerator.getRandomPrime(256)),
+                new Zn(BigInteger.valueOf(2).pow(31).subtract(BigInteger.ONE)),
+                new Zn(BigInteger.valueOf(6))
+        };
+        for (Zn zn : rings) {
+            for (int length : new int[] {1, 10, ZnVectorArithmetic.PARALLEL_THRESHOLD + 100}) {
+                RingElementVector a = zn.getUniformlyRandomElements(length);
+                RingElementVector b = zn.getUniformlyRandomElements(length);
+
+                assertEquals(a.zip(b, RingElement::add), a.add(b));
+                assertEquals(a.zip(b, RingElement::mul), a.mul(b));
+                assertEquals(a.zipReduce(b, RingElement::mul, RingElement::add), a.innerProduct(b));
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> rings[0].getUniformlyRandomElements(2).innerProduct(rings[0].getUniformlyRandomElements(3)));
+    }
+
+    /**
+     * Test that vectors with entries from different rings are handled element by element.
+     */
+    @Test
+    void testMixedRingVectorArithmetic() {
+        RingElementVector a = RingElementVector.of(new IntegerElement(2), new IntegerElement(3));
+        RingElementVector b = RingElementVector.of(new IntegerElement(5), new IntegerElement(7));
+        assertEquals(RingElementVector.of(new IntegerElement(7), new IntegerElement(10)), a.add(b));
+        assertEquals(new IntegerElement(31), a.innerProduct(b));
+    }
 }
@@ -0,0 +1,124 @@
+package org.cryptimeleon.math.structures;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+import org.cryptimeleon.math.structures.rings.zn.WordZn;
+import org.cryptimeleon.math.structures.rings.zn.WordZp;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.Zn.ZnElement;
+import org.cryptimeleon.math.structures.rings.zn.ZnVectorArithmetic;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link WordZn} and {@link WordZp} to the {@code BigInteger} based {@link Zn} and {@link Zp}.
+ */
+public class WordZnTest {
+    private static final BigInteger[] MODULI = {
+            BigInteger.ONE,
+            BigInteger.valueOf(2),
+            BigInteger.valueOf(12),
+            BigInteger.valueOf(Integer.MAX_VALUE), // 31 bit prime
+            BigInteger.ONE.shiftLeft(31).add(BigInteger.valueOf(11)), // 32 bit prime
+            BigInteger.ONE.shiftLeft(32).add(BigInteger.ONE), // 33 bit composite
+            BigInteger.ONE.shiftLeft(61), // power of two
+            BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE), // 61 bit Mersenne prime
+            BigInteger.ONE.shiftLeft(62).subtract(BigInteger.valueOf(57)), // largest 62 bit prime
+            BigInteger.ONE.shiftLeft(62).subtract(BigInteger.ONE) // largest 62 bit modulus
+    };
+
+    @Test
+    public void testArithmetic() {
+        for (BigInteger n : MODULI) {
+            Zn expectedRing = n.isProbablePrime(100) ? new Zp(n) : new Zn(n);
+            Zn ring = n.isProbablePrime(100) ? new WordZp(n) : new WordZn(n);
+            assertEquals(expectedRing, ring);
+
+            for (int i = 0; i < 100; i++) {
+                ZnElement a = ring.getUniformlyRandomElement();
+                ZnElement b = i == 0 ? ring.valueOf(-1) : ring.getUniformlyRandomElement();
+                ZnElement expectedA = expectedRing.valueOf(a.asInteger());
+                ZnElement expectedB = expectedRing.valueOf(b.asInteger());
+                BigInteger k = RandomGenerator.getRandomNumber(BigInteger.ONE.shiftLeft(80)).subtract(BigInteger.ONE.shiftLeft(79));
+
+                assertEquals(expectedA.add(expectedB), a.add(b));
+                assertEquals(expectedA.sub(expectedB), a.sub(b));
+                assertEquals(expectedA.neg(), a.neg());
+                assertEquals(expectedA.mul(expectedB), a.mul(b));
+                assertEquals(expectedA.mul(expectedB), a.mul(expectedB));
+                assertEquals(expectedA.mul(k), a.mul(k));
+                assertEquals(expectedA.mul(k.longValue()), a.mul(k.longValue()));
+                assertEquals(expectedA.square(), a.square());
+                assertEquals(expectedA.pow(k.abs()), a.pow(k.abs()));
+                assertEquals(expectedRing.valueOf(k), ring.valueOf(k));
+                assertEquals(expectedRing.valueOf(k.longValue()), ring.valueOf(k.longValue()));
+                if (expectedA.asInteger().gcd(n).equals(BigInteger.ONE)) {
+                    assertEquals(expectedA.inv(), a.inv());
+                    assertEquals(expectedA.pow(k), a.pow(k));
+                } else {
+                    try {
+                        a.inv();
+                        fail("Non-invertible element was inverted");
+                    } catch (UnsupportedOperationException expected) {
+                        // expected
+                    }
+                    try {
+                        a.pow(-1);
+                        fail("Non-invertible element was raised to a negative power");
+                    } catch (UnsupportedOperationException expected) {
+                        // expected
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFactories() {
+        BigInteger small = BigInteger.ONE.shiftLeft(62).subtract(BigInteger.valueOf(57));
+        BigInteger large = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.valueOf(25));
+        assertTrue(Zp.of(small) instanceof WordZp);
+        assertTrue(Zn.of(small) instanceof WordZn);
+        assertFalse(Zp.of(large) instanceof WordZp);
+        assertFalse(Zn.of(large) instanceof WordZn);
+        assertTrue(Zp.valueOf(-1, 13) instanceof WordZp.WordZpElement);
+        assertEquals(new Zp(BigInteger.valueOf(13)).valueOf(12), Zp.valueOf(-1, 13));
+        assertEquals(new Zn(large).valueOf(-1), Zn.valueOf(-1, large));
+    }
+
+    @Test
+    public void testDenseVectors() {
+        Zp zp = Zp.of(BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE));
+        Zp expectedZp = new Zp(zp.size());
+        RingElementVector a = zp.getUniformlyRandomElements(20);
+        RingElementVector b = RingElementVector.fromLongs(zp, -1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+                16, 17, Long.MIN_VALUE);
+        RingElementVector expectedA = a.map(x -> expectedZp.valueOf(x.asInteger()), RingElementVector::new);
+        RingElementVector expectedB = b.map(x -> expectedZp.valueOf(x.asInteger()), RingElementVector::new);
+        assertEquals(zp.valueOf(-1), b.get(0));
+        assertEquals(zp.valueOf(Long.MIN_VALUE), b.get(19));
+
+        assertEquals(expectedA.mul(expectedB), a.mul(b));
+        assertEquals(expectedA.add(expectedB), a.add(b));
+        assertEquals(expectedA.innerProduct(expectedB), a.innerProduct(b));
+        // mixed dense and regular vectors
+        assertEquals(expectedA.mul(expectedB), a.mul(expectedB));
+        assertEquals(expectedA.innerProduct(expectedB), expectedA.innerProduct(b));
+        assertEquals(expectedA.mul(expectedB).add(expectedA), a.mul(b).add(a));
+
+        // processed in parallel
+        for (Zn zn : new Zn[] {zp, Zn.of(BigInteger.valueOf(1000003))}) {
+            Zn expectedZn = new Zn(zn.size());
+            a = zn.getUniformlyRandomElements(ZnVectorArithmetic.PARALLEL_THRESHOLD + 100);
+            b = zn.getUniformlyRandomElements(a.length());
+            expectedA = a.map(x -> expectedZn.valueOf(x.asInteger()), RingElementVector::new);
+            expectedB = b.map(x -> expectedZn.valueOf(x.asInteger()), RingElementVector::new);
+            assertEquals(expectedA.innerProduct(expectedB), a.innerProduct(b));
+            assertEquals(expectedA.mul(expectedB), a.mul(b));
+        }
+    }
+}
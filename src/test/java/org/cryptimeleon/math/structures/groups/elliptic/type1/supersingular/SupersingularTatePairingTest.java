@@ -0,0 +1,55 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular;
+
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the inversion-free Miller loop and the specialized final exponentiation of
+ * {@link SupersingularTatePairing} to the generic implementations in
+ * {@link org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing}.
+ */
+public class SupersingularTatePairingTest {
+
+    /**
+     * Exposes the generic Miller loop and final exponentiation.
+     */
+    private static class GenericTatePairing extends SupersingularTatePairing {
+        GenericTatePairing(SupersingularSourceGroupImpl g1, SupersingularTargetGroupImpl gT) {
+            super(g1, gT);
+        }
+
+        ExtensionFieldElement genericMiller(PairingSourceGroupElement P, PairingSourceGroupElement Q) {
+            return miller(P, Q, g1.size());
+        }
+
+        PairingTargetGroupElementImpl genericExponentiate(FieldElement f) {
+            return super.exponentiate(f);
+        }
+    }
+
+    @Test
+    public void testMatchesGenericPairing() {
+        SupersingularTateGroupImpl group = new SupersingularTateGroupImpl(80);
+        SupersingularSourceGroupImpl g1 = (SupersingularSourceGroupImpl) group.getG1();
+        SupersingularTargetGroupImpl gT = (SupersingularTargetGroupImpl) group.getGT();
+        GenericTatePairing pairing = new GenericTatePairing(g1, gT);
+
+        for (int i = 0; i < 10; i++) {
+            PairingSourceGroupElement P = (PairingSourceGroupElement) g1.getUniformlyRandomNonNeutral();
+            PairingSourceGroupElement Q = (PairingSourceGroupElement) g1.getUniformlyRandomNonNeutral();
+            // the Miller loops only agree up to factors that are eliminated by the final exponentiation
+            assertEquals(pairing.genericExponentiate(pairing.genericMiller(P, Q)),
+                    pairing.exponentiate(pairing.projectiveMiller(P, Q, g1.size())));
+
+            FieldElement f = gT.getFieldOfDefinition().getUniformlyRandomUnit();
+            assertEquals(pairing.genericExponentiate(f), pairing.exponentiate(f));
+        }
+        assertEquals(pairing.genericExponentiate(gT.getFieldOfDefinition().getOneElement()),
+                pairing.exponentiate(gT.getFieldOfDefinition().getOneElement()));
+    }
+}
@@ -0,0 +1,139 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bls12;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link Bls12BilinearGroupImpl} against known values: the ZCash point encodings, the
+ * {@code expand_message_xmd} test vectors of RFC 9380, Appendix K.1, and a reference value of \(e(g_1, g_2)\).
+ */
+public class Bls12Test {
+    private final Bls12BilinearGroupImpl group = new Bls12BilinearGroupImpl();
+    private final Bls12SourceGroupImpl g1 = (Bls12SourceGroupImpl) group.getG1();
+    private final Bls12SourceGroupImpl g2 = (Bls12SourceGroupImpl) group.getG2();
+
+    @Test
+    public void testGeneratorEncodings() {
+        assertEquals("97f1d3a73197d7942695638c4fa9ac0fc3688c4f9774b905a14e3a3f171bac586c55e83ff97a1aeffb3af00adb22c6bb",
+                toHex(compress(g1, g1.getGenerator())));
+        assertEquals("93e02b6052719f607dacd3a088274f65596bd0d09920b61ab5da61bbdc7f5049334cf11213945d57e5ac7d055d042b7e"
+                + "024aa2b2f08f0a91260805272dc51051c6e47ad4fa403b02b4510b647ae3d1770bac0326a805bbefd48056c8c121bdb8",
+                toHex(compress(g2, g2.getGenerator())));
+    }
+
+    @Test
+    public void testCompressionRoundTrip() {
+        for (Bls12SourceGroupImpl g : new Bls12SourceGroupImpl[] {g1, g2}) {
+            List<GroupElementImpl> points = new ArrayList<>();
+            points.add(g.getNeutralElement());
+            points.add(g.getGenerator());
+            points.add(g.getGenerator().inv());
+            for (int i = 0; i < 10; i++)
+                points.add(g.getUniformlyRandomNonNeutral());
+
+            for (GroupElementImpl point : points) {
+                byte[] encoding = compress(g, point);
+                assertEquals(g.getCompressedLength(), encoding.length);
+                assertEquals(point, g.readElement(ByteBuffer.wrap(encoding)));
+            }
+
+            byte[] infinity = compress(g, g.getNeutralElement());
+            assertEquals((byte) 0xc0, infinity[0]);
+            for (int i = 1; i < infinity.length; i++)
+                assertEquals(0, infinity[i]);
+        }
+    }
+
+    @Test
+    public void testExpandMessageXmd() {
+        Bls12HashToSourceGroupImpl hash = new Bls12HashToSourceGroupImpl(g1, "QUUX-V01-CS02-with-expander-SHA256-128");
+        assertExpandMessage(hash, "", 0x20,
+                "68a985b87eb6b46952128911f2a4412bbc302a9d759667f87f7a21d803f07235");
+        assertExpandMessage(hash, "abc", 0x20,
+                "d8ccab23b5985ccea865c6c97b6e5b8350e794e603b4b97902f53a8a0d605615");
+        assertExpandMessage(hash, "abcdef0123456789", 0x20,
+                "eff31487c770a893cfb36f912fbfcbff40d5661771ca4b2cb4eafe524333f5c1");
+        assertExpandMessage(hash, "", 0x80,
+                "af84c27ccfd45d41914fdff5df25293e221afc53d8ad2ac06d5e3e29485dadbee0d121587713a3e0dd4d5e69e93eb7cd"
+                + "4f5df4cd103e188cf60cb02edc3edf18eda8576c412b18ffb658e3dd6ec849469b979d444cf7b26911a08e63cf31f9"
+                + "dcc541708d3491184472c2c29bb749d4286b004ceb5ee6b9a7fa5b646c993f0ced");
+        assertExpandMessage(hash, "abc", 0x80,
+                "abba86a6129e366fc877aab32fc4ffc70120d8996c88aee2fe4b32d6c7b6437a647e6c3163d40b76a73cf6a5674ef1d8"
+                + "90f95b664ee0afa5359a5c4e07985635bbecbac65d747d3d2da7ec2b8221b17b0ca9dc8a1ac1c07ea6a1e60583e2cb"
+                + "00058e77b7b72a298425cd1b941ad4ec65e8afc50303a22c0f99b0509b4c895f40");
+    }
+
+    @Test
+    public void testHashIntoPrimeOrderSubgroup() {
+        for (HashIntoGroupImpl hash : new HashIntoGroupImpl[] {group.getHashIntoG1(), group.getHashIntoG2()}) {
+            for (String msg : new String[] {"", "abc", "abcdef0123456789"}) {
+                GroupElementImpl point = hash.hashIntoGroupImpl(msg.getBytes(StandardCharsets.UTF_8));
+                assertFalse(point.isNeutralElement());
+                assertTrue(point.pow(g1.size()).isNeutralElement());
+                assertEquals(point, hash.hashIntoGroupImpl(msg.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    @Test
+    public void testPairingOfGenerators() {
+        // the value used by other BLS12-381 implementations, e.g. zkcrypto and RELIC; it is the cube of the
+        // Miller loop value raised to (p^12-1)/r, as the hard part of the final exponentiation computes a multiple
+        String[] expected = {
+                "1250ebd871fc0a92a7b2d83168d0d727272d441befa15c503dd8e90ce98db3e7b6d194f60839c508a84305aaca1789b6",
+                "89a1c5b46e5110b86750ec6a532348868a84045483c92b7af5af689452eafabf1a8943e50439f1d59882a98eaa0170f",
+                "19f26337d205fb469cd6bd15c3d5a04dc88784fbb3d0b2dbdea54d43b2b73f2cbb12d58386a8703e0f948226e47ee89d",
+                "6fba23eb7c5af0d9f80940ca771b6ffd5857baaf222eb95a7d2809d61bfe02e1bfd1b68ff02f0b8102ae1c2d5d5ab1a",
+                "1368bb445c7c2d209703f239689ce34c0378a68e72a6b3b216da0e22a5031b54ddff57309396b38c881c4c849ec23e87",
+                "193502b86edb8857c273fa075a50512937e0794e1e65a7617c90d8bd66065b1fffe51d7a579973b1315021ec3c19934f",
+                "11b8b424cd48bf38fcef68083b0b0ec5c81a93b330ee1a677d0d15ff7b984e8978ef48881e32fac91b93b47333e2ba57",
+                "3350f55a7aefcd3c31b4fcb6ce5771cc6a0e9786ab5973320c806ad360829107ba810c5a09ffdd9be2291a0c25a99a2",
+                "1b2f522473d171391125ba84dc4007cfbf2f8da752f7c74185203fcca589ac719c34dffbbaad8431dad1c1fb597aaa5",
+                "18107154f25a764bd3c79937a45b84546da634b8f6be14a8061e55cceba478b23f7dacaa35c8ca78beae9624045b4b6",
+                "4c581234d086a9902249b64728ffd21a189e87935a954051c7cdba7b3872629a4fafc05066245cb9108f0242d0fe3ef",
+                "f41e58663bf08cf068672cbd01a7ec73baca4d72ca93544deff686bfd6df543d48eaa24afe47e1efde449383b676631"
+        };
+        PairingTargetGroupElementImpl result = (PairingTargetGroupElementImpl) group.getBilinearMap()
+                .apply(g1.getGenerator(), g2.getGenerator());
+
+        // coefficients of w^0, ..., w^5 over F_p^2, each as the coefficients of 1 and i
+        FieldElement[] coefficients = Bls12TargetGroupImpl.getCoefficients(result.getElem());
+        for (int j = 0; j < 6; j++) {
+            FieldElement[] fp2Coefficients =
+                    Bls12TargetGroupImpl.getCoefficients((ExtensionFieldElement) coefficients[j]);
+            for (int k = 0; k < 2; k++)
+                assertEquals(new BigInteger(expected[2 * j + k], 16), ((Zp.ZpElement) fp2Coefficients[k]).asInteger());
+        }
+    }
+
+    private static byte[] compress(Bls12SourceGroupImpl g, GroupElementImpl point) {
+        ByteBuffer buffer = ByteBuffer.allocate(g.getCompressedLength());
+        g.writeCompressed((PairingSourceGroupElement) point, buffer);
+        return buffer.array();
+    }
+
+    private static void assertExpandMessage(Bls12HashToSourceGroupImpl hash, String msg, int length, String expected) {
+        assertEquals(expected, toHex(hash.expandMessageXmd(msg.getBytes(StandardCharsets.UTF_8), length)));
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes)
+            result.append(String.format("%02x", b));
+        return result.toString();
+    }
+}